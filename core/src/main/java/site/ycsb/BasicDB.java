@@ -17,12 +17,17 @@
 
 package site.ycsb;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.*;
 import java.util.Map.Entry;
 import java.util.Map;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 /**
  * Basic DB that just prints out the requested operations, instead of doing them against a database.
@@ -195,6 +200,103 @@ public class BasicDB extends DB {
     return Status.OK;
   }
 
+  @Override
+  public Status scan(String table, ScanRange range, Set<String> fields,
+                     BiConsumer<String, Map<String, ByteIterator>> consumer) {
+    delay();
+
+    if (verbose) {
+      StringBuilder sb = getStringBuilder();
+      sb.append("SCAN ").append(table).append(" ").append(range).append(" [ ");
+      if (fields != null && !range.isKeysOnly()) {
+        for (String f : fields) {
+          sb.append(f).append(" ");
+        }
+      } else {
+        sb.append(range.isKeysOnly() ? "<no fields>" : "<all fields>");
+      }
+
+      sb.append("]");
+      System.out.println(sb);
+    }
+
+    if (count) {
+      incCounter(scans, hash(table, range.getStartKey(), fields));
+    }
+
+    return Status.OK;
+  }
+
+  /**
+   * Query the database for records whose field satisfies a predicate.
+   *
+   * @param table     The name of the table
+   * @param predicate The condition the records must satisfy.
+   * @param limit     The maximum number of records to return
+   * @param fields    The list of fields to read, or null for all of them
+   * @param result    A Vector of HashMaps, where each HashMap is a set field/value pairs for one record
+   * @return Zero on success, a non-zero error code on error
+   */
+  @Override
+  public Status query(String table, QueryPredicate predicate, int limit, Set<String> fields,
+                      Vector<HashMap<String, ByteIterator>> result) {
+    delay();
+
+    if (verbose) {
+      StringBuilder sb = getStringBuilder();
+      sb.append("QUERY ").append(table).append(" ").append(predicate).append(" ").append(limit).append(" [ ");
+      if (fields != null) {
+        for (String f : fields) {
+          sb.append(f).append(" ");
+        }
+      } else {
+        sb.append("<all fields>");
+      }
+
+      sb.append("]");
+      System.out.println(sb);
+    }
+
+    return Status.OK;
+  }
+
+  /**
+   * Reads nothing, the consumer receives no chunks.
+   */
+  @Override
+  public Status readStream(String table, String key, Consumer<ByteBuffer> consumer) {
+    delay();
+
+    if (verbose) {
+      System.out.println(getStringBuilder().append("READ-STREAM ").append(table).append(" ").append(key));
+    }
+
+    return Status.OK;
+  }
+
+  /**
+   * Drains the value, so generating it is part of the measured time.
+   */
+  @Override
+  public Status writeStream(String table, String key, InputStream value, long length) {
+    delay();
+
+    if (verbose) {
+      System.out.println(getStringBuilder().append("WRITE-STREAM ").append(table).append(" ").append(key)
+          .append(" ").append(length));
+    }
+
+    byte[] buffer = new byte[8192];
+    try {
+      while (value.read(buffer) >= 0) {
+        continue;
+      }
+    } catch (IOException e) {
+      return Status.ERROR;
+    }
+    return Status.OK;
+  }
+
   /**
    * Update a record in the database. Any field/value pairs in the specified values HashMap will be written into the
    * record with the specified record key, overwriting any existing values with the same field name.
@@ -258,6 +360,36 @@ public class BasicDB extends DB {
     return Status.OK;
   }
 
+  @Override
+  public Status insert(String table, String key, Map<String, ByteIterator> values, int ttlSeconds) {
+    return insert(table, key, values);
+  }
+
+  @Override
+  public UpdateMode getUpdateMode() {
+    return UpdateMode.PARTIAL;
+  }
+
+  @Override
+  public Status update(String table, String key, Map<String, ByteIterator> values, int ttlSeconds) {
+    return update(table, key, values);
+  }
+
+  @Override
+  public Status increment(String table, String key, String field, long delta) {
+    delay();
+
+    if (verbose) {
+      System.out.println(getStringBuilder().append("INCREMENT ").append(table).append(" ").append(key)
+          .append(" ").append(field).append(" ").append(delta));
+    }
+
+    if (count) {
+      incCounter(updates, (table + key + field).hashCode());
+    }
+
+    return Status.OK;
+  }
 
   /**
    * Delete a record from the database.
@@ -18,6 +18,7 @@ package site.ycsb;
 
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -223,6 +224,47 @@ public class BasicTSDB extends BasicDB {
     return Status.OK;
   }
 
+  @Override
+  public Status insertPoints(String table, List<DataPoint> points) {
+    delay();
+
+    for (final DataPoint point : points) {
+      if (verbose) {
+        System.out.println(getStringBuilder().append("INSERT ").append(table).append(" ").append(point));
+      }
+
+      if (count) {
+        // Same hash as the field map of the point, tag keys are generated in sorted order.
+        StringBuilder buf = new StringBuilder().append(table).append(point.getMetric());
+        for (int i = 0; i < point.getTagCount(); i++) {
+          buf.append(point.getTagKey(i)).append(point.getTagValue(i));
+        }
+        int hash = buf.toString().hashCode();
+        incCounter(inserts, hash);
+        synchronized(timestamps) {
+          timestamps.merge(point.getTimestamp(), 1, Integer::sum);
+        }
+        incCounter(point.isFloatingPoint() ? floats : integers, hash);
+      }
+    }
+
+    return Status.OK;
+  }
+
+  @Override
+  public Status queryTimeseries(String table, TimeseriesQuery query, List<TimeseriesQuery.Row> result) {
+    delay();
+
+    if (verbose) {
+      System.out.println(getStringBuilder().append("QUERY ").append(table).append(" ").append(query));
+    }
+
+    if (count) {
+      incCounter(reads, (table + query.getMetric()).hashCode());
+    }
+    return Status.OK;
+  }
+
   @Override
   public void cleanup() {
     super.cleanup();
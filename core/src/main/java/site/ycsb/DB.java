@@ -17,11 +17,16 @@
 
 package site.ycsb;
 
+import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.Vector;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 /**
  * A layer for accessing a database to be benchmarked. Each thread in the client
@@ -102,6 +107,122 @@ public abstract class DB {
   public abstract Status scan(String table, String startkey, int recordcount, Set<String> fields,
                               Vector<HashMap<String, ByteIterator>> result);
 
+  /**
+   * Perform a range scan and pass every record to a consumer as it is read, instead of collecting
+   * the records in a Vector. The range can be bounded by an end key, read in reverse key order and
+   * return keys only, see {@link ScanRange}.
+   *
+   * @param table The name of the table
+   * @param range The keys to scan and their order.
+   * @param fields The list of fields to read, or null for all of them, ignored for keys only scans
+   * @param consumer Receives the key and the field/value pairs of every record, no fields for keys
+   * only scans. The map is only valid during the call.
+   * @return The result of the operation, {@link Status#NOT_IMPLEMENTED} if the database does not
+   * support range scans of this shape.
+   */
+  public Status scan(String table, ScanRange range, Set<String> fields,
+                     BiConsumer<String, Map<String, ByteIterator>> consumer) {
+    return Status.NOT_IMPLEMENTED;
+  }
+
+  /**
+   * Read a number of records in one call. Databases with multi-key reads override this to fetch the
+   * records in one round trip; by default the records are read one after the other.
+   *
+   * @param table The name of the table
+   * @param keys The record keys of the records to read.
+   * @param fields The list of fields to read, or null for all of them
+   * @param result A HashMap of field/value pairs per record key, records that do not exist are left out
+   * @return The result of the operation, OK if every record was either read or not found.
+   */
+  public Status batchRead(String table, List<String> keys, Set<String> fields,
+                          Map<String, Map<String, ByteIterator>> result) {
+    for (String key : keys) {
+      Map<String, ByteIterator> values = new HashMap<>();
+      Status status = read(table, key, fields, values);
+      if (status.isOk()) {
+        result.put(key, values);
+      } else if (status != Status.NOT_FOUND) {
+        return status;
+      }
+    }
+    return Status.OK;
+  }
+
+  /**
+   * Query the database for records whose field satisfies a predicate, typically through a secondary
+   * index. Each field/value pair from the result will be stored in a HashMap.
+   *
+   * @param table The name of the table
+   * @param predicate The condition the records must satisfy.
+   * @param limit The maximum number of records to return
+   * @param fields The list of fields to read, or null for all of them
+   * @param result A Vector of HashMaps, where each HashMap is a set field/value pairs for one record
+   * @return The result of the operation, {@link Status#NOT_IMPLEMENTED} if the database does not
+   * support queries.
+   */
+  public Status query(String table, QueryPredicate predicate, int limit, Set<String> fields,
+                      Vector<HashMap<String, ByteIterator>> result) {
+    return Status.NOT_IMPLEMENTED;
+  }
+
+  /**
+   * Insert a batch of time series data points, as time series databases ingest them. The points
+   * and their order are only valid for the duration of the call.
+   *
+   * @param table The name of the table
+   * @param points The data points to insert.
+   * @return The result of the operation, {@link Status#NOT_IMPLEMENTED} if the database does not
+   * support data points.
+   */
+  public Status insertPoints(String table, List<DataPoint> points) {
+    return Status.NOT_IMPLEMENTED;
+  }
+
+  /**
+   * Run a time series query, as time series databases evaluate them: select the points of a metric
+   * in a time range whose tags match a filter and reduce them to rows as the query shape describes.
+   *
+   * @param table The name of the table
+   * @param query The query to run.
+   * @param result The rows of the result, in the order the query shape describes.
+   * @return The result of the operation, {@link Status#NOT_IMPLEMENTED} if the database does not
+   * support time series queries.
+   */
+  public Status queryTimeseries(String table, TimeseriesQuery query, List<TimeseriesQuery.Row> result) {
+    return Status.NOT_IMPLEMENTED;
+  }
+
+  /**
+   * Read a whole record as a stream of bytes, as object stores hold large values. The value is handed
+   * to the consumer in chunks as it arrives, so it never has to fit in memory. The consumer must not
+   * keep a reference to a chunk after it returns, the buffer may be reused for the next chunk.
+   *
+   * @param table The name of the table
+   * @param key The record key of the record to read.
+   * @param consumer Receives the chunks of the value in order.
+   * @return The result of the operation, {@link Status#NOT_IMPLEMENTED} if the database does not
+   * support streamed values.
+   */
+  public Status readStream(String table, String key, Consumer<ByteBuffer> consumer) {
+    return Status.NOT_IMPLEMENTED;
+  }
+
+  /**
+   * Write a whole record from a stream of bytes, creating or replacing it. The value is read from the
+   * stream as it is sent, so it never has to fit in memory.
+   *
+   * @param table The name of the table
+   * @param key The record key of the record to write.
+   * @param value The value to write, exactly length bytes long.
+   * @param length The length of the value in bytes.
+   * @return The result of the operation, {@link Status#NOT_IMPLEMENTED} if the database does not
+   * support streamed values.
+   */
+  public Status writeStream(String table, String key, InputStream value, long length) {
+    return Status.NOT_IMPLEMENTED;
+  }
+
   /**
    * Update a record in the database. Any field/value pairs in the specified values HashMap will be written into the
    * record with the specified record key, overwriting any existing values with the same field name.
@@ -113,6 +234,29 @@ public abstract class DB {
    */
   public abstract Status update(String table, String key, Map<String, ByteIterator> values);
 
+  /**
+   * How a binding updates a subset of the fields of a record.
+   */
+  public enum UpdateMode {
+    /** Writes only the given fields, without reading the record. */
+    PARTIAL,
+    /** Reads the whole record, merges the given fields into it and writes it back. */
+    READ_MODIFY_WRITE,
+    /** The binding does not say. */
+    UNKNOWN
+  }
+
+  /**
+   * How {@link #update(String, String, Map)} writes a subset of the fields of a record. For bindings
+   * that read, merge and rewrite the whole record, the cost of updating a single field is that of a
+   * read plus a full record write.
+   *
+   * @return The update mode of the binding, {@link UpdateMode#UNKNOWN} unless it says.
+   */
+  public UpdateMode getUpdateMode() {
+    return UpdateMode.UNKNOWN;
+  }
+
   /**
    * Insert a record in the database. Any field/value pairs in the specified values HashMap will be written into the
    * record with the specified record key.
@@ -124,6 +268,53 @@ public abstract class DB {
    */
   public abstract Status insert(String table, String key, Map<String, ByteIterator> values);
 
+  /**
+   * Insert a record in the database that expires after the given time to live. Any field/value pairs in the
+   * specified values HashMap will be written into the record with the specified record key.
+   *
+   * @param table The name of the table
+   * @param key The record key of the record to insert.
+   * @param values A HashMap of field/value pairs to insert in the record
+   * @param ttlSeconds The number of seconds after which the record expires.
+   * @return The result of the operation, {@link Status#NOT_IMPLEMENTED} if the database does not
+   * support expiring records.
+   */
+  public Status insert(String table, String key, Map<String, ByteIterator> values, int ttlSeconds) {
+    return Status.NOT_IMPLEMENTED;
+  }
+
+  /**
+   * Update a record in the database and reset its time to live. Any field/value pairs in the specified
+   * values HashMap will be written into the record with the specified record key, overwriting any existing
+   * values with the same field name.
+   *
+   * @param table The name of the table
+   * @param key The record key of the record to write.
+   * @param values A HashMap of field/value pairs to update in the record
+   * @param ttlSeconds The number of seconds from now after which the record expires.
+   * @return The result of the operation, {@link Status#NOT_IMPLEMENTED} if the database does not
+   * support expiring records.
+   */
+  public Status update(String table, String key, Map<String, ByteIterator> values, int ttlSeconds) {
+    return Status.NOT_IMPLEMENTED;
+  }
+
+  /**
+   * Atomically add a delta to a numeric field of a record, on the server where the database
+   * supports it, without reading the record first. The field holds the decimal representation of
+   * a long, as written by inserts and updates of counters.
+   *
+   * @param table The name of the table
+   * @param key The record key of the record to change.
+   * @param field The name of the counter field.
+   * @param delta The amount to add, negative to subtract.
+   * @return The result of the operation, {@link Status#NOT_IMPLEMENTED} if the database has no
+   * atomic increment.
+   */
+  public Status increment(String table, String key, String field, long delta) {
+    return Status.NOT_IMPLEMENTED;
+  }
+
   /**
    * Delete a record from the database.
    *
@@ -132,4 +323,35 @@ public abstract class DB {
    * @return The result of the operation.
    */
   public abstract Status delete(String table, String key);
+
+  /**
+   * Start a transaction. All operations issued through this DB instance until the next call to
+   * {@link #commit()} or {@link #abort()} belong to the transaction.
+   *
+   * @return The result of the operation, {@link Status#NOT_IMPLEMENTED} if the database does not
+   * support transactions.
+   */
+  public Status beginTransaction() {
+    return Status.NOT_IMPLEMENTED;
+  }
+
+  /**
+   * Commit the transaction started by {@link #beginTransaction()}. The transaction has ended when
+   * this returns, a failed commit rolls it back.
+   *
+   * @return The result of the operation. Bindings should return {@link Status#CONFLICT} when the
+   * transaction was aborted by the database because of a concurrent transaction, so it can be retried.
+   */
+  public Status commit() {
+    return Status.NOT_IMPLEMENTED;
+  }
+
+  /**
+   * Roll back the transaction started by {@link #beginTransaction()}.
+   *
+   * @return The result of the operation.
+   */
+  public Status abort() {
+    return Status.NOT_IMPLEMENTED;
+  }
 }
@@ -23,8 +23,12 @@ import site.ycsb.measurements.Measurements;
 import org.apache.htrace.core.TraceScope;
 import org.apache.htrace.core.Tracer;
 
+import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 /**
  * Wrapper around a "real" DB that measures latencies and counts return codes.
@@ -44,6 +48,7 @@ public class DBWrapper extends DB {
   private static final String LATENCY_TRACKED_ERRORS_PROPERTY = "latencytrackederrors";
 
   private static final AtomicBoolean LOG_REPORT_CONFIG = new AtomicBoolean(false);
+  private static final AtomicBoolean LOG_PARTIAL_UPDATES = new AtomicBoolean(false);
 
   private final String scopeStringCleanup;
   private final String scopeStringDelete;
@@ -51,7 +56,17 @@ public class DBWrapper extends DB {
   private final String scopeStringInsert;
   private final String scopeStringRead;
   private final String scopeStringScan;
+  private final String scopeStringBatchRead;
+  private final String scopeStringQuery;
+  private final String scopeStringInsertPoints;
+  private final String scopeStringQueryTimeseries;
+  private final String scopeStringReadStream;
+  private final String scopeStringWriteStream;
   private final String scopeStringUpdate;
+  private final String scopeStringIncrement;
+  private final String scopeStringBeginTransaction;
+  private final String scopeStringCommit;
+  private final String scopeStringAbort;
 
   public DBWrapper(final DB db, final Tracer tracer) {
     this.db = db;
@@ -64,7 +79,17 @@ public class DBWrapper extends DB {
     scopeStringInsert = simple + "#insert";
     scopeStringRead = simple + "#read";
     scopeStringScan = simple + "#scan";
+    scopeStringBatchRead = simple + "#batchRead";
+    scopeStringQuery = simple + "#query";
+    scopeStringInsertPoints = simple + "#insertPoints";
+    scopeStringQueryTimeseries = simple + "#queryTimeseries";
+    scopeStringReadStream = simple + "#readStream";
+    scopeStringWriteStream = simple + "#writeStream";
     scopeStringUpdate = simple + "#update";
+    scopeStringIncrement = simple + "#increment";
+    scopeStringBeginTransaction = simple + "#beginTransaction";
+    scopeStringCommit = simple + "#commit";
+    scopeStringAbort = simple + "#abort";
   }
 
   /**
@@ -106,6 +131,11 @@ public class DBWrapper extends DB {
             this.reportLatencyForEachError + " and specific error codes to track" +
             " for latency are: " + this.latencyTrackedErrors.toString());
       }
+
+      if (db.getUpdateMode() == UpdateMode.READ_MODIFY_WRITE && LOG_PARTIAL_UPDATES.compareAndSet(false, true)) {
+        System.err.println("DBWrapper: " + db.getClass().getSimpleName() + " reads and rewrites the" +
+            " whole record on every update, UPDATE latencies include that read.");
+      }
     }
   }
 
@@ -170,6 +200,156 @@ public class DBWrapper extends DB {
     }
   }
 
+  /**
+   * Perform a range scan and pass every record to a consumer. Measured as SCAN, with -REVERSE and
+   * -KEYS suffixes for reverse and keys only scans, so different shapes are reported apart.
+   *
+   * @param table The name of the table
+   * @param range The keys to scan and their order.
+   * @param fields The list of fields to read, or null for all of them
+   * @param consumer Receives the key and the field/value pairs of every record
+   * @return The result of the operation.
+   */
+  public Status scan(String table, ScanRange range, Set<String> fields,
+                     BiConsumer<String, Map<String, ByteIterator>> consumer) {
+    try (final TraceScope span = tracer.newScope(scopeStringScan)) {
+      String name = range.isReverse() ? (range.isKeysOnly() ? "SCAN-REVERSE-KEYS" : "SCAN-REVERSE")
+          : (range.isKeysOnly() ? "SCAN-KEYS" : "SCAN");
+      long ist = measurements.getIntendedStartTimeNs();
+      long st = System.nanoTime();
+      Status res = db.scan(table, range, fields, consumer);
+      long en = System.nanoTime();
+      measure(name, res, ist, st, en);
+      measurements.reportStatus(name, res);
+      return res;
+    }
+  }
+
+  /**
+   * Read a number of records in one call.
+   *
+   * @param table The name of the table
+   * @param keys The record keys of the records to read.
+   * @param fields The list of fields to read, or null for all of them
+   * @param result A HashMap of field/value pairs per record key
+   * @return The result of the operation.
+   */
+  public Status batchRead(String table, List<String> keys, Set<String> fields,
+                          Map<String, Map<String, ByteIterator>> result) {
+    try (final TraceScope span = tracer.newScope(scopeStringBatchRead)) {
+      long ist = measurements.getIntendedStartTimeNs();
+      long st = System.nanoTime();
+      Status res = db.batchRead(table, keys, fields, result);
+      long en = System.nanoTime();
+      measure("BATCH-READ", res, ist, st, en);
+      measurements.reportStatus("BATCH-READ", res);
+      return res;
+    }
+  }
+
+  /**
+   * Query the database for records whose field satisfies a predicate.
+   *
+   * @param table The name of the table
+   * @param predicate The condition the records must satisfy.
+   * @param limit The maximum number of records to return
+   * @param fields The list of fields to read, or null for all of them
+   * @param result A Vector of HashMaps, where each HashMap is a set field/value pairs for one record
+   * @return The result of the operation.
+   */
+  public Status query(String table, QueryPredicate predicate, int limit,
+                      Set<String> fields, Vector<HashMap<String, ByteIterator>> result) {
+    try (final TraceScope span = tracer.newScope(scopeStringQuery)) {
+      long ist = measurements.getIntendedStartTimeNs();
+      long st = System.nanoTime();
+      Status res = db.query(table, predicate, limit, fields, result);
+      long en = System.nanoTime();
+      measure("QUERY", res, ist, st, en);
+      measurements.reportStatus("QUERY", res);
+      return res;
+    }
+  }
+
+  /**
+   * Insert a batch of time series data points.
+   *
+   * @param table The name of the table
+   * @param points The data points to insert.
+   * @return The result of the operation.
+   */
+  public Status insertPoints(String table, List<DataPoint> points) {
+    try (final TraceScope span = tracer.newScope(scopeStringInsertPoints)) {
+      long ist = measurements.getIntendedStartTimeNs();
+      long st = System.nanoTime();
+      Status res = db.insertPoints(table, points);
+      long en = System.nanoTime();
+      measure("INSERT-POINTS", res, ist, st, en);
+      measurements.reportStatus("INSERT-POINTS", res);
+      return res;
+    }
+  }
+
+  /**
+   * Run a time series query.
+   *
+   * @param table The name of the table
+   * @param query The query to run.
+   * @param result The rows of the result.
+   * @return The result of the operation.
+   */
+  public Status queryTimeseries(String table, TimeseriesQuery query, List<TimeseriesQuery.Row> result) {
+    try (final TraceScope span = tracer.newScope(scopeStringQueryTimeseries)) {
+      long ist = measurements.getIntendedStartTimeNs();
+      long st = System.nanoTime();
+      Status res = db.queryTimeseries(table, query, result);
+      long en = System.nanoTime();
+      measure("TS-QUERY", res, ist, st, en);
+      measurements.reportStatus("TS-QUERY", res);
+      return res;
+    }
+  }
+
+  /**
+   * Read a whole record as a stream of bytes.
+   *
+   * @param table The name of the table
+   * @param key The record key of the record to read.
+   * @param consumer Receives the chunks of the value in order.
+   * @return The result of the operation.
+   */
+  public Status readStream(String table, String key, Consumer<ByteBuffer> consumer) {
+    try (final TraceScope span = tracer.newScope(scopeStringReadStream)) {
+      long ist = measurements.getIntendedStartTimeNs();
+      long st = System.nanoTime();
+      Status res = db.readStream(table, key, consumer);
+      long en = System.nanoTime();
+      measure("READ-STREAM", res, ist, st, en);
+      measurements.reportStatus("READ-STREAM", res);
+      return res;
+    }
+  }
+
+  /**
+   * Write a whole record from a stream of bytes, creating or replacing it.
+   *
+   * @param table The name of the table
+   * @param key The record key of the record to write.
+   * @param value The value to write, exactly length bytes long.
+   * @param length The length of the value in bytes.
+   * @return The result of the operation.
+   */
+  public Status writeStream(String table, String key, InputStream value, long length) {
+    try (final TraceScope span = tracer.newScope(scopeStringWriteStream)) {
+      long ist = measurements.getIntendedStartTimeNs();
+      long st = System.nanoTime();
+      Status res = db.writeStream(table, key, value, length);
+      long en = System.nanoTime();
+      measure("WRITE-STREAM", res, ist, st, en);
+      measurements.reportStatus("WRITE-STREAM", res);
+      return res;
+    }
+  }
+
   private void measure(String op, Status result, long intendedStartTimeNanos,
                        long startTimeNanos, long endTimeNanos) {
     String measurementName = op;
@@ -209,6 +389,13 @@ public class DBWrapper extends DB {
     }
   }
 
+  /**
+   * How the wrapped DB updates a subset of the fields of a record.
+   */
+  public UpdateMode getUpdateMode() {
+    return db.getUpdateMode();
+  }
+
   /**
    * Insert a record in the database. Any field/value pairs in the specified
    * values HashMap will be written into the record with the specified
@@ -232,6 +419,71 @@ public class DBWrapper extends DB {
     }
   }
 
+  /**
+   * Insert a record in the database that expires after the given time to live.
+   *
+   * @param table The name of the table
+   * @param key The record key of the record to insert.
+   * @param values A HashMap of field/value pairs to insert in the record
+   * @param ttlSeconds The number of seconds after which the record expires.
+   * @return The result of the operation.
+   */
+  public Status insert(String table, String key,
+                       Map<String, ByteIterator> values, int ttlSeconds) {
+    try (final TraceScope span = tracer.newScope(scopeStringInsert)) {
+      long ist = measurements.getIntendedStartTimeNs();
+      long st = System.nanoTime();
+      Status res = db.insert(table, key, values, ttlSeconds);
+      long en = System.nanoTime();
+      measure("INSERT", res, ist, st, en);
+      measurements.reportStatus("INSERT", res);
+      return res;
+    }
+  }
+
+  /**
+   * Update a record in the database and reset its time to live.
+   *
+   * @param table The name of the table
+   * @param key The record key of the record to write.
+   * @param values A HashMap of field/value pairs to update in the record
+   * @param ttlSeconds The number of seconds from now after which the record expires.
+   * @return The result of the operation.
+   */
+  public Status update(String table, String key,
+                       Map<String, ByteIterator> values, int ttlSeconds) {
+    try (final TraceScope span = tracer.newScope(scopeStringUpdate)) {
+      long ist = measurements.getIntendedStartTimeNs();
+      long st = System.nanoTime();
+      Status res = db.update(table, key, values, ttlSeconds);
+      long en = System.nanoTime();
+      measure("UPDATE", res, ist, st, en);
+      measurements.reportStatus("UPDATE", res);
+      return res;
+    }
+  }
+
+  /**
+   * Atomically add a delta to a numeric field of a record.
+   *
+   * @param table The name of the table
+   * @param key The record key of the record to change.
+   * @param field The name of the counter field.
+   * @param delta The amount to add, negative to subtract.
+   * @return The result of the operation.
+   */
+  public Status increment(String table, String key, String field, long delta) {
+    try (final TraceScope span = tracer.newScope(scopeStringIncrement)) {
+      long ist = measurements.getIntendedStartTimeNs();
+      long st = System.nanoTime();
+      Status res = db.increment(table, key, field, delta);
+      long en = System.nanoTime();
+      measure("INCREMENT", res, ist, st, en);
+      measurements.reportStatus("INCREMENT", res);
+      return res;
+    }
+  }
+
   /**
    * Delete a record from the database.
    *
@@ -250,4 +502,55 @@ public class DBWrapper extends DB {
       return res;
     }
   }
+
+  /**
+   * Start a transaction.
+   *
+   * @return The result of the operation.
+   */
+  public Status beginTransaction() {
+    try (final TraceScope span = tracer.newScope(scopeStringBeginTransaction)) {
+      long ist = measurements.getIntendedStartTimeNs();
+      long st = System.nanoTime();
+      Status res = db.beginTransaction();
+      long en = System.nanoTime();
+      measure("BEGIN", res, ist, st, en);
+      measurements.reportStatus("BEGIN", res);
+      return res;
+    }
+  }
+
+  /**
+   * Commit the current transaction.
+   *
+   * @return The result of the operation.
+   */
+  public Status commit() {
+    try (final TraceScope span = tracer.newScope(scopeStringCommit)) {
+      long ist = measurements.getIntendedStartTimeNs();
+      long st = System.nanoTime();
+      Status res = db.commit();
+      long en = System.nanoTime();
+      measure("COMMIT", res, ist, st, en);
+      measurements.reportStatus("COMMIT", res);
+      return res;
+    }
+  }
+
+  /**
+   * Roll back the current transaction.
+   *
+   * @return The result of the operation.
+   */
+  public Status abort() {
+    try (final TraceScope span = tracer.newScope(scopeStringAbort)) {
+      long ist = measurements.getIntendedStartTimeNs();
+      long st = System.nanoTime();
+      Status res = db.abort();
+      long en = System.nanoTime();
+      measure("ABORT", res, ist, st, en);
+      measurements.reportStatus("ABORT", res);
+      return res;
+    }
+  }
 }
@@ -0,0 +1,162 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+import java.util.Map;
+
+/**
+ * A single time series data point passed to {@link DB#insertPoints}: a metric, a timestamp, a
+ * primitive value and a set of tags. Tags are held as indices into dictionaries of tag keys and tag
+ * values shared by every point of a workload, so the strings are interned and a database can cache
+ * their encoded form by identity or by id. A value that is not in the dictionary, like the tag of a
+ * series that is created while the workload runs, is set with its string and an id no other value
+ * ever has, so caching by id stays safe. The series id identifies the metric and tag combination.
+ * <p>
+ * Data points are reused by the workload between calls. A database must copy anything it keeps
+ * after the call returns.
+ */
+public final class DataPoint {
+  private final String[] tagKeys;
+  private final String[] tagValues;
+  /** Ids are longs, as values set outside the dictionary may outnumber ints over a long run. */
+  private final long[] tagValueIds;
+  /** The value of each tag set outside the dictionary, or null. */
+  private final String[] ownTagValues;
+
+  private String metric;
+  private long seriesId;
+  private long timestamp;
+  private boolean floatingPoint;
+  private long longValue;
+  private double doubleValue;
+
+  /**
+   * @param tagKeys The tag keys, one per tag of every point.
+   * @param tagValues The dictionary of tag values the tag value ids refer to.
+   */
+  public DataPoint(String[] tagKeys, String[] tagValues) {
+    this.tagKeys = tagKeys;
+    this.tagValues = tagValues;
+    this.tagValueIds = new long[tagKeys.length];
+    this.ownTagValues = new String[tagKeys.length];
+  }
+
+  /**
+   * Sets the identity and time of the point.
+   *
+   * @param newMetric The metric, or time series key.
+   * @param newSeriesId A unique id of the metric and tag combination.
+   * @param newTimestamp The timestamp in the units of the workload.
+   */
+  public void set(String newMetric, long newSeriesId, long newTimestamp) {
+    this.metric = newMetric;
+    this.seriesId = newSeriesId;
+    this.timestamp = newTimestamp;
+  }
+
+  public void setValue(long value) {
+    this.floatingPoint = false;
+    this.longValue = value;
+  }
+
+  public void setValue(double value) {
+    this.floatingPoint = true;
+    this.doubleValue = value;
+  }
+
+  public void setTagValueId(int tag, int valueId) {
+    tagValueIds[tag] = valueId;
+    ownTagValues[tag] = null;
+  }
+
+  /**
+   * Sets a tag to a value that is not in the dictionary.
+   *
+   * @param tag The index of the tag.
+   * @param valueId An id of the value that no other value of the workload has, beyond the dictionary.
+   * @param value The value.
+   */
+  public void setTagValue(int tag, long valueId, String value) {
+    tagValueIds[tag] = valueId;
+    ownTagValues[tag] = value;
+  }
+
+  public String getMetric() {
+    return metric;
+  }
+
+  public long getSeriesId() {
+    return seriesId;
+  }
+
+  public long getTimestamp() {
+    return timestamp;
+  }
+
+  /**
+   * @return true if the value is a double, false if it is a long.
+   */
+  public boolean isFloatingPoint() {
+    return floatingPoint;
+  }
+
+  public long getLongValue() {
+    return longValue;
+  }
+
+  public double getDoubleValue() {
+    return doubleValue;
+  }
+
+  public int getTagCount() {
+    return tagKeys.length;
+  }
+
+  public String getTagKey(int tag) {
+    return tagKeys[tag];
+  }
+
+  public long getTagValueId(int tag) {
+    return tagValueIds[tag];
+  }
+
+  public String getTagValue(int tag) {
+    return ownTagValues[tag] != null ? ownTagValues[tag] : tagValues[(int) tagValueIds[tag]];
+  }
+
+  /**
+   * Adds the tags of this point to a map, for databases that take tags as field/value pairs.
+   *
+   * @param tags The map to add the tag key/value pairs to.
+   */
+  public void putTags(Map<String, ByteIterator> tags) {
+    for (int i = 0; i < tagKeys.length; i++) {
+      tags.put(tagKeys[i], new StringByteIterator(getTagValue(i)));
+    }
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder(metric).append(" [ ");
+    for (int i = 0; i < tagKeys.length; i++) {
+      sb.append(tagKeys[i]).append('=').append(getTagValue(i)).append(' ');
+    }
+    sb.append("] ").append(timestamp).append(' ');
+    return (floatingPoint ? sb.append(doubleValue) : sb.append(longValue)).toString();
+  }
+}
@@ -32,7 +32,8 @@ public class InputStreamByteIterator extends ByteIterator {
     this.len = len;
     this.ins = ins;
     off = 0;
-    resetable = ins.markSupported();
+    // Mark limits are ints, larger values cannot be replayed.
+    resetable = ins.markSupported() && len <= Integer.MAX_VALUE;
     if (resetable) {
       ins.mark((int) len);
     }
@@ -58,6 +59,24 @@ public class InputStreamByteIterator extends ByteIterator {
     return (byte) ret;
   }
 
+  @Override
+  public int nextBuf(byte[] buf, int bufOff) {
+    int sz = bufOff;
+    try {
+      while (sz < buf.length && off < len) {
+        int ret = ins.read(buf, sz, (int) Math.min(buf.length - sz, len - off));
+        if (ret == -1) {
+          throw new IllegalStateException("Past EOF!");
+        }
+        sz += ret;
+        off += ret;
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+    return sz;
+  }
+
   @Override
   public long bytesLeft() {
     return len - off;
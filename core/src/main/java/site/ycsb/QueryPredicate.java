@@ -0,0 +1,109 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+/**
+ * A condition on a single field of a record, used by {@link DB#query} to select records by an
+ * attribute other than the primary key. Values are compared as strings, so workloads generate
+ * fixed width values whose lexicographic order matches their numeric order.
+ */
+public final class QueryPredicate {
+
+  /** The kind of comparison a predicate performs. */
+  public enum Operator {
+    /** The field equals {@link #getValue()}. */
+    EQUAL,
+    /** The field lies between {@link #getValue()} and {@link #getUpperValue()}, both inclusive. */
+    RANGE
+  }
+
+  private final String field;
+  private final Operator operator;
+  private final String value;
+  private final String upperValue;
+
+  private QueryPredicate(String field, Operator operator, String value, String upperValue) {
+    this.field = field;
+    this.operator = operator;
+    this.value = value;
+    this.upperValue = upperValue;
+  }
+
+  /**
+   * @param field The field to compare.
+   * @param value The value the field must equal.
+   * @return An equality predicate.
+   */
+  public static QueryPredicate equalTo(String field, String value) {
+    return new QueryPredicate(field, Operator.EQUAL, value, value);
+  }
+
+  /**
+   * @param field The field to compare.
+   * @param lower The inclusive lower bound.
+   * @param upper The inclusive upper bound.
+   * @return A range predicate.
+   */
+  public static QueryPredicate between(String field, String lower, String upper) {
+    return new QueryPredicate(field, Operator.RANGE, lower, upper);
+  }
+
+  public String getField() {
+    return field;
+  }
+
+  public Operator getOperator() {
+    return operator;
+  }
+
+  /**
+   * @return The value to compare with for {@link Operator#EQUAL}, the lower bound for {@link Operator#RANGE}.
+   */
+  public String getValue() {
+    return value;
+  }
+
+  /**
+   * @return The upper bound for {@link Operator#RANGE}, the same as {@link #getValue()} for {@link Operator#EQUAL}.
+   */
+  public String getUpperValue() {
+    return upperValue;
+  }
+
+  /**
+   * @param candidate A field value.
+   * @return true if the value satisfies this predicate.
+   */
+  public boolean matches(String candidate) {
+    if (candidate == null) {
+      return false;
+    }
+    if (operator == Operator.EQUAL) {
+      return candidate.equals(value);
+    }
+    return candidate.compareTo(value) >= 0 && candidate.compareTo(upperValue) <= 0;
+  }
+
+  @Override
+  public String toString() {
+    if (operator == Operator.EQUAL) {
+      return field + " = " + value;
+    }
+    return field + " BETWEEN " + value + " AND " + upperValue;
+  }
+}
@@ -0,0 +1,113 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+/**
+ * The shape of a range scan, used by {@link DB#scan(String, ScanRange, java.util.Set,
+ * java.util.function.BiConsumer)}. A forward scan returns the records with keys from the start key,
+ * inclusive, up to the end key, exclusive, in ascending order. A reverse scan returns the records
+ * with keys from the start key, inclusive, down to the end key, exclusive, in descending order, so
+ * the start key is the upper bound. Without an end key a scan stops after {@link #getLimit()}
+ * records only; with one it stops at whichever comes first. Keys are compared as strings.
+ */
+public final class ScanRange {
+  private final String startKey;
+  private final String endKey;
+  private final int limit;
+  private final boolean reverse;
+  private final boolean keysOnly;
+
+  private ScanRange(String startKey, String endKey, int limit, boolean reverse, boolean keysOnly) {
+    this.startKey = startKey;
+    this.endKey = endKey;
+    this.limit = limit;
+    this.reverse = reverse;
+    this.keysOnly = keysOnly;
+  }
+
+  /**
+   * @param startKey The record key of the first record to read.
+   * @param limit The maximum number of records to read.
+   * @return A forward scan without an end key that reads whole records.
+   */
+  public static ScanRange from(String startKey, int limit) {
+    return new ScanRange(startKey, null, limit, false, false);
+  }
+
+  /**
+   * @param key The exclusive end key, the lower bound of a reverse scan.
+   * @return This scan stopping at the given key.
+   */
+  public ScanRange until(String key) {
+    return new ScanRange(startKey, key, limit, reverse, keysOnly);
+  }
+
+  /**
+   * @return This scan in descending key order from the start key.
+   */
+  public ScanRange reversed() {
+    return new ScanRange(startKey, endKey, limit, true, keysOnly);
+  }
+
+  /**
+   * @return This scan returning only the keys of records, with no fields.
+   */
+  public ScanRange keysOnly() {
+    return new ScanRange(startKey, endKey, limit, reverse, true);
+  }
+
+  public String getStartKey() {
+    return startKey;
+  }
+
+  /**
+   * @return The exclusive end key, or null if the scan is only bounded by its limit.
+   */
+  public String getEndKey() {
+    return endKey;
+  }
+
+  public int getLimit() {
+    return limit;
+  }
+
+  public boolean isReverse() {
+    return reverse;
+  }
+
+  public boolean isKeysOnly() {
+    return keysOnly;
+  }
+
+  /**
+   * @param key A record key.
+   * @return true if the key lies between the start key and the end key of this scan.
+   */
+  public boolean contains(String key) {
+    if (reverse) {
+      return key.compareTo(startKey) <= 0 && (endKey == null || key.compareTo(endKey) > 0);
+    }
+    return key.compareTo(startKey) >= 0 && (endKey == null || key.compareTo(endKey) < 0);
+  }
+
+  @Override
+  public String toString() {
+    return (reverse ? "REVERSE " : "") + (keysOnly ? "KEYS " : "") + "FROM " + startKey
+        + (endKey != null ? " UNTIL " + endKey : "") + " LIMIT " + limit;
+  }
+}
@@ -153,6 +153,9 @@ public abstract class TimeseriesDB extends DB {
     TimeseriesDB.AggregationOperation aggregationOperation = TimeseriesDB.AggregationOperation.NONE;
     Set<String> groupByFields = new HashSet<>();
 
+    AggregationOperation queryDownsamplingFunction = downsamplingFunction;
+    int queryDownsamplingInterval = downsamplingInterval;
+
     boolean rangeSet = false;
     long start = 0;
     long end = 0;
@@ -173,10 +176,18 @@ public abstract class TimeseriesDB extends DB {
         String groupBySpecifier = field.split(tagPairDelimiter)[1];
         aggregationOperation = TimeseriesDB.AggregationOperation.valueOf(groupBySpecifier);
       } else if (field.startsWith(downsamplingKey)) {
-        String downsamplingSpec = field.split(tagPairDelimiter)[1];
-        // apparently that needs to always hold true:
-        if (!downsamplingSpec.equals(downsamplingFunction.toString() + downsamplingInterval.toString())) {
-          System.err.print("Downsampling specification for Scan did not match configured downsampling");
+        // the workload sends the function and interval of each query, e.g. SUM60 or SUM=60
+        String downsamplingSpec = field.substring(downsamplingKey.length() + tagPairDelimiter.length())
+            .replace(tagPairDelimiter, "");
+        int digits = downsamplingSpec.length();
+        while (digits > 0 && Character.isDigit(downsamplingSpec.charAt(digits - 1))) {
+          digits--;
+        }
+        try {
+          queryDownsamplingFunction = AggregationOperation.valueOf(downsamplingSpec.substring(0, digits).toUpperCase());
+          queryDownsamplingInterval = Integer.parseInt(downsamplingSpec.substring(digits));
+        } catch (IllegalArgumentException e) {
+          System.err.println("Invalid downsampling specification for Scan: " + downsamplingSpec);
           return Status.BAD_REQUEST;
         }
       } else {
@@ -193,7 +204,7 @@ public abstract class TimeseriesDB extends DB {
     if (!rangeSet) {
       return Status.BAD_REQUEST;
     }
-    return scan(table, start, end, tagQueries, downsamplingFunction, downsamplingInterval, timestampUnit);
+    return scan(table, start, end, tagQueries, queryDownsamplingFunction, queryDownsamplingInterval, timestampUnit);
   }
 
   /**
@@ -254,6 +265,28 @@ public abstract class TimeseriesDB extends DB {
    */
   protected abstract Status insert(String metric, long timestamp, double value, Map<String, ByteIterator> tags);
 
+  /**
+   * @inheritDoc
+   * @implNote this default implementation inserts the points one by one through
+   * {@link #insert(String, long, long, Map)} and {@link #insert(String, long, double, Map)}, stopping at the
+   * first failure. Databases with a batch write API should override it.
+   */
+  @Override
+  public Status insertPoints(String table, List<DataPoint> points) {
+    Map<String, ByteIterator> tags = new HashMap<>();
+    for (DataPoint point : points) {
+      tags.clear();
+      point.putTags(tags);
+      Status status = point.isFloatingPoint()
+          ? insert(table, point.getTimestamp(), point.getDoubleValue(), tags)
+          : insert(table, point.getTimestamp(), point.getLongValue(), tags);
+      if (!status.isOk()) {
+        return status;
+      }
+    }
+    return Status.OK;
+  }
+
   /**
    * NOTE: This operation is usually <b>not</b> supported for Time-Series databases.
    * Deletion of data is often instead regulated through automatic cleanup and "retention policies" or similar.
@@ -0,0 +1,300 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A time series query passed to {@link DB#queryTimeseries}. Every query selects the data points of
+ * one metric between two timestamps, both inclusive, whose tags match a filter, and then reduces
+ * them according to its {@link Shape}. Tags are referred to by their key and value strings, as
+ * written by {@link DataPoint#getTagKey(int)} and {@link DataPoint#getTagValue(int)}, so a database
+ * can translate a query without sharing state with the process that loaded the data.
+ */
+public final class TimeseriesQuery {
+
+  /** What a query computes and what its result rows hold. */
+  public enum Shape {
+    /** The latest data point of a single series: one row with its timestamp and value. */
+    LAST_VALUE,
+    /** The aggregate over the time range: one row with the start timestamp and the aggregate. */
+    RANGE,
+    /**
+     * The aggregate over the time range per value of the group by tag: one row per tag value with
+     * data in ascending order of the tag values, holding the start timestamp, the aggregate and the
+     * group by tag with its value.
+     */
+    GROUP_BY,
+    /**
+     * The series with the largest aggregates over the time range: up to top K rows in the order of
+     * {@link #topKOrder()}, holding the start timestamp, the aggregate and all tags of the series.
+     */
+    TOP_K,
+    /**
+     * The aggregate per bucket of the downsampling interval, buckets aligned to multiples of the
+     * interval: one row per bucket with data, holding the bucket start and the aggregate.
+     */
+    DOWNSAMPLE
+  }
+
+  private final Shape shape;
+  private final String metric;
+  private final long startTs;
+  private final long endTs;
+  private final String[] tagKeys;
+  private final String[] tagFilter;
+  private final TimeseriesDB.AggregationOperation aggregation;
+  private int groupByTag = -1;
+  private int topK;
+  private long downsamplingInterval;
+
+  private TimeseriesQuery(Shape shape, String metric, long startTs, long endTs, String[] tagKeys,
+                          String[] tagFilter, TimeseriesDB.AggregationOperation aggregation) {
+    this.shape = shape;
+    this.metric = metric;
+    this.startTs = startTs;
+    this.endTs = endTs;
+    this.tagKeys = tagKeys;
+    this.tagFilter = tagFilter;
+    this.aggregation = aggregation;
+  }
+
+  /**
+   * @param metric The metric, or time series key.
+   * @param startTs The first timestamp of the range.
+   * @param endTs The last timestamp of the range.
+   * @param tagKeys The tag keys of the series of the metric.
+   * @param tagFilter The tag value to match per tag key, or null for any value.
+   * @return A {@link Shape#LAST_VALUE} query.
+   */
+  public static TimeseriesQuery lastValue(String metric, long startTs, long endTs, String[] tagKeys,
+                                          String[] tagFilter) {
+    return new TimeseriesQuery(Shape.LAST_VALUE, metric, startTs, endTs, tagKeys, tagFilter,
+        TimeseriesDB.AggregationOperation.NONE);
+  }
+
+  /**
+   * @param metric The metric, or time series key.
+   * @param startTs The first timestamp of the range.
+   * @param endTs The last timestamp of the range.
+   * @param tagKeys The tag keys of the series of the metric.
+   * @param tagFilter The tag value to match per tag key, or null for any value.
+   * @param aggregation The aggregation over the range.
+   * @return A {@link Shape#RANGE} query.
+   */
+  public static TimeseriesQuery range(String metric, long startTs, long endTs, String[] tagKeys,
+                                      String[] tagFilter, TimeseriesDB.AggregationOperation aggregation) {
+    return new TimeseriesQuery(Shape.RANGE, metric, startTs, endTs, tagKeys, tagFilter, aggregation);
+  }
+
+  /**
+   * @param metric The metric, or time series key.
+   * @param startTs The first timestamp of the range.
+   * @param endTs The last timestamp of the range.
+   * @param tagKeys The tag keys of the series of the metric.
+   * @param tagFilter The tag value to match per tag key, or null for any value.
+   * @param aggregation The aggregation per group.
+   * @param groupByTag The index of the tag key to group on.
+   * @return A {@link Shape#GROUP_BY} query.
+   */
+  public static TimeseriesQuery groupBy(String metric, long startTs, long endTs, String[] tagKeys,
+                                        String[] tagFilter, TimeseriesDB.AggregationOperation aggregation,
+                                        int groupByTag) {
+    TimeseriesQuery query = new TimeseriesQuery(Shape.GROUP_BY, metric, startTs, endTs, tagKeys, tagFilter,
+        aggregation);
+    query.groupByTag = groupByTag;
+    return query;
+  }
+
+  /**
+   * @param metric The metric, or time series key.
+   * @param startTs The first timestamp of the range.
+   * @param endTs The last timestamp of the range.
+   * @param tagKeys The tag keys of the series of the metric.
+   * @param tagFilter The tag value to match per tag key, or null for any value.
+   * @param aggregation The aggregation per series the series are ranked by.
+   * @param topK The number of series to return.
+   * @return A {@link Shape#TOP_K} query.
+   */
+  public static TimeseriesQuery topK(String metric, long startTs, long endTs, String[] tagKeys,
+                                     String[] tagFilter, TimeseriesDB.AggregationOperation aggregation, int topK) {
+    TimeseriesQuery query = new TimeseriesQuery(Shape.TOP_K, metric, startTs, endTs, tagKeys, tagFilter,
+        aggregation);
+    query.topK = topK;
+    return query;
+  }
+
+  /**
+   * @param metric The metric, or time series key.
+   * @param startTs The first timestamp of the range.
+   * @param endTs The last timestamp of the range.
+   * @param tagKeys The tag keys of the series of the metric.
+   * @param tagFilter The tag value to match per tag key, or null for any value.
+   * @param aggregation The aggregation per bucket.
+   * @param downsamplingInterval The bucket width, in timestamp units.
+   * @return A {@link Shape#DOWNSAMPLE} query.
+   */
+  public static TimeseriesQuery downsample(String metric, long startTs, long endTs, String[] tagKeys,
+                                           String[] tagFilter, TimeseriesDB.AggregationOperation aggregation,
+                                           long downsamplingInterval) {
+    TimeseriesQuery query = new TimeseriesQuery(Shape.DOWNSAMPLE, metric, startTs, endTs, tagKeys, tagFilter,
+        aggregation);
+    query.downsamplingInterval = downsamplingInterval;
+    return query;
+  }
+
+  public Shape getShape() {
+    return shape;
+  }
+
+  public String getMetric() {
+    return metric;
+  }
+
+  public long getStartTs() {
+    return startTs;
+  }
+
+  public long getEndTs() {
+    return endTs;
+  }
+
+  public int getTagCount() {
+    return tagKeys.length;
+  }
+
+  public String getTagKey(int tag) {
+    return tagKeys[tag];
+  }
+
+  /**
+   * @param tag The index of a tag key.
+   * @return The tag value the tag must have, or null for any value.
+   */
+  public String getTagFilter(int tag) {
+    return tagFilter[tag];
+  }
+
+  public TimeseriesDB.AggregationOperation getAggregation() {
+    return aggregation;
+  }
+
+  /**
+   * @return The index of the tag key to group on, or -1 if the shape is not {@link Shape#GROUP_BY}.
+   */
+  public int getGroupByTag() {
+    return groupByTag;
+  }
+
+  public int getTopK() {
+    return topK;
+  }
+
+  public long getDownsamplingInterval() {
+    return downsamplingInterval;
+  }
+
+  /**
+   * @param tags The tag values of a series by tag key.
+   * @return true if the series matches the tag filter.
+   */
+  public boolean matches(Map<String, String> tags) {
+    for (int i = 0; i < tagKeys.length; i++) {
+      if (tagFilter[i] != null && !tagFilter[i].equals(tags.get(tagKeys[i]))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @return The order of {@link Shape#TOP_K} rows: largest aggregate first, ties broken by the
+   * tag values of the series compared in the order of the tag keys of this query.
+   */
+  public Comparator<Row> topKOrder() {
+    return (a, b) -> {
+      int byValue = Double.compare(b.getValue(), a.getValue());
+      for (int i = 0; byValue == 0 && i < tagKeys.length; i++) {
+        byValue = a.getTags().get(tagKeys[i]).compareTo(b.getTags().get(tagKeys[i]));
+      }
+      return byValue;
+    };
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder().append(shape).append(' ').append(aggregation).append(' ')
+        .append(metric).append(" [ ");
+    for (int i = 0; i < tagKeys.length; i++) {
+      sb.append(tagKeys[i]).append('=').append(tagFilter[i] == null ? "*" : tagFilter[i]).append(' ');
+    }
+    return sb.append("] [").append(startTs).append(", ").append(endTs).append("] groupby=")
+        .append(groupByTag < 0 ? "" : tagKeys[groupByTag]).append(" k=").append(topK)
+        .append(" interval=").append(downsamplingInterval).toString();
+  }
+
+  /**
+   * One row of a query result.
+   */
+  public static final class Row {
+    private final long timestamp;
+    private final double value;
+    private final Map<String, String> tags;
+
+    /**
+     * @param timestamp The timestamp of the row, see {@link Shape}.
+     * @param value The value or aggregate.
+     * @param tags The tag values identifying the group or series by tag key, or null if the shape
+     * has none.
+     */
+    public Row(long timestamp, double value, Map<String, String> tags) {
+      this.timestamp = timestamp;
+      this.value = value;
+      this.tags = tags;
+    }
+
+    public long getTimestamp() {
+      return timestamp;
+    }
+
+    public double getValue() {
+      return value;
+    }
+
+    public Map<String, String> getTags() {
+      return tags;
+    }
+
+    /**
+     * @param other Another row.
+     * @return true if both rows have the same timestamp and tags and values equal up to the
+     * rounding of double arithmetic.
+     */
+    public boolean matches(Row other) {
+      return timestamp == other.timestamp && Objects.equals(tags, other.tags)
+          && Math.abs(value - other.value) <= 1e-9 * Math.max(1.0, Math.abs(value));
+    }
+
+    @Override
+    public String toString() {
+      return timestamp + "=" + value + (tags == null ? "" : " " + tags);
+    }
+  }
+}
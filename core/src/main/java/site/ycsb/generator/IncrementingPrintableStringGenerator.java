@@ -196,7 +196,7 @@ public class IncrementingPrintableStringGenerator extends Generator<String> {
 
     final StringBuilder buffer = new StringBuilder(length);
     for (int i = 0; i < length; i++) {
-      buffer.append(Character.toChars(characterSet[indices[i]]));
+      buffer.appendCodePoint(characterSet[indices[i]]);
     }
 
     // increment the indices;
@@ -21,8 +21,10 @@ import site.ycsb.Status;
 import site.ycsb.measurements.exporter.MeasurementsExporter;
 
 import java.io.IOException;
+import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Collects latency measurements, and reports them when requested.
@@ -68,6 +70,7 @@ public class Measurements {
 
   private final ConcurrentHashMap<String, OneMeasurement> opToMesurementMap;
   private final ConcurrentHashMap<String, OneMeasurement> opToIntendedMesurementMap;
+  private final ConcurrentHashMap<String, AtomicLong> gauges;
   private final MeasurementType measurementType;
   private final int measurementInterval;
   private final Properties props;
@@ -78,6 +81,7 @@ public class Measurements {
   public Measurements(Properties props) {
     opToMesurementMap = new ConcurrentHashMap<>();
     opToIntendedMesurementMap = new ConcurrentHashMap<>();
+    gauges = new ConcurrentHashMap<>();
 
     this.props = props;
 
@@ -239,6 +243,22 @@ public class Measurements {
     return m;
   }
 
+  /**
+   * Set the current value of a gauge, a metric that is not a latency, e.g. the number of series a workload
+   * has created. Gauges are exported and summarized with their last value.
+   */
+  public void setGauge(String name, long value) {
+    AtomicLong gauge = gauges.get(name);
+    if (gauge == null) {
+      gauge = new AtomicLong();
+      AtomicLong oldGauge = gauges.putIfAbsent(name, gauge);
+      if (oldGauge != null) {
+        gauge = oldGauge;
+      }
+    }
+    gauge.set(value);
+  }
+
   /**
    * Report a return code for a single DB operation.
    */
@@ -262,6 +282,9 @@ public class Measurements {
     for (OneMeasurement measurement : opToIntendedMesurementMap.values()) {
       measurement.exportMeasurements(exporter);
     }
+    for (Map.Entry<String, AtomicLong> gauge : gauges.entrySet()) {
+      exporter.write(gauge.getKey(), "Value", gauge.getValue().get());
+    }
   }
 
   /**
@@ -275,6 +298,9 @@ public class Measurements {
     for (OneMeasurement m : opToIntendedMesurementMap.values()) {
       ret += m.getSummary() + " ";
     }
+    for (Map.Entry<String, AtomicLong> gauge : gauges.entrySet()) {
+      ret += "[" + gauge.getKey() + ": Value=" + gauge.getValue().get() + "] ";
+    }
     return ret;
   }
 
@@ -0,0 +1,368 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb.workloads;
+
+import site.ycsb.ByteIterator;
+import site.ycsb.DB;
+import site.ycsb.InputStreamByteIterator;
+import site.ycsb.Status;
+import site.ycsb.WorkloadException;
+import site.ycsb.generator.NumberGenerator;
+import site.ycsb.generator.UniformLongGenerator;
+import site.ycsb.generator.ZipfianGenerator;
+import site.ycsb.measurements.Measurements;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A workload of large objects, for object stores. Values are streamed rather than built in memory:
+ * writes send a generated stream of the object size through {@link DB#writeStream}, reads receive
+ * the value in chunks through {@link DB#readStream} and discard them. Each client thread only holds
+ * one chunk, so object sizes can reach gigabytes whatever the thread count.
+ * <p>
+ * Reads, updates and inserts use the key distributions of {@link CoreWorkload}; updates replace the
+ * whole object. Scans are not supported.
+ * <p>
+ * Besides the per operation measurements (READ-STREAM and WRITE-STREAM), the following are
+ * reported:
+ * <UL>
+ * <LI><b>READ-TTFB</b>: the time to first byte of reads, in microseconds. Only reported with
+ * blob.streamapi, {@link DB#read} returns once the whole object has been read
+ * <LI><b>READ-MBPS</b>: the throughput of each successful read, in MiB/s
+ * <LI><b>WRITE-MBPS</b>: the throughput of each successful write, in MiB/s
+ * </ul>
+ * <p>
+ * Properties to control the client (sizes accept a K, M or G suffix for binary multiples):
+ * <UL>
+ * <LI><b>blob.minsize</b>: the smallest object size (default: 1M)
+ * <LI><b>blob.maxsize</b>: the largest object size (default: 16M)
+ * <LI><b>blob.sizedistribution</b>: the distribution of object sizes, constant, uniform or zipfian.
+ * Constant uses blob.maxsize. Zipfian favours small objects, drawing from the size classes
+ * blob.minsize, twice that, four times that and so on up to blob.maxsize (default: uniform)
+ * <LI><b>blob.chunksize</b>: the size of the block of random data repeated to make up written
+ * objects, and of the chunks read through the record API (default: 1M)
+ * <LI><b>blob.streamapi</b>: use {@link DB#readStream} and {@link DB#writeStream}. If false, objects
+ * are written as a single field holding an {@link InputStreamByteIterator} and read with
+ * {@link DB#read}, for bindings that only stream through ByteIterators (default: true)
+ * </ul>
+ */
+public class BlobWorkload extends CoreWorkload {
+  /**
+   * The name of the property for the smallest object size.
+   */
+  public static final String MIN_SIZE_PROPERTY = "blob.minsize";
+
+  /**
+   * The default smallest object size.
+   */
+  public static final String MIN_SIZE_PROPERTY_DEFAULT = "1M";
+
+  /**
+   * The name of the property for the largest object size.
+   */
+  public static final String MAX_SIZE_PROPERTY = "blob.maxsize";
+
+  /**
+   * The default largest object size.
+   */
+  public static final String MAX_SIZE_PROPERTY_DEFAULT = "16M";
+
+  /**
+   * The name of the property for the distribution of object sizes.
+   */
+  public static final String SIZE_DISTRIBUTION_PROPERTY = "blob.sizedistribution";
+
+  /**
+   * The default distribution of object sizes.
+   */
+  public static final String SIZE_DISTRIBUTION_PROPERTY_DEFAULT = "uniform";
+
+  /**
+   * The name of the property for the size of data blocks and read chunks.
+   */
+  public static final String CHUNK_SIZE_PROPERTY = "blob.chunksize";
+
+  /**
+   * The default size of data blocks and read chunks.
+   */
+  public static final String CHUNK_SIZE_PROPERTY_DEFAULT = "1M";
+
+  /**
+   * The name of the property for deciding whether to use the streaming DB API.
+   */
+  public static final String STREAM_API_PROPERTY = "blob.streamapi";
+
+  /**
+   * The default for using the streaming DB API.
+   */
+  public static final String STREAM_API_PROPERTY_DEFAULT = "true";
+
+  private static final double MIB = 1 << 20;
+
+  private NumberGenerator sizegenerator;
+  private int chunksize;
+  private boolean streamapi;
+
+  private final Measurements measurements = Measurements.getMeasurements();
+
+  @Override
+  public void init(Properties p) throws WorkloadException {
+    super.init(p);
+
+    if (Double.parseDouble(p.getProperty(SCAN_PROPORTION_PROPERTY, SCAN_PROPORTION_PROPERTY_DEFAULT)) > 0) {
+      throw new WorkloadException("Scans are not supported by " + getClass().getSimpleName());
+    }
+    String distribution = p.getProperty(SIZE_DISTRIBUTION_PROPERTY, SIZE_DISTRIBUTION_PROPERTY_DEFAULT);
+    long maxsize = parseSize(p.getProperty(MAX_SIZE_PROPERTY, MAX_SIZE_PROPERTY_DEFAULT));
+    long minsize = distribution.equals("constant") ? maxsize
+        : parseSize(p.getProperty(MIN_SIZE_PROPERTY, MIN_SIZE_PROPERTY_DEFAULT));
+    if (minsize < 1 || maxsize < minsize) {
+      throw new WorkloadException("Invalid object size range [" + minsize + ", " + maxsize + "]");
+    }
+    if (distribution.equals("constant")) {
+      sizegenerator = new ConstantLongGenerator(maxsize);
+    } else if (distribution.equals("uniform")) {
+      sizegenerator = new UniformLongGenerator(minsize, maxsize);
+    } else if (distribution.equals("zipfian")) {
+      sizegenerator = new SizeClassGenerator(minsize, maxsize);
+    } else {
+      throw new WorkloadException("Unknown object size distribution \"" + distribution + "\"");
+    }
+
+    long chunk = parseSize(p.getProperty(CHUNK_SIZE_PROPERTY, CHUNK_SIZE_PROPERTY_DEFAULT));
+    if (chunk < 1 || chunk > Integer.MAX_VALUE) {
+      throw new WorkloadException("Invalid " + CHUNK_SIZE_PROPERTY + ": " + chunk);
+    }
+    chunksize = (int) chunk;
+    streamapi = Boolean.parseBoolean(p.getProperty(STREAM_API_PROPERTY, STREAM_API_PROPERTY_DEFAULT));
+  }
+
+  @Override
+  public Object initThread(Properties p, int mythreadid, int threadcount) throws WorkloadException {
+    byte[] pattern = new byte[chunksize];
+    ThreadLocalRandom.current().nextBytes(pattern);
+    return new ThreadState(pattern, new byte[chunksize]);
+  }
+
+  @Override
+  public boolean doInsert(DB db, Object threadstate) {
+    long keynum = keysequence.nextValue().longValue();
+    String dbkey = CoreWorkload.buildKeyName(keynum, zeropadding, orderedinserts);
+    return insertWithRetries(() -> write(db, dbkey, (ThreadState) threadstate, true));
+  }
+
+  @Override
+  public boolean doTransaction(DB db, Object threadstate) {
+    String operation = operationchooser.nextString();
+    if (operation == null) {
+      return false;
+    }
+    ThreadState state = (ThreadState) threadstate;
+
+    switch (operation) {
+    case "READ":
+      read(db, nextKeyname(), state);
+      break;
+    case "UPDATE":
+      write(db, nextKeyname(), state, false);
+      break;
+    case "INSERT":
+      long keynum = transactioninsertkeysequence.nextValue();
+      try {
+        write(db, CoreWorkload.buildKeyName(keynum, zeropadding, orderedinserts), state, true);
+      } finally {
+        transactioninsertkeysequence.acknowledge(keynum);
+      }
+      break;
+    default:
+      String keyname = nextKeyname();
+      long ist = measurements.getIntendedStartTimeNs();
+      long st = System.nanoTime();
+      read(db, keyname, state);
+      write(db, keyname, state, false);
+      long en = System.nanoTime();
+      measurements.measure("READ-MODIFY-WRITE", (int) ((en - st) / 1000));
+      measurements.measureIntended("READ-MODIFY-WRITE", (int) ((en - ist) / 1000));
+    }
+    return true;
+  }
+
+  private String nextKeyname() {
+    return CoreWorkload.buildKeyName(nextKeynum(), zeropadding, orderedinserts);
+  }
+
+  private Status write(DB db, String keyname, ThreadState state, boolean insert) {
+    long size = sizegenerator.nextValue().longValue();
+    PatternInputStream value = new PatternInputStream(state.pattern, keyname.hashCode(), size);
+
+    long st = System.nanoTime();
+    Status status;
+    if (streamapi) {
+      status = db.writeStream(table, keyname, value, size);
+    } else {
+      Map<String, ByteIterator> values =
+          Collections.<String, ByteIterator>singletonMap(fieldnames.get(0), new InputStreamByteIterator(value, size));
+      status = insert ? db.insert(table, keyname, values) : db.update(table, keyname, values);
+    }
+    long en = System.nanoTime();
+
+    if (status != null && status.isOk()) {
+      measurements.measure("WRITE-MBPS", mibPerSecond(size, en - st));
+    }
+    return status;
+  }
+
+  private void read(DB db, String keyname, ThreadState state) {
+    state.startRead();
+    Status status;
+    if (streamapi) {
+      status = db.readStream(table, keyname, state::consume);
+    } else {
+      HashMap<String, ByteIterator> result = new HashMap<>();
+      status = db.read(table, keyname, null, result);
+      for (ByteIterator value : result.values()) {
+        while (value.hasNext()) {
+          int n = value.nextBuf(state.buffer, 0);
+          state.consume(ByteBuffer.wrap(state.buffer, 0, n));
+        }
+      }
+    }
+    long en = System.nanoTime();
+
+    if (status != null && status.isOk()) {
+      if (streamapi && state.firstByteNs != 0) {
+        measurements.measure("READ-TTFB", (int) ((state.firstByteNs - state.readStartNs) / 1000));
+      }
+      measurements.measure("READ-MBPS", mibPerSecond(state.bytesRead, en - state.readStartNs));
+    }
+  }
+
+  private static int mibPerSecond(long bytes, long nanos) {
+    return (int) Math.min(Math.round(bytes / MIB / (Math.max(nanos, 1) / 1e9)), Integer.MAX_VALUE);
+  }
+
+  /**
+   * Parses a size in bytes with an optional K, M or G suffix for binary multiples.
+   */
+  static long parseSize(String size) throws WorkloadException {
+    String s = size.trim().toUpperCase();
+    int shift = 0;
+    if (s.endsWith("K")) {
+      shift = 10;
+    } else if (s.endsWith("M")) {
+      shift = 20;
+    } else if (s.endsWith("G")) {
+      shift = 30;
+    }
+    try {
+      return Long.parseLong(shift == 0 ? s : s.substring(0, s.length() - 1)) << shift;
+    } catch (NumberFormatException e) {
+      throw new WorkloadException("Invalid size \"" + size + "\"", e);
+    }
+  }
+
+  /**
+   * The per thread block of data that makes up written objects, and the state of the current read.
+   */
+  private static final class ThreadState {
+    private final byte[] pattern;
+    private final byte[] buffer;
+    private long readStartNs;
+    private long firstByteNs;
+    private long bytesRead;
+
+    ThreadState(byte[] pattern, byte[] buffer) {
+      this.pattern = pattern;
+      this.buffer = buffer;
+    }
+
+    void startRead() {
+      readStartNs = System.nanoTime();
+      firstByteNs = 0;
+      bytesRead = 0;
+    }
+
+    void consume(ByteBuffer chunk) {
+      if (firstByteNs == 0 && chunk.hasRemaining()) {
+        firstByteNs = System.nanoTime();
+      }
+      bytesRead += chunk.remaining();
+    }
+  }
+
+  /**
+   * A zipfian generator of object sizes that ranks size classes rather than every byte count, which
+   * would make the zipfian constants of gigabyte ranges slow to compute and nearly every draw a few
+   * bytes over the minimum.
+   */
+  private static final class SizeClassGenerator extends NumberGenerator {
+    private final long[] sizes;
+    private final ZipfianGenerator ranks;
+
+    SizeClassGenerator(long minsize, long maxsize) {
+      int classes = 1;
+      for (long size = minsize; size < maxsize; size <<= 1) {
+        classes++;
+      }
+      sizes = new long[classes];
+      for (int i = 0; i < classes - 1; i++) {
+        sizes[i] = minsize << i;
+      }
+      sizes[classes - 1] = maxsize;
+      ranks = new ZipfianGenerator(0, classes - 1);
+    }
+
+    @Override
+    public Long nextValue() {
+      long size = sizes[ranks.nextValue().intValue()];
+      setLastValue(size);
+      return size;
+    }
+
+    @Override
+    public double mean() {
+      throw new UnsupportedOperationException("Zipfian sizes have no mean");
+    }
+  }
+
+  /**
+   * A generator of one long value.
+   */
+  private static final class ConstantLongGenerator extends NumberGenerator {
+    private final long value;
+
+    ConstantLongGenerator(long value) {
+      this.value = value;
+    }
+
+    @Override
+    public Long nextValue() {
+      return value;
+    }
+
+    @Override
+    public double mean() {
+      return value;
+    }
+  }
+}
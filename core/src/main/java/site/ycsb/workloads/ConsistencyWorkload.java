@@ -0,0 +1,340 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb.workloads;
+
+import site.ycsb.ByteIterator;
+import site.ycsb.Client;
+import site.ycsb.DB;
+import site.ycsb.Status;
+import site.ycsb.StringByteIterator;
+import site.ycsb.WorkloadException;
+import site.ycsb.measurements.Measurements;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A workload that measures consistency anomalies while running the usual {@link CoreWorkload}
+ * operation mix. Every write carries a per-key version that is incremented monotonically, and
+ * the latest acknowledged version of every key is tracked in an {@link OffHeapLongArray}. A read
+ * that returns an older version than the one acknowledged before the read started is a stale read.
+ * A store may apply concurrent writes of a key in either order, so only a write that overlapped no
+ * other write of its key raises the version reads are expected to return.
+ * A stale key is read again after a grace period; if it still returns a version older than the one
+ * that was acknowledged, the acknowledged write is reported as a lost update.
+ * <p>
+ * Results are reported under the following measurement names:
+ * <UL>
+ * <LI><b>CONSISTENCY</b>: the status of every verified read; OK, STALE_READ, or UNEXPECTED_STATE
+ * if no version could be decoded from the record
+ * <LI><b>STALENESS</b>: how many acknowledged versions behind each verified read was
+ * <LI><b>LOST-UPDATE-CHECK</b>: the status of every re-read of a stale key; OK or LOST_UPDATE
+ * </ul>
+ * <p>
+ * Since any field may carry the latest version, reads always fetch all fields. Scans are issued
+ * but not verified.
+ * <p>
+ * Properties to control the client:
+ * <UL>
+ * <LI><b>consistency.lostupdatecheckdelay</b>: how long to wait, in milliseconds, before re-reading
+ * a key that returned a stale read (default: 1000)
+ * <LI><b>consistency.trackedrecords</b>: the number of keys whose versions are tracked. Keys beyond
+ * this are written and read without verification (default: recordcount plus twice the expected
+ * number of inserts)
+ * </ul>
+ */
+public class ConsistencyWorkload extends CoreWorkload {
+  /**
+   * The name of the property for the delay before re-checking a stale key, in milliseconds.
+   */
+  public static final String LOST_UPDATE_CHECK_DELAY_PROPERTY = "consistency.lostupdatecheckdelay";
+
+  /**
+   * The default delay before re-checking a stale key, in milliseconds.
+   */
+  public static final String LOST_UPDATE_CHECK_DELAY_PROPERTY_DEFAULT = "1000";
+
+  /**
+   * The name of the property for the number of keys whose versions are tracked.
+   */
+  public static final String TRACKED_RECORDS_PROPERTY = "consistency.trackedrecords";
+
+  /**
+   * Reported when a read returns an older version than the latest acknowledged one.
+   */
+  public static final Status STALE_READ = new Status("STALE_READ",
+      "The read returned an older version than the latest acknowledged write.");
+
+  /**
+   * Reported when an acknowledged write is still not visible after the grace period.
+   */
+  public static final Status LOST_UPDATE = new Status("LOST_UPDATE",
+      "An acknowledged write was not visible after the lost update check delay.");
+
+  private static final char VERSION_SEPARATOR = ':';
+
+  /** The last version handed out to a writer, per key. */
+  private OffHeapLongArray issuedVersions;
+
+  /** The highest version whose write was acknowledged by the database, per key. */
+  private OffHeapLongArray acknowledgedVersions;
+
+  /** The number of writes in flight, per key. */
+  private OffHeapLongArray inFlightWrites;
+
+  /** Bumped whenever a write of a key starts while another one is in flight, per key. */
+  private OffHeapLongArray overlappedWrites;
+
+  private long lostUpdateCheckDelayNs;
+
+  private final Measurements measurements = Measurements.getMeasurements();
+
+  @Override
+  public void init(Properties p) throws WorkloadException {
+    super.init(p);
+
+    final double insertproportion = Double.parseDouble(
+        p.getProperty(INSERT_PROPORTION_PROPERTY, INSERT_PROPORTION_PROPERTY_DEFAULT));
+    final long opcount = Long.parseLong(p.getProperty(Client.OPERATION_COUNT_PROPERTY, "0"));
+    final long defaultTracked = recordcount + (long) (opcount * insertproportion * 2.0);
+    final long tracked = Long.parseLong(
+        p.getProperty(TRACKED_RECORDS_PROPERTY, String.valueOf(defaultTracked)));
+    issuedVersions = new OffHeapLongArray(tracked);
+    acknowledgedVersions = new OffHeapLongArray(tracked);
+    inFlightWrites = new OffHeapLongArray(tracked);
+    overlappedWrites = new OffHeapLongArray(tracked);
+
+    lostUpdateCheckDelayNs = TimeUnit.MILLISECONDS.toNanos(Long.parseLong(
+        p.getProperty(LOST_UPDATE_CHECK_DELAY_PROPERTY, LOST_UPDATE_CHECK_DELAY_PROPERTY_DEFAULT)));
+  }
+
+  @Override
+  public Object initThread(Properties p, int mythreadid, int threadcount) throws WorkloadException {
+    return new ArrayDeque<PendingCheck>();
+  }
+
+  @Override
+  public boolean doInsert(DB db, Object threadstate) {
+    long keynum = keysequence.nextValue().longValue();
+    String dbkey = CoreWorkload.buildKeyName(keynum, zeropadding, orderedinserts);
+    return insertWithRetries(db, dbkey, buildVersionedValues(dbkey, fieldnames, 0));
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public boolean doTransaction(DB db, Object threadstate) {
+    ArrayDeque<PendingCheck> pending = (ArrayDeque<PendingCheck>) threadstate;
+    checkForLostUpdates(db, pending);
+
+    String operation = operationchooser.nextString();
+    if (operation == null) {
+      return false;
+    }
+
+    switch (operation) {
+    case "READ":
+      doVerifiedRead(db, nextKeynum(), pending);
+      break;
+    case "UPDATE":
+      doVersionedUpdate(db, nextKeynum());
+      break;
+    case "INSERT":
+      doTransactionInsert(db);
+      break;
+    case "SCAN":
+      doTransactionScan(db);
+      break;
+    default:
+      doVerifiedReadModifyWrite(db, nextKeynum(), pending);
+    }
+    return true;
+  }
+
+  @Override
+  public void doTransactionInsert(DB db) {
+    long keynum = transactioninsertkeysequence.nextValue();
+    try {
+      String dbkey = CoreWorkload.buildKeyName(keynum, zeropadding, orderedinserts);
+      db.insert(table, dbkey, buildVersionedValues(dbkey, fieldnames, 0));
+    } finally {
+      transactioninsertkeysequence.acknowledge(keynum);
+    }
+  }
+
+  private void doVerifiedRead(DB db, long keynum, ArrayDeque<PendingCheck> pending) {
+    String keyname = CoreWorkload.buildKeyName(keynum, zeropadding, orderedinserts);
+    long expected = tracked(keynum) ? acknowledgedVersions.get(keynum) : -1;
+
+    HashMap<String, ByteIterator> cells = new HashMap<>();
+    Status status = db.read(table, keyname, readFields(), cells);
+    if (expected >= 0 && status != null && status.isOk()) {
+      verify(keyname, expected, cells, pending);
+    }
+  }
+
+  private void doVersionedUpdate(DB db, long keynum) {
+    String keyname = CoreWorkload.buildKeyName(keynum, zeropadding, orderedinserts);
+    if (!tracked(keynum)) {
+      db.update(table, keyname, buildVersionedValues(keyname, writeFields(), 0));
+      return;
+    }
+    // Read before joining the writers, so a write that starts while this one is in flight shows
+    long overlaps = overlappedWrites.get(keynum);
+    boolean overlapped = inFlightWrites.incrementAndGet(keynum) > 1;
+    if (overlapped) {
+      overlappedWrites.incrementAndGet(keynum);
+    }
+    long version = issuedVersions.incrementAndGet(keynum);
+    Status status;
+    try {
+      status = db.update(table, keyname, buildVersionedValues(keyname, writeFields(), version));
+    } finally {
+      inFlightWrites.addAndGet(keynum, -1);
+    }
+    overlapped |= overlappedWrites.get(keynum) != overlaps;
+    if (!overlapped && status != null && status.isOk()) {
+      acknowledgedVersions.accumulateMax(keynum, version);
+    }
+  }
+
+  private void doVerifiedReadModifyWrite(DB db, long keynum, ArrayDeque<PendingCheck> pending) {
+    long ist = measurements.getIntendedStartTimeNs();
+    long st = System.nanoTime();
+    doVerifiedRead(db, keynum, pending);
+    doVersionedUpdate(db, keynum);
+    long en = System.nanoTime();
+
+    measurements.measure("READ-MODIFY-WRITE", (int) ((en - st) / 1000));
+    measurements.measureIntended("READ-MODIFY-WRITE", (int) ((en - ist) / 1000));
+  }
+
+  /**
+   * Compares the version returned by a read with the version acknowledged before the read started.
+   */
+  private void verify(String keyname, long expected, Map<String, ByteIterator> cells,
+                      ArrayDeque<PendingCheck> pending) {
+    long observed = observedVersion(cells);
+    if (observed < 0) {
+      measurements.reportStatus("CONSISTENCY", Status.UNEXPECTED_STATE);
+      return;
+    }
+    long staleness = Math.max(0, expected - observed);
+    measurements.measure("STALENESS", (int) Math.min(staleness, Integer.MAX_VALUE));
+    if (staleness == 0) {
+      measurements.reportStatus("CONSISTENCY", Status.OK);
+    } else {
+      measurements.reportStatus("CONSISTENCY", STALE_READ);
+      pending.addLast(new PendingCheck(keyname, expected, System.nanoTime() + lostUpdateCheckDelayNs));
+    }
+  }
+
+  /**
+   * Re-reads the keys of this thread's stale reads whose grace period has elapsed.
+   */
+  private void checkForLostUpdates(DB db, ArrayDeque<PendingCheck> pending) {
+    long now = System.nanoTime();
+    while (!pending.isEmpty() && pending.peekFirst().deadlineNs - now <= 0) {
+      PendingCheck check = pending.pollFirst();
+      HashMap<String, ByteIterator> cells = new HashMap<>();
+      Status status = db.read(table, check.keyname, readFields(), cells);
+      if (status == null || !status.isOk()) {
+        continue;
+      }
+      long observed = observedVersion(cells);
+      measurements.reportStatus("LOST-UPDATE-CHECK", observed >= check.expected ? Status.OK : LOST_UPDATE);
+    }
+  }
+
+  private boolean tracked(long keynum) {
+    return keynum >= 0 && keynum < acknowledgedVersions.length();
+  }
+
+  private Set<String> readFields() {
+    return readallfieldsbyname ? new HashSet<>(fieldnames) : null;
+  }
+
+  private Iterable<String> writeFields() {
+    if (writeallfields) {
+      return fieldnames;
+    }
+    HashSet<String> field = new HashSet<>();
+    field.add(fieldnames.get(fieldchooser.nextValue().intValue()));
+    return field;
+  }
+
+  /**
+   * Builds values whose content starts with the given version, followed by deterministic data.
+   */
+  HashMap<String, ByteIterator> buildVersionedValues(String key, Iterable<String> fields, long version) {
+    HashMap<String, ByteIterator> values = new HashMap<>();
+    for (String fieldkey : fields) {
+      int size = fieldlengthgenerator.nextValue().intValue();
+      StringBuilder sb = new StringBuilder(Math.max(size, 32));
+      sb.append(version).append(VERSION_SEPARATOR);
+      int minimum = sb.length();
+      sb.append(key).append(VERSION_SEPARATOR).append(fieldkey);
+      while (sb.length() < size) {
+        sb.append(VERSION_SEPARATOR);
+        sb.append(sb.toString().hashCode());
+      }
+      sb.setLength(Math.max(size, minimum));
+      values.put(fieldkey, new StringByteIterator(sb.toString()));
+    }
+    return values;
+  }
+
+  /**
+   * @return The highest version found in the returned fields, or -1 if none could be decoded.
+   */
+  static long observedVersion(Map<String, ByteIterator> cells) {
+    long observed = -1;
+    for (ByteIterator value : cells.values()) {
+      String data = value.toString();
+      int end = data.indexOf(VERSION_SEPARATOR);
+      if (end <= 0) {
+        continue;
+      }
+      try {
+        observed = Math.max(observed, Long.parseLong(data.substring(0, end)));
+      } catch (NumberFormatException e) {
+        // Not written by this workload, ignore the field.
+      }
+    }
+    return observed;
+  }
+
+  /**
+   * A key that returned a stale read and must be checked again for a lost update.
+   */
+  private static final class PendingCheck {
+    private final String keyname;
+    private final long expected;
+    private final long deadlineNs;
+
+    PendingCheck(String keyname, long expected, long deadlineNs) {
+      this.keyname = keyname;
+      this.expected = expected;
+      this.deadlineNs = deadlineNs;
+    }
+  }
+}
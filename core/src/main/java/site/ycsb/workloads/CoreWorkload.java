@@ -24,6 +24,8 @@ import site.ycsb.measurements.Measurements;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
 
 /**
  * The core benchmark scenario. Represents a set of clients doing simple CRUD operations. The
@@ -50,6 +52,15 @@ import java.util.*;
  * <LI><b>maxscanlength</b>: for scans, what is the maximum number of records to scan (default: 1000)
  * <LI><b>scanlengthdistribution</b>: for scans, what distribution should be used to choose the
  * number of records to scan, for each scan, between 1 and maxscanlength (default: uniform)
+ * <LI><b>scanreverseproportion</b>: what proportion of scans should read in descending key order
+ * from the start key (default: 0)
+ * <LI><b>scankeysonlyproportion</b>: what proportion of scans should return only keys (default: 0)
+ * <LI><b>scanboundedproportion</b>: what proportion of scans should stop at an end key, the key of
+ * the record scan length records away, rather than after a number of records; end keys delimit the
+ * scan length only with insertorder=ordered and a zeropadding of at least the number of digits of
+ * recordcount, otherwise "user15" sorts before "user5" (default: 0)
+ * <LI><b>scanstreaming</b>: should all scans pass records to a consumer as they are read instead of
+ * collecting them, scans of the shapes above always do (default: false)
  * <LI><b>insertstart</b>: for parallel loads and runs, defines the starting record for this
  * YCSB instance (default: 0)
  * <LI><b>insertcount</b>: for parallel loads and runs, defines the number of records for this
@@ -88,7 +99,7 @@ public class CoreWorkload extends Workload {
    */
   public static final String FIELD_COUNT_PROPERTY_DEFAULT = "10";
   
-  private List<String> fieldnames;
+  protected List<String> fieldnames;
 
   /**
    * The name of the property for the field length distribution. Options are "uniform", "zipfian"
@@ -304,6 +315,46 @@ public class CoreWorkload extends Workload {
    */
   public static final String SCAN_LENGTH_DISTRIBUTION_PROPERTY_DEFAULT = "uniform";
 
+  /**
+   * The name of the property for the proportion of scans in descending key order.
+   */
+  public static final String SCAN_REVERSE_PROPORTION_PROPERTY = "scanreverseproportion";
+
+  /**
+   * The default proportion of scans in descending key order.
+   */
+  public static final String SCAN_REVERSE_PROPORTION_PROPERTY_DEFAULT = "0";
+
+  /**
+   * The name of the property for the proportion of scans that return only keys.
+   */
+  public static final String SCAN_KEYS_ONLY_PROPORTION_PROPERTY = "scankeysonlyproportion";
+
+  /**
+   * The default proportion of scans that return only keys.
+   */
+  public static final String SCAN_KEYS_ONLY_PROPORTION_PROPERTY_DEFAULT = "0";
+
+  /**
+   * The name of the property for the proportion of scans that stop at an end key.
+   */
+  public static final String SCAN_BOUNDED_PROPORTION_PROPERTY = "scanboundedproportion";
+
+  /**
+   * The default proportion of scans that stop at an end key.
+   */
+  public static final String SCAN_BOUNDED_PROPORTION_PROPERTY_DEFAULT = "0";
+
+  /**
+   * The name of the property for streaming all scans to a consumer.
+   */
+  public static final String SCAN_STREAMING_PROPERTY = "scanstreaming";
+
+  /**
+   * The default for streaming all scans to a consumer.
+   */
+  public static final String SCAN_STREAMING_PROPERTY_DEFAULT = "false";
+
   /**
    * The name of the property for the order to insert records. Options are "ordered" or "hashed"
    */
@@ -369,6 +420,12 @@ public class CoreWorkload extends Workload {
   protected int insertionRetryLimit;
   protected int insertionRetryInterval;
 
+  private int maxscanlength;
+  private double scanreverseproportion;
+  private double scankeysonlyproportion;
+  private double scanboundedproportion;
+  private boolean scanstreaming;
+
   private Measurements measurements = Measurements.getMeasurements();
 
   public static String buildKeyName(long keynum, int zeropadding, boolean orderedinserts) {
@@ -440,8 +497,16 @@ public class CoreWorkload extends Workload {
         p.getProperty(REQUEST_DISTRIBUTION_PROPERTY, REQUEST_DISTRIBUTION_PROPERTY_DEFAULT);
     int minscanlength =
         Integer.parseInt(p.getProperty(MIN_SCAN_LENGTH_PROPERTY, MIN_SCAN_LENGTH_PROPERTY_DEFAULT));
-    int maxscanlength =
+    maxscanlength =
         Integer.parseInt(p.getProperty(MAX_SCAN_LENGTH_PROPERTY, MAX_SCAN_LENGTH_PROPERTY_DEFAULT));
+    scanreverseproportion = Double.parseDouble(
+        p.getProperty(SCAN_REVERSE_PROPORTION_PROPERTY, SCAN_REVERSE_PROPORTION_PROPERTY_DEFAULT));
+    scankeysonlyproportion = Double.parseDouble(
+        p.getProperty(SCAN_KEYS_ONLY_PROPORTION_PROPERTY, SCAN_KEYS_ONLY_PROPORTION_PROPERTY_DEFAULT));
+    scanboundedproportion = Double.parseDouble(
+        p.getProperty(SCAN_BOUNDED_PROPORTION_PROPERTY, SCAN_BOUNDED_PROPORTION_PROPERTY_DEFAULT));
+    scanstreaming = Boolean.parseBoolean(
+        p.getProperty(SCAN_STREAMING_PROPERTY, SCAN_STREAMING_PROPERTY_DEFAULT));
     String scanlengthdistrib =
         p.getProperty(SCAN_LENGTH_DISTRIBUTION_PROPERTY, SCAN_LENGTH_DISTRIBUTION_PROPERTY_DEFAULT);
 
@@ -484,6 +549,10 @@ public class CoreWorkload extends Workload {
     } else {
       orderedinserts = true;
     }
+    if (scanboundedproportion > 0 && orderedinserts && zeropadding < Long.toString(recordcount).length()) {
+      System.err.println("Warning: bounded scans need a zeropadding of at least "
+          + Long.toString(recordcount).length() + " for their end keys to sort after their start keys.");
+    }
 
     keysequence = new CounterGenerator(insertstart);
     operationchooser = createOperationGenerator(p);
@@ -550,7 +619,7 @@ public class CoreWorkload extends Workload {
   /**
    * Builds a value for a randomly chosen field.
    */
-  private HashMap<String, ByteIterator> buildSingleValue(String key) {
+  protected HashMap<String, ByteIterator> buildSingleValue(String key) {
     HashMap<String, ByteIterator> value = new HashMap<>();
 
     String fieldkey = fieldnames.get(fieldchooser.nextValue().intValue());
@@ -569,7 +638,7 @@ public class CoreWorkload extends Workload {
   /**
    * Builds values for all fields.
    */
-  private HashMap<String, ByteIterator> buildValues(String key) {
+  protected HashMap<String, ByteIterator> buildValues(String key) {
     HashMap<String, ByteIterator> values = new HashMap<>();
 
     for (String fieldkey : fieldnames) {
@@ -614,11 +683,30 @@ public class CoreWorkload extends Workload {
     int keynum = keysequence.nextValue().intValue();
     String dbkey = CoreWorkload.buildKeyName(keynum, zeropadding, orderedinserts);
     HashMap<String, ByteIterator> values = buildValues(dbkey);
+    return insertWithRetries(db, dbkey, values);
+  }
+
+  /**
+   * Inserts a record during the load phase, retrying up to the configured insertion retry limit.
+   *
+   * @return true if the record was eventually inserted.
+   */
+  protected boolean insertWithRetries(DB db, String dbkey, Map<String, ByteIterator> values) {
+    return insertWithRetries(() -> db.insert(table, dbkey, values));
+  }
 
+  /**
+   * Runs an insertion attempt during the load phase, retrying it up to the configured insertion
+   * retry limit.
+   *
+   * @param attempt Performs one insertion and returns its status.
+   * @return true if the record was eventually inserted.
+   */
+  protected boolean insertWithRetries(Supplier<Status> attempt) {
     Status status;
     int numOfRetries = 0;
     do {
-      status = db.insert(table, dbkey, values);
+      status = attempt.get();
       if (null != status && status.isOk()) {
         break;
       }
@@ -812,7 +900,33 @@ public class CoreWorkload extends Workload {
       fields.add(fieldname);
     }
 
-    db.scan(table, startkeyname, len, fields, new Vector<HashMap<String, ByteIterator>>());
+    boolean reverse = scanreverseproportion > 0 && ThreadLocalRandom.current().nextDouble() < scanreverseproportion;
+    boolean keysonly = scankeysonlyproportion > 0 && ThreadLocalRandom.current().nextDouble() < scankeysonlyproportion;
+    boolean bounded = scanboundedproportion > 0 && ThreadLocalRandom.current().nextDouble() < scanboundedproportion;
+    if (!scanstreaming && !reverse && !keysonly && !bounded) {
+      db.scan(table, startkeyname, len, fields, new Vector<HashMap<String, ByteIterator>>());
+      return;
+    }
+
+    ScanRange range = ScanRange.from(startkeyname, len);
+    long endkeynum = reverse ? keynum - len : keynum + len;
+    if (bounded && endkeynum >= 0) {
+      // the end key stops the scan, the limit only guards against huge ranges of hashed keys
+      range = ScanRange.from(startkeyname, maxscanlength)
+          .until(CoreWorkload.buildKeyName(endkeynum, zeropadding, orderedinserts));
+    }
+    if (reverse) {
+      range = range.reversed();
+    }
+    if (keysonly) {
+      range = range.keysOnly();
+      fields = null;
+    }
+    db.scan(table, range, fields, (key, values) -> {
+        if (dataintegrity && !values.isEmpty()) {
+          verifyRow(key, new HashMap<>(values));
+        }
+      });
   }
 
   public void doTransactionUpdate(DB db) {
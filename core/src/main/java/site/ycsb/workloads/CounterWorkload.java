@@ -0,0 +1,252 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb.workloads;
+
+import site.ycsb.ByteIterator;
+import site.ycsb.DB;
+import site.ycsb.Status;
+import site.ycsb.StringByteIterator;
+import site.ycsb.WorkloadException;
+import site.ycsb.generator.DiscreteGenerator;
+import site.ycsb.generator.NumberGenerator;
+import site.ycsb.generator.UniformLongGenerator;
+import site.ycsb.measurements.Measurements;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Properties;
+
+/**
+ * A workload of counters. Every field of every record is a counter, loaded as 0 and incremented by
+ * deltas. With {@code counter.mode=native} increments go through
+ * {@link DB#increment(String, String, String, long)}, so stores with atomic server side increments
+ * are measured on that path. With {@code counter.mode=readmodifywrite} the workload reads the
+ * counter and writes back the sum with an update instead, the way a client without native
+ * increments has to, measured as INCREMENT-RMW. With a zipfian request distribution increments
+ * concentrate on a few hot counters, which makes this a contention benchmark.
+ * <p>
+ * With {@code dataintegrity=true} the workload keeps the sum of the deltas sent and of the deltas
+ * acknowledged per counter, off the heap, and checks every read against them. A counter must hold
+ * at least the deltas acknowledged before the read started and at most the deltas sent before it
+ * completed, reported as COUNTER-VERIFY with status OK or UNEXPECTED_STATE. Read-modify-write
+ * increments that race lose updates and fail this check. Verification needs non-negative deltas
+ * and a single client process.
+ * <p>
+ * Properties to control the client:
+ * <UL>
+ * <LI><b>counter.incrementproportion</b>: the proportion of operations that increment a counter
+ * (default: 0.95)
+ * <LI><b>counter.readproportion</b>: the proportion of operations that read a counter (default:
+ * 0.05)
+ * <LI><b>counter.mindelta</b>: the smallest delta (default: 1)
+ * <LI><b>counter.maxdelta</b>: the largest delta, deltas are uniform in between (default: 1)
+ * <LI><b>counter.mode</b>: native or readmodifywrite (default: native)
+ * </ul>
+ * The {@code fieldcount} property sets the number of counters per record, and the key chooser of
+ * {@link CoreWorkload}, set by {@code requestdistribution}, picks the record.
+ */
+public class CounterWorkload extends CoreWorkload {
+  /**
+   * The name of the property for the proportion of operations that increment a counter.
+   */
+  public static final String INCREMENT_PROPORTION_PROPERTY = "counter.incrementproportion";
+
+  /**
+   * The default proportion of operations that increment a counter.
+   */
+  public static final String INCREMENT_PROPORTION_PROPERTY_DEFAULT = "0.95";
+
+  /**
+   * The name of the property for the proportion of operations that read a counter.
+   */
+  public static final String COUNTER_READ_PROPORTION_PROPERTY = "counter.readproportion";
+
+  /**
+   * The default proportion of operations that read a counter.
+   */
+  public static final String COUNTER_READ_PROPORTION_PROPERTY_DEFAULT = "0.05";
+
+  /**
+   * The name of the property for the smallest delta.
+   */
+  public static final String MIN_DELTA_PROPERTY = "counter.mindelta";
+
+  /**
+   * The default smallest delta.
+   */
+  public static final String MIN_DELTA_PROPERTY_DEFAULT = "1";
+
+  /**
+   * The name of the property for the largest delta.
+   */
+  public static final String MAX_DELTA_PROPERTY = "counter.maxdelta";
+
+  /**
+   * The default largest delta.
+   */
+  public static final String MAX_DELTA_PROPERTY_DEFAULT = "1";
+
+  /**
+   * The name of the property for how counters are incremented.
+   */
+  public static final String MODE_PROPERTY = "counter.mode";
+
+  /**
+   * The default way counters are incremented.
+   */
+  public static final String MODE_PROPERTY_DEFAULT = "native";
+
+  private DiscreteGenerator counterOperations;
+  private NumberGenerator deltas;
+  private boolean readModifyWrite;
+
+  /** The sum of the deltas sent per counter, when verifying. */
+  private OffHeapLongArray sent;
+
+  /** The sum of the deltas acknowledged per counter, when verifying. */
+  private OffHeapLongArray acknowledged;
+
+  private final Measurements measurements = Measurements.getMeasurements();
+
+  @Override
+  public void init(Properties p) throws WorkloadException {
+    super.init(p);
+
+    counterOperations = new DiscreteGenerator();
+    final double incrementproportion = Double.parseDouble(
+        p.getProperty(INCREMENT_PROPORTION_PROPERTY, INCREMENT_PROPORTION_PROPERTY_DEFAULT));
+    final double readproportion = Double.parseDouble(
+        p.getProperty(COUNTER_READ_PROPORTION_PROPERTY, COUNTER_READ_PROPORTION_PROPERTY_DEFAULT));
+    if (incrementproportion > 0) {
+      counterOperations.addValue(incrementproportion, "INCREMENT");
+    }
+    if (readproportion > 0) {
+      counterOperations.addValue(readproportion, "READ");
+    }
+
+    long mindelta = Long.parseLong(p.getProperty(MIN_DELTA_PROPERTY, MIN_DELTA_PROPERTY_DEFAULT));
+    long maxdelta = Long.parseLong(p.getProperty(MAX_DELTA_PROPERTY, MAX_DELTA_PROPERTY_DEFAULT));
+    if (maxdelta < mindelta) {
+      throw new WorkloadException("Invalid delta range [" + mindelta + ", " + maxdelta + "]");
+    }
+    deltas = new UniformLongGenerator(mindelta, maxdelta);
+
+    String mode = p.getProperty(MODE_PROPERTY, MODE_PROPERTY_DEFAULT);
+    if (!mode.equals("native") && !mode.equals("readmodifywrite")) {
+      throw new WorkloadException("Unknown counter mode \"" + mode + "\"");
+    }
+    readModifyWrite = mode.equals("readmodifywrite");
+
+    if (Boolean.parseBoolean(p.getProperty(DATA_INTEGRITY_PROPERTY, DATA_INTEGRITY_PROPERTY_DEFAULT))) {
+      if (mindelta < 0) {
+        throw new WorkloadException("Verifying counters needs non-negative deltas.");
+      }
+      sent = new OffHeapLongArray(recordcount * fieldcount);
+      acknowledged = new OffHeapLongArray(recordcount * fieldcount);
+    }
+  }
+
+  @Override
+  public boolean doInsert(DB db, Object threadstate) {
+    int keynum = keysequence.nextValue().intValue();
+    String dbkey = CoreWorkload.buildKeyName(keynum, zeropadding, orderedinserts);
+    HashMap<String, ByteIterator> values = new HashMap<>();
+    for (String fieldname : fieldnames) {
+      values.put(fieldname, new StringByteIterator("0"));
+    }
+    return insertWithRetries(db, dbkey, values);
+  }
+
+  @Override
+  public boolean doTransaction(DB db, Object threadstate) {
+    String operation = counterOperations.nextString();
+    if (operation == null) {
+      return false;
+    }
+
+    long keynum = nextKeynum();
+    int field = fieldchooser.nextValue().intValue();
+    if (operation.equals("INCREMENT")) {
+      doIncrement(db, keynum, field);
+    } else {
+      doCounterRead(db, keynum, field);
+    }
+    return true;
+  }
+
+  private void doIncrement(DB db, long keynum, int field) {
+    String keyname = CoreWorkload.buildKeyName(keynum, zeropadding, orderedinserts);
+    String fieldname = fieldnames.get(field);
+    long delta = deltas.nextValue().longValue();
+    long counter = keynum * fieldcount + field;
+    if (sent != null) {
+      sent.addAndGet(counter, delta);
+    }
+
+    Status status;
+    if (readModifyWrite) {
+      long ist = measurements.getIntendedStartTimeNs();
+      long st = System.nanoTime();
+      HashMap<String, ByteIterator> cells = new HashMap<>();
+      status = db.read(table, keyname, Collections.singleton(fieldname), cells);
+      if (status.isOk()) {
+        HashMap<String, ByteIterator> values = new HashMap<>();
+        values.put(fieldname, new StringByteIterator(Long.toString(parseCounter(cells.get(fieldname)) + delta)));
+        status = db.update(table, keyname, values);
+      }
+      long en = System.nanoTime();
+      measurements.measure("INCREMENT-RMW", (int) ((en - st) / 1000));
+      measurements.measureIntended("INCREMENT-RMW", (int) ((en - ist) / 1000));
+      measurements.reportStatus("INCREMENT-RMW", status);
+    } else {
+      status = db.increment(table, keyname, fieldname, delta);
+    }
+
+    if (acknowledged != null && status != null && status.isOk()) {
+      acknowledged.addAndGet(counter, delta);
+    }
+  }
+
+  private void doCounterRead(DB db, long keynum, int field) {
+    String keyname = CoreWorkload.buildKeyName(keynum, zeropadding, orderedinserts);
+    String fieldname = fieldnames.get(field);
+    long counter = keynum * fieldcount + field;
+    long lower = acknowledged != null ? acknowledged.get(counter) : 0;
+
+    HashMap<String, ByteIterator> cells = new HashMap<>();
+    Status status = db.read(table, keyname, Collections.singleton(fieldname), cells);
+
+    if (sent != null && status != null && status.isOk()) {
+      long upper = sent.get(counter);
+      long value = parseCounter(cells.get(fieldname));
+      measurements.reportStatus("COUNTER-VERIFY",
+          value >= lower && value <= upper ? Status.OK : Status.UNEXPECTED_STATE);
+    }
+  }
+
+  /**
+   * @return The value of a counter field, 0 if it is missing or empty.
+   */
+  private static long parseCounter(ByteIterator cell) {
+    if (cell == null) {
+      return 0;
+    }
+    String value = cell.toString().trim();
+    return value.isEmpty() ? 0 : Long.parseLong(value);
+  }
+}
@@ -0,0 +1,364 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb.workloads;
+
+import site.ycsb.ByteIterator;
+import site.ycsb.DB;
+import site.ycsb.Status;
+import site.ycsb.StringByteIterator;
+import site.ycsb.WorkloadException;
+import site.ycsb.generator.DiscreteGenerator;
+import site.ycsb.generator.NumberGenerator;
+import site.ycsb.generator.ScrambledZipfianGenerator;
+import site.ycsb.generator.ZipfianGenerator;
+import site.ycsb.measurements.Measurements;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A workload over a directed graph with power-law degrees, for stores used as graph backends. Every
+ * vertex is stored as two records: the vertex record, keyed and filled like the records of
+ * {@link CoreWorkload}, and its adjacency record, keyed by the vertex key with an {@code -edges}
+ * suffix, holding one field per outgoing edge. The edge field is named after the target vertex
+ * and holds the time the edge was created. Deleting an edge overwrites its field with an empty
+ * value, as the DB interface has no way to remove a single field, and readers skip empty edges.
+ * <p>
+ * The load phase writes the graph as a stream, one vertex and its adjacency record per insert,
+ * without keeping the graph in memory. The out-degree of a vertex is drawn from a zipfian
+ * distribution over [{@code graph.mindegree}, {@code graph.maxdegree}], so most vertices have few
+ * edges and some have many, and the targets of edges are drawn from a scrambled zipfian
+ * distribution over all vertices, so a few hub vertices have most incoming edges. The run phase
+ * picks source vertices with the key chooser of {@link CoreWorkload}, set by
+ * {@code requestdistribution}, and mixes the following operations:
+ * <UL>
+ * <LI><b>NEIGHBORS</b>: read the adjacency record of a vertex and then the vertex records of its
+ * neighbors in one batched read
+ * <LI><b>TRAVERSE</b>: a breadth-first traversal of {@code graph.hops} hops from a vertex, reading
+ * the adjacency records of every hop's frontier in one batched read
+ * <LI><b>INSERTEDGE</b>: add an edge to a new target with an update of one adjacency field
+ * <LI><b>DELETEEDGE</b>: read the adjacency record of a vertex and empty one of its edges
+ * </ul>
+ * Besides the latency of NEIGHBORS and TRAVERSE, the number of vertices every traversal visited is
+ * reported as TRAVERSE-VERTICES and the vertices it visited per second of its latency as
+ * TRAVERSE-VERTICES-PER-SECOND.
+ * <p>
+ * Properties to control the client:
+ * <UL>
+ * <LI><b>graph.neighborproportion</b>: the proportion of neighbor lookups (default: 0.5)
+ * <LI><b>graph.traverseproportion</b>: the proportion of traversals (default: 0.3)
+ * <LI><b>graph.insertedgeproportion</b>: the proportion of edge inserts (default: 0.15)
+ * <LI><b>graph.deleteedgeproportion</b>: the proportion of edge deletes (default: 0.05)
+ * <LI><b>graph.mindegree</b>: the smallest out-degree of a loaded vertex (default: 1)
+ * <LI><b>graph.maxdegree</b>: the largest out-degree of a loaded vertex (default: 100)
+ * <LI><b>graph.hops</b>: the depth of traversals (default: 2)
+ * <LI><b>graph.maxfrontier</b>: the most vertices read in one batched read, larger frontiers are
+ * cut to this many vertices (default: 1000)
+ * </ul>
+ * The {@code recordcount} property sets the number of vertices.
+ */
+public class GraphWorkload extends CoreWorkload {
+  /**
+   * The name of the property for the proportion of neighbor lookups.
+   */
+  public static final String NEIGHBOR_PROPORTION_PROPERTY = "graph.neighborproportion";
+
+  /**
+   * The default proportion of neighbor lookups.
+   */
+  public static final String NEIGHBOR_PROPORTION_PROPERTY_DEFAULT = "0.5";
+
+  /**
+   * The name of the property for the proportion of traversals.
+   */
+  public static final String TRAVERSE_PROPORTION_PROPERTY = "graph.traverseproportion";
+
+  /**
+   * The default proportion of traversals.
+   */
+  public static final String TRAVERSE_PROPORTION_PROPERTY_DEFAULT = "0.3";
+
+  /**
+   * The name of the property for the proportion of edge inserts.
+   */
+  public static final String INSERT_EDGE_PROPORTION_PROPERTY = "graph.insertedgeproportion";
+
+  /**
+   * The default proportion of edge inserts.
+   */
+  public static final String INSERT_EDGE_PROPORTION_PROPERTY_DEFAULT = "0.15";
+
+  /**
+   * The name of the property for the proportion of edge deletes.
+   */
+  public static final String DELETE_EDGE_PROPORTION_PROPERTY = "graph.deleteedgeproportion";
+
+  /**
+   * The default proportion of edge deletes.
+   */
+  public static final String DELETE_EDGE_PROPORTION_PROPERTY_DEFAULT = "0.05";
+
+  /**
+   * The name of the property for the smallest out-degree of a loaded vertex.
+   */
+  public static final String MIN_DEGREE_PROPERTY = "graph.mindegree";
+
+  /**
+   * The default smallest out-degree of a loaded vertex.
+   */
+  public static final String MIN_DEGREE_PROPERTY_DEFAULT = "1";
+
+  /**
+   * The name of the property for the largest out-degree of a loaded vertex.
+   */
+  public static final String MAX_DEGREE_PROPERTY = "graph.maxdegree";
+
+  /**
+   * The default largest out-degree of a loaded vertex.
+   */
+  public static final String MAX_DEGREE_PROPERTY_DEFAULT = "100";
+
+  /**
+   * The name of the property for the depth of traversals.
+   */
+  public static final String HOPS_PROPERTY = "graph.hops";
+
+  /**
+   * The default depth of traversals.
+   */
+  public static final String HOPS_PROPERTY_DEFAULT = "2";
+
+  /**
+   * The name of the property for the most vertices read in one batched read.
+   */
+  public static final String MAX_FRONTIER_PROPERTY = "graph.maxfrontier";
+
+  /**
+   * The default most vertices read in one batched read.
+   */
+  public static final String MAX_FRONTIER_PROPERTY_DEFAULT = "1000";
+
+  /** The suffix of the key of an adjacency record. */
+  static final String EDGES_SUFFIX = "-edges";
+
+  /** The prefix of the fields of an adjacency record, followed by the target vertex. */
+  static final String EDGE_PREFIX = "edge";
+
+  private DiscreteGenerator graphOperations;
+  private NumberGenerator degrees;
+  private NumberGenerator targets;
+  private int hops;
+  private int maxFrontier;
+
+  private final Measurements measurements = Measurements.getMeasurements();
+
+  @Override
+  public void init(Properties p) throws WorkloadException {
+    super.init(p);
+
+    graphOperations = new DiscreteGenerator();
+    addOperation(p, NEIGHBOR_PROPORTION_PROPERTY, NEIGHBOR_PROPORTION_PROPERTY_DEFAULT, "NEIGHBORS");
+    addOperation(p, TRAVERSE_PROPORTION_PROPERTY, TRAVERSE_PROPORTION_PROPERTY_DEFAULT, "TRAVERSE");
+    addOperation(p, INSERT_EDGE_PROPORTION_PROPERTY, INSERT_EDGE_PROPORTION_PROPERTY_DEFAULT, "INSERTEDGE");
+    addOperation(p, DELETE_EDGE_PROPORTION_PROPERTY, DELETE_EDGE_PROPORTION_PROPERTY_DEFAULT, "DELETEEDGE");
+
+    long mindegree = Long.parseLong(p.getProperty(MIN_DEGREE_PROPERTY, MIN_DEGREE_PROPERTY_DEFAULT));
+    long maxdegree = Long.parseLong(p.getProperty(MAX_DEGREE_PROPERTY, MAX_DEGREE_PROPERTY_DEFAULT));
+    if (mindegree < 0 || maxdegree < mindegree) {
+      throw new WorkloadException("Invalid degree range [" + mindegree + ", " + maxdegree + "]");
+    }
+    degrees = new ZipfianGenerator(mindegree, maxdegree);
+    targets = new ScrambledZipfianGenerator(0, recordcount - 1);
+
+    hops = Integer.parseInt(p.getProperty(HOPS_PROPERTY, HOPS_PROPERTY_DEFAULT));
+    maxFrontier = Integer.parseInt(p.getProperty(MAX_FRONTIER_PROPERTY, MAX_FRONTIER_PROPERTY_DEFAULT));
+    if (hops < 1 || maxFrontier < 1) {
+      throw new WorkloadException(HOPS_PROPERTY + " and " + MAX_FRONTIER_PROPERTY + " must be positive.");
+    }
+  }
+
+  private void addOperation(Properties p, String property, String defaultValue, String operation) {
+    final double proportion = Double.parseDouble(p.getProperty(property, defaultValue));
+    if (proportion > 0) {
+      graphOperations.addValue(proportion, operation);
+    }
+  }
+
+  @Override
+  public boolean doInsert(DB db, Object threadstate) {
+    long vertex = keysequence.nextValue().longValue();
+    String vertexKey = CoreWorkload.buildKeyName(vertex, zeropadding, orderedinserts);
+    if (!insertWithRetries(db, vertexKey, buildValues(vertexKey))) {
+      return false;
+    }
+
+    HashMap<String, ByteIterator> edges = new HashMap<>();
+    long degree = degrees.nextValue().longValue();
+    String created = Long.toString(System.currentTimeMillis());
+    for (long i = 0; i < degree; i++) {
+      long target = targets.nextValue().longValue();
+      if (target != vertex) {
+        edges.put(EDGE_PREFIX + target, new StringByteIterator(created));
+      }
+    }
+    return insertWithRetries(db, vertexKey + EDGES_SUFFIX, edges);
+  }
+
+  @Override
+  public boolean doTransaction(DB db, Object threadstate) {
+    String operation = graphOperations.nextString();
+    if (operation == null) {
+      return false;
+    }
+
+    switch (operation) {
+    case "NEIGHBORS":
+      doNeighbors(db);
+      break;
+    case "TRAVERSE":
+      doTraverse(db);
+      break;
+    case "INSERTEDGE":
+      doInsertEdge(db);
+      break;
+    default:
+      doDeleteEdge(db);
+    }
+    return true;
+  }
+
+  /**
+   * Reads the neighbors of a vertex, its adjacency record and then their vertex records.
+   */
+  public void doNeighbors(DB db) {
+    String vertexKey = CoreWorkload.buildKeyName(nextKeynum(), zeropadding, orderedinserts);
+
+    long ist = measurements.getIntendedStartTimeNs();
+    long st = System.nanoTime();
+    HashMap<String, ByteIterator> edges = new HashMap<>();
+    Status status = db.read(table, vertexKey + EDGES_SUFFIX, null, edges);
+    if (status.isOk()) {
+      List<String> neighbors = new ArrayList<>();
+      for (long target : targetsOf(edges)) {
+        if (neighbors.size() == maxFrontier) {
+          break;
+        }
+        neighbors.add(CoreWorkload.buildKeyName(target, zeropadding, orderedinserts));
+      }
+      if (!neighbors.isEmpty()) {
+        status = db.batchRead(table, neighbors, null, new HashMap<>());
+      }
+    }
+    long en = System.nanoTime();
+    measurements.measure("NEIGHBORS", (int) ((en - st) / 1000));
+    measurements.measureIntended("NEIGHBORS", (int) ((en - ist) / 1000));
+    measurements.reportStatus("NEIGHBORS", status);
+  }
+
+  /**
+   * Traverses the graph breadth first from a vertex, one batched read of adjacency records per hop.
+   */
+  public void doTraverse(DB db) {
+    long start = nextKeynum();
+
+    long ist = measurements.getIntendedStartTimeNs();
+    long st = System.nanoTime();
+    Set<Long> visited = new HashSet<>();
+    visited.add(start);
+    List<Long> frontier = new ArrayList<>();
+    frontier.add(start);
+    Status status = Status.OK;
+    for (int hop = 0; hop < hops && !frontier.isEmpty(); hop++) {
+      List<String> keys = new ArrayList<>(frontier.size());
+      for (long vertex : frontier) {
+        keys.add(CoreWorkload.buildKeyName(vertex, zeropadding, orderedinserts) + EDGES_SUFFIX);
+      }
+      Map<String, Map<String, ByteIterator>> adjacency = new HashMap<>();
+      status = db.batchRead(table, keys, null, adjacency);
+      if (!status.isOk()) {
+        break;
+      }
+
+      frontier = new ArrayList<>();
+      for (Map<String, ByteIterator> edges : adjacency.values()) {
+        for (long target : targetsOf(edges)) {
+          if (frontier.size() < maxFrontier && visited.add(target)) {
+            frontier.add(target);
+          }
+        }
+      }
+    }
+    long en = System.nanoTime();
+    measurements.measure("TRAVERSE", (int) ((en - st) / 1000));
+    measurements.measureIntended("TRAVERSE", (int) ((en - ist) / 1000));
+    measurements.reportStatus("TRAVERSE", status);
+    if (status.isOk()) {
+      measurements.measure("TRAVERSE-VERTICES", visited.size());
+      measurements.measure("TRAVERSE-VERTICES-PER-SECOND",
+          (int) Math.min(visited.size() * 1000000000L / Math.max(en - st, 1), Integer.MAX_VALUE));
+    }
+  }
+
+  /**
+   * Adds an edge from a vertex to a target drawn like the targets of loaded edges.
+   */
+  public void doInsertEdge(DB db) {
+    String vertexKey = CoreWorkload.buildKeyName(nextKeynum(), zeropadding, orderedinserts);
+    HashMap<String, ByteIterator> edge = new HashMap<>();
+    edge.put(EDGE_PREFIX + targets.nextValue().longValue(),
+        new StringByteIterator(Long.toString(System.currentTimeMillis())));
+    db.update(table, vertexKey + EDGES_SUFFIX, edge);
+  }
+
+  /**
+   * Deletes a random edge of a vertex by emptying its field.
+   */
+  public void doDeleteEdge(DB db) {
+    String edgesKey = CoreWorkload.buildKeyName(nextKeynum(), zeropadding, orderedinserts) + EDGES_SUFFIX;
+    HashMap<String, ByteIterator> edges = new HashMap<>();
+    if (!db.read(table, edgesKey, null, edges).isOk()) {
+      return;
+    }
+    List<Long> live = targetsOf(edges);
+    if (live.isEmpty()) {
+      return;
+    }
+    HashMap<String, ByteIterator> edge = new HashMap<>();
+    edge.put(EDGE_PREFIX + live.get(ThreadLocalRandom.current().nextInt(live.size())), new StringByteIterator(""));
+    db.update(table, edgesKey, edge);
+  }
+
+  /**
+   * @return The target vertices of the edges of an adjacency record that were not deleted.
+   */
+  static List<Long> targetsOf(Map<String, ByteIterator> edges) {
+    List<Long> targetVertices = new ArrayList<>(edges.size());
+    for (Map.Entry<String, ByteIterator> edge : edges.entrySet()) {
+      if (edge.getKey().startsWith(EDGE_PREFIX) && edge.getValue().hasNext()) {
+        targetVertices.add(Long.parseLong(edge.getKey().substring(EDGE_PREFIX.length())));
+      }
+    }
+    return targetVertices;
+  }
+}
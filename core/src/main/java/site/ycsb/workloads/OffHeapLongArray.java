@@ -0,0 +1,158 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb.workloads;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+
+/**
+ * A fixed size array of longs kept outside of the Java heap, so that per-record bookkeeping for
+ * hundreds of millions of records does not inflate the heap or the GC pauses of the client.
+ * <p>
+ * The array is split into direct buffer segments of at most {@link #SEGMENT_SIZE} entries and
+ * access is guarded by a fixed set of lock stripes, so concurrent client threads only contend
+ * when they touch records that hash onto the same stripe. All slots start at zero.
+ */
+public final class OffHeapLongArray {
+  /** Maximum number of longs held by one direct buffer segment (1 GB). */
+  static final int SEGMENT_SIZE = 1 << 27;
+
+  private static final int STRIPES = 1024;
+
+  private final long length;
+  private final int segmentSize;
+  private final LongBuffer[] segments;
+  private final Object[] locks;
+
+  /**
+   * @param length The number of slots in the array.
+   */
+  public OffHeapLongArray(long length) {
+    this(length, SEGMENT_SIZE);
+  }
+
+  OffHeapLongArray(long length, int segmentSize) {
+    if (length < 0) {
+      throw new IllegalArgumentException("Length must be non-negative: " + length);
+    }
+    this.length = length;
+    this.segmentSize = segmentSize;
+    int segmentCount = (int) ((length + segmentSize - 1) / segmentSize);
+    segments = new LongBuffer[segmentCount];
+    long remaining = length;
+    for (int i = 0; i < segmentCount; i++) {
+      int size = (int) Math.min(remaining, segmentSize);
+      segments[i] = ByteBuffer.allocateDirect(size * 8).order(ByteOrder.nativeOrder()).asLongBuffer();
+      remaining -= size;
+    }
+    locks = new Object[STRIPES];
+    for (int i = 0; i < STRIPES; i++) {
+      locks[i] = new Object();
+    }
+  }
+
+  /**
+   * @return The number of slots in the array.
+   */
+  public long length() {
+    return length;
+  }
+
+  /**
+   * @param index The slot to read.
+   * @return The current value of the slot.
+   */
+  public long get(long index) {
+    synchronized (lockFor(index)) {
+      return segment(index).get(offset(index));
+    }
+  }
+
+  /**
+   * @param index The slot to write.
+   * @param value The new value of the slot.
+   */
+  public void set(long index, long value) {
+    synchronized (lockFor(index)) {
+      segment(index).put(offset(index), value);
+    }
+  }
+
+  /**
+   * Atomically increments the slot by one.
+   *
+   * @param index The slot to increment.
+   * @return The value of the slot after the increment.
+   */
+  public long incrementAndGet(long index) {
+    return addAndGet(index, 1);
+  }
+
+  /**
+   * Atomically adds to the slot.
+   *
+   * @param index The slot to add to.
+   * @param delta The amount to add.
+   * @return The value of the slot after the addition.
+   */
+  public long addAndGet(long index, long delta) {
+    synchronized (lockFor(index)) {
+      LongBuffer segment = segment(index);
+      int offset = offset(index);
+      long value = segment.get(offset) + delta;
+      segment.put(offset, value);
+      return value;
+    }
+  }
+
+  /**
+   * Atomically raises the slot to {@code value} if it currently holds a smaller value.
+   *
+   * @param index The slot to update.
+   * @param value The candidate value.
+   * @return The value of the slot after the update.
+   */
+  public long accumulateMax(long index, long value) {
+    synchronized (lockFor(index)) {
+      LongBuffer segment = segment(index);
+      int offset = offset(index);
+      long current = segment.get(offset);
+      if (value > current) {
+        segment.put(offset, value);
+        return value;
+      }
+      return current;
+    }
+  }
+
+  private LongBuffer segment(long index) {
+    if (index < 0 || index >= length) {
+      throw new IndexOutOfBoundsException("Index " + index + " out of range [0, " + length + ")");
+    }
+    return segments[(int) (index / segmentSize)];
+  }
+
+  private int offset(long index) {
+    return (int) (index % segmentSize);
+  }
+
+  private Object lockFor(long index) {
+    return locks[(int) (index % STRIPES)];
+  }
+}
@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb.workloads;
+
+import java.io.InputStream;
+
+/**
+ * A stream of a given length that repeats a block of bytes, starting at an arbitrary offset in the
+ * block. Lets a workload send values of any size while holding only the block in memory.
+ */
+final class PatternInputStream extends InputStream {
+  private final byte[] pattern;
+  private final long length;
+  private long position;
+  private int offset;
+
+  /**
+   * @param pattern The bytes to repeat, must not be empty.
+   * @param start Where in the pattern the stream starts.
+   * @param length The number of bytes in the stream.
+   */
+  PatternInputStream(byte[] pattern, int start, long length) {
+    this.pattern = pattern;
+    this.length = length;
+    this.offset = Math.floorMod(start, pattern.length);
+  }
+
+  @Override
+  public int read() {
+    if (position >= length) {
+      return -1;
+    }
+    int b = pattern[offset] & 0xff;
+    advance(1);
+    return b;
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) {
+    if (len == 0) {
+      return 0;
+    }
+    if (position >= length) {
+      return -1;
+    }
+    int n = (int) Math.min(len, Math.min(length - position, pattern.length - offset));
+    System.arraycopy(pattern, offset, b, off, n);
+    advance(n);
+    return n;
+  }
+
+  @Override
+  public long skip(long n) {
+    long skipped = Math.max(0, Math.min(n, length - position));
+    position += skipped;
+    offset = (int) ((offset + skipped) % pattern.length);
+    return skipped;
+  }
+
+  @Override
+  public int available() {
+    return (int) Math.min(Integer.MAX_VALUE, length - position);
+  }
+
+  private void advance(int n) {
+    position += n;
+    offset += n;
+    if (offset == pattern.length) {
+      offset = 0;
+    }
+  }
+}
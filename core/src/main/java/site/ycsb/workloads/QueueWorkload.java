@@ -0,0 +1,345 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb.workloads;
+
+import site.ycsb.ByteIterator;
+import site.ycsb.DB;
+import site.ycsb.Status;
+import site.ycsb.StringByteIterator;
+import site.ycsb.WorkloadException;
+import site.ycsb.generator.AcknowledgedCounterGenerator;
+import site.ycsb.generator.DiscreteGenerator;
+import site.ycsb.measurements.Measurements;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Vector;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A producer/consumer workload over a number of logical queues, or append logs. Each queue is a
+ * range of keys with an increasing sequence number suffix, so the records of a queue are adjacent
+ * and in order in stores that sort keys. Producers append records at the tail of a random queue.
+ * Consumers take the record at the head of a queue, read it and delete it, so the head of every
+ * queue is a growing run of deleted keys. In log-structured stores those deletes are tombstones
+ * that every lookup of the head has to skip until they are compacted away, which
+ * {@code queue.headlookup=scan} reproduces.
+ * <p>
+ * Every record carries a header field with its key and the time it was enqueued, so
+ * the time a record spent in its queue is measured from the stored data, also when producers and
+ * consumers run in different client processes with synchronized clocks. Besides the database
+ * operations, the following are reported:
+ * <UL>
+ * <LI><b>DEQUEUE</b>: the latency of taking a record from a queue, the lookup and the delete, with
+ * the status of the delete, or EMPTY without a latency if every queue was empty
+ * <LI><b>ENQUEUE-TO-DEQUEUE</b>: the time from enqueueing a record to reading it back, in
+ * microseconds at millisecond resolution
+ * <LI><b>QUEUE-DEPTH</b>: the number of records behind the dequeued one, the consumer lag
+ * </ul>
+ * The load phase fills the queues with {@code recordcount} records, record i going to queue
+ * {@code i % queue.count}. The run phase expects the queues as loaded and enqueues and dequeues
+ * with the proportions below. Consumers stay {@code queue.lag} records behind the tail of every
+ * queue and report EMPTY when no queue has records beyond that.
+ * <p>
+ * Properties to control the client:
+ * <UL>
+ * <LI><b>queue.count</b>: the number of queues (default: 16)
+ * <LI><b>queue.enqueueproportion</b>: the proportion of operations that enqueue (default: 0.5)
+ * <LI><b>queue.dequeueproportion</b>: the proportion of operations that dequeue (default: 0.5)
+ * <LI><b>queue.lag</b>: how many records consumers stay behind the tail of a queue (default: 0)
+ * <LI><b>queue.headlookup</b>: how consumers find the head of a queue, key to read the key of the
+ * head record, or scan to scan one record from the first key of the queue like consumers that do
+ * not track the head do (default: key)
+ * <LI><b>queue.headerfield</b>: the name of the header field (default: header)
+ * </ul>
+ * The {@code fieldcount}, {@code fieldlength} and {@code table} properties of {@link CoreWorkload}
+ * apply to the records.
+ */
+public class QueueWorkload extends CoreWorkload {
+  /**
+   * The name of the property for the number of queues.
+   */
+  public static final String QUEUE_COUNT_PROPERTY = "queue.count";
+
+  /**
+   * The default number of queues.
+   */
+  public static final String QUEUE_COUNT_PROPERTY_DEFAULT = "16";
+
+  /**
+   * The name of the property for the proportion of operations that enqueue.
+   */
+  public static final String ENQUEUE_PROPORTION_PROPERTY = "queue.enqueueproportion";
+
+  /**
+   * The default proportion of operations that enqueue.
+   */
+  public static final String ENQUEUE_PROPORTION_PROPERTY_DEFAULT = "0.5";
+
+  /**
+   * The name of the property for the proportion of operations that dequeue.
+   */
+  public static final String DEQUEUE_PROPORTION_PROPERTY = "queue.dequeueproportion";
+
+  /**
+   * The default proportion of operations that dequeue.
+   */
+  public static final String DEQUEUE_PROPORTION_PROPERTY_DEFAULT = "0.5";
+
+  /**
+   * The name of the property for how many records consumers stay behind the tail.
+   */
+  public static final String LAG_PROPERTY = "queue.lag";
+
+  /**
+   * The default number of records consumers stay behind the tail.
+   */
+  public static final String LAG_PROPERTY_DEFAULT = "0";
+
+  /**
+   * The name of the property for how consumers find the head of a queue.
+   */
+  public static final String HEAD_LOOKUP_PROPERTY = "queue.headlookup";
+
+  /**
+   * The default way consumers find the head of a queue.
+   */
+  public static final String HEAD_LOOKUP_PROPERTY_DEFAULT = "key";
+
+  /**
+   * The name of the property for the name of the header field.
+   */
+  public static final String HEADER_FIELD_PROPERTY = "queue.headerfield";
+
+  /**
+   * The default name of the header field.
+   */
+  public static final String HEADER_FIELD_PROPERTY_DEFAULT = "header";
+
+  /**
+   * Reported when a consumer finds no record to dequeue.
+   */
+  public static final Status EMPTY = new Status("EMPTY", "There was no record to dequeue.");
+
+  /** The number of digits of the sequence number of a key. */
+  private static final int SEQUENCE_DIGITS = 12;
+
+  private int queues;
+  private long lag;
+  private boolean scanHead;
+  private String headerField;
+  private DiscreteGenerator queueOperations;
+
+  /** The next sequence number to enqueue per queue, acknowledged once the record is written. */
+  private AcknowledgedCounterGenerator[] tails;
+
+  /** The next sequence number to dequeue per queue. */
+  private AtomicLong[] heads;
+
+  private final Measurements measurements = Measurements.getMeasurements();
+
+  @Override
+  public void init(Properties p) throws WorkloadException {
+    super.init(p);
+
+    queues = Integer.parseInt(p.getProperty(QUEUE_COUNT_PROPERTY, QUEUE_COUNT_PROPERTY_DEFAULT));
+    if (queues < 1) {
+      throw new WorkloadException("'" + QUEUE_COUNT_PROPERTY + "' must be at least 1.");
+    }
+    lag = Long.parseLong(p.getProperty(LAG_PROPERTY, LAG_PROPERTY_DEFAULT));
+    if (lag < 0) {
+      throw new WorkloadException("'" + LAG_PROPERTY + "' must not be negative.");
+    }
+    String headLookup = p.getProperty(HEAD_LOOKUP_PROPERTY, HEAD_LOOKUP_PROPERTY_DEFAULT);
+    if (!headLookup.equals("key") && !headLookup.equals("scan")) {
+      throw new WorkloadException("Unknown head lookup \"" + headLookup + "\"");
+    }
+    scanHead = headLookup.equals("scan");
+    headerField = p.getProperty(HEADER_FIELD_PROPERTY, HEADER_FIELD_PROPERTY_DEFAULT);
+
+    queueOperations = new DiscreteGenerator();
+    final double enqueueproportion = Double.parseDouble(
+        p.getProperty(ENQUEUE_PROPORTION_PROPERTY, ENQUEUE_PROPORTION_PROPERTY_DEFAULT));
+    final double dequeueproportion = Double.parseDouble(
+        p.getProperty(DEQUEUE_PROPORTION_PROPERTY, DEQUEUE_PROPORTION_PROPERTY_DEFAULT));
+    if (enqueueproportion > 0) {
+      queueOperations.addValue(enqueueproportion, "ENQUEUE");
+    }
+    if (dequeueproportion > 0) {
+      queueOperations.addValue(dequeueproportion, "DEQUEUE");
+    }
+
+    tails = new AcknowledgedCounterGenerator[queues];
+    heads = new AtomicLong[queues];
+    for (int q = 0; q < queues; q++) {
+      tails[q] = new AcknowledgedCounterGenerator(loadedRecords(q));
+      heads[q] = new AtomicLong();
+    }
+  }
+
+  @Override
+  public boolean doInsert(DB db, Object threadstate) {
+    long keynum = keysequence.nextValue().longValue();
+    int queue = (int) (keynum % queues);
+    long sequence = keynum / queues;
+    String dbkey = buildQueueKey(queue, sequence);
+    return insertWithRetries(db, dbkey, buildRecord(dbkey));
+  }
+
+  @Override
+  public boolean doTransaction(DB db, Object threadstate) {
+    String operation = queueOperations.nextString();
+    if (operation == null) {
+      return false;
+    }
+
+    if (operation.equals("ENQUEUE")) {
+      doEnqueue(db);
+    } else {
+      doDequeue(db);
+    }
+    return true;
+  }
+
+  /**
+   * Appends a record at the tail of a random queue.
+   */
+  public void doEnqueue(DB db) {
+    int queue = ThreadLocalRandom.current().nextInt(queues);
+    long sequence = tails[queue].nextValue();
+    try {
+      String dbkey = buildQueueKey(queue, sequence);
+      db.insert(table, dbkey, buildRecord(dbkey));
+    } finally {
+      tails[queue].acknowledge(sequence);
+    }
+  }
+
+  /**
+   * Takes the record at the head of a random queue, or of the next queue with records, reads it
+   * and deletes it.
+   */
+  public void doDequeue(DB db) {
+    int first = ThreadLocalRandom.current().nextInt(queues);
+    int queue = first;
+    long sequence = claimHead(queue);
+    for (int i = 1; sequence < 0 && i < queues; i++) {
+      queue = (first + i) % queues;
+      sequence = claimHead(queue);
+    }
+    if (sequence < 0) {
+      measurements.reportStatus("DEQUEUE", EMPTY);
+      return;
+    }
+    long depth = tails[queue].lastValue() - sequence;
+    String dbkey = buildQueueKey(queue, sequence);
+
+    long ist = measurements.getIntendedStartTimeNs();
+    long st = System.nanoTime();
+    // toString() consumes the iterator, so the header is converted once
+    String header = null;
+    Status status = null;
+    if (scanHead) {
+      Vector<HashMap<String, ByteIterator>> rows = new Vector<>();
+      status = db.scan(table, buildQueueKey(queue, 0), 1, null, rows);
+      if (status != null && status.isOk() && !rows.isEmpty()) {
+        header = headerString(rows.get(0));
+      }
+      // Concurrent consumers of the queue may not have deleted the records before ours yet, and
+      // past the end of an empty queue the scan finds the records of the next queue in key order.
+      if (header != null && !headerKey(header).equals(dbkey)) {
+        header = null;
+      }
+    }
+    if (header == null) {
+      HashMap<String, ByteIterator> record = new HashMap<>();
+      status = db.read(table, dbkey, null, record);
+      header = headerString(record);
+    }
+    if (status != null && status.isOk()) {
+      status = db.delete(table, dbkey);
+    }
+    long en = System.nanoTime();
+    long dequeued = System.currentTimeMillis();
+
+    measurements.measure("DEQUEUE", (int) ((en - st) / 1000));
+    measurements.measureIntended("DEQUEUE", (int) ((en - ist) / 1000));
+    measurements.reportStatus("DEQUEUE", status);
+    measurements.measure("QUEUE-DEPTH", (int) Math.min(depth, Integer.MAX_VALUE));
+    if (header != null) {
+      long enqueued = Long.parseLong(header.substring(header.indexOf(':') + 1));
+      measurements.measure("ENQUEUE-TO-DEQUEUE", (int) Math.min((dequeued - enqueued) * 1000, Integer.MAX_VALUE));
+    }
+  }
+
+  /**
+   * Claims the head of a queue for one consumer.
+   *
+   * @return The sequence number of the head record, or -1 if the queue has no record beyond the
+   * lag.
+   */
+  private long claimHead(int queue) {
+    AtomicLong head = heads[queue];
+    while (true) {
+      long sequence = head.get();
+      if (sequence > tails[queue].lastValue() - lag) {
+        return -1;
+      }
+      if (head.compareAndSet(sequence, sequence + 1)) {
+        return sequence;
+      }
+    }
+  }
+
+  /**
+   * @return The number of records the load phase writes to a queue.
+   */
+  private long loadedRecords(int queue) {
+    return recordcount / queues + (queue < recordcount % queues ? 1 : 0);
+  }
+
+  private HashMap<String, ByteIterator> buildRecord(String dbkey) {
+    HashMap<String, ByteIterator> values = buildValues(dbkey);
+    values.put(headerField, new StringByteIterator(dbkey + ":" + System.currentTimeMillis()));
+    return values;
+  }
+
+  private String headerString(Map<String, ByteIterator> record) {
+    ByteIterator header = record.get(headerField);
+    return header == null ? null : header.toString();
+  }
+
+  private static String headerKey(String header) {
+    return header.substring(0, header.indexOf(':'));
+  }
+
+  /**
+   * @return The key of a record, the queue number followed by the zero padded sequence number so
+   * keys sort in queue order.
+   */
+  static String buildQueueKey(int queue, long sequence) {
+    StringBuilder sb = new StringBuilder("queue").append(queue).append('-');
+    String digits = Long.toString(sequence);
+    for (int i = digits.length(); i < SEQUENCE_DIGITS; i++) {
+      sb.append('0');
+    }
+    return sb.append(digits).toString();
+  }
+}
@@ -0,0 +1,311 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb.workloads;
+
+import site.ycsb.ByteIterator;
+import site.ycsb.DB;
+import site.ycsb.QueryPredicate;
+import site.ycsb.StringByteIterator;
+import site.ycsb.WorkloadException;
+import site.ycsb.generator.DiscreteGenerator;
+import site.ycsb.generator.NumberGenerator;
+import site.ycsb.generator.UniformLongGenerator;
+import site.ycsb.generator.ZipfianGenerator;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Vector;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A workload for benchmarking secondary indexes. On top of the {@link CoreWorkload} fields, every
+ * record carries a number of attribute fields whose values are drawn from a configurable number of
+ * distinct values. The target database is expected to index the attribute fields; queries select
+ * records by equality or range predicates on them through {@link DB#query}. Updates rewrite one
+ * attribute along with the updated field, so index maintenance shows up on the write path.
+ * <p>
+ * Attribute values are "v" followed by a zero padded number, so their lexicographic order matches
+ * their numeric order and range predicates select contiguous values.
+ * <p>
+ * Properties to control the client:
+ * <UL>
+ * <LI><b>queryproportion</b>: what proportion of operations should be queries (default: 0)
+ * <LI><b>index.fieldcount</b>: the number of indexed attribute fields per record (default: 1)
+ * <LI><b>index.fieldnameprefix</b>: the prefix of attribute field names (default: attr)
+ * <LI><b>index.cardinality</b>: the number of distinct values of each attribute. A comma separated
+ * list sets the cardinality of each attribute field in turn (default: 100)
+ * <LI><b>index.valuedistribution</b>: the distribution of attribute values written and queried,
+ * uniform or zipfian (default: uniform)
+ * <LI><b>index.rangequeryproportion</b>: what proportion of queries are range rather than equality
+ * queries (default: 0)
+ * <LI><b>index.rangewidth</b>: how many distinct values a range query covers (default: 10)
+ * <LI><b>index.querylimit</b>: the maximum number of records a query returns (default: 100)
+ * <LI><b>index.updateattributes</b>: should updates also rewrite an attribute field (default: true)
+ * </ul>
+ */
+public class SecondaryIndexWorkload extends CoreWorkload {
+  /**
+   * The name of the property for the proportion of transactions that are queries.
+   */
+  public static final String QUERY_PROPORTION_PROPERTY = "queryproportion";
+
+  /**
+   * The default proportion of transactions that are queries.
+   */
+  public static final String QUERY_PROPORTION_PROPERTY_DEFAULT = "0.0";
+
+  /**
+   * The name of the property for the number of indexed attribute fields.
+   */
+  public static final String INDEX_FIELD_COUNT_PROPERTY = "index.fieldcount";
+
+  /**
+   * The default number of indexed attribute fields.
+   */
+  public static final String INDEX_FIELD_COUNT_PROPERTY_DEFAULT = "1";
+
+  /**
+   * The name of the property for the prefix of attribute field names.
+   */
+  public static final String INDEX_FIELD_NAME_PREFIX_PROPERTY = "index.fieldnameprefix";
+
+  /**
+   * The default prefix of attribute field names.
+   */
+  public static final String INDEX_FIELD_NAME_PREFIX_PROPERTY_DEFAULT = "attr";
+
+  /**
+   * The name of the property for the number of distinct values of each attribute.
+   */
+  public static final String INDEX_CARDINALITY_PROPERTY = "index.cardinality";
+
+  /**
+   * The default number of distinct values of each attribute.
+   */
+  public static final String INDEX_CARDINALITY_PROPERTY_DEFAULT = "100";
+
+  /**
+   * The name of the property for the distribution of attribute values.
+   */
+  public static final String INDEX_VALUE_DISTRIBUTION_PROPERTY = "index.valuedistribution";
+
+  /**
+   * The default distribution of attribute values.
+   */
+  public static final String INDEX_VALUE_DISTRIBUTION_PROPERTY_DEFAULT = "uniform";
+
+  /**
+   * The name of the property for the proportion of queries that are range queries.
+   */
+  public static final String RANGE_QUERY_PROPORTION_PROPERTY = "index.rangequeryproportion";
+
+  /**
+   * The default proportion of queries that are range queries.
+   */
+  public static final String RANGE_QUERY_PROPORTION_PROPERTY_DEFAULT = "0.0";
+
+  /**
+   * The name of the property for the number of distinct values covered by a range query.
+   */
+  public static final String RANGE_WIDTH_PROPERTY = "index.rangewidth";
+
+  /**
+   * The default number of distinct values covered by a range query.
+   */
+  public static final String RANGE_WIDTH_PROPERTY_DEFAULT = "10";
+
+  /**
+   * The name of the property for the maximum number of records returned by a query.
+   */
+  public static final String QUERY_LIMIT_PROPERTY = "index.querylimit";
+
+  /**
+   * The default maximum number of records returned by a query.
+   */
+  public static final String QUERY_LIMIT_PROPERTY_DEFAULT = "100";
+
+  /**
+   * The name of the property for deciding whether updates also rewrite an attribute field.
+   */
+  public static final String UPDATE_ATTRIBUTES_PROPERTY = "index.updateattributes";
+
+  /**
+   * The default for rewriting an attribute field on update.
+   */
+  public static final String UPDATE_ATTRIBUTES_PROPERTY_DEFAULT = "true";
+
+  private List<String> attributenames;
+  private long[] cardinalities;
+  private int[] valuewidths;
+  private NumberGenerator[] valuegenerators;
+  private double rangequeryproportion;
+  private int rangewidth;
+  private int querylimit;
+  private boolean updateattributes;
+
+  @Override
+  public void init(Properties p) throws WorkloadException {
+    super.init(p);
+    operationchooser = createOperationGenerator(p);
+
+    int attributecount = Integer.parseInt(
+        p.getProperty(INDEX_FIELD_COUNT_PROPERTY, INDEX_FIELD_COUNT_PROPERTY_DEFAULT));
+    if (attributecount < 1) {
+      throw new WorkloadException(INDEX_FIELD_COUNT_PROPERTY + " must be at least 1");
+    }
+    String prefix = p.getProperty(INDEX_FIELD_NAME_PREFIX_PROPERTY, INDEX_FIELD_NAME_PREFIX_PROPERTY_DEFAULT);
+    String[] cardinalityList = p.getProperty(INDEX_CARDINALITY_PROPERTY, INDEX_CARDINALITY_PROPERTY_DEFAULT)
+        .split(",");
+    String distribution = p.getProperty(INDEX_VALUE_DISTRIBUTION_PROPERTY, INDEX_VALUE_DISTRIBUTION_PROPERTY_DEFAULT);
+
+    attributenames = new ArrayList<>(attributecount);
+    cardinalities = new long[attributecount];
+    valuewidths = new int[attributecount];
+    valuegenerators = new NumberGenerator[attributecount];
+    for (int i = 0; i < attributecount; i++) {
+      attributenames.add(prefix + i);
+      String cardinality = cardinalityList[Math.min(i, cardinalityList.length - 1)].trim();
+      cardinalities[i] = Long.parseLong(cardinality);
+      if (cardinalities[i] < 1) {
+        throw new WorkloadException("Invalid " + INDEX_CARDINALITY_PROPERTY + ": " + cardinality);
+      }
+      valuewidths[i] = Long.toString(cardinalities[i] - 1).length();
+      if (distribution.equals("uniform")) {
+        valuegenerators[i] = new UniformLongGenerator(0, cardinalities[i] - 1);
+      } else if (distribution.equals("zipfian")) {
+        valuegenerators[i] = new ZipfianGenerator(cardinalities[i]);
+      } else {
+        throw new WorkloadException("Unknown attribute value distribution \"" + distribution + "\"");
+      }
+    }
+
+    rangequeryproportion = Double.parseDouble(
+        p.getProperty(RANGE_QUERY_PROPORTION_PROPERTY, RANGE_QUERY_PROPORTION_PROPERTY_DEFAULT));
+    rangewidth = Integer.parseInt(p.getProperty(RANGE_WIDTH_PROPERTY, RANGE_WIDTH_PROPERTY_DEFAULT));
+    querylimit = Integer.parseInt(p.getProperty(QUERY_LIMIT_PROPERTY, QUERY_LIMIT_PROPERTY_DEFAULT));
+    updateattributes = Boolean.parseBoolean(
+        p.getProperty(UPDATE_ATTRIBUTES_PROPERTY, UPDATE_ATTRIBUTES_PROPERTY_DEFAULT));
+  }
+
+  /**
+   * Creates the {@link CoreWorkload} operation generator with the additional "QUERY" operation.
+   *
+   * @param p The properties list to pull weights from.
+   * @return A generator that can be used to determine the next operation to perform.
+   */
+  protected static DiscreteGenerator createOperationGenerator(final Properties p) {
+    final DiscreteGenerator operationchooser = CoreWorkload.createOperationGenerator(p);
+    final double queryproportion = Double.parseDouble(
+        p.getProperty(QUERY_PROPORTION_PROPERTY, QUERY_PROPORTION_PROPERTY_DEFAULT));
+    if (queryproportion > 0) {
+      operationchooser.addValue(queryproportion, "QUERY");
+    }
+    return operationchooser;
+  }
+
+  @Override
+  public boolean doTransaction(DB db, Object threadstate) {
+    String operation = operationchooser.nextString();
+    if (operation == null) {
+      return false;
+    }
+
+    switch (operation) {
+    case "READ":
+      doTransactionRead(db);
+      break;
+    case "UPDATE":
+      doTransactionUpdate(db);
+      break;
+    case "INSERT":
+      doTransactionInsert(db);
+      break;
+    case "SCAN":
+      doTransactionScan(db);
+      break;
+    case "QUERY":
+      doTransactionQuery(db);
+      break;
+    default:
+      doTransactionReadModifyWrite(db);
+    }
+
+    return true;
+  }
+
+  public void doTransactionQuery(DB db) {
+    int attribute = ThreadLocalRandom.current().nextInt(attributenames.size());
+    long value = valuegenerators[attribute].nextValue().longValue();
+
+    QueryPredicate predicate;
+    if (rangequeryproportion > 0 && ThreadLocalRandom.current().nextDouble() < rangequeryproportion) {
+      long upper = Math.min(cardinalities[attribute] - 1, value + rangewidth - 1);
+      predicate = QueryPredicate.between(attributenames.get(attribute),
+          attributeValue(attribute, value), attributeValue(attribute, upper));
+    } else {
+      predicate = QueryPredicate.equalTo(attributenames.get(attribute), attributeValue(attribute, value));
+    }
+
+    HashSet<String> fields = null;
+    if (!readallfields) {
+      fields = new HashSet<String>();
+      fields.add(fieldnames.get(fieldchooser.nextValue().intValue()));
+    }
+
+    db.query(table, predicate, querylimit, fields, new Vector<HashMap<String, ByteIterator>>());
+  }
+
+  @Override
+  protected HashMap<String, ByteIterator> buildValues(String key) {
+    HashMap<String, ByteIterator> values = super.buildValues(key);
+    for (int i = 0; i < attributenames.size(); i++) {
+      values.put(attributenames.get(i), nextAttributeValue(i));
+    }
+    return values;
+  }
+
+  @Override
+  protected HashMap<String, ByteIterator> buildSingleValue(String key) {
+    HashMap<String, ByteIterator> values = super.buildSingleValue(key);
+    if (updateattributes) {
+      int attribute = ThreadLocalRandom.current().nextInt(attributenames.size());
+      values.put(attributenames.get(attribute), nextAttributeValue(attribute));
+    }
+    return values;
+  }
+
+  private ByteIterator nextAttributeValue(int attribute) {
+    return new StringByteIterator(attributeValue(attribute, valuegenerators[attribute].nextValue().longValue()));
+  }
+
+  /**
+   * Formats an attribute value so lexicographic order matches numeric order.
+   */
+  String attributeValue(int attribute, long value) {
+    String digits = Long.toString(value);
+    StringBuilder sb = new StringBuilder(valuewidths[attribute] + 1);
+    sb.append('v');
+    for (int i = digits.length(); i < valuewidths[attribute]; i++) {
+      sb.append('0');
+    }
+    return sb.append(digits).toString();
+  }
+}
@@ -0,0 +1,384 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb.workloads;
+
+import site.ycsb.ByteIterator;
+import site.ycsb.Client;
+import site.ycsb.DB;
+import site.ycsb.DataPoint;
+import site.ycsb.NumericByteIterator;
+import site.ycsb.Status;
+import site.ycsb.Workload;
+import site.ycsb.WorkloadException;
+import site.ycsb.generator.ExponentialGenerator;
+import site.ycsb.generator.IncrementingPrintableStringGenerator;
+import site.ycsb.generator.NumberGenerator;
+import site.ycsb.generator.UniformLongGenerator;
+import site.ycsb.generator.UnixEpochTimestampGenerator;
+import site.ycsb.measurements.Measurements;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A time series ingest workload where series come and go, like the series of short lived pods or
+ * containers. A fixed number of series are live at any time. Each lives for a number of timestamp
+ * intervals drawn from a lifetime distribution, gets a data point at every interval while it lives
+ * and is then replaced by a brand new series, so the total number of series a store has seen keeps
+ * growing while the live set stays the same size. By Little's law, {@code churn.liveseries /
+ * churn.lifetime} series are created and retired per interval.
+ * <p>
+ * Every series has a churning tag whose value is unique to the series, plus
+ * {@code churn.stabletags} tags with {@code churn.stablecardinality} values each, derived from the
+ * series number. The churning value of a series gets a tag value id of its own, past the ids of the
+ * stable values, so a database caching tag values by id never sees an id change its value. Series
+ * values are generated with {@link IncrementingPrintableStringGenerator} when a series is created
+ * and kept for its lifetime only, so memory is bounded by the live series and writing a point
+ * allocates nothing with batched inserts. Allow some 12 bytes plus the tag value string per live
+ * series.
+ * <p>
+ * Points are written like {@link TimeSeriesWorkload} writes them, as batches of {@link DataPoint}s
+ * through {@link DB#insertPoints} when {@code insertbatchsize} is above 1, or as field maps through
+ * {@link DB#insert} otherwise. The load and run phases both ingest. Whenever a thread moves to the
+ * next interval it sets the gauges SERIES-TOTAL to the number of series created so far and
+ * SERIES-LIVE to the number created but not yet retired, so the status reports show them next to
+ * the ingest throughput over time.
+ * <p>
+ * Properties to control the client:
+ * <UL>
+ * <LI><b>churn.liveseries</b>: the number of series live at any time (default: 10000)
+ * <LI><b>churn.lifetime</b>: the mean lifetime of a series, in timestamp intervals (default: 60)
+ * <LI><b>churn.lifetimedistribution</b>: the distribution of lifetimes, constant, uniform (between 1
+ * and twice the mean) or exponential (default: exponential)
+ * <LI><b>churn.metrics</b>: the number of metrics series are spread over (default: 1)
+ * <LI><b>churn.stabletags</b>: the number of tags besides the churning one (default: 2)
+ * <LI><b>churn.stablecardinality</b>: the number of values of each stable tag (default: 10)
+ * </ul>
+ * The {@code timestampinterval}, {@code timestampunits}, {@code insertstart},
+ * {@code insertbatchsize}, {@code tagkeylength}, {@code tagvaluelength}, {@code timestampkey} and
+ * {@code valuekey} properties of {@link TimeSeriesWorkload} apply too, as does {@code fieldlength}
+ * for the length of metric names.
+ */
+public class SeriesChurnWorkload extends Workload {
+  /**
+   * The name of the property for the number of live series.
+   */
+  public static final String LIVE_SERIES_PROPERTY = "churn.liveseries";
+
+  /**
+   * The default number of live series.
+   */
+  public static final String LIVE_SERIES_PROPERTY_DEFAULT = "10000";
+
+  /**
+   * The name of the property for the mean series lifetime in intervals.
+   */
+  public static final String LIFETIME_PROPERTY = "churn.lifetime";
+
+  /**
+   * The default mean series lifetime in intervals.
+   */
+  public static final String LIFETIME_PROPERTY_DEFAULT = "60";
+
+  /**
+   * The name of the property for the distribution of series lifetimes.
+   */
+  public static final String LIFETIME_DISTRIBUTION_PROPERTY = "churn.lifetimedistribution";
+
+  /**
+   * The default distribution of series lifetimes.
+   */
+  public static final String LIFETIME_DISTRIBUTION_PROPERTY_DEFAULT = "exponential";
+
+  /**
+   * The name of the property for the number of metrics.
+   */
+  public static final String METRICS_PROPERTY = "churn.metrics";
+
+  /**
+   * The default number of metrics.
+   */
+  public static final String METRICS_PROPERTY_DEFAULT = "1";
+
+  /**
+   * The name of the property for the number of stable tags.
+   */
+  public static final String STABLE_TAGS_PROPERTY = "churn.stabletags";
+
+  /**
+   * The default number of stable tags.
+   */
+  public static final String STABLE_TAGS_PROPERTY_DEFAULT = "2";
+
+  /**
+   * The name of the property for the cardinality of stable tags.
+   */
+  public static final String STABLE_CARDINALITY_PROPERTY = "churn.stablecardinality";
+
+  /**
+   * The default cardinality of stable tags.
+   */
+  public static final String STABLE_CARDINALITY_PROPERTY_DEFAULT = "10";
+
+  private String table;
+  private String timestampKey;
+  private String valueKey;
+  private int timestampInterval;
+  private TimeUnit timeUnits;
+  private Long insertStart;
+  private int insertBatchSize;
+
+  private int liveSeries;
+  private NumberGenerator lifetimes;
+  private int stableCardinality;
+  private String[] metrics;
+  private String[] tagKeys;
+
+  /** The dictionary of stable tag values. */
+  private String[] tagValues;
+
+  /** The churning tag value of each live series slot. */
+  private String[] seriesValues;
+
+  /** The series number of each live series slot. */
+  private long[] serials;
+
+  /** The interval at which the series of each live series slot is retired. */
+  private int[] expiries;
+
+  private IncrementingPrintableStringGenerator seriesNames;
+  private final AtomicLong totalSeries = new AtomicLong();
+  private final AtomicLong retiredSeries = new AtomicLong();
+
+  private final Measurements measurements = Measurements.getMeasurements();
+
+  @Override
+  public void init(Properties p) throws WorkloadException {
+    table = p.getProperty(CoreWorkload.TABLENAME_PROPERTY, CoreWorkload.TABLENAME_PROPERTY_DEFAULT);
+    timestampKey = p.getProperty(TimeSeriesWorkload.TIMESTAMP_KEY_PROPERTY,
+        TimeSeriesWorkload.TIMESTAMP_KEY_PROPERTY_DEFAULT);
+    valueKey = p.getProperty(TimeSeriesWorkload.VALUE_KEY_PROPERTY, TimeSeriesWorkload.VALUE_KEY_PROPERTY_DEFAULT);
+    timestampInterval = Integer.parseInt(p.getProperty(TimeSeriesWorkload.TIMESTAMP_INTERVAL_PROPERTY,
+        TimeSeriesWorkload.TIMESTAMP_INTERVAL_PROPERTY_DEFAULT));
+    try {
+      timeUnits = TimeUnit.valueOf(p.getProperty(TimeSeriesWorkload.TIMESTAMP_UNITS_PROPERTY,
+          TimeSeriesWorkload.TIMESTAMP_UNITS_PROPERTY_DEFAULT).toUpperCase());
+    } catch (IllegalArgumentException e) {
+      throw new WorkloadException("Unknown time unit type", e);
+    }
+    String start = p.getProperty(CoreWorkload.INSERT_START_PROPERTY);
+    insertStart = start == null || start.isEmpty() ? null : Long.valueOf(start);
+    insertBatchSize = Integer.parseInt(p.getProperty(TimeSeriesWorkload.INSERT_BATCH_SIZE_PROPERTY,
+        TimeSeriesWorkload.INSERT_BATCH_SIZE_PROPERTY_DEFAULT));
+
+    liveSeries = Integer.parseInt(p.getProperty(LIVE_SERIES_PROPERTY, LIVE_SERIES_PROPERTY_DEFAULT));
+    int threads = Integer.parseInt(p.getProperty(Client.THREAD_COUNT_PROPERTY, "1"));
+    if (liveSeries < threads) {
+      throw new WorkloadException("'" + LIVE_SERIES_PROPERTY + "' must be at least the thread count " + threads);
+    }
+    if (insertBatchSize < 1) {
+      throw new WorkloadException("'" + TimeSeriesWorkload.INSERT_BATCH_SIZE_PROPERTY + "' must be at least 1.");
+    }
+
+    double lifetime = Double.parseDouble(p.getProperty(LIFETIME_PROPERTY, LIFETIME_PROPERTY_DEFAULT));
+    if (lifetime < 1) {
+      throw new WorkloadException("'" + LIFETIME_PROPERTY + "' must be at least 1.");
+    }
+    String distribution = p.getProperty(LIFETIME_DISTRIBUTION_PROPERTY, LIFETIME_DISTRIBUTION_PROPERTY_DEFAULT);
+    if (distribution.equals("constant")) {
+      lifetimes = new UniformLongGenerator((long) lifetime, (long) lifetime);
+    } else if (distribution.equals("uniform")) {
+      lifetimes = new UniformLongGenerator(1, Math.max(1, (long) (2 * lifetime) - 1));
+    } else if (distribution.equals("exponential")) {
+      lifetimes = new ExponentialGenerator(lifetime);
+    } else {
+      throw new WorkloadException("Unknown lifetime distribution \"" + distribution + "\"");
+    }
+
+    int metricCount = Integer.parseInt(p.getProperty(METRICS_PROPERTY, METRICS_PROPERTY_DEFAULT));
+    int stableTags = Integer.parseInt(p.getProperty(STABLE_TAGS_PROPERTY, STABLE_TAGS_PROPERTY_DEFAULT));
+    stableCardinality = Integer.parseInt(p.getProperty(STABLE_CARDINALITY_PROPERTY,
+        STABLE_CARDINALITY_PROPERTY_DEFAULT));
+    if (metricCount < 1 || stableTags < 0 || stableCardinality < 1) {
+      throw new WorkloadException("'" + METRICS_PROPERTY + "' and '" + STABLE_CARDINALITY_PROPERTY
+          + "' must be at least 1, '" + STABLE_TAGS_PROPERTY + "' at least 0.");
+    }
+
+    IncrementingPrintableStringGenerator metricNames = new IncrementingPrintableStringGenerator(Integer.parseInt(
+        p.getProperty(CoreWorkload.FIELD_LENGTH_PROPERTY, CoreWorkload.FIELD_LENGTH_PROPERTY_DEFAULT)));
+    metrics = new String[metricCount];
+    for (int i = 0; i < metricCount; i++) {
+      metrics[i] = metricNames.nextValue();
+    }
+    IncrementingPrintableStringGenerator tagKeyNames = new IncrementingPrintableStringGenerator(Integer.parseInt(
+        p.getProperty(TimeSeriesWorkload.TAG_KEY_LENGTH_PROPERTY, TimeSeriesWorkload.TAG_KEY_LENGTH_PROPERTY_DEFAULT)));
+    tagKeys = new String[1 + stableTags];
+    for (int i = 0; i < tagKeys.length; i++) {
+      tagKeys[i] = tagKeyNames.nextValue();
+    }
+
+    int tagValueLength = Integer.parseInt(p.getProperty(TimeSeriesWorkload.TAG_VALUE_LENGTH_PROPERTY,
+        TimeSeriesWorkload.TAG_VALUE_LENGTH_PROPERTY_DEFAULT));
+    IncrementingPrintableStringGenerator stableValues = new IncrementingPrintableStringGenerator(tagValueLength);
+    tagValues = new String[stableCardinality];
+    for (int i = 0; i < stableCardinality; i++) {
+      tagValues[i] = stableValues.nextValue();
+    }
+    seriesValues = new String[liveSeries];
+    // series names must never repeat, a rollover means the tag values are too short for the run
+    seriesNames = new IncrementingPrintableStringGenerator(tagValueLength);
+    seriesNames.setThrowExceptionOnRollover(true);
+
+    // start in the steady state: every slot is live and part way through its lifetime
+    serials = new long[liveSeries];
+    expiries = new int[liveSeries];
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    for (int slot = 0; slot < liveSeries; slot++) {
+      createSeries(slot, 0);
+      expiries[slot] = (int) Math.max(1, Math.ceil(random.nextDouble() * nextLifetime()));
+    }
+  }
+
+  @Override
+  public Object initThread(Properties p, int mythreadid, int threadcount) throws WorkloadException {
+    int threads = Math.max(1, threadcount);
+    int slotsPerThread = liveSeries / threads;
+    int start = slotsPerThread * mythreadid;
+    int end = mythreadid == threads - 1 ? liveSeries : start + slotsPerThread;
+    if (end - start < insertBatchSize) {
+      // a batch must not hold a slot twice, its series may be replaced in between
+      throw new WorkloadException("'" + TimeSeriesWorkload.INSERT_BATCH_SIZE_PROPERTY + "' must be at most the "
+          + (end - start) + " live series of a thread.");
+    }
+    UnixEpochTimestampGenerator timestamps = insertStart == null
+        ? new UnixEpochTimestampGenerator(timestampInterval, timeUnits)
+        : new UnixEpochTimestampGenerator(timestampInterval, timeUnits, insertStart);
+    return new ThreadState(start, end, timestamps);
+  }
+
+  @Override
+  public boolean doInsert(DB db, Object threadstate) {
+    ThreadState state = (ThreadState) threadstate;
+    if (insertBatchSize > 1) {
+      for (DataPoint point : state.batch) {
+        nextPoint(state, point);
+      }
+      return db.insertPoints(table, state.batch) == Status.OK;
+    }
+    nextPoint(state, state.batch.get(0));
+    DataPoint point = state.batch.get(0);
+    Map<String, ByteIterator> values = new TreeMap<>();
+    point.putTags(values);
+    values.put(timestampKey, new NumericByteIterator(point.getTimestamp()));
+    values.put(valueKey, new NumericByteIterator(point.getDoubleValue()));
+    return db.insert(table, point.getMetric(), values) == Status.OK;
+  }
+
+  /**
+   * Ingests, the run phase has no other operations.
+   */
+  @Override
+  public boolean doTransaction(DB db, Object threadstate) {
+    return doInsert(db, threadstate);
+  }
+
+  /**
+   * @return The number of series created so far.
+   */
+  public long getTotalSeries() {
+    return totalSeries.get();
+  }
+
+  /**
+   * Sets the point to the next live series of the thread at the current interval, retiring the
+   * series it replaces first if its time has come.
+   */
+  private void nextPoint(ThreadState state, DataPoint point) {
+    if (state.slot == state.slotEnd) {
+      state.slot = state.slotStart;
+      state.interval++;
+      state.timestamp = state.timestamps.nextValue();
+      long total = totalSeries.get();
+      measurements.setGauge("SERIES-TOTAL", total);
+      measurements.setGauge("SERIES-LIVE", total - retiredSeries.get());
+    }
+    int slot = state.slot++;
+    if (expiries[slot] <= state.interval) {
+      retiredSeries.incrementAndGet();
+      createSeries(slot, state.interval);
+    }
+
+    long serial = serials[slot];
+    point.set(metrics[(int) (serial % metrics.length)], serial, state.timestamp);
+    point.setTagValue(0, stableCardinality + serial, seriesValues[slot]);
+    // spread the stable tag combinations over the series
+    long bits = serial * 0x9E3779B97F4A7C15L;
+    for (int i = 1; i < tagKeys.length; i++) {
+      point.setTagValueId(i, (int) Math.floorMod(bits >>> (16 * i), (long) stableCardinality));
+    }
+    point.setValue(ThreadLocalRandom.current().nextDouble() * 100000);
+  }
+
+  /**
+   * Puts a new series in a slot, live from the given interval.
+   */
+  private void createSeries(int slot, int interval) {
+    String name;
+    synchronized (seriesNames) {
+      name = seriesNames.nextValue();
+    }
+    seriesValues[slot] = name;
+    serials[slot] = totalSeries.getAndIncrement();
+    expiries[slot] = (int) Math.min(Integer.MAX_VALUE, (long) interval + nextLifetime());
+  }
+
+  private long nextLifetime() {
+    return Math.max(1, Math.round(lifetimes.nextValue().doubleValue()));
+  }
+
+  /**
+   * The live series slots a thread writes and where it is in them.
+   */
+  private final class ThreadState {
+    private final int slotStart;
+    private final int slotEnd;
+    private final UnixEpochTimestampGenerator timestamps;
+    private final List<DataPoint> batch;
+    private int slot;
+    private int interval;
+    private long timestamp;
+
+    ThreadState(int slotStart, int slotEnd, UnixEpochTimestampGenerator timestamps) {
+      this.slotStart = slotStart;
+      this.slotEnd = slotEnd;
+      this.timestamps = timestamps;
+      this.slot = slotStart;
+      this.timestamp = timestamps.nextValue();
+      batch = new ArrayList<>(insertBatchSize);
+      for (int i = 0; i < insertBatchSize; i++) {
+        batch.add(new DataPoint(tagKeys, tagValues));
+      }
+    }
+  }
+}
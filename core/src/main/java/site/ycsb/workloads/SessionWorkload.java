@@ -0,0 +1,249 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb.workloads;
+
+import site.ycsb.ByteIterator;
+import site.ycsb.DB;
+import site.ycsb.Status;
+import site.ycsb.WorkloadException;
+import site.ycsb.generator.DiscreteGenerator;
+import site.ycsb.measurements.Measurements;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Properties;
+import java.util.Vector;
+
+/**
+ * A workload of requests that each touch a cluster of related records, like a user profile and the
+ * user's most recent items, instead of independent keys. Every session entity is a parent record,
+ * keyed and filled like the records of {@link CoreWorkload}, and {@code session.items} child
+ * records keyed by the parent key, a slash and the zero-padded item number. Children share the key
+ * prefix of their parent and sort right after it, so stores that keep keys in order hold a session
+ * together, which is what region locality, partitions and prefix bloom filters exploit. Item 0 is
+ * the most recent item.
+ * <p>
+ * Each request picks a session with the key chooser of {@link CoreWorkload}, set by
+ * {@code requestdistribution}, and touches the parent and its {@code session.requestitems} most
+ * recent items. A read request reads them, as one read per record, one batched read or one scan
+ * from the parent key, set by {@code session.access}. An update request reads the parent and
+ * updates one field of every item. Besides the database operations, the latency and status of the
+ * whole request are reported as SESSION-READ and SESSION-UPDATE.
+ * <p>
+ * Properties to control the client:
+ * <UL>
+ * <LI><b>session.items</b>: the number of child records of a session (default: 10)
+ * <LI><b>session.requestitems</b>: the number of child records a request touches (default: 5)
+ * <LI><b>session.readproportion</b>: the proportion of read requests (default: 0.9)
+ * <LI><b>session.updateproportion</b>: the proportion of update requests (default: 0.1)
+ * <LI><b>session.access</b>: how read requests read the records of a session, individual, batch
+ * or scan (default: individual)
+ * </ul>
+ * The {@code recordcount} property sets the number of sessions, so the load phase inserts
+ * {@code session.items + 1} records per session.
+ */
+public class SessionWorkload extends CoreWorkload {
+  /**
+   * The name of the property for the number of child records of a session.
+   */
+  public static final String ITEMS_PROPERTY = "session.items";
+
+  /**
+   * The default number of child records of a session.
+   */
+  public static final String ITEMS_PROPERTY_DEFAULT = "10";
+
+  /**
+   * The name of the property for the number of child records a request touches.
+   */
+  public static final String REQUEST_ITEMS_PROPERTY = "session.requestitems";
+
+  /**
+   * The default number of child records a request touches.
+   */
+  public static final String REQUEST_ITEMS_PROPERTY_DEFAULT = "5";
+
+  /**
+   * The name of the property for the proportion of read requests.
+   */
+  public static final String SESSION_READ_PROPORTION_PROPERTY = "session.readproportion";
+
+  /**
+   * The default proportion of read requests.
+   */
+  public static final String SESSION_READ_PROPORTION_PROPERTY_DEFAULT = "0.9";
+
+  /**
+   * The name of the property for the proportion of update requests.
+   */
+  public static final String SESSION_UPDATE_PROPORTION_PROPERTY = "session.updateproportion";
+
+  /**
+   * The default proportion of update requests.
+   */
+  public static final String SESSION_UPDATE_PROPORTION_PROPERTY_DEFAULT = "0.1";
+
+  /**
+   * The name of the property for how read requests read the records of a session.
+   */
+  public static final String ACCESS_PROPERTY = "session.access";
+
+  /**
+   * The default way read requests read the records of a session.
+   */
+  public static final String ACCESS_PROPERTY_DEFAULT = "individual";
+
+  /** The number of digits of item numbers in child keys. */
+  private static final int ITEM_DIGITS = 6;
+
+  private DiscreteGenerator requests;
+  private int items;
+  private int requestItems;
+  private String access;
+
+  private final Measurements measurements = Measurements.getMeasurements();
+
+  @Override
+  public void init(Properties p) throws WorkloadException {
+    super.init(p);
+
+    requests = new DiscreteGenerator();
+    final double readproportion = Double.parseDouble(
+        p.getProperty(SESSION_READ_PROPORTION_PROPERTY, SESSION_READ_PROPORTION_PROPERTY_DEFAULT));
+    final double updateproportion = Double.parseDouble(
+        p.getProperty(SESSION_UPDATE_PROPORTION_PROPERTY, SESSION_UPDATE_PROPORTION_PROPERTY_DEFAULT));
+    if (readproportion > 0) {
+      requests.addValue(readproportion, "READ");
+    }
+    if (updateproportion > 0) {
+      requests.addValue(updateproportion, "UPDATE");
+    }
+
+    items = Integer.parseInt(p.getProperty(ITEMS_PROPERTY, ITEMS_PROPERTY_DEFAULT));
+    requestItems = Integer.parseInt(p.getProperty(REQUEST_ITEMS_PROPERTY, REQUEST_ITEMS_PROPERTY_DEFAULT));
+    if (items < 0 || requestItems < 0 || requestItems > items) {
+      throw new WorkloadException(REQUEST_ITEMS_PROPERTY + " must be between 0 and " + ITEMS_PROPERTY + ".");
+    }
+
+    access = p.getProperty(ACCESS_PROPERTY, ACCESS_PROPERTY_DEFAULT);
+    if (!access.equals("individual") && !access.equals("batch") && !access.equals("scan")) {
+      throw new WorkloadException("Unknown " + ACCESS_PROPERTY + " \"" + access + "\"");
+    }
+  }
+
+  /**
+   * @return The key of an item of a session, the parent key followed by a slash and the item number.
+   */
+  static String buildItemKey(String parentKey, int item) {
+    StringBuilder key = new StringBuilder(parentKey.length() + 1 + ITEM_DIGITS).append(parentKey).append('/');
+    String number = Integer.toString(item);
+    for (int i = number.length(); i < ITEM_DIGITS; i++) {
+      key.append('0');
+    }
+    return key.append(number).toString();
+  }
+
+  @Override
+  public boolean doInsert(DB db, Object threadstate) {
+    long keynum = keysequence.nextValue().longValue();
+    String parentKey = CoreWorkload.buildKeyName(keynum, zeropadding, orderedinserts);
+    if (!insertWithRetries(db, parentKey, buildValues(parentKey))) {
+      return false;
+    }
+    for (int item = 0; item < items; item++) {
+      String itemKey = buildItemKey(parentKey, item);
+      if (!insertWithRetries(db, itemKey, buildValues(itemKey))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public boolean doTransaction(DB db, Object threadstate) {
+    String request = requests.nextString();
+    if (request == null) {
+      return false;
+    }
+
+    String parentKey = CoreWorkload.buildKeyName(nextKeynum(), zeropadding, orderedinserts);
+    if (request.equals("READ")) {
+      doSessionRead(db, parentKey);
+    } else {
+      doSessionUpdate(db, parentKey);
+    }
+    return true;
+  }
+
+  /**
+   * Reads the parent and the most recent items of a session.
+   */
+  public void doSessionRead(DB db, String parentKey) {
+    long ist = measurements.getIntendedStartTimeNs();
+    long st = System.nanoTime();
+    Status status;
+    switch (access) {
+    case "batch":
+      status = db.batchRead(table, sessionKeys(parentKey), null, new HashMap<>());
+      break;
+    case "scan":
+      status = db.scan(table, parentKey, requestItems + 1, null, new Vector<>());
+      break;
+    default:
+      status = Status.OK;
+      for (String key : sessionKeys(parentKey)) {
+        status = db.read(table, key, null, new HashMap<>());
+        if (!status.isOk()) {
+          break;
+        }
+      }
+    }
+    long en = System.nanoTime();
+    measurements.measure("SESSION-READ", (int) ((en - st) / 1000));
+    measurements.measureIntended("SESSION-READ", (int) ((en - ist) / 1000));
+    measurements.reportStatus("SESSION-READ", status);
+  }
+
+  /**
+   * Reads the parent of a session and updates one field of each of its most recent items.
+   */
+  public void doSessionUpdate(DB db, String parentKey) {
+    long ist = measurements.getIntendedStartTimeNs();
+    long st = System.nanoTime();
+    Status status = db.read(table, parentKey, null, new HashMap<>());
+    for (int item = 0; item < requestItems && status.isOk(); item++) {
+      String itemKey = buildItemKey(parentKey, item);
+      HashMap<String, ByteIterator> values = writeallfields ? buildValues(itemKey) : buildSingleValue(itemKey);
+      status = db.update(table, itemKey, values);
+    }
+    long en = System.nanoTime();
+    measurements.measure("SESSION-UPDATE", (int) ((en - st) / 1000));
+    measurements.measureIntended("SESSION-UPDATE", (int) ((en - ist) / 1000));
+    measurements.reportStatus("SESSION-UPDATE", status);
+  }
+
+  private List<String> sessionKeys(String parentKey) {
+    List<String> keys = new ArrayList<>(requestItems + 1);
+    keys.add(parentKey);
+    for (int item = 0; item < requestItems; item++) {
+      keys.add(buildItemKey(parentKey, item));
+    }
+    return keys;
+  }
+}
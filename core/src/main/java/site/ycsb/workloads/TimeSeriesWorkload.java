@@ -16,10 +16,14 @@
  */
 package site.ycsb.workloads;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.PriorityQueue;
 import java.util.Properties;
 import java.util.Random;
 import java.util.Set;
@@ -31,9 +35,11 @@ import java.util.concurrent.TimeUnit;
 import site.ycsb.ByteIterator;
 import site.ycsb.Client;
 import site.ycsb.DB;
+import site.ycsb.DataPoint;
 import site.ycsb.NumericByteIterator;
 import site.ycsb.Status;
-import site.ycsb.StringByteIterator;
+import site.ycsb.TimeseriesDB;
+import site.ycsb.TimeseriesQuery;
 import site.ycsb.Utils;
 import site.ycsb.Workload;
 import site.ycsb.WorkloadException;
@@ -94,7 +100,7 @@ import site.ycsb.measurements.Measurements;
  * <p>
  * For calls to {@link DB#read(String, String, java.util.Set, java.util.Map)} and 
  * {@link DB#scan(String, String, int, java.util.Set, Vector)}, timestamps
- * are encoded in a {@link StringByteIterator} in a key/value format with the 
+ * are encoded in a {@link site.ycsb.StringByteIterator} in a key/value format with the 
  * {@code tagpairdelimiter} separator. E.g {@code YCSBTS=1483228800}. If {@code querytimespan}
  * has been set to a positive value then the value will include a range with the
  * starting (oldest) timestamp followed by the {@code querytimespandelimiter} separator
@@ -160,6 +166,36 @@ import site.ycsb.measurements.Measurements;
  * 5% of the time series will be written with timestamps earlier than the timestamp
  * generator's current time.
  * </p>
+ * <b>Late Data and Backfill</b>
+ * <p>
+ * Delayed series only lag by a few intervals. To simulate data arriving minutes to
+ * days late, set {@code latefraction} to the fraction of points held back when they
+ * are generated. Each one is written once the thread's timestamp generator has moved
+ * {@code latemin} to {@code latemax} time units past its timestamp, so stores receive
+ * a steady trickle of out-of-order points between real-time ones. Points still held
+ * back when the run ends are never written. The lateness of late points is reported
+ * as {@code LATENESS}, in timestamp units.
+ * <p>
+ * Setting {@code backfillthreads} makes that many of the client threads, taken from
+ * the highest thread ids, bulk write the {@code backfillintervals} intervals before
+ * the starting timestamp for every time series while the other threads ingest in
+ * real time, in both the load and run phases. A backfill thread stops once it has
+ * written its history. Inserts are then reported as {@code INSERT-BACKFILL} and
+ * {@code INSERT-REALTIME}, so the cost of the backfill on real-time ingest and on
+ * queries shows up directly.
+ * </p>
+ * <b>Batched Inserts</b>
+ * <p>
+ * If {@code insertbatchsize} is greater than 1, every insert generates that many
+ * data points in the order described above and passes them to
+ * {@link DB#insertPoints(String, java.util.List)} as typed {@link DataPoint}s
+ * instead of encoding each point in a values map. The data points are reused 
+ * between calls and their tags refer to the shared tag key and value arrays,
+ * so batched inserts allocate almost nothing per point. With an {@code insertbatchorder}
+ * of {@code series} instead of the default {@code timestamp}, a batch holds one series at
+ * {@code insertbatchsize} consecutive timestamps and the next batch moves on to the next
+ * series. This requires a {@code latefraction} and {@code sparsity} of 0.
+ * </p>
  * <b>Reads and Scans</b>
  * <p>
  * For benchmarking queries, some common tasks implemented by almost every time series
@@ -201,6 +237,27 @@ import site.ycsb.measurements.Measurements;
  * to the DB with timestamps that are beyond the written data time range (or even the
  * system clock of the DB).
  * <p>
+ * <b>Typed Queries</b>
+ * <p>
+ * If {@code queryproportion} is greater than 0, transactions also run typed
+ * {@link TimeseriesQuery}s through {@link DB#queryTimeseries(String, TimeseriesQuery, List)}.
+ * The shape of each query is drawn from the {@code querylastvalueproportion},
+ * {@code queryrangeproportion}, {@code querygroupbyproportion}, {@code querytopkproportion}
+ * and {@code querydownsampleproportion} weights, the aggregation from
+ * {@code queryaggregations} and the downsampling window from
+ * {@code querydownsamplingintervals}, so one run mixes last value lookups, range
+ * aggregations, group-bys on a tag, top-K series and several bucket widths. Time ranges
+ * start at a random loaded timestamp and span up to {@code querymaxintervals} intervals.
+ * Each shape is measured on its own as {@code TS-QUERY-<SHAPE>}.
+ * <p>
+ * With {@code dataintegrity} enabled, every value written is a function of its series and
+ * timestamp, so the expected result of any query can be computed without reading the
+ * data back. Each query result is compared to it and reported as {@code TS-QUERY-VERIFY}.
+ * This assumes the load wrote every series at every timestamp with the same
+ * {@code recordcount}, {@code threadcount} and {@code insertbatchsize}, hence a
+ * {@code sparsity} of 0, and time ranges are clipped to the loaded timestamps. Delayed
+ * series are accounted for.
+ * <p>
  * <b>Deletes</b>
  * <p>
  * Because the delete API only accepts a single key, a full key and tag key/value 
@@ -371,6 +428,38 @@ public class TimeSeriesWorkload extends Workload {
   public static final String DELAYED_INTERVALS_PROPERTY = "delayedintervals";
   public static final String DELAYED_INTERVALS_PROPERTY_DEFAULT = "5";
   
+  /** Name and default value for the late point fraction property. */
+  public static final String LATE_FRACTION_PROPERTY = "latefraction";
+  public static final String LATE_FRACTION_PROPERTY_DEFAULT = "0.0";
+  
+  /** Name and default value for the minimum lateness property. */
+  public static final String LATE_MIN_PROPERTY = "latemin";
+  public static final String LATE_MIN_PROPERTY_DEFAULT = "300";
+  
+  /** Name and default value for the maximum lateness property. */
+  public static final String LATE_MAX_PROPERTY = "latemax";
+  public static final String LATE_MAX_PROPERTY_DEFAULT = "86400";
+  
+  /** Name and default value for the lateness distribution property. */
+  public static final String LATE_DISTRIBUTION_PROPERTY = "latedistribution";
+  public static final String LATE_DISTRIBUTION_PROPERTY_DEFAULT = "zipfian";
+  
+  /** Name and default value for the backfill thread count property. */
+  public static final String BACKFILL_THREADS_PROPERTY = "backfillthreads";
+  public static final String BACKFILL_THREADS_PROPERTY_DEFAULT = "0";
+  
+  /** Name and default value for the backfill depth property. */
+  public static final String BACKFILL_INTERVALS_PROPERTY = "backfillintervals";
+  public static final String BACKFILL_INTERVALS_PROPERTY_DEFAULT = "1440";
+  
+  /** Name and default value for the insert batch size property. */
+  public static final String INSERT_BATCH_SIZE_PROPERTY = "insertbatchsize";
+  public static final String INSERT_BATCH_SIZE_PROPERTY_DEFAULT = "1";
+  
+  /** Name and default value for the insert batch order property. */
+  public static final String INSERT_BATCH_ORDER_PROPERTY = "insertbatchorder";
+  public static final String INSERT_BATCH_ORDER_PROPERTY_DEFAULT = "timestamp";
+  
   /** Name and default value for the query time span property. */
   public static final String QUERY_TIMESPAN_PROPERTY = "querytimespan";
   public static final String QUERY_TIMESPAN_PROPERTY_DEFAULT = "0";
@@ -403,6 +492,46 @@ public class TimeSeriesWorkload extends Workload {
   /** Name and default value for the downsampling interval property. */
   public static final String DOWNSAMPLING_INTERVAL_PROPERTY = "downsamplinginterval";
   
+  /** Name and default value for the typed query proportion property. */
+  public static final String QUERY_PROPORTION_PROPERTY = "queryproportion";
+  public static final String QUERY_PROPORTION_PROPERTY_DEFAULT = "0.0";
+  
+  /** Name and default value for the last value query weight property. */
+  public static final String QUERY_LAST_VALUE_PROPORTION_PROPERTY = "querylastvalueproportion";
+  public static final String QUERY_LAST_VALUE_PROPORTION_PROPERTY_DEFAULT = "0.2";
+  
+  /** Name and default value for the range aggregation query weight property. */
+  public static final String QUERY_RANGE_PROPORTION_PROPERTY = "queryrangeproportion";
+  public static final String QUERY_RANGE_PROPORTION_PROPERTY_DEFAULT = "0.2";
+  
+  /** Name and default value for the group-by query weight property. */
+  public static final String QUERY_GROUPBY_PROPORTION_PROPERTY = "querygroupbyproportion";
+  public static final String QUERY_GROUPBY_PROPORTION_PROPERTY_DEFAULT = "0.2";
+  
+  /** Name and default value for the top-K query weight property. */
+  public static final String QUERY_TOPK_PROPORTION_PROPERTY = "querytopkproportion";
+  public static final String QUERY_TOPK_PROPORTION_PROPERTY_DEFAULT = "0.2";
+  
+  /** Name and default value for the downsampling query weight property. */
+  public static final String QUERY_DOWNSAMPLE_PROPORTION_PROPERTY = "querydownsampleproportion";
+  public static final String QUERY_DOWNSAMPLE_PROPORTION_PROPERTY_DEFAULT = "0.2";
+  
+  /** Name and default value for the query aggregations property. */
+  public static final String QUERY_AGGREGATIONS_PROPERTY = "queryaggregations";
+  public static final String QUERY_AGGREGATIONS_PROPERTY_DEFAULT = "SUM,AVERAGE,COUNT,MIN,MAX";
+  
+  /** Name and default value for the query downsampling intervals property. */
+  public static final String QUERY_DOWNSAMPLING_INTERVALS_PROPERTY = "querydownsamplingintervals";
+  public static final String QUERY_DOWNSAMPLING_INTERVALS_PROPERTY_DEFAULT = "300,3600";
+  
+  /** Name and default value for the top-K query size property. */
+  public static final String QUERY_TOPK_PROPERTY = "querytopk";
+  public static final String QUERY_TOPK_PROPERTY_DEFAULT = "5";
+  
+  /** Name and default value for the maximum query range property. */
+  public static final String QUERY_MAX_INTERVALS_PROPERTY = "querymaxintervals";
+  public static final String QUERY_MAX_INTERVALS_PROPERTY_DEFAULT = "60";
+  
   /** The properties to pull settings from. */
   protected Properties properties;
   
@@ -492,6 +621,24 @@ public class TimeSeriesWorkload extends Workload {
   /** The maximum number of intervals to delay a series. */
   protected int delayedIntervals;
   
+  /** The number of data points written by each insert. */
+  protected int insertBatchSize;
+  
+  /** Whether an insert batch holds consecutive timestamps of one series. */
+  protected boolean seriesBatches;
+  
+  /** The fraction of inserted points written late. */
+  protected double lateFraction;
+  
+  /** How many intervals late points are written, null if none are. */
+  protected NumberGenerator lateIntervals;
+  
+  /** The number of threads backfilling history. */
+  protected int backfillThreads;
+  
+  /** The number of intervals before the starting timestamp backfill threads write. */
+  protected int backfillIntervals;
+  
   /** Optional query time interval during reads/scans. */
   protected int queryTimeSpan;
   
@@ -531,6 +678,27 @@ public class TimeSeriesWorkload extends Workload {
   
   /** The downsampling interval. */
   protected int downsampleInterval;
+  
+  /** Whether or not to issue typed queries. */
+  protected boolean typedQueries;
+  
+  /** A generator to select the shape of each typed query. */
+  protected DiscreteGenerator queryShapeChooser;
+  
+  /** The aggregations typed queries pick from. */
+  protected TimeseriesDB.AggregationOperation[] queryAggregations;
+  
+  /** The downsampling intervals typed queries pick from. */
+  protected long[] queryDownsamplingIntervals;
+  
+  /** The number of series returned by top-K queries. */
+  protected int queryTopK;
+  
+  /** The maximum number of intervals covered by a typed query. */
+  protected int queryMaxIntervals;
+  
+  /** The number of timestamps every series was loaded with, from the starting timestamp. */
+  protected int loadedIntervals;
 
   /**
    * Set to true if want to check correctness of reads. Must also
@@ -679,9 +847,12 @@ public class TimeSeriesWorkload extends Workload {
     delayedSeries = Double.parseDouble(p.getProperty(DELAYED_SERIES_PROPERTY, DELAYED_SERIES_PROPERTY_DEFAULT));
     delayedIntervals = Integer.parseInt(p.getProperty(DELAYED_INTERVALS_PROPERTY, DELAYED_INTERVALS_PROPERTY_DEFAULT));
     
+    initWrites(p);
+    
     valueType = ValueType.fromString(p.getProperty(VALUE_TYPE_PROPERTY, VALUE_TYPE_PROPERTY_DEFAULT));
     table = p.getProperty(CoreWorkload.TABLENAME_PROPERTY, CoreWorkload.TABLENAME_PROPERTY_DEFAULT);
     initKeysAndTags();
+    initTypedQueries();
     validateSettings();
   }
   
@@ -698,12 +869,38 @@ public class TimeSeriesWorkload extends Workload {
     if (threadstate == null) {
       throw new IllegalStateException("Missing thread state.");
     }
-    final Map<String, ByteIterator> tags = new TreeMap<String, ByteIterator>();
-    final String key = ((ThreadState)threadstate).nextDataPoint(tags, true);
-    if (db.insert(table, key, tags) == Status.OK) {
-      return true;
+    final ThreadState state = (ThreadState) threadstate;
+    if (state.backfillRemaining == 0) {
+      return false;
     }
-    return false;
+    final long st = System.nanoTime();
+    final Status status;
+    if (state.batch != null) {
+      List<DataPoint> batch = state.batch;
+      if (state.backfillRemaining > 0 && state.backfillRemaining < batch.size()) {
+        batch = batch.subList(0, (int) state.backfillRemaining);
+      }
+      if (seriesBatches) {
+        state.nextSeriesBatch(batch);
+      } else {
+        for (final DataPoint point : batch) {
+          state.nextDataPoint(point, true);
+        }
+      }
+      state.backfillRemaining = Math.max(-1, state.backfillRemaining - batch.size());
+      status = db.insertPoints(table, batch);
+    } else {
+      final Map<String, ByteIterator> tags = new TreeMap<String, ByteIterator>();
+      final String key = state.nextDataPoint(tags, true);
+      state.backfillRemaining = Math.max(-1, state.backfillRemaining - 1);
+      status = db.insert(table, key, tags);
+    }
+    if (backfillThreads > 0) {
+      final String name = state.backfillRemaining < 0 ? "INSERT-REALTIME" : "INSERT-BACKFILL";
+      measurements.measure(name, (int) ((System.nanoTime() - st) / 1000));
+      measurements.reportStatus(name, status);
+    }
+    return status == Status.OK;
   }
 
   @Override
@@ -711,6 +908,10 @@ public class TimeSeriesWorkload extends Workload {
     if (threadstate == null) {
       throw new IllegalStateException("Missing thread state.");
     }
+    if (((ThreadState) threadstate).backfillRemaining >= 0) {
+      // backfill threads keep bulk writing history while the others run the mix
+      return doInsert(db, threadstate);
+    }
     switch (operationchooser.nextString()) {
     case "READ":
       doTransactionRead(db, threadstate);
@@ -727,6 +928,9 @@ public class TimeSeriesWorkload extends Workload {
     case "DELETE":
       doTransactionDelete(db, threadstate);
       break;
+    case "QUERY":
+      doTransactionQuery(db, threadstate);
+      break;
     default:
       return false;
     }
@@ -886,6 +1090,218 @@ public class TimeSeriesWorkload extends Workload {
     db.delete(table, buf.toString());
   }
   
+  protected void doTransactionQuery(final DB db, Object threadstate) {
+    final ThreadState state = (ThreadState) threadstate;
+    final Random random = ThreadLocalRandom.current();
+    final int keyIdx = keychooser.nextValue().intValue();
+    final TimeseriesQuery.Shape shape = TimeseriesQuery.Shape.valueOf(queryShapeChooser.nextString());
+    
+    final long startTimestamp = state.startTimestamp
+        + (long) timestampInterval * random.nextInt(Math.max(1, loadedIntervals));
+    long endTimestamp = startTimestamp + (long) timestampInterval * random.nextInt(queryMaxIntervals);
+    if (dataintegrity) {
+      endTimestamp = Math.min(endTimestamp, state.startTimestamp + (long) timestampInterval * (loadedIntervals - 1));
+    }
+    
+    // single series shapes pick a value for every tag, the others query the whole key
+    final boolean singleSeries = shape == TimeseriesQuery.Shape.LAST_VALUE 
+        || shape == TimeseriesQuery.Shape.RANGE || shape == TimeseriesQuery.Shape.DOWNSAMPLE;
+    final String[] tagFilter = new String[tagPairs];
+    for (int i = 0; i < tagPairs; i++) {
+      tagFilter[i] = singleSeries ? tagValues[random.nextInt(tagCardinality[i])] : null;
+    }
+    final String metric = keys[keyIdx];
+    final TimeseriesDB.AggregationOperation aggregation = queryAggregations[random.nextInt(queryAggregations.length)];
+    final TimeseriesQuery query;
+    switch (shape) {
+    case LAST_VALUE:
+      query = TimeseriesQuery.lastValue(metric, startTimestamp, endTimestamp, tagKeys, tagFilter);
+      break;
+    case RANGE:
+      query = TimeseriesQuery.range(metric, startTimestamp, endTimestamp, tagKeys, tagFilter, aggregation);
+      break;
+    case GROUP_BY:
+      query = TimeseriesQuery.groupBy(metric, startTimestamp, endTimestamp, tagKeys, tagFilter, aggregation, 
+          nextGroupByTag(random));
+      break;
+    case TOP_K:
+      query = TimeseriesQuery.topK(metric, startTimestamp, endTimestamp, tagKeys, tagFilter, aggregation, queryTopK);
+      break;
+    default:
+      query = TimeseriesQuery.downsample(metric, startTimestamp, endTimestamp, tagKeys, tagFilter, aggregation, 
+          queryDownsamplingIntervals[random.nextInt(queryDownsamplingIntervals.length)]);
+    }
+    
+    final List<TimeseriesQuery.Row> rows = new ArrayList<TimeseriesQuery.Row>();
+    final long ist = measurements.getIntendedStartTimeNs();
+    final long st = System.nanoTime();
+    final Status status = db.queryTimeseries(table, query, rows);
+    final long en = System.nanoTime();
+    measurements.measure("TS-QUERY-" + shape, (int) ((en - st) / 1000));
+    measurements.measureIntended("TS-QUERY-" + shape, (int) ((en - ist) / 1000));
+    measurements.reportStatus("TS-QUERY-" + shape, status);
+    
+    if (dataintegrity && status == Status.OK) {
+      verifyQuery(keyIdx, query, rows, state.startTimestamp);
+    }
+  }
+  
+  /**
+   * Picks a tag with more than one value to group on, if there is one.
+   */
+  private int nextGroupByTag(final Random random) {
+    final int tag = random.nextInt(tagPairs);
+    for (int i = 0; i < tagPairs; i++) {
+      if (tagCardinality[(tag + i) % tagPairs] > 1) {
+        return (tag + i) % tagPairs;
+      }
+    }
+    return tag;
+  }
+  
+  /**
+   * Compares the rows returned by a typed query with the result computed from the
+   * {@link #validationFunction(String, long, TreeMap)}.
+   * @param keyIdx The index of the queried time series key.
+   * @param query The query.
+   * @param rows The rows returned by the DB.
+   * @param firstTimestamp The first timestamp loaded.
+   * @return {@link Status#OK} if the rows matched or {@link Status#UNEXPECTED_STATE} if
+   * they did not.
+   */
+  protected Status verifyQuery(final int keyIdx, final TimeseriesQuery query, 
+                               final List<TimeseriesQuery.Row> rows, final long firstTimestamp) {
+    final long startTime = System.nanoTime();
+    final List<TimeseriesQuery.Row> expected = expectedRows(keyIdx, query, firstTimestamp);
+    Status verifyStatus = expected.size() == rows.size() ? Status.OK : Status.UNEXPECTED_STATE;
+    for (int i = 0; i < expected.size() && verifyStatus == Status.OK; i++) {
+      if (!expected.get(i).matches(rows.get(i))) {
+        verifyStatus = Status.UNEXPECTED_STATE;
+      }
+    }
+    final long endTime = System.nanoTime();
+    measurements.measure("TS-QUERY-VERIFY", (int) (endTime - startTime) / 1000);
+    measurements.reportStatus("TS-QUERY-VERIFY", verifyStatus);
+    return verifyStatus;
+  }
+  
+  /**
+   * Computes the result of a typed query over the loaded data from the
+   * {@link #validationFunction(String, long, TreeMap)}, as described by {@link TimeseriesQuery.Shape}.
+   * @param keyIdx The index of the queried time series key.
+   * @param query The query.
+   * @param firstTimestamp The first timestamp loaded.
+   * @return The expected rows.
+   */
+  protected List<TimeseriesQuery.Row> expectedRows(final int keyIdx, final TimeseriesQuery query, 
+                                                   final long firstTimestamp) {
+    final long lastTimestamp = firstTimestamp + (long) timestampInterval * (loadedIntervals - 1);
+    final TimeseriesQuery.Shape shape = query.getShape();
+    final TimeseriesDB.AggregationOperation aggregation = query.getAggregation();
+    final Aggregate total = new Aggregate();
+    final TreeMap<Long, Aggregate> buckets = new TreeMap<Long, Aggregate>();
+    final TreeMap<String, Aggregate> groups = new TreeMap<String, Aggregate>();
+    final List<TimeseriesQuery.Row> rows = new ArrayList<TimeseriesQuery.Row>();
+    long lastTs = Long.MIN_VALUE;
+    double lastValue = 0;
+    
+    final int[] tagValueIds = new int[tagPairs];
+    final TreeMap<String, String> tags = new TreeMap<String, String>();
+    do {
+      int overallIdx = keyIdx * cumulativeCardinality[0];
+      tags.clear();
+      for (int i = 0; i < tagPairs; i++) {
+        overallIdx += tagValueIds[i] * cumulativeCardinality[i + 1];
+        tags.put(tagKeys[i], tagValues[tagValueIds[i]]);
+      }
+      if (!query.matches(tags)) {
+        continue;
+      }
+      final long delay = seriesDelay(overallIdx);
+      final long from = Math.max(query.getStartTs(), firstTimestamp - delay);
+      final long to = Math.min(query.getEndTs(), lastTimestamp - delay);
+      final Aggregate series = new Aggregate();
+      // the first timestamp of the series at or after the start of the range
+      for (long ts = from + Math.floorMod(firstTimestamp - delay - from, timestampInterval); ts <= to; 
+          ts += timestampInterval) {
+        final long value = validationFunction(keys[keyIdx], ts, tags);
+        switch (shape) {
+        case LAST_VALUE:
+          lastTs = ts;
+          lastValue = value;
+          break;
+        case RANGE:
+          total.add(value);
+          break;
+        case GROUP_BY:
+          groups.computeIfAbsent(tags.get(tagKeys[query.getGroupByTag()]), k -> new Aggregate()).add(value);
+          break;
+        case TOP_K:
+          series.add(value);
+          break;
+        default:
+          buckets.computeIfAbsent(ts - Math.floorMod(ts, query.getDownsamplingInterval()), 
+              k -> new Aggregate()).add(value);
+        }
+      }
+      if (shape == TimeseriesQuery.Shape.TOP_K && series.count > 0) {
+        rows.add(new TimeseriesQuery.Row(query.getStartTs(), series.get(aggregation), new HashMap<>(tags)));
+      }
+    } while (nextTagValueIds(tagValueIds));
+    
+    switch (shape) {
+    case LAST_VALUE:
+      if (lastTs != Long.MIN_VALUE) {
+        rows.add(new TimeseriesQuery.Row(lastTs, lastValue, null));
+      }
+      break;
+    case RANGE:
+      if (total.count > 0) {
+        rows.add(new TimeseriesQuery.Row(query.getStartTs(), total.get(aggregation), null));
+      }
+      break;
+    case GROUP_BY:
+      for (final Entry<String, Aggregate> group : groups.entrySet()) {
+        rows.add(new TimeseriesQuery.Row(query.getStartTs(), group.getValue().get(aggregation),
+            Collections.singletonMap(tagKeys[query.getGroupByTag()], group.getKey())));
+      }
+      break;
+    case TOP_K:
+      Collections.sort(rows, query.topKOrder());
+      return new ArrayList<TimeseriesQuery.Row>(rows.subList(0, Math.min(query.getTopK(), rows.size())));
+    default:
+      for (final Entry<Long, Aggregate> bucket : buckets.entrySet()) {
+        rows.add(new TimeseriesQuery.Row(bucket.getKey(), bucket.getValue().get(aggregation), null));
+      }
+    }
+    return rows;
+  }
+  
+  /**
+   * Advances tag value ids to the next series in ascending order.
+   * @return false once every series has been visited.
+   */
+  private boolean nextTagValueIds(final int[] tagValueIds) {
+    for (int i = tagPairs - 1; i >= 0; i--) {
+      if (++tagValueIds[i] < tagCardinality[i]) {
+        return true;
+      }
+      tagValueIds[i] = 0;
+    }
+    return false;
+  }
+  
+  /**
+   * @param overallIdx The index of a time series.
+   * @return How far behind the timestamp generator the series is written, see {@code delayedseries}.
+   */
+  protected long seriesDelay(final int overallIdx) {
+    if (delayedSeries > 0 && (double) overallIdx / (double) totalCardinality < delayedSeries) {
+      return (long) timestampInterval * Math.abs(overallIdx % delayedIntervals);
+    }
+    return 0;
+  }
+  
   /**
    * Parses the values returned by a read or scan operation and determines whether
    * or not the integer value matches the hash and timestamp of the original timestamp.
@@ -1028,7 +1444,8 @@ public class TimeSeriesWorkload extends Workload {
       Utils.shuffleArray(tagValues);
     }
     
-    maxOffsets = (recordcount / totalCardinality) + 1;
+    // every insert writes a batch of points
+    maxOffsets = (int) Math.min(Integer.MAX_VALUE - 1, (long) recordcount * insertBatchSize / totalCardinality) + 1;
     final int[] keyAndTagCardinality = new int[tagPairs + 1];
     keyAndTagCardinality[0] = numKeys;
     for (int i = 0; i < tagPairs; i++) {
@@ -1048,11 +1465,146 @@ public class TimeSeriesWorkload extends Workload {
     cumulativeCardinality[cumulativeCardinality.length - 1] = 1;
   }
   
+  /**
+   * Sets up insert batches, late points and backfill threads.
+   * @param p The properties to pull settings from.
+   * @throws WorkloadException If a setting was invalid.
+   */
+  protected void initWrites(final Properties p) throws WorkloadException {
+    insertBatchSize = Integer.parseInt(p.getProperty(INSERT_BATCH_SIZE_PROPERTY, 
+        INSERT_BATCH_SIZE_PROPERTY_DEFAULT));
+    if (insertBatchSize < 1) {
+      throw new WorkloadException("'" + INSERT_BATCH_SIZE_PROPERTY + "' must be at least 1.");
+    }
+    final String batchOrder = p.getProperty(INSERT_BATCH_ORDER_PROPERTY, INSERT_BATCH_ORDER_PROPERTY_DEFAULT);
+    if (!batchOrder.equals("timestamp") && !batchOrder.equals("series")) {
+      throw new WorkloadException("'" + INSERT_BATCH_ORDER_PROPERTY + "' must be 'timestamp' or 'series'.");
+    }
+    seriesBatches = insertBatchSize > 1 && batchOrder.equals("series");
+    
+    lateFraction = Double.parseDouble(p.getProperty(LATE_FRACTION_PROPERTY, LATE_FRACTION_PROPERTY_DEFAULT));
+    if (lateFraction > 0) {
+      if (lateFraction >= 1) {
+        throw new WorkloadException("'" + LATE_FRACTION_PROPERTY + "' must be less than 1.");
+      }
+      // lateness is rounded to whole intervals so late points land on the timestamps of their series
+      final long min = Math.max(1, Long.parseLong(p.getProperty(LATE_MIN_PROPERTY, LATE_MIN_PROPERTY_DEFAULT)) 
+          / timestampInterval);
+      final long max = Long.parseLong(p.getProperty(LATE_MAX_PROPERTY, LATE_MAX_PROPERTY_DEFAULT)) 
+          / timestampInterval;
+      if (max < min) {
+        throw new WorkloadException("'" + LATE_MAX_PROPERTY + "' must be at least '" + LATE_MIN_PROPERTY 
+            + "' and one 'timestampinterval'.");
+      }
+      final String distribution = p.getProperty(LATE_DISTRIBUTION_PROPERTY, LATE_DISTRIBUTION_PROPERTY_DEFAULT);
+      if (distribution.equals("uniform")) {
+        lateIntervals = new UniformLongGenerator(min, max);
+      } else if (distribution.equals("zipfian")) {
+        lateIntervals = new ZipfianGenerator(min, max);
+      } else {
+        throw new WorkloadException("Unknown lateness distribution \"" + distribution + "\"");
+      }
+    }
+    
+    final int threads = Integer.parseInt(p.getProperty(Client.THREAD_COUNT_PROPERTY, "1"));
+    backfillThreads = Integer.parseInt(p.getProperty(BACKFILL_THREADS_PROPERTY, BACKFILL_THREADS_PROPERTY_DEFAULT));
+    backfillIntervals = Integer.parseInt(p.getProperty(BACKFILL_INTERVALS_PROPERTY, 
+        BACKFILL_INTERVALS_PROPERTY_DEFAULT));
+    if (backfillThreads < 0 || backfillThreads >= threads) {
+      throw new WorkloadException("'" + BACKFILL_THREADS_PROPERTY + "' must leave at least one of the " 
+          + threads + " threads for real-time ingest.");
+    }
+    if (backfillThreads > 0 && backfillIntervals < 1) {
+      throw new WorkloadException("'" + BACKFILL_INTERVALS_PROPERTY + "' must be at least 1.");
+    }
+  }
+  
+  /**
+   * Sets up the typed query mix.
+   * @throws WorkloadException If a query setting was invalid.
+   */
+  protected void initTypedQueries() throws WorkloadException {
+    final double queryproportion = Double.parseDouble(properties.getProperty(
+        QUERY_PROPORTION_PROPERTY, QUERY_PROPORTION_PROPERTY_DEFAULT));
+    if (queryproportion <= 0) {
+      return;
+    }
+    operationchooser.addValue(queryproportion, "QUERY");
+    typedQueries = true;
+    
+    queryShapeChooser = new DiscreteGenerator();
+    addQueryShape(TimeseriesQuery.Shape.LAST_VALUE, 
+        QUERY_LAST_VALUE_PROPORTION_PROPERTY, QUERY_LAST_VALUE_PROPORTION_PROPERTY_DEFAULT);
+    addQueryShape(TimeseriesQuery.Shape.RANGE, 
+        QUERY_RANGE_PROPORTION_PROPERTY, QUERY_RANGE_PROPORTION_PROPERTY_DEFAULT);
+    addQueryShape(TimeseriesQuery.Shape.GROUP_BY, 
+        QUERY_GROUPBY_PROPORTION_PROPERTY, QUERY_GROUPBY_PROPORTION_PROPERTY_DEFAULT);
+    addQueryShape(TimeseriesQuery.Shape.TOP_K, 
+        QUERY_TOPK_PROPORTION_PROPERTY, QUERY_TOPK_PROPORTION_PROPERTY_DEFAULT);
+    addQueryShape(TimeseriesQuery.Shape.DOWNSAMPLE, 
+        QUERY_DOWNSAMPLE_PROPORTION_PROPERTY, QUERY_DOWNSAMPLE_PROPORTION_PROPERTY_DEFAULT);
+    
+    final String[] aggregations = properties.getProperty(QUERY_AGGREGATIONS_PROPERTY, 
+        QUERY_AGGREGATIONS_PROPERTY_DEFAULT).split(",");
+    queryAggregations = new TimeseriesDB.AggregationOperation[aggregations.length];
+    for (int i = 0; i < aggregations.length; i++) {
+      try {
+        queryAggregations[i] = TimeseriesDB.AggregationOperation.valueOf(aggregations[i].trim().toUpperCase());
+      } catch (IllegalArgumentException e) {
+        throw new WorkloadException("Unknown query aggregation: " + aggregations[i], e);
+      }
+      if (queryAggregations[i] == TimeseriesDB.AggregationOperation.NONE) {
+        throw new WorkloadException("'" + QUERY_AGGREGATIONS_PROPERTY + "' must not contain NONE.");
+      }
+    }
+    
+    final String[] intervals = properties.getProperty(QUERY_DOWNSAMPLING_INTERVALS_PROPERTY, 
+        QUERY_DOWNSAMPLING_INTERVALS_PROPERTY_DEFAULT).split(",");
+    queryDownsamplingIntervals = new long[intervals.length];
+    for (int i = 0; i < intervals.length; i++) {
+      queryDownsamplingIntervals[i] = Long.parseLong(intervals[i].trim());
+      if (queryDownsamplingIntervals[i] < 1) {
+        throw new WorkloadException("Query downsampling intervals must be positive: " + intervals[i]);
+      }
+    }
+    
+    queryTopK = Integer.parseInt(properties.getProperty(QUERY_TOPK_PROPERTY, QUERY_TOPK_PROPERTY_DEFAULT));
+    queryMaxIntervals = Integer.parseInt(properties.getProperty(QUERY_MAX_INTERVALS_PROPERTY, 
+        QUERY_MAX_INTERVALS_PROPERTY_DEFAULT));
+    if (queryTopK < 1 || queryMaxIntervals < 1) {
+      throw new WorkloadException("'" + QUERY_TOPK_PROPERTY + "' and '" + QUERY_MAX_INTERVALS_PROPERTY 
+          + "' must be at least 1.");
+    }
+    
+    // The load splits its operations evenly between threads and the last real-time thread writes the most keys.
+    final int threads = Integer.parseInt(properties.getProperty(Client.THREAD_COUNT_PROPERTY, "1"));
+    final int realtimeThreads = threads - backfillThreads;
+    final long loadOps = Long.parseLong(properties.getProperty(Client.INSERT_COUNT_PROPERTY, 
+        String.valueOf(recordcount))) / threads;
+    final long pointsPerTimestamp = 
+        (long) (numKeys - numKeys / realtimeThreads * (realtimeThreads - 1)) * perKeyCardinality;
+    // series batches cover their intervals once every series has had a batch
+    loadedIntervals = (int) Math.min(Integer.MAX_VALUE, seriesBatches
+        ? loadOps / pointsPerTimestamp * insertBatchSize : loadOps * insertBatchSize / pointsPerTimestamp);
+  }
+  
+  private void addQueryShape(final TimeseriesQuery.Shape shape, final String property, 
+                             final String defaultValue) {
+    final double weight = Double.parseDouble(properties.getProperty(property, defaultValue));
+    if (weight > 0) {
+      queryShapeChooser.addValue(weight, shape.name());
+    }
+  }
+  
   /**
    * Makes sure the settings as given are compatible.
    * @throws WorkloadException If one or more settings were invalid.
    */
   protected void validateSettings() throws WorkloadException {
+    if (seriesBatches && (lateFraction > 0 || sparsity > 0 || randomizeTimestampOrder)) {
+      throw new WorkloadException("'" + INSERT_BATCH_ORDER_PROPERTY + "' of 'series' requires a 'latefraction' "
+          + "and 'sparsity' of 0 and '" + RANDOMIZE_TIMESTAMP_ORDER_PROPERTY + "' to be false.");
+    }
     if (dataintegrity) {
       if (valueType != ValueType.INTEGERS) {
         throw new WorkloadException("Data integrity was enabled. 'valuetype' must "
@@ -1079,6 +1631,52 @@ public class TimeSeriesWorkload extends Workload {
         throw new WorkloadException("Data integrity was enabled. 'insertstart' must "
             + "be set to a Unix Epoch timestamp.");
       }
+      if (typedQueries && sparsity > 0) {
+        throw new WorkloadException("Data integrity was enabled for queries. 'sparsity' must "
+            + "be 0.");
+      }
+      if (typedQueries && lateFraction > 0) {
+        throw new WorkloadException("Data integrity was enabled for queries. 'latefraction' must "
+            + "be 0.");
+      }
+      if (typedQueries && loadedIntervals < 1) {
+        throw new WorkloadException("Data integrity was enabled for queries. 'recordcount' must "
+            + "cover every time series at least once.");
+      }
+    }
+  }
+  
+  /**
+   * The running aggregates of a group of values.
+   */
+  private static final class Aggregate {
+    private long count;
+    private double sum;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+    
+    void add(final double value) {
+      count++;
+      sum += value;
+      min = Math.min(min, value);
+      max = Math.max(max, value);
+    }
+    
+    double get(final TimeseriesDB.AggregationOperation aggregation) {
+      switch (aggregation) {
+      case SUM:
+        return sum;
+      case AVERAGE:
+        return sum / count;
+      case COUNT:
+        return count;
+      case MIN:
+        return min;
+      case MAX:
+        return max;
+      default:
+        throw new IllegalArgumentException("Not an aggregation: " + aggregation);
+      }
     }
   }
   
@@ -1087,7 +1685,7 @@ public class TimeSeriesWorkload extends Workload {
    */
   protected class ThreadState {
     /** The timestamp generator for this thread. */
-    protected final UnixEpochTimestampGenerator timestampGenerator;
+    protected UnixEpochTimestampGenerator timestampGenerator;
     
     /** An offset generator to select a random offset for queries. */
     protected final NumberGenerator queryOffsetGenerator;
@@ -1104,6 +1702,18 @@ public class TimeSeriesWorkload extends Workload {
     /** Indices for each tag value for writes. */
     protected int[] tagValueIdxs;
 
+    /** The reused data point behind {@link #nextDataPoint(Map, boolean)}. */
+    protected final DataPoint scratchPoint;
+
+    /** The reused data points of an insert batch, null when inserting single points. */
+    protected final List<DataPoint> batch;
+
+    /** Points written late as {arrival timestamp, series id, timestamp}, earliest arrival first. */
+    protected final PriorityQueue<long[]> latePoints;
+    
+    /** The number of points left for a backfill thread to write, -1 for real-time threads. */
+    protected long backfillRemaining = -1;
+    
     /** Whether or not all time series have written values for the current timestamp. */
     protected boolean rollover;
     
@@ -1128,16 +1738,30 @@ public class TimeSeriesWorkload extends Workload {
             + "than or equal to key count " + keys.length);
       }
       
-      int keysPerThread = keys.length / totalThreads;
-      keyIdx = keysPerThread * threadID;
+      // real-time and backfill threads each split the keys between themselves
+      final int realtimeThreads = totalThreads - backfillThreads;
+      final boolean backfill = threadID >= realtimeThreads;
+      final int roleThreads = backfill ? totalThreads - realtimeThreads : realtimeThreads;
+      final int roleID = backfill ? threadID - realtimeThreads : threadID;
+      int keysPerThread = keys.length / roleThreads;
+      keyIdx = keysPerThread * roleID;
       keyIdxStart = keyIdx;
-      if (totalThreads - 1 == threadID) {
+      if (roleThreads - 1 == roleID) {
         keyIdxEnd = keys.length;
       } else {
         keyIdxEnd = keyIdxStart + keysPerThread;
       }
       
       tagValueIdxs = new int[tagPairs]; // all zeros
+      scratchPoint = new DataPoint(tagKeys, tagValues);
+      if (insertBatchSize > 1) {
+        batch = new ArrayList<DataPoint>(insertBatchSize);
+        for (int i = 0; i < insertBatchSize; i++) {
+          batch.add(new DataPoint(tagKeys, tagValues));
+        }
+      } else {
+        batch = null;
+      }
       
       final String startingTimestamp = 
           properties.getProperty(CoreWorkload.INSERT_START_PROPERTY);
@@ -1160,6 +1784,14 @@ public class TimeSeriesWorkload extends Workload {
       // Set the last value properly for the timestamp, otherwise it may start 
       // one interval ago.
       startTimestamp = timestampGenerator.nextValue();
+      if (backfill) {
+        timestampGenerator = new UnixEpochTimestampGenerator(timestampInterval, timeUnits, 
+            startTimestamp - (long) timestampInterval * backfillIntervals);
+        timestampGenerator.nextValue();
+        backfillRemaining = (long) backfillIntervals * (keyIdxEnd - keyIdxStart) * perKeyCardinality;
+      }
+      latePoints = lateFraction > 0 && !backfill ? new PriorityQueue<long[]>(
+          (a, b) -> Long.compare(a[0], b[0])) : null;
       // TODO - pick it
       queryOffsetGenerator = new UniformLongGenerator(0, maxOffsets - 2);
     }
@@ -1173,6 +1805,119 @@ public class TimeSeriesWorkload extends Workload {
      * @return The next key to write.
      */
     protected String nextDataPoint(final Map<String, ByteIterator> map, final boolean isInsert) {
+      nextDataPoint(scratchPoint, isInsert);
+      scratchPoint.putTags(map);
+      map.put(timestampKey, new NumericByteIterator(scratchPoint.getTimestamp()));
+      if (scratchPoint.isFloatingPoint()) {
+        map.put(valueKey, new NumericByteIterator(scratchPoint.getDoubleValue()));
+      } else {
+        map.put(valueKey, new NumericByteIterator(scratchPoint.getLongValue()));
+      }
+      return scratchPoint.getMetric();
+    }
+
+    /**
+     * Generates the next write value for thread without allocating, unless it is held
+     * back to be written late. Late points are written first once their time has come.
+     * @param point The data point to overwrite with the next write value.
+     * @param isInsert Whether or not it's an insert or an update. Updates will pick
+     * an older timestamp (if random isn't enabled).
+     */
+    protected void nextDataPoint(final DataPoint point, final boolean isInsert) {
+      if (!isInsert || latePoints == null) {
+        generateDataPoint(point, isInsert);
+        return;
+      }
+      final Random random = ThreadLocalRandom.current();
+      while (true) {
+        final long[] late = latePoints.peek();
+        if (late != null && late[0] <= timestampGenerator.currentValue()) {
+          latePoints.poll();
+          setSeries(point, late[1], late[2]);
+          measurements.measure("LATENESS", (int) (timestampGenerator.currentValue() - late[2]));
+          return;
+        }
+        generateDataPoint(point, true);
+        if (random.nextDouble() >= lateFraction) {
+          return;
+        }
+        latePoints.add(new long[] {
+            point.getTimestamp() + timestampInterval * lateIntervals.nextValue().longValue(),
+            point.getSeriesId(), point.getTimestamp()});
+      }
+    }
+    
+    /**
+     * Generates the next series and writes it at consecutive timestamps. Once every
+     * series has had a batch, the timestamp generator moves past the batch's timestamps.
+     * @param points The data points to overwrite, all of the same series.
+     */
+    protected void nextSeriesBatch(final List<DataPoint> points) {
+      final DataPoint first = points.get(0);
+      generateDataPoint(first, true);
+      for (int i = 1; i < points.size(); i++) {
+        setSeries(points.get(i), first.getSeriesId(), first.getTimestamp() + (long) timestampInterval * i);
+      }
+      for (int i = 1; rollover && i < points.size(); i++) {
+        timestampGenerator.nextValue();
+      }
+    }
+    
+    /**
+     * Sets a data point to a given series and timestamp, with the value it would have
+     * been generated with.
+     */
+    private void setSeries(final DataPoint point, final long seriesId, final long timestamp) {
+      final int idx = (int) (seriesId / cumulativeCardinality[0]);
+      final TreeMap<String, String> validationTags = dataintegrity ? new TreeMap<String, String>() : null;
+      for (int i = 0; i < tagPairs; i++) {
+        final int tvidx = (int) (seriesId / cumulativeCardinality[i + 1] % tagCardinality[i]);
+        point.setTagValueId(i, tvidx);
+        if (dataintegrity) {
+          validationTags.put(tagKeys[i], tagValues[tvidx]);
+        }
+      }
+      point.set(keys[idx], seriesId, timestamp);
+      setValue(point, keys[idx], timestamp, validationTags);
+    }
+    
+    /**
+     * Sets the value of a data point, the validation value with data integrity or a
+     * random one of the configured type.
+     */
+    private void setValue(final DataPoint point, final String key, final long timestamp, 
+                          final TreeMap<String, String> validationTags) {
+      final Random random = ThreadLocalRandom.current();
+      if (dataintegrity) {
+        point.setValue(validationFunction(key, timestamp, validationTags));
+        return;
+      }
+      switch (valueType) {
+      case INTEGERS:
+        point.setValue((long) random.nextInt());
+        break;
+      case FLOATS:
+        point.setValue(random.nextDouble() * (double) 100000);
+        break;
+      case MIXED:
+        if (random.nextBoolean()) {
+          point.setValue((long) random.nextInt());
+        } else {
+          point.setValue(random.nextDouble() * (double) 100000);
+        }
+        break;
+      default:
+        throw new IllegalStateException("Somehow we didn't have a value "
+            + "type configured that we support: " + valueType);
+      }
+    }
+    
+    /**
+     * Generates the next write value in the order of the timestamp generator.
+     * @param point The data point to overwrite with the next write value.
+     * @param isInsert Whether or not it's an insert or an update.
+     */
+    private void generateDataPoint(final DataPoint point, final boolean isInsert) {
       final Random random = ThreadLocalRandom.current();
       int iterations = sparsity <= 0 ? 1 : random.nextInt((int) ((double) perKeyCardinality * sparsity));
       if (iterations < 1) {
@@ -1184,7 +1929,6 @@ public class TimeSeriesWorkload extends Workload {
           timestampGenerator.nextValue();
           rollover = false;
         }
-        String key = null;
         if (iterations <= 0) {
           final TreeMap<String, String> validationTags;
           if (dataintegrity) {
@@ -1192,64 +1936,31 @@ public class TimeSeriesWorkload extends Workload {
           } else {
             validationTags = null;
           }
-          key = keys[keyIdx];
+          final String key = keys[keyIdx];
           int overallIdx = keyIdx * cumulativeCardinality[0];
           for (int i = 0; i < tagPairs; ++i) {
             int tvidx = tagValueIdxs[i];
-            map.put(tagKeys[i], new StringByteIterator(tagValues[tvidx]));
+            point.setTagValueId(i, tvidx);
             if (dataintegrity) {
               validationTags.put(tagKeys[i], tagValues[tvidx]);
             }
-            if (delayedSeries > 0) {
-              overallIdx += (tvidx * cumulativeCardinality[i + 1]);
-            }
+            overallIdx += (tvidx * cumulativeCardinality[i + 1]);
           }
           
+          final long timestamp;
           if (!isInsert) {
             final long delta = (timestampGenerator.currentValue() - startTimestamp) / timestampInterval;
             final int intervals = random.nextInt((int) delta);
-            map.put(timestampKey, new NumericByteIterator(startTimestamp + (intervals * timestampInterval)));
+            timestamp = startTimestamp + (intervals * timestampInterval);
           } else if (delayedSeries > 0) {
             // See if the series falls in a delay bucket and calculate an offset earlier
             // than the current timestamp value if so.
-            double pct = (double) overallIdx / (double) totalCardinality;
-            if (pct < delayedSeries) {
-              int modulo = overallIdx % delayedIntervals;
-              if (modulo < 0) {
-                modulo *= -1;
-              }
-              map.put(timestampKey, new NumericByteIterator(timestampGenerator.currentValue() - 
-                  timestampInterval * modulo));
-            } else {
-              map.put(timestampKey, new NumericByteIterator(timestampGenerator.currentValue()));
-            }
-          } else {
-            map.put(timestampKey, new NumericByteIterator(timestampGenerator.currentValue()));
-          }
-          
-          if (dataintegrity) {
-            map.put(valueKey, new NumericByteIterator(validationFunction(key, 
-                timestampGenerator.currentValue(), validationTags)));
+            timestamp = timestampGenerator.currentValue() - seriesDelay(overallIdx);
           } else {
-            switch (valueType) {
-            case INTEGERS:
-              map.put(valueKey, new NumericByteIterator(random.nextInt()));
-              break;
-            case FLOATS:
-              map.put(valueKey, new NumericByteIterator(random.nextDouble() * (double) 100000));
-              break;
-            case MIXED:
-              if (random.nextBoolean()) {
-                map.put(valueKey, new NumericByteIterator(random.nextInt()));
-              } else {
-                map.put(valueKey, new NumericByteIterator(random.nextDouble() * (double) 100000));
-              }
-              break;
-            default:
-              throw new IllegalStateException("Somehow we didn't have a value "
-                  + "type configured that we support: " + valueType);
-            }        
+            timestamp = timestampGenerator.currentValue();
           }
+          point.set(key, overallIdx, timestamp);
+          setValue(point, key, timestamp, validationTags);
         }
         
         boolean tagRollover = false;
@@ -1280,7 +1991,7 @@ public class TimeSeriesWorkload extends Workload {
         }
         
         if (iterations <= 0) {
-          return key;
+          return;
         }
       }
     }
@@ -0,0 +1,186 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb.workloads;
+
+import site.ycsb.ByteIterator;
+import site.ycsb.DB;
+import site.ycsb.Status;
+import site.ycsb.WorkloadException;
+import site.ycsb.measurements.Measurements;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * A workload of multi-key transactions. Each transaction reads a number of records and then
+ * updates a number of records, all chosen with the configured <b>requestdistribution</b>, between
+ * {@link DB#beginTransaction()} and {@link DB#commit()}. A transaction whose operation fails is
+ * aborted. One that failed with {@link Status#CONFLICT} is retried with the same keys, up to a
+ * configurable number of times, while any other failure ends it. The records are loaded exactly as
+ * with {@link CoreWorkload}.
+ * <p>
+ * Besides the per operation measurements (including BEGIN, COMMIT and ABORT), the following are
+ * reported:
+ * <UL>
+ * <LI><b>TRANSACTION</b>: the latency of a whole transaction including retries, and its final
+ * status. The count of OK statuses over the run time is the goodput.
+ * <LI><b>TRANSACTION-RETRIES</b>: how many times each transaction had to be retried
+ * </ul>
+ * <p>
+ * Properties to control the client:
+ * <UL>
+ * <LI><b>transaction.readcount</b>: the number of records read by each transaction (default: 2)
+ * <LI><b>transaction.writecount</b>: the number of records updated by each transaction (default: 2)
+ * <LI><b>transaction.maxretries</b>: how many times to retry a conflicting transaction (default: 3)
+ * </ul>
+ */
+public class TransactionalWorkload extends CoreWorkload {
+  /**
+   * The name of the property for the number of records read by each transaction.
+   */
+  public static final String READ_COUNT_PROPERTY = "transaction.readcount";
+
+  /**
+   * The default number of records read by each transaction.
+   */
+  public static final String READ_COUNT_PROPERTY_DEFAULT = "2";
+
+  /**
+   * The name of the property for the number of records updated by each transaction.
+   */
+  public static final String WRITE_COUNT_PROPERTY = "transaction.writecount";
+
+  /**
+   * The default number of records updated by each transaction.
+   */
+  public static final String WRITE_COUNT_PROPERTY_DEFAULT = "2";
+
+  /**
+   * The name of the property for the number of times a conflicting transaction is retried.
+   */
+  public static final String MAX_RETRIES_PROPERTY = "transaction.maxretries";
+
+  /**
+   * The default number of times a conflicting transaction is retried.
+   */
+  public static final String MAX_RETRIES_PROPERTY_DEFAULT = "3";
+
+  private int readCount;
+  private int writeCount;
+  private int maxRetries;
+
+  private final Measurements measurements = Measurements.getMeasurements();
+
+  @Override
+  public void init(Properties p) throws WorkloadException {
+    super.init(p);
+    readCount = Integer.parseInt(p.getProperty(READ_COUNT_PROPERTY, READ_COUNT_PROPERTY_DEFAULT));
+    writeCount = Integer.parseInt(p.getProperty(WRITE_COUNT_PROPERTY, WRITE_COUNT_PROPERTY_DEFAULT));
+    maxRetries = Integer.parseInt(p.getProperty(MAX_RETRIES_PROPERTY, MAX_RETRIES_PROPERTY_DEFAULT));
+    if (readCount < 0 || writeCount < 0 || readCount + writeCount == 0) {
+      throw new WorkloadException("A transaction must read or write at least one record");
+    }
+    if (readCount + writeCount > recordcount) {
+      throw new WorkloadException("A transaction cannot touch more records than recordcount");
+    }
+  }
+
+  @Override
+  public boolean doTransaction(DB db, Object threadstate) {
+    if (isStopRequested()) {
+      return false;
+    }
+
+    // Draw distinct keys once, so retries contend on the same records.
+    Set<Long> chosen = new HashSet<>();
+    String[] readKeys = new String[readCount];
+    for (int i = 0; i < readCount; i++) {
+      readKeys[i] = CoreWorkload.buildKeyName(nextDistinctKeynum(chosen), zeropadding, orderedinserts);
+    }
+    String[] writeKeys = new String[writeCount];
+    for (int i = 0; i < writeCount; i++) {
+      writeKeys[i] = CoreWorkload.buildKeyName(nextDistinctKeynum(chosen), zeropadding, orderedinserts);
+    }
+
+    long ist = measurements.getIntendedStartTimeNs();
+    long st = System.nanoTime();
+    Status status;
+    int retries = 0;
+    while (true) {
+      status = runOnce(db, readKeys, writeKeys);
+      if (status != Status.CONFLICT || retries >= maxRetries) {
+        break;
+      }
+      retries++;
+    }
+    long en = System.nanoTime();
+
+    measurements.measure("TRANSACTION", (int) ((en - st) / 1000));
+    measurements.measureIntended("TRANSACTION", (int) ((en - ist) / 1000));
+    measurements.reportStatus("TRANSACTION", status);
+    measurements.measure("TRANSACTION-RETRIES", retries);
+    return true;
+  }
+
+  /**
+   * Runs one attempt of a transaction, aborting it if any operation fails.
+   *
+   * @return OK if the transaction committed, otherwise the status of the first failed operation.
+   */
+  private Status runOnce(DB db, String[] readKeys, String[] writeKeys) {
+    Status status = db.beginTransaction();
+    if (!status.isOk()) {
+      return status;
+    }
+    for (String key : readKeys) {
+      status = db.read(table, key, readFields(), new HashMap<String, ByteIterator>());
+      if (!status.isOk()) {
+        db.abort();
+        return status;
+      }
+    }
+    for (String key : writeKeys) {
+      status = db.update(table, key, writeallfields ? buildValues(key) : buildSingleValue(key));
+      if (!status.isOk()) {
+        db.abort();
+        return status;
+      }
+    }
+    // A commit ends the transaction whether it succeeds or not, there is nothing left to abort.
+    return db.commit();
+  }
+
+  private long nextDistinctKeynum(Set<Long> chosen) {
+    long keynum;
+    do {
+      keynum = nextKeynum();
+    } while (!chosen.add(keynum));
+    return keynum;
+  }
+
+  private Set<String> readFields() {
+    if (!readallfields) {
+      Set<String> fields = new HashSet<>();
+      fields.add(fieldnames.get(fieldchooser.nextValue().intValue()));
+      return fields;
+    }
+    return readallfieldsbyname ? new HashSet<>(fieldnames) : null;
+  }
+}
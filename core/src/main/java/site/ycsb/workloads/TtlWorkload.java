@@ -0,0 +1,330 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb.workloads;
+
+import site.ycsb.ByteIterator;
+import site.ycsb.Client;
+import site.ycsb.DB;
+import site.ycsb.Status;
+import site.ycsb.WorkloadException;
+import site.ycsb.generator.ConstantIntegerGenerator;
+import site.ycsb.generator.NumberGenerator;
+import site.ycsb.generator.UniformLongGenerator;
+import site.ycsb.generator.ZipfianGenerator;
+import site.ycsb.measurements.Measurements;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A workload of expiring records. Every insert and update carries a time to live drawn from a
+ * configurable distribution and is passed to the database through
+ * {@link DB#insert(String, String, Map, int)} and {@link DB#update(String, String, Map, int)}.
+ * The workload remembers when each record is due to expire, so reads can be classified as reads
+ * of live or of expired records, and the reads can optionally be steered towards either kind.
+ * <p>
+ * Besides the per operation measurements, the following are reported:
+ * <UL>
+ * <LI><b>READ-LIVE</b>: the latency of reads of records that had not expired yet, with status OK,
+ * or PREMATURE_EXPIRY if the record was missing
+ * <LI><b>READ-EXPIRED</b>: the latency of reads of records past their time to live, with status
+ * EXPIRED if the record was correctly missing, or EXPIRED_HIT if it was still returned. The
+ * share of EXPIRED_HIT is the expired-hit rate.
+ * </ul>
+ * Reads that complete within the grace period around the expiry time, and reads of records updated
+ * while the read was in flight, are not classified.
+ * <p>
+ * Properties to control the client:
+ * <UL>
+ * <LI><b>ttl.distribution</b>: the distribution of times to live, constant, uniform or zipfian.
+ * Constant uses ttl.max, zipfian favours short times to live (default: uniform)
+ * <LI><b>ttl.min</b>: the shortest time to live, in seconds (default: 30)
+ * <LI><b>ttl.max</b>: the longest time to live, in seconds (default: 300)
+ * <LI><b>ttl.gracems</b>: how far from its expiry time a read must be to be classified, in
+ * milliseconds. Covers clock skew and the expiry resolution of the database (default: 1000)
+ * <LI><b>ttl.expiredreadproportion</b>: what proportion of reads should target expired records.
+ * Keys are redrawn from the request distribution a few times to find one of the wanted kind. When
+ * not set, reads follow the request distribution only
+ * <LI><b>ttl.trackedrecords</b>: the number of keys whose expiry times are tracked. Keys beyond
+ * this are written and read without classification (default: recordcount plus twice the expected
+ * number of inserts)
+ * </ul>
+ */
+public class TtlWorkload extends CoreWorkload {
+  /**
+   * The name of the property for the distribution of times to live.
+   */
+  public static final String TTL_DISTRIBUTION_PROPERTY = "ttl.distribution";
+
+  /**
+   * The default distribution of times to live.
+   */
+  public static final String TTL_DISTRIBUTION_PROPERTY_DEFAULT = "uniform";
+
+  /**
+   * The name of the property for the shortest time to live, in seconds.
+   */
+  public static final String TTL_MIN_PROPERTY = "ttl.min";
+
+  /**
+   * The default shortest time to live, in seconds.
+   */
+  public static final String TTL_MIN_PROPERTY_DEFAULT = "30";
+
+  /**
+   * The name of the property for the longest time to live, in seconds.
+   */
+  public static final String TTL_MAX_PROPERTY = "ttl.max";
+
+  /**
+   * The default longest time to live, in seconds.
+   */
+  public static final String TTL_MAX_PROPERTY_DEFAULT = "300";
+
+  /**
+   * The name of the property for the grace period around expiry times, in milliseconds.
+   */
+  public static final String GRACE_PROPERTY = "ttl.gracems";
+
+  /**
+   * The default grace period around expiry times, in milliseconds.
+   */
+  public static final String GRACE_PROPERTY_DEFAULT = "1000";
+
+  /**
+   * The name of the property for the proportion of reads that target expired records.
+   */
+  public static final String EXPIRED_READ_PROPORTION_PROPERTY = "ttl.expiredreadproportion";
+
+  /**
+   * The name of the property for the number of keys whose expiry times are tracked.
+   */
+  public static final String TRACKED_RECORDS_PROPERTY = "ttl.trackedrecords";
+
+  /**
+   * Reported when a record is returned after its time to live has passed.
+   */
+  public static final Status EXPIRED_HIT = new Status("EXPIRED_HIT",
+      "The record was returned after its time to live had passed.");
+
+  /**
+   * Reported when an expired record is correctly not returned.
+   */
+  public static final Status EXPIRED = new Status("EXPIRED",
+      "The record was not returned after its time to live had passed.");
+
+  /**
+   * Reported when a record is missing before its time to live has passed.
+   */
+  public static final Status PREMATURE_EXPIRY = new Status("PREMATURE_EXPIRY",
+      "The record was missing before its time to live had passed.");
+
+  /** How many keys are drawn at most when looking for a live or an expired record. */
+  private static final int MAX_KEY_DRAWS = 8;
+
+  /** When each record expires, in milliseconds since the epoch, or 0 if it was never written. */
+  private OffHeapLongArray expiries;
+
+  private NumberGenerator ttlgenerator;
+  private long gracems;
+  private double expiredreadproportion;
+
+  private final Measurements measurements = Measurements.getMeasurements();
+
+  @Override
+  public void init(Properties p) throws WorkloadException {
+    super.init(p);
+
+    int ttlmin = Integer.parseInt(p.getProperty(TTL_MIN_PROPERTY, TTL_MIN_PROPERTY_DEFAULT));
+    int ttlmax = Integer.parseInt(p.getProperty(TTL_MAX_PROPERTY, TTL_MAX_PROPERTY_DEFAULT));
+    if (ttlmin < 1 || ttlmax < ttlmin) {
+      throw new WorkloadException("Invalid time to live range [" + ttlmin + ", " + ttlmax + "]");
+    }
+    String distribution = p.getProperty(TTL_DISTRIBUTION_PROPERTY, TTL_DISTRIBUTION_PROPERTY_DEFAULT);
+    if (distribution.equals("constant")) {
+      ttlgenerator = new ConstantIntegerGenerator(ttlmax);
+    } else if (distribution.equals("uniform")) {
+      ttlgenerator = new UniformLongGenerator(ttlmin, ttlmax);
+    } else if (distribution.equals("zipfian")) {
+      ttlgenerator = new ZipfianGenerator(ttlmin, ttlmax);
+    } else {
+      throw new WorkloadException("Unknown time to live distribution \"" + distribution + "\"");
+    }
+
+    gracems = Long.parseLong(p.getProperty(GRACE_PROPERTY, GRACE_PROPERTY_DEFAULT));
+    expiredreadproportion = Double.parseDouble(p.getProperty(EXPIRED_READ_PROPORTION_PROPERTY, "-1"));
+
+    final double insertproportion = Double.parseDouble(
+        p.getProperty(INSERT_PROPORTION_PROPERTY, INSERT_PROPORTION_PROPERTY_DEFAULT));
+    final long opcount = Long.parseLong(p.getProperty(Client.OPERATION_COUNT_PROPERTY, "0"));
+    final long defaultTracked = recordcount + (long) (opcount * insertproportion * 2.0);
+    expiries = new OffHeapLongArray(Long.parseLong(
+        p.getProperty(TRACKED_RECORDS_PROPERTY, String.valueOf(defaultTracked))));
+  }
+
+  @Override
+  public boolean doInsert(DB db, Object threadstate) {
+    long keynum = keysequence.nextValue().longValue();
+    String dbkey = CoreWorkload.buildKeyName(keynum, zeropadding, orderedinserts);
+    HashMap<String, ByteIterator> values = buildValues(dbkey);
+    return insertWithRetries(() -> insertExpiring(db, keynum, dbkey, values));
+  }
+
+  @Override
+  public boolean doTransaction(DB db, Object threadstate) {
+    String operation = operationchooser.nextString();
+    if (operation == null) {
+      return false;
+    }
+
+    switch (operation) {
+    case "READ":
+      doClassifiedRead(db, nextReadKeynum());
+      break;
+    case "UPDATE":
+      doExpiringUpdate(db, nextKeynum());
+      break;
+    case "INSERT":
+      doTransactionInsert(db);
+      break;
+    case "SCAN":
+      doTransactionScan(db);
+      break;
+    default:
+      doTransactionReadModifyWrite(db);
+    }
+    return true;
+  }
+
+  @Override
+  public void doTransactionInsert(DB db) {
+    long keynum = transactioninsertkeysequence.nextValue();
+    try {
+      String dbkey = CoreWorkload.buildKeyName(keynum, zeropadding, orderedinserts);
+      insertExpiring(db, keynum, dbkey, buildValues(dbkey));
+    } finally {
+      transactioninsertkeysequence.acknowledge(keynum);
+    }
+  }
+
+  @Override
+  public void doTransactionReadModifyWrite(DB db) {
+    long keynum = nextReadKeynum();
+
+    long ist = measurements.getIntendedStartTimeNs();
+    long st = System.nanoTime();
+    doClassifiedRead(db, keynum);
+    doExpiringUpdate(db, keynum);
+    long en = System.nanoTime();
+
+    measurements.measure("READ-MODIFY-WRITE", (int) ((en - st) / 1000));
+    measurements.measureIntended("READ-MODIFY-WRITE", (int) ((en - ist) / 1000));
+  }
+
+  private Status insertExpiring(DB db, long keynum, String dbkey, Map<String, ByteIterator> values) {
+    int ttl = ttlgenerator.nextValue().intValue();
+    long expiry = System.currentTimeMillis() + ttl * 1000L;
+    Status status = db.insert(table, dbkey, values, ttl);
+    if (tracked(keynum) && status != null && status.isOk()) {
+      expiries.set(keynum, expiry);
+    }
+    return status;
+  }
+
+  private void doExpiringUpdate(DB db, long keynum) {
+    String keyname = CoreWorkload.buildKeyName(keynum, zeropadding, orderedinserts);
+    int ttl = ttlgenerator.nextValue().intValue();
+    long expiry = System.currentTimeMillis() + ttl * 1000L;
+    Status status = db.update(table, keyname, writeallfields ? buildValues(keyname) : buildSingleValue(keyname), ttl);
+    if (tracked(keynum) && status != null && status.isOk()) {
+      expiries.set(keynum, expiry);
+    }
+  }
+
+  private void doClassifiedRead(DB db, long keynum) {
+    String keyname = CoreWorkload.buildKeyName(keynum, zeropadding, orderedinserts);
+    long expiry = tracked(keynum) ? expiries.get(keynum) : 0;
+
+    long ist = measurements.getIntendedStartTimeNs();
+    long st = System.nanoTime();
+    long startms = System.currentTimeMillis();
+    Status status = db.read(table, keyname, readFields(), new HashMap<String, ByteIterator>());
+    long en = System.nanoTime();
+    long endms = System.currentTimeMillis();
+
+    if (expiry == 0 || status == null || expiries.get(keynum) != expiry) {
+      return;
+    }
+    String name;
+    Status verdict;
+    if (endms < expiry - gracems) {
+      name = "READ-LIVE";
+      verdict = status == Status.NOT_FOUND ? PREMATURE_EXPIRY : status;
+    } else if (startms > expiry + gracems) {
+      name = "READ-EXPIRED";
+      verdict = status.isOk() ? EXPIRED_HIT : status == Status.NOT_FOUND ? EXPIRED : status;
+    } else {
+      return;
+    }
+    measurements.measure(name, (int) ((en - st) / 1000));
+    measurements.measureIntended(name, (int) ((en - ist) / 1000));
+    measurements.reportStatus(name, verdict);
+  }
+
+  /**
+   * Draws the key of the next read, redrawing a few times to find an expired or a live record if
+   * ttl.expiredreadproportion is set.
+   */
+  long nextReadKeynum() {
+    long keynum = nextKeynum();
+    if (expiredreadproportion < 0) {
+      return keynum;
+    }
+    boolean wantExpired = ThreadLocalRandom.current().nextDouble() < expiredreadproportion;
+    long now = System.currentTimeMillis();
+    for (int i = 1; i < MAX_KEY_DRAWS && isExpired(keynum, now) != wantExpired; i++) {
+      keynum = nextKeynum();
+    }
+    return keynum;
+  }
+
+  private boolean isExpired(long keynum, long now) {
+    if (!tracked(keynum)) {
+      return false;
+    }
+    long expiry = expiries.get(keynum);
+    return expiry != 0 && expiry + gracems < now;
+  }
+
+  private boolean tracked(long keynum) {
+    return keynum >= 0 && keynum < expiries.length();
+  }
+
+  private Set<String> readFields() {
+    if (!readallfields) {
+      Set<String> fields = new HashSet<>();
+      fields.add(fieldnames.get(fieldchooser.nextValue().intValue()));
+      return fields;
+    }
+    return readallfieldsbyname ? new HashSet<>(fieldnames) : null;
+  }
+}
@@ -0,0 +1,40 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+package site.ycsb;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Test class for {@link DataPoint}.
+ */
+public class TestDataPoint {
+
+  @Test
+  public void keepsTagValueIdsBeyondTheIntRange() {
+    final DataPoint point = new DataPoint(new String[] {"host", "dc"}, new String[] {"a", "b"});
+    final long id = Integer.MAX_VALUE + 10L;
+    point.setTagValue(0, id, "pod-1");
+    point.setTagValueId(1, 1);
+
+    assertEquals(point.getTagValueId(0), id);
+    assertEquals(point.getTagValue(0), "pod-1");
+    assertEquals(point.getTagValueId(1), 1L);
+    assertEquals(point.getTagValue(1), "b");
+  }
+}
@@ -37,5 +37,6 @@ public class TestStatus {
     assertFalse(Status.NOT_IMPLEMENTED.isOk());
     assertFalse(Status.SERVICE_UNAVAILABLE.isOk());
     assertFalse(Status.UNEXPECTED_STATE.isOk());
+    assertFalse(Status.CONFLICT.isOk());
   }
 }
@@ -0,0 +1,134 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+package site.ycsb.workloads;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.Vector;
+
+import site.ycsb.ByteArrayByteIterator;
+import site.ycsb.ByteIterator;
+import site.ycsb.DB;
+import site.ycsb.Status;
+import site.ycsb.StringByteIterator;
+
+/**
+ * An in-memory store of records in key order for the workload tests, which records how it was
+ * called.
+ */
+class MemoryDB extends DB {
+  final TreeMap<String, Map<String, String>> records = new TreeMap<>();
+  /** The keys returned by batch reads and scans, in order. */
+  final List<String> keysRead = new ArrayList<>();
+  final List<String> scanStarts = new ArrayList<>();
+  final List<String> updated = new ArrayList<>();
+  /** The keys of every delete, including those of missing records. */
+  final List<String> deleted = new ArrayList<>();
+  int reads;
+  int batchReads;
+  int scans;
+  /** Acknowledges updates without applying them. */
+  boolean dropUpdates;
+  /** Hands out values as byte arrays like most bindings, whose toString() can only be called once. */
+  boolean byteArrays;
+
+  @Override
+  public Status read(String table, String key, Set<String> fields,
+                     Map<String, ByteIterator> result) {
+    reads++;
+    return get(key, fields, result);
+  }
+
+  @Override
+  public Status batchRead(String table, List<String> keys, Set<String> fields,
+                          Map<String, Map<String, ByteIterator>> result) {
+    batchReads++;
+    for (final String key : keys) {
+      final Map<String, ByteIterator> values = new HashMap<>();
+      if (get(key, fields, values).isOk()) {
+        keysRead.add(key);
+        result.put(key, values);
+      }
+    }
+    return Status.OK;
+  }
+
+  @Override
+  public Status scan(String table, String startkey, int recordcount,
+                     Set<String> fields, Vector<HashMap<String, ByteIterator>> result) {
+    scans++;
+    scanStarts.add(startkey);
+    for (final Map.Entry<String, Map<String, String>> record : records.tailMap(startkey).entrySet()) {
+      if (result.size() == recordcount) {
+        break;
+      }
+      keysRead.add(record.getKey());
+      final HashMap<String, ByteIterator> row = new HashMap<>();
+      putAll(row, fields, record.getValue());
+      result.add(row);
+    }
+    return Status.OK;
+  }
+
+  @Override
+  public Status update(String table, String key, Map<String, ByteIterator> values) {
+    updated.add(key);
+    if (!dropUpdates) {
+      StringByteIterator.putAllAsStrings(records.computeIfAbsent(key, k -> new HashMap<>()), values);
+    }
+    return Status.OK;
+  }
+
+  @Override
+  public Status insert(String table, String key, Map<String, ByteIterator> values) {
+    final Map<String, String> record = new HashMap<>();
+    StringByteIterator.putAllAsStrings(record, values);
+    records.put(key, record);
+    return Status.OK;
+  }
+
+  @Override
+  public Status delete(String table, String key) {
+    deleted.add(key);
+    return records.remove(key) == null ? Status.NOT_FOUND : Status.OK;
+  }
+
+  private Status get(String key, Set<String> fields, Map<String, ByteIterator> result) {
+    final Map<String, String> record = records.get(key);
+    if (record == null) {
+      return Status.NOT_FOUND;
+    }
+    putAll(result, fields, record);
+    return Status.OK;
+  }
+
+  private void putAll(Map<String, ByteIterator> result, Set<String> fields, Map<String, String> record) {
+    for (final Map.Entry<String, String> field : record.entrySet()) {
+      if (fields != null && !fields.contains(field.getKey())) {
+        continue;
+      }
+      result.put(field.getKey(), byteArrays
+          ? new ByteArrayByteIterator(field.getValue().getBytes(StandardCharsets.UTF_8))
+          : new StringByteIterator(field.getValue()));
+    }
+  }
+}
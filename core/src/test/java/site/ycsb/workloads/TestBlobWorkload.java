@@ -0,0 +1,205 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+package site.ycsb.workloads;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static site.ycsb.workloads.WorkloadTestUtil.count;
+import static site.ycsb.workloads.WorkloadTestUtil.export;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.function.Consumer;
+
+import org.testng.annotations.Test;
+
+import site.ycsb.BasicDB;
+import site.ycsb.ByteIterator;
+import site.ycsb.Client;
+import site.ycsb.Status;
+import site.ycsb.measurements.Measurements;
+
+public class TestBlobWorkload {
+
+  @Test
+  public void parsesSizes() throws Exception {
+    assertEquals(BlobWorkload.parseSize("123"), 123);
+    assertEquals(BlobWorkload.parseSize("4k"), 4096);
+    assertEquals(BlobWorkload.parseSize("16M"), 16L << 20);
+    assertEquals(BlobWorkload.parseSize("3G"), 3L << 30);
+  }
+
+  @Test
+  public void patternStreamRepeatsBlock() throws Exception {
+    final InputStream in = new PatternInputStream(new byte[] {1, 2, 3}, 1, 7);
+    final byte[] buf = new byte[16];
+    int n = 0;
+    int r;
+    while ((r = in.read(buf, n, buf.length - n)) > 0) {
+      n += r;
+    }
+    assertEquals(n, 7);
+    assertEquals(buf[0], 2);
+    assertEquals(buf[2], 1);
+    assertEquals(buf[6], 2);
+    assertEquals(in.read(), -1);
+  }
+
+  @Test
+  public void streamsValues() throws Exception {
+    final Properties p = new Properties();
+    p.put(Client.RECORD_COUNT_PROPERTY, "4");
+    p.put(CoreWorkload.READ_PROPORTION_PROPERTY, "1");
+    p.put(CoreWorkload.UPDATE_PROPORTION_PROPERTY, "0");
+    p.put(BlobWorkload.SIZE_DISTRIBUTION_PROPERTY, "constant");
+    p.put(BlobWorkload.MAX_SIZE_PROPERTY, "3M");
+    p.put(BlobWorkload.CHUNK_SIZE_PROPERTY, "64K");
+    Measurements.setProperties(p);
+
+    final BlobWorkload wl = new BlobWorkload();
+    wl.init(p);
+    final Object state = wl.initThread(p, 0, 1);
+    final StreamDB db = new StreamDB();
+    for (int i = 0; i < 4; i++) {
+      assertTrue(wl.doInsert(db, state));
+    }
+    assertEquals(db.written.size(), 4);
+    for (long length : db.written.values()) {
+      assertEquals(length, 3L << 20);
+    }
+
+    final String before = export();
+    for (int i = 0; i < 10; i++) {
+      assertTrue(wl.doTransaction(db, state));
+    }
+    final String after = export();
+    assertEquals(count(after, "[READ-TTFB], Operations") - count(before, "[READ-TTFB], Operations"), 10);
+    assertEquals(count(after, "[READ-MBPS], Operations") - count(before, "[READ-MBPS], Operations"), 10);
+    assertTrue(after.contains("[WRITE-MBPS], Operations"));
+  }
+
+  @Test
+  public void fallsBackToByteIterators() throws Exception {
+    final Properties p = new Properties();
+    p.put(Client.RECORD_COUNT_PROPERTY, "1");
+    p.put(BlobWorkload.SIZE_DISTRIBUTION_PROPERTY, "constant");
+    p.put(BlobWorkload.MAX_SIZE_PROPERTY, "100K");
+    p.put(BlobWorkload.CHUNK_SIZE_PROPERTY, "1K");
+    p.put(BlobWorkload.STREAM_API_PROPERTY, "false");
+    Measurements.setProperties(p);
+
+    final BlobWorkload wl = new BlobWorkload();
+    wl.init(p);
+    final Object state = wl.initThread(p, 0, 1);
+    final StreamDB db = new StreamDB();
+    assertTrue(wl.doInsert(db, state));
+    assertEquals((long) db.written.get("field0"), 100L << 10);
+
+    // reads return the whole object at once, there is no first byte to time
+    final String before = export();
+    for (int i = 0; i < 10; i++) {
+      assertTrue(wl.doTransaction(db, state));
+    }
+    final String after = export();
+    assertEquals(count(after, "[READ-TTFB], Operations"), count(before, "[READ-TTFB], Operations"));
+    assertTrue(count(after, "[READ-MBPS], Operations") > count(before, "[READ-MBPS], Operations"));
+  }
+
+  @Test
+  public void drawsZipfianSizesFromSizeClasses() throws Exception {
+    final Properties p = new Properties();
+    p.put(Client.RECORD_COUNT_PROPERTY, "100");
+    p.put(BlobWorkload.SIZE_DISTRIBUTION_PROPERTY, "zipfian");
+    p.put(BlobWorkload.MIN_SIZE_PROPERTY, "1K");
+    p.put(BlobWorkload.MAX_SIZE_PROPERTY, "1G");
+    p.put(BlobWorkload.CHUNK_SIZE_PROPERTY, "1K");
+    Measurements.setProperties(p);
+
+    final BlobWorkload wl = new BlobWorkload();
+    wl.init(p);
+    final Object state = wl.initThread(p, 0, 1);
+    final Map<String, Long> lengths = new HashMap<>();
+    final BasicDB db = new BasicDB() {
+      @Override
+      public Status writeStream(String table, String key, InputStream value, long length) {
+        lengths.put(key, length);
+        return Status.OK;
+      }
+    };
+    for (int i = 0; i < 100; i++) {
+      assertTrue(wl.doInsert(db, state));
+    }
+    for (final long length : lengths.values()) {
+      assertTrue(length >= 1024 && length <= 1L << 30 && Long.bitCount(length) == 1, Long.toString(length));
+    }
+    assertTrue(lengths.containsValue(1024L));
+  }
+
+  /**
+   * Counts the bytes written and returns 1 MiB in 64 KiB chunks for every read.
+   */
+  static class StreamDB extends BasicDB {
+    final Map<String, Long> written = new HashMap<>();
+
+    @Override
+    public Status writeStream(String table, String key, InputStream value, long length) {
+      written.put(key, drain(value));
+      return Status.OK;
+    }
+
+    @Override
+    public Status insert(String table, String key, Map<String, ByteIterator> values) {
+      final byte[] buf = new byte[4096];
+      for (Map.Entry<String, ByteIterator> entry : values.entrySet()) {
+        long total = 0;
+        while (entry.getValue().hasNext()) {
+          total += entry.getValue().nextBuf(buf, 0);
+        }
+        written.put(entry.getKey(), total);
+      }
+      return Status.OK;
+    }
+
+    @Override
+    public Status readStream(String table, String key, Consumer<ByteBuffer> consumer) {
+      final ByteBuffer chunk = ByteBuffer.allocate(64 << 10);
+      for (int i = 0; i < 16; i++) {
+        chunk.clear();
+        consumer.accept(chunk);
+      }
+      return Status.OK;
+    }
+
+    private static long drain(InputStream in) {
+      final byte[] buf = new byte[8192];
+      long total = 0;
+      int n;
+      try {
+        while ((n = in.read(buf)) >= 0) {
+          total += n;
+        }
+      } catch (IOException e) {
+        throw new IllegalStateException(e);
+      }
+      return total;
+    }
+  }
+}
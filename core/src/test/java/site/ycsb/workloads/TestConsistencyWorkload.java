@@ -0,0 +1,159 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+package site.ycsb.workloads;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static site.ycsb.workloads.WorkloadTestUtil.count;
+import static site.ycsb.workloads.WorkloadTestUtil.export;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import org.testng.annotations.Test;
+
+import site.ycsb.ByteIterator;
+import site.ycsb.Client;
+import site.ycsb.Status;
+import site.ycsb.StringByteIterator;
+import site.ycsb.measurements.Measurements;
+
+public class TestConsistencyWorkload {
+
+  @Test
+  public void versionRoundTrip() throws Exception {
+    final Properties p = getUTProperties();
+    final ConsistencyWorkload wl = new ConsistencyWorkload();
+    wl.init(p);
+
+    final HashMap<String, ByteIterator> values = wl.buildVersionedValues("user1", wl.fieldnames, 42);
+    assertEquals(values.size(), 3);
+    final Map<String, ByteIterator> copy = new HashMap<>();
+    for (Map.Entry<String, ByteIterator> entry : values.entrySet()) {
+      final String data = entry.getValue().toString();
+      assertEquals(data.length(), 16);
+      copy.put(entry.getKey(), new StringByteIterator(data));
+    }
+    assertEquals(ConsistencyWorkload.observedVersion(copy), 42);
+
+    copy.put("field0", new StringByteIterator("7:user1:field0"));
+    assertEquals(ConsistencyWorkload.observedVersion(copy), 42);
+    copy.clear();
+    copy.put("field0", new StringByteIterator("garbage"));
+    assertEquals(ConsistencyWorkload.observedVersion(copy), -1);
+  }
+
+  @Test
+  public void offHeapLongArray() {
+    final OffHeapLongArray array = new OffHeapLongArray(1000, 64);
+    final long last = array.length() - 1;
+    assertEquals(array.get(last), 0);
+    assertEquals(array.incrementAndGet(last), 1);
+    assertEquals(array.incrementAndGet(last), 2);
+    assertEquals(array.accumulateMax(last, 1), 2);
+    assertEquals(array.accumulateMax(last, 5), 5);
+    array.set(3, 9);
+    assertEquals(array.get(3), 9);
+    assertEquals(array.get(last), 5);
+  }
+
+  @Test
+  public void detectsStaleReadsAndLostUpdates() throws Exception {
+    final Properties p = getUTProperties();
+    p.setProperty(CoreWorkload.READ_PROPORTION_PROPERTY, "0.5");
+    p.setProperty(CoreWorkload.UPDATE_PROPORTION_PROPERTY, "0.5");
+    p.setProperty(ConsistencyWorkload.LOST_UPDATE_CHECK_DELAY_PROPERTY, "0");
+    Measurements.setProperties(p);
+
+    final ConsistencyWorkload wl = new ConsistencyWorkload();
+    wl.init(p);
+    final Object threadState = wl.initThread(p, 0, 1);
+
+    final MemoryDB db = new MemoryDB();
+    for (int i = 0; i < 10; i++) {
+      assertTrue(wl.doInsert(db, threadState));
+    }
+    for (int i = 0; i < 100; i++) {
+      assertTrue(wl.doTransaction(db, threadState));
+    }
+    assertFalse(export().contains("STALE_READ"));
+
+    // Acknowledge every update without applying it.
+    db.dropUpdates = true;
+    for (int i = 0; i < 200; i++) {
+      assertTrue(wl.doTransaction(db, threadState));
+    }
+    final String exported = export();
+    assertTrue(exported.contains("[CONSISTENCY], Return=STALE_READ"));
+    assertTrue(exported.contains("[LOST-UPDATE-CHECK], Return=LOST_UPDATE"));
+  }
+
+  @Test
+  public void acceptsConcurrentUpdatesAppliedInEitherOrder() throws Exception {
+    final Properties p = getUTProperties();
+    p.setProperty(Client.RECORD_COUNT_PROPERTY, "1");
+    p.setProperty(CoreWorkload.READ_PROPORTION_PROPERTY, "0.5");
+    p.setProperty(CoreWorkload.UPDATE_PROPORTION_PROPERTY, "0.5");
+    p.setProperty(CoreWorkload.WRITE_ALL_FIELDS_PROPERTY, "true");
+    p.setProperty(ConsistencyWorkload.LOST_UPDATE_CHECK_DELAY_PROPERTY, "0");
+    Measurements.setProperties(p);
+
+    final ConsistencyWorkload wl = new ConsistencyWorkload();
+    wl.init(p);
+    final Object threadState = wl.initThread(p, 0, 1);
+
+    // Every update runs a later update of the key while it is in flight, and the store applies the
+    // later one first.
+    final MemoryDB db = new MemoryDB() {
+      private boolean inFlight;
+
+      @Override
+      public Status update(String table, String key, Map<String, ByteIterator> values) {
+        if (!inFlight) {
+          inFlight = true;
+          final int updates = updated.size();
+          while (updated.size() == updates) {
+            wl.doTransaction(this, threadState);
+          }
+          inFlight = false;
+        }
+        return super.update(table, key, values);
+      }
+    };
+    assertTrue(wl.doInsert(db, threadState));
+    final String before = export();
+    for (int i = 0; i < 200; i++) {
+      assertTrue(wl.doTransaction(db, threadState));
+    }
+    final String after = export();
+    assertTrue(count(after, "[CONSISTENCY], Return=OK") > count(before, "[CONSISTENCY], Return=OK"));
+    assertEquals(count(after, "[CONSISTENCY], Return=STALE_READ"), count(before, "[CONSISTENCY], Return=STALE_READ"));
+    assertEquals(count(after, "[LOST-UPDATE-CHECK], Return=LOST_UPDATE"),
+        count(before, "[LOST-UPDATE-CHECK], Return=LOST_UPDATE"));
+  }
+
+  private Properties getUTProperties() {
+    final Properties p = new Properties();
+    p.put(Client.RECORD_COUNT_PROPERTY, "10");
+    p.put(Client.OPERATION_COUNT_PROPERTY, "300");
+    p.put(CoreWorkload.FIELD_COUNT_PROPERTY, "3");
+    p.put(CoreWorkload.FIELD_LENGTH_PROPERTY, "16");
+    return p;
+  }
+}
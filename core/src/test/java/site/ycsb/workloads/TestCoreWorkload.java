@@ -16,13 +16,28 @@
  */
 package site.ycsb.workloads;
 
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.Vector;
+import java.util.function.BiConsumer;
 
 import org.testng.annotations.Test;
 
+import site.ycsb.ByteIterator;
+import site.ycsb.Client;
+import site.ycsb.DB;
+import site.ycsb.ScanRange;
+import site.ycsb.Status;
 import site.ycsb.generator.DiscreteGenerator;
+import site.ycsb.measurements.Measurements;
 
 public class TestCoreWorkload {
 
@@ -67,4 +82,107 @@ public class TestCoreWorkload {
   public void createOperationChooserNullProperties() {
     CoreWorkload.createOperationGenerator(null);
   }
-}
\ No newline at end of file
+
+  @Test
+  public void mixesScanShapes() throws Exception {
+    final Properties p = new Properties();
+    p.setProperty(Client.RECORD_COUNT_PROPERTY, "100");
+    p.setProperty(CoreWorkload.INSERT_ORDER_PROPERTY, "ordered");
+    p.setProperty(CoreWorkload.ZERO_PADDING_PROPERTY, "3");
+    p.setProperty(CoreWorkload.MAX_SCAN_LENGTH_PROPERTY, "10");
+    p.setProperty(CoreWorkload.SCAN_REVERSE_PROPORTION_PROPERTY, "0.5");
+    p.setProperty(CoreWorkload.SCAN_KEYS_ONLY_PROPORTION_PROPERTY, "0.5");
+    p.setProperty(CoreWorkload.SCAN_BOUNDED_PROPORTION_PROPERTY, "0.5");
+    Measurements.setProperties(p);
+    final CoreWorkload wl = new CoreWorkload();
+    wl.init(p);
+    final ScanDB db = new ScanDB();
+
+    for (int i = 0; i < 400; i++) {
+      wl.doTransactionScan(db);
+    }
+    assertEquals(db.ranges.size() + db.vectorScans, 400);
+    assertTrue(db.vectorScans > 0);
+    int reverse = 0;
+    int keysOnly = 0;
+    int bounded = 0;
+    for (final ScanRange range : db.ranges) {
+      reverse += range.isReverse() ? 1 : 0;
+      keysOnly += range.isKeysOnly() ? 1 : 0;
+      if (range.getEndKey() != null) {
+        bounded++;
+        assertEquals(range.getLimit(), 10);
+        assertTrue(range.isReverse() == range.getEndKey().compareTo(range.getStartKey()) < 0, range.toString());
+      }
+    }
+    assertTrue(reverse > 0 && keysOnly > 0 && bounded > 0, reverse + " " + keysOnly + " " + bounded);
+    assertTrue(reverse < db.ranges.size() && keysOnly < db.ranges.size() && bounded < db.ranges.size());
+
+    p.setProperty(CoreWorkload.SCAN_STREAMING_PROPERTY, "true");
+    wl.init(p);
+    db.vectorScans = 0;
+    for (int i = 0; i < 20; i++) {
+      wl.doTransactionScan(db);
+    }
+    assertEquals(db.vectorScans, 0);
+  }
+
+  @Test
+  public void scanRangesContainTheirKeys() {
+    final ScanRange forward = ScanRange.from("user10", 5).until("user20");
+    assertTrue(forward.contains("user10"));
+    assertTrue(forward.contains("user15"));
+    assertTrue(!forward.contains("user20"));
+    assertTrue(!forward.contains("user09"));
+
+    final ScanRange reverse = ScanRange.from("user20", 5).until("user10").reversed().keysOnly();
+    assertTrue(reverse.contains("user20"));
+    assertTrue(reverse.contains("user15"));
+    assertTrue(!reverse.contains("user10"));
+    assertTrue(!reverse.contains("user21"));
+    assertTrue(reverse.isKeysOnly());
+    assertNull(ScanRange.from("user10", 5).getEndKey());
+  }
+
+  /**
+   * A store that records the scans it is asked for.
+   */
+  static class ScanDB extends DB {
+    final List<ScanRange> ranges = new ArrayList<>();
+    int vectorScans;
+
+    @Override
+    public Status read(String table, String key, Set<String> fields, Map<String, ByteIterator> result) {
+      return Status.NOT_FOUND;
+    }
+
+    @Override
+    public Status scan(String table, String startkey, int recordcount, Set<String> fields,
+                       Vector<HashMap<String, ByteIterator>> result) {
+      vectorScans++;
+      return Status.OK;
+    }
+
+    @Override
+    public Status scan(String table, ScanRange range, Set<String> fields,
+                       BiConsumer<String, Map<String, ByteIterator>> consumer) {
+      ranges.add(range);
+      return Status.OK;
+    }
+
+    @Override
+    public Status update(String table, String key, Map<String, ByteIterator> values) {
+      return Status.OK;
+    }
+
+    @Override
+    public Status insert(String table, String key, Map<String, ByteIterator> values) {
+      return Status.OK;
+    }
+
+    @Override
+    public Status delete(String table, String key) {
+      return Status.OK;
+    }
+  }
+}
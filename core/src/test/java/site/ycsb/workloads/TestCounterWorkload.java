@@ -0,0 +1,148 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+package site.ycsb.workloads;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static site.ycsb.workloads.WorkloadTestUtil.count;
+import static site.ycsb.workloads.WorkloadTestUtil.export;
+
+import java.util.Map;
+import java.util.Properties;
+
+import org.testng.annotations.Test;
+
+import site.ycsb.Client;
+import site.ycsb.Status;
+import site.ycsb.measurements.Measurements;
+
+public class TestCounterWorkload {
+
+  @Test
+  public void incrementsNatively() throws Exception {
+    final Properties p = getProperties();
+    p.put(CounterWorkload.MAX_DELTA_PROPERTY, "5");
+    final CounterWorkload wl = new CounterWorkload();
+    wl.init(p);
+    final CounterDB db = load(wl);
+    final String before = export();
+
+    for (int i = 0; i < 500; i++) {
+      assertTrue(wl.doTransaction(db, null));
+    }
+    assertTrue(db.increments > 0);
+    assertEquals(db.updated.size(), 0);
+    assertEquals(db.total(), db.deltas);
+
+    final String after = export();
+    assertEquals(count(after, "[COUNTER-VERIFY], Return=OK") - count(before, "[COUNTER-VERIFY], Return=OK"),
+        500 - db.increments);
+    assertEquals(count(after, "[COUNTER-VERIFY], Return=UNEXPECTED_STATE"),
+        count(before, "[COUNTER-VERIFY], Return=UNEXPECTED_STATE"));
+  }
+
+  @Test
+  public void incrementsByReadModifyWrite() throws Exception {
+    final Properties p = getProperties();
+    p.put(CounterWorkload.MODE_PROPERTY, "readmodifywrite");
+    final CounterWorkload wl = new CounterWorkload();
+    wl.init(p);
+    final CounterDB db = load(wl);
+    final String before = export();
+
+    for (int i = 0; i < 500; i++) {
+      assertTrue(wl.doTransaction(db, null));
+    }
+    assertEquals(db.increments, 0);
+    assertTrue(db.updated.size() > 0);
+    assertEquals(db.total(), db.updated.size());
+
+    final String after = export();
+    assertEquals(count(after, "[INCREMENT-RMW], Operations") - count(before, "[INCREMENT-RMW], Operations"),
+        db.updated.size());
+    assertEquals(count(after, "[COUNTER-VERIFY], Return=UNEXPECTED_STATE"),
+        count(before, "[COUNTER-VERIFY], Return=UNEXPECTED_STATE"));
+  }
+
+  @Test
+  public void detectsLostIncrements() throws Exception {
+    final Properties p = getProperties();
+    p.put(CounterWorkload.MODE_PROPERTY, "readmodifywrite");
+    final CounterWorkload wl = new CounterWorkload();
+    wl.init(p);
+    final CounterDB db = load(wl);
+    final String before = export();
+
+    // acknowledged but never applied, like an increment overwritten by a racing one
+    db.dropUpdates = true;
+    for (int i = 0; i < 500; i++) {
+      assertTrue(wl.doTransaction(db, null));
+    }
+    assertEquals(db.total(), 0);
+    assertTrue(count(export(), "[COUNTER-VERIFY], Return=UNEXPECTED_STATE")
+        > count(before, "[COUNTER-VERIFY], Return=UNEXPECTED_STATE"));
+  }
+
+  private static CounterDB load(CounterWorkload wl) {
+    final CounterDB db = new CounterDB();
+    for (int i = 0; i < 5; i++) {
+      assertTrue(wl.doInsert(db, null));
+    }
+    assertEquals(db.records.size(), 5);
+    assertEquals(db.records.values().iterator().next().get("field2"), "0");
+    return db;
+  }
+
+  private static Properties getProperties() {
+    final Properties p = new Properties();
+    p.put(Client.RECORD_COUNT_PROPERTY, "5");
+    p.put(Client.OPERATION_COUNT_PROPERTY, "500");
+    p.put(CoreWorkload.FIELD_COUNT_PROPERTY, "3");
+    p.put(CoreWorkload.REQUEST_DISTRIBUTION_PROPERTY, "zipfian");
+    p.put(CoreWorkload.DATA_INTEGRITY_PROPERTY, "true");
+    p.put(CounterWorkload.INCREMENT_PROPORTION_PROPERTY, "0.8");
+    p.put(CounterWorkload.COUNTER_READ_PROPORTION_PROPERTY, "0.2");
+    Measurements.setProperties(p);
+    return p;
+  }
+
+  /**
+   * An in-memory store with atomic increments.
+   */
+  static class CounterDB extends MemoryDB {
+    long deltas;
+    int increments;
+
+    long total() {
+      long total = 0;
+      for (final Map<String, String> record : records.values()) {
+        for (final String value : record.values()) {
+          total += Long.parseLong(value);
+        }
+      }
+      return total;
+    }
+
+    @Override
+    public Status increment(String table, String key, String field, long delta) {
+      increments++;
+      deltas += delta;
+      records.get(key).merge(field, Long.toString(delta), (a, b) -> Long.toString(Long.parseLong(a) + delta));
+      return Status.OK;
+    }
+  }
+}
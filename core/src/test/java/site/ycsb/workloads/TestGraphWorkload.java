@@ -0,0 +1,150 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+package site.ycsb.workloads;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static site.ycsb.workloads.WorkloadTestUtil.count;
+import static site.ycsb.workloads.WorkloadTestUtil.export;
+
+import java.util.Map;
+import java.util.Properties;
+
+import org.testng.annotations.Test;
+
+import site.ycsb.Client;
+import site.ycsb.measurements.Measurements;
+
+public class TestGraphWorkload {
+
+  @Test
+  public void loadsVerticesAndTheirEdges() throws Exception {
+    final Properties p = getProperties();
+    final GraphWorkload wl = new GraphWorkload();
+    wl.init(p);
+    final GraphDB db = load(wl);
+
+    assertEquals(db.records.size(), 200);
+    int edges = 0;
+    for (final Map.Entry<String, Map<String, String>> record : db.records.entrySet()) {
+      if (!record.getKey().endsWith(GraphWorkload.EDGES_SUFFIX)) {
+        assertEquals(record.getValue().size(), 3);
+        assertTrue(db.records.containsKey(record.getKey() + GraphWorkload.EDGES_SUFFIX));
+        continue;
+      }
+      assertTrue(record.getValue().size() <= 20, record.getKey());
+      for (final String field : record.getValue().keySet()) {
+        final long target = Long.parseLong(field.substring(GraphWorkload.EDGE_PREFIX.length()));
+        assertTrue(target >= 0 && target < 100, field);
+        final String targetKey = CoreWorkload.buildKeyName(target, 1, true);
+        assertFalse(record.getKey().equals(targetKey + GraphWorkload.EDGES_SUFFIX), "self loop " + field);
+        edges++;
+      }
+    }
+    assertTrue(edges >= 50, "edges " + edges);
+  }
+
+  @Test
+  public void traversesWithOneBatchedReadPerHop() throws Exception {
+    final Properties p = getProperties();
+    p.put(GraphWorkload.HOPS_PROPERTY, "3");
+    final GraphWorkload wl = new GraphWorkload();
+    wl.init(p);
+    final GraphDB db = load(wl);
+    final String before = export();
+
+    for (int i = 0; i < 50; i++) {
+      wl.doTraverse(db);
+    }
+    assertTrue(db.batchReads > 50 && db.batchReads <= 150, "batched reads " + db.batchReads);
+    assertEquals(db.reads, 0);
+
+    final String after = export();
+    assertEquals(count(after, "[TRAVERSE], Return=OK") - count(before, "[TRAVERSE], Return=OK"), 50);
+    assertEquals(count(after, "[TRAVERSE-VERTICES], Operations")
+        - count(before, "[TRAVERSE-VERTICES], Operations"), 50);
+    assertEquals(count(after, "[TRAVERSE-VERTICES-PER-SECOND], Operations")
+        - count(before, "[TRAVERSE-VERTICES-PER-SECOND], Operations"), 50);
+  }
+
+  @Test
+  public void readsNeighborsAndChangesEdges() throws Exception {
+    final Properties p = getProperties();
+    final GraphWorkload wl = new GraphWorkload();
+    wl.init(p);
+    final GraphDB db = load(wl);
+    final String before = export();
+
+    for (int i = 0; i < 20; i++) {
+      wl.doNeighbors(db);
+    }
+    assertEquals(db.reads, 20);
+    assertTrue(db.batchReads <= 20);
+    assertEquals(count(export(), "[NEIGHBORS], Return=OK") - count(before, "[NEIGHBORS], Return=OK"), 20);
+
+    final int edges = db.liveEdges();
+    for (int i = 0; i < 30; i++) {
+      wl.doInsertEdge(db);
+    }
+    assertTrue(db.liveEdges() > edges);
+
+    final int inserted = db.liveEdges();
+    for (int i = 0; i < 10; i++) {
+      wl.doDeleteEdge(db);
+    }
+    assertTrue(db.liveEdges() < inserted);
+    assertTrue(db.liveEdges() >= inserted - 10);
+  }
+
+  private static GraphDB load(GraphWorkload wl) {
+    final GraphDB db = new GraphDB();
+    for (int i = 0; i < 100; i++) {
+      assertTrue(wl.doInsert(db, null));
+    }
+    return db;
+  }
+
+  private static Properties getProperties() {
+    final Properties p = new Properties();
+    p.put(Client.RECORD_COUNT_PROPERTY, "100");
+    p.put(CoreWorkload.FIELD_COUNT_PROPERTY, "3");
+    p.put(CoreWorkload.FIELD_LENGTH_PROPERTY, "8");
+    p.put(CoreWorkload.INSERT_ORDER_PROPERTY, "ordered");
+    p.put(GraphWorkload.MIN_DEGREE_PROPERTY, "1");
+    p.put(GraphWorkload.MAX_DEGREE_PROPERTY, "20");
+    Measurements.setProperties(p);
+    return p;
+  }
+
+  /**
+   * An in-memory store that counts the live edges of the graph.
+   */
+  static class GraphDB extends MemoryDB {
+    int liveEdges() {
+      int edges = 0;
+      for (final Map.Entry<String, Map<String, String>> record : records.entrySet()) {
+        if (record.getKey().endsWith(GraphWorkload.EDGES_SUFFIX)) {
+          for (final String value : record.getValue().values()) {
+            edges += value.isEmpty() ? 0 : 1;
+          }
+        }
+      }
+      return edges;
+    }
+  }
+}
@@ -0,0 +1,182 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+package site.ycsb.workloads;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static site.ycsb.workloads.WorkloadTestUtil.count;
+import static site.ycsb.workloads.WorkloadTestUtil.export;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.testng.annotations.Test;
+
+import site.ycsb.Client;
+import site.ycsb.measurements.Measurements;
+
+public class TestQueueWorkload {
+
+  @Test
+  public void dequeuesInOrderOfEnqueueing() throws Exception {
+    final Properties p = getProperties("10", "3");
+    final QueueWorkload wl = new QueueWorkload();
+    wl.init(p);
+    // measurements are shared with the other tests
+    final String before = export();
+    final MemoryDB db = new MemoryDB();
+    for (int i = 0; i < 10; i++) {
+      assertTrue(wl.doInsert(db, null));
+    }
+    assertEquals(db.records.firstKey(), "queue0-000000000000");
+    assertEquals(db.records.lastKey(), "queue2-000000000002");
+
+    for (int i = 0; i < 10; i++) {
+      wl.doDequeue(db);
+    }
+    assertTrue(db.records.isEmpty());
+    assertInQueueOrder(db.deleted);
+    wl.doDequeue(db);
+
+    for (int i = 0; i < 5; i++) {
+      wl.doEnqueue(db);
+    }
+    for (int i = 0; i < 5; i++) {
+      wl.doDequeue(db);
+    }
+    assertTrue(db.records.isEmpty());
+    assertInQueueOrder(db.deleted);
+    assertEquals(db.deleted.size(), 15);
+
+    final String after = export();
+    assertEquals(count(after, "[DEQUEUE], Return=OK") - count(before, "[DEQUEUE], Return=OK"), 15);
+    assertEquals(count(after, "[DEQUEUE], Return=EMPTY") - count(before, "[DEQUEUE], Return=EMPTY"), 1);
+    assertEquals(count(after, "[ENQUEUE-TO-DEQUEUE], Operations")
+        - count(before, "[ENQUEUE-TO-DEQUEUE], Operations"), 15);
+    assertEquals(count(after, "[QUEUE-DEPTH], Operations") - count(before, "[QUEUE-DEPTH], Operations"), 15);
+  }
+
+  @Test
+  public void consumersStayBehindTheTail() throws Exception {
+    final Properties p = getProperties("3", "1");
+    p.put(QueueWorkload.LAG_PROPERTY, "2");
+    final QueueWorkload wl = new QueueWorkload();
+    wl.init(p);
+    final MemoryDB db = new MemoryDB();
+    for (int i = 0; i < 3; i++) {
+      assertTrue(wl.doInsert(db, null));
+    }
+
+    wl.doDequeue(db);
+    wl.doDequeue(db);
+    assertEquals(db.deleted.size(), 1);
+    wl.doEnqueue(db);
+    wl.doDequeue(db);
+    wl.doDequeue(db);
+    assertEquals(db.deleted.size(), 2);
+    assertEquals(db.records.size(), 2);
+  }
+
+  @Test
+  public void scansFromTheStartOfTheQueue() throws Exception {
+    final Properties p = getProperties("6", "2");
+    p.put(QueueWorkload.HEAD_LOOKUP_PROPERTY, "scan");
+    final QueueWorkload wl = new QueueWorkload();
+    wl.init(p);
+    final MemoryDB db = new MemoryDB();
+    for (int i = 0; i < 6; i++) {
+      assertTrue(wl.doInsert(db, null));
+    }
+
+    for (int i = 0; i < 6; i++) {
+      wl.doDequeue(db);
+    }
+    assertTrue(db.records.isEmpty());
+    assertInQueueOrder(db.deleted);
+    assertEquals(db.scanStarts.size(), 6);
+    for (final String start : db.scanStarts) {
+      assertTrue(start.endsWith("-000000000000"), start);
+    }
+    assertEquals(db.reads, 0);
+  }
+
+  @Test
+  public void ignoresScannedRecordsOfOtherQueues() throws Exception {
+    final Properties p = getProperties("11", "11");
+    p.put(QueueWorkload.HEAD_LOOKUP_PROPERTY, "scan");
+    final QueueWorkload wl = new QueueWorkload();
+    wl.init(p);
+    final MemoryDB db = new MemoryDB();
+    for (int i = 0; i < 11; i++) {
+      assertTrue(wl.doInsert(db, null));
+    }
+    // The scan for the missing head of queue1 finds the head of queue10 next in key order.
+    db.records.keySet().retainAll(Collections.singleton("queue10-000000000000"));
+
+    for (int i = 0; i < 11; i++) {
+      wl.doDequeue(db);
+    }
+    assertEquals(db.deleted, Collections.singletonList("queue10-000000000000"));
+    assertEquals(db.reads, 10);
+  }
+
+  @Test
+  public void readsHeadersOfByteArrayValues() throws Exception {
+    for (final String lookup : new String[] {"key", "scan"}) {
+      final Properties p = getProperties("4", "2");
+      p.put(QueueWorkload.HEAD_LOOKUP_PROPERTY, lookup);
+      final QueueWorkload wl = new QueueWorkload();
+      wl.init(p);
+      final String before = export();
+      final MemoryDB db = new MemoryDB();
+      db.byteArrays = true;
+      for (int i = 0; i < 4; i++) {
+        assertTrue(wl.doInsert(db, null));
+      }
+
+      for (int i = 0; i < 4; i++) {
+        wl.doDequeue(db);
+      }
+      assertTrue(db.records.isEmpty(), lookup);
+      final String after = export();
+      assertEquals(count(after, "[ENQUEUE-TO-DEQUEUE], Operations")
+          - count(before, "[ENQUEUE-TO-DEQUEUE], Operations"), 4, lookup);
+    }
+  }
+
+  private static void assertInQueueOrder(List<String> deleted) {
+    final Map<String, String> last = new HashMap<>();
+    for (final String key : deleted) {
+      final String queue = key.substring(0, key.indexOf('-'));
+      final String previous = last.put(queue, key);
+      assertTrue(previous == null || previous.compareTo(key) < 0, previous + " after " + key);
+    }
+  }
+
+  private static Properties getProperties(String records, String queues) {
+    final Properties p = new Properties();
+    p.put(Client.RECORD_COUNT_PROPERTY, records);
+    p.put(CoreWorkload.FIELD_COUNT_PROPERTY, "2");
+    p.put(CoreWorkload.FIELD_LENGTH_PROPERTY, "8");
+    p.put(QueueWorkload.QUEUE_COUNT_PROPERTY, queues);
+    Measurements.setProperties(p);
+    return p;
+  }
+}
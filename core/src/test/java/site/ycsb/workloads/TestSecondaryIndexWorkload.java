@@ -0,0 +1,103 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+package site.ycsb.workloads;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.Vector;
+
+import org.testng.annotations.Test;
+
+import site.ycsb.BasicDB;
+import site.ycsb.ByteIterator;
+import site.ycsb.Client;
+import site.ycsb.QueryPredicate;
+import site.ycsb.Status;
+
+public class TestSecondaryIndexWorkload {
+
+  @Test
+  public void insertsCarryAttributesAndQueriesUseThem() throws Exception {
+    final Properties p = new Properties();
+    p.setProperty(Client.RECORD_COUNT_PROPERTY, "10");
+    p.setProperty(CoreWorkload.FIELD_COUNT_PROPERTY, "2");
+    p.setProperty(CoreWorkload.READ_PROPORTION_PROPERTY, "0");
+    p.setProperty(CoreWorkload.UPDATE_PROPORTION_PROPERTY, "0");
+    p.setProperty(SecondaryIndexWorkload.QUERY_PROPORTION_PROPERTY, "1");
+    p.setProperty(SecondaryIndexWorkload.INDEX_FIELD_COUNT_PROPERTY, "2");
+    p.setProperty(SecondaryIndexWorkload.INDEX_CARDINALITY_PROPERTY, "5,1000");
+    p.setProperty(SecondaryIndexWorkload.RANGE_QUERY_PROPORTION_PROPERTY, "0.5");
+
+    final SecondaryIndexWorkload wl = new SecondaryIndexWorkload();
+    wl.init(p);
+    assertEquals(wl.attributeValue(0, 3), "v3");
+    assertEquals(wl.attributeValue(1, 7), "v007");
+
+    final RecordingDB db = new RecordingDB();
+    assertTrue(wl.doInsert(db, null));
+    assertEquals(db.inserted.size(), 4);
+    assertTrue(db.inserted.get("attr0").toString().matches("v[0-4]"));
+    assertTrue(db.inserted.get("attr1").toString().matches("v\\d{3}"));
+
+    for (int i = 0; i < 100; i++) {
+      assertTrue(wl.doTransaction(db, null));
+    }
+    assertEquals(db.predicates.size(), 100);
+    int ranges = 0;
+    for (QueryPredicate predicate : db.predicates) {
+      assertTrue(predicate.getField().startsWith("attr"));
+      assertTrue(predicate.getValue().compareTo(predicate.getUpperValue()) <= 0);
+      if (predicate.getOperator() == QueryPredicate.Operator.RANGE) {
+        ranges++;
+      }
+    }
+    assertTrue(ranges > 0 && ranges < 100);
+  }
+
+  @Test
+  public void predicateMatches() {
+    assertTrue(QueryPredicate.equalTo("attr0", "v05").matches("v05"));
+    assertTrue(!QueryPredicate.equalTo("attr0", "v05").matches("v06"));
+    assertTrue(QueryPredicate.between("attr0", "v05", "v09").matches("v09"));
+    assertTrue(!QueryPredicate.between("attr0", "v05", "v09").matches("v10"));
+  }
+
+  static class RecordingDB extends BasicDB {
+    final List<QueryPredicate> predicates = new ArrayList<>();
+    Map<String, ByteIterator> inserted;
+
+    @Override
+    public Status insert(String table, String key, Map<String, ByteIterator> values) {
+      inserted = values;
+      return Status.OK;
+    }
+
+    @Override
+    public Status query(String table, QueryPredicate predicate, int limit, Set<String> fields,
+                        Vector<HashMap<String, ByteIterator>> result) {
+      predicates.add(predicate);
+      return Status.OK;
+    }
+  }
+}
@@ -0,0 +1,148 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+package site.ycsb.workloads;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static site.ycsb.workloads.WorkloadTestUtil.export;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import org.testng.annotations.Test;
+
+import site.ycsb.BasicDB;
+import site.ycsb.ByteIterator;
+import site.ycsb.DataPoint;
+import site.ycsb.NumericByteIterator;
+import site.ycsb.Status;
+import site.ycsb.WorkloadException;
+import site.ycsb.measurements.Measurements;
+
+public class TestSeriesChurnWorkload {
+
+  @Test
+  public void replacesSeriesAtTheEndOfTheirLifetime() throws Exception {
+    final Properties p = getProperties();
+    p.put(TimeSeriesWorkload.INSERT_BATCH_SIZE_PROPERTY, "4");
+    final SeriesChurnWorkload wl = new SeriesChurnWorkload();
+    wl.init(p);
+    final Object state = wl.initThread(p, 0, 1);
+
+    // one batch is one interval of the four live series
+    final PointDB db = new PointDB();
+    for (int i = 0; i < 12; i++) {
+      assertTrue(wl.doInsert(db, state));
+      assertEquals(db.seriesAt.size(), i + 1);
+      assertEquals(db.seriesAt.get(i).size(), 4);
+    }
+
+    // every series lives for consecutive intervals, those created during the run for exactly three
+    for (final Map.Entry<Long, int[]> series : db.lives.entrySet()) {
+      final int[] life = series.getValue();
+      assertEquals(life[2], life[1] - life[0] + 1, "series " + series.getKey());
+      if (series.getKey() >= 4 && life[1] < 11) {
+        assertEquals(life[2], 3, "series " + series.getKey());
+      }
+    }
+    assertEquals(wl.getTotalSeries(), db.lives.size());
+    assertTrue(wl.getTotalSeries() >= 4 + 4 * 3);
+    assertEquals(db.names.size(), db.lives.size());
+
+    final String exported = export();
+    assertTrue(exported.contains("[SERIES-LIVE], Value, 4"), exported);
+    assertTrue(exported.contains("[SERIES-TOTAL], Value, "), exported);
+  }
+
+  @Test
+  public void writesFieldMapsWithoutBatches() throws Exception {
+    final Properties p = getProperties();
+    final SeriesChurnWorkload wl = new SeriesChurnWorkload();
+    wl.init(p);
+    final Object state = wl.initThread(p, 0, 1);
+    final PointDB db = new PointDB();
+    assertTrue(wl.doTransaction(db, state));
+    assertEquals(db.maps.size(), 1);
+    final Map<String, ByteIterator> values = db.maps.get(0);
+    assertEquals(values.size(), 5);
+    assertEquals(((NumericByteIterator) values.get(TimeSeriesWorkload.TIMESTAMP_KEY_PROPERTY_DEFAULT)).getLong(),
+        1451606400L);
+  }
+
+  @Test(expectedExceptions = WorkloadException.class)
+  public void batchesMustFitTheThreadsSeries() throws Exception {
+    final Properties p = getProperties();
+    p.put(TimeSeriesWorkload.INSERT_BATCH_SIZE_PROPERTY, "3");
+    final SeriesChurnWorkload wl = new SeriesChurnWorkload();
+    wl.init(p);
+    wl.initThread(p, 0, 2);
+  }
+
+  private static Properties getProperties() {
+    final Properties p = new Properties();
+    p.put(SeriesChurnWorkload.LIVE_SERIES_PROPERTY, "4");
+    p.put(SeriesChurnWorkload.LIFETIME_PROPERTY, "3");
+    p.put(SeriesChurnWorkload.LIFETIME_DISTRIBUTION_PROPERTY, "constant");
+    p.put(CoreWorkload.INSERT_START_PROPERTY, "1451606400");
+    Measurements.setProperties(p);
+    return p;
+  }
+
+  /**
+   * Records the intervals each series was written at.
+   */
+  static class PointDB extends BasicDB {
+    final List<Set<Long>> seriesAt = new ArrayList<>();
+    final Map<Long, int[]> lives = new HashMap<>();
+    final Set<String> names = new HashSet<>();
+    final Set<Long> tagValueIds = new HashSet<>();
+    final List<Map<String, ByteIterator>> maps = new ArrayList<>();
+
+    @Override
+    public Status insertPoints(String table, List<DataPoint> points) {
+      for (final DataPoint point : points) {
+        final int interval = (int) ((point.getTimestamp() - 1451606400L) / 60);
+        while (seriesAt.size() <= interval) {
+          seriesAt.add(new HashSet<Long>());
+        }
+        seriesAt.get(interval).add(point.getSeriesId());
+        final int[] life = lives.get(point.getSeriesId());
+        if (life == null) {
+          lives.put(point.getSeriesId(), new int[] {interval, interval, 1});
+          assertTrue(names.add(point.getTagValue(0)));
+          // a new series never reuses the tag value id of another
+          assertTrue(tagValueIds.add(point.getTagValueId(0)));
+        } else {
+          life[1] = interval;
+          life[2]++;
+        }
+      }
+      return Status.OK;
+    }
+
+    @Override
+    public Status insert(String table, String key, Map<String, ByteIterator> values) {
+      maps.add(values);
+      return Status.OK;
+    }
+  }
+}
@@ -0,0 +1,140 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+package site.ycsb.workloads;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static site.ycsb.workloads.WorkloadTestUtil.count;
+import static site.ycsb.workloads.WorkloadTestUtil.export;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import org.testng.annotations.Test;
+
+import site.ycsb.Client;
+import site.ycsb.measurements.Measurements;
+
+public class TestSessionWorkload {
+
+  @Test
+  public void storesItemsRightAfterTheirSession() throws Exception {
+    final Properties p = getProperties("individual");
+    final SessionWorkload wl = new SessionWorkload();
+    wl.init(p);
+    final MemoryDB db = load(wl);
+
+    assertEquals(db.records.size(), 20 * 5);
+    final List<String> keys = new ArrayList<>(db.records.keySet());
+    for (int i = 0; i < keys.size(); i += 5) {
+      final String parent = keys.get(i);
+      assertTrue(!parent.contains("/"), parent);
+      for (int item = 0; item < 4; item++) {
+        assertEquals(keys.get(i + 1 + item), SessionWorkload.buildItemKey(parent, item));
+      }
+    }
+  }
+
+  @Test
+  public void readsSessionsIndividually() throws Exception {
+    final MemoryDB db = readSessions("individual");
+    assertEquals(db.reads, 10 * 3);
+    assertEquals(db.batchReads, 0);
+    assertEquals(db.scans, 0);
+  }
+
+  @Test
+  public void readsSessionsInBatches() throws Exception {
+    final MemoryDB db = readSessions("batch");
+    assertEquals(db.reads, 0);
+    assertEquals(db.batchReads, 10);
+    assertEquals(db.keysRead.size(), 10 * 3);
+    assertEquals(db.scans, 0);
+  }
+
+  @Test
+  public void readsSessionsWithScans() throws Exception {
+    final MemoryDB db = readSessions("scan");
+    assertEquals(db.reads, 0);
+    assertEquals(db.batchReads, 0);
+    assertEquals(db.scans, 10);
+    assertEquals(db.keysRead.size(), 10 * 3);
+  }
+
+  @Test
+  public void updatesTheItemsOfASession() throws Exception {
+    final Properties p = getProperties("individual");
+    p.put(SessionWorkload.SESSION_READ_PROPORTION_PROPERTY, "0");
+    p.put(SessionWorkload.SESSION_UPDATE_PROPORTION_PROPERTY, "1");
+    final SessionWorkload wl = new SessionWorkload();
+    wl.init(p);
+    final MemoryDB db = load(wl);
+    final String before = export();
+
+    for (int i = 0; i < 10; i++) {
+      assertTrue(wl.doTransaction(db, null));
+    }
+    assertEquals(db.reads, 10);
+    assertEquals(db.updated.size(), 10 * 2);
+    for (final String key : db.updated) {
+      assertTrue(key.endsWith("/000000") || key.endsWith("/000001"), key);
+    }
+    assertEquals(count(export(), "[SESSION-UPDATE], Return=OK") - count(before, "[SESSION-UPDATE], Return=OK"), 10);
+  }
+
+  private static MemoryDB readSessions(String access) throws Exception {
+    final Properties p = getProperties(access);
+    final SessionWorkload wl = new SessionWorkload();
+    wl.init(p);
+    final MemoryDB db = load(wl);
+    final String before = export();
+
+    for (int i = 0; i < 10; i++) {
+      assertTrue(wl.doTransaction(db, null));
+    }
+    for (final String key : db.keysRead) {
+      assertTrue(!key.contains("/") || key.endsWith("/000000") || key.endsWith("/000001"), key);
+    }
+    assertEquals(count(export(), "[SESSION-READ], Return=OK") - count(before, "[SESSION-READ], Return=OK"), 10);
+    return db;
+  }
+
+  private static MemoryDB load(SessionWorkload wl) {
+    final MemoryDB db = new MemoryDB();
+    for (int i = 0; i < 20; i++) {
+      assertTrue(wl.doInsert(db, null));
+    }
+    return db;
+  }
+
+  private static Properties getProperties(String access) {
+    final Properties p = new Properties();
+    p.put(Client.RECORD_COUNT_PROPERTY, "20");
+    p.put(Client.OPERATION_COUNT_PROPERTY, "10");
+    p.put(CoreWorkload.FIELD_COUNT_PROPERTY, "2");
+    p.put(CoreWorkload.FIELD_LENGTH_PROPERTY, "8");
+    p.put(CoreWorkload.REQUEST_DISTRIBUTION_PROPERTY, "zipfian");
+    p.put(SessionWorkload.ITEMS_PROPERTY, "4");
+    p.put(SessionWorkload.REQUEST_ITEMS_PROPERTY, "2");
+    p.put(SessionWorkload.SESSION_READ_PROPORTION_PROPERTY, "1");
+    p.put(SessionWorkload.SESSION_UPDATE_PROPORTION_PROPERTY, "0");
+    p.put(SessionWorkload.ACCESS_PROPERTY, access);
+    Measurements.setProperties(p);
+    return p;
+  }
+}
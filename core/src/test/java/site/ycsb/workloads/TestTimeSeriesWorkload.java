@@ -21,9 +21,12 @@ import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
+import static site.ycsb.workloads.WorkloadTestUtil.export;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -36,9 +39,12 @@ import java.util.Vector;
 import site.ycsb.ByteIterator;
 import site.ycsb.Client;
 import site.ycsb.DB;
+import site.ycsb.DataPoint;
 import site.ycsb.NumericByteIterator;
 import site.ycsb.Status;
 import site.ycsb.StringByteIterator;
+import site.ycsb.TimeseriesDB.AggregationOperation;
+import site.ycsb.TimeseriesQuery;
 import site.ycsb.Utils;
 import site.ycsb.WorkloadException;
 import site.ycsb.measurements.Measurements;
@@ -388,6 +394,225 @@ public class TestTimeSeriesWorkload {
     }
   }
   
+  @Test
+  public void insertBatchesMatchSinglePoints() throws Exception {
+    final Properties p = getUTProperties();
+    p.put(CoreWorkload.DATA_INTEGRITY_PROPERTY, "true");
+    p.put(TimeSeriesWorkload.VALUE_TYPE_PROPERTY, "integers");
+    final TimeSeriesWorkload single = getWorkload(p, true);
+    final Object singleState = single.initThread(p, 0, 1);
+    final MockDB singleDb = new MockDB();
+    for (int i = 0; i < 40; i++) {
+      assertTrue(single.doInsert(singleDb, singleState));
+    }
+
+    p.put(TimeSeriesWorkload.INSERT_BATCH_SIZE_PROPERTY, "4");
+    final TimeSeriesWorkload batched = getWorkload(p, true);
+    final Object batchedState = batched.initThread(p, 0, 1);
+    final MockDB batchedDb = new MockDB();
+    for (int i = 0; i < 10; i++) {
+      assertTrue(batched.doInsert(batchedDb, batchedState));
+    }
+
+    assertEquals(batchedDb.points.size(), 40);
+    for (int i = 0; i < 40; i++) {
+      final Map<String, ByteIterator> values = singleDb.values.get(i);
+      final String expected = singleDb.keys.get(i) + " [ AA=" + values.get("AA") + " AB=" + values.get("AB")
+          + " ] " + Utils.bytesToLong(values.get(TimeSeriesWorkload.TIMESTAMP_KEY_PROPERTY_DEFAULT).toArray())
+          + " " + ((NumericByteIterator) values.get(TimeSeriesWorkload.VALUE_KEY_PROPERTY_DEFAULT)).getLong();
+      assertEquals(batchedDb.points.get(i), expected);
+    }
+  }
+  
+  @Test
+  public void seriesBatchesHoldConsecutiveTimestampsOfOneSeries() throws Exception {
+    final Properties p = getUTProperties();
+    p.put(CoreWorkload.DATA_INTEGRITY_PROPERTY, "true");
+    p.put(TimeSeriesWorkload.VALUE_TYPE_PROPERTY, "integers");
+    final TimeSeriesWorkload single = getWorkload(p, true);
+    final Object singleState = single.initThread(p, 0, 1);
+    final MockDB singleDb = new MockDB();
+    for (int i = 0; i < 24; i++) {
+      assertTrue(single.doInsert(singleDb, singleState));
+    }
+
+    p.put(TimeSeriesWorkload.INSERT_BATCH_SIZE_PROPERTY, "3");
+    p.put(TimeSeriesWorkload.INSERT_BATCH_ORDER_PROPERTY, "series");
+    p.put(TimeSeriesWorkload.QUERY_PROPORTION_PROPERTY, "1");
+    final TimeSeriesWorkload batched = getWorkload(p, true);
+    final Object batchedState = batched.initThread(p, 0, 1);
+    final MockDB batchedDb = new MockDB();
+    for (int i = 0; i < 8; i++) {
+      assertTrue(batched.doInsert(batchedDb, batchedState));
+      // the four series take turns, three intervals at a time
+      final long first = 1451606400L + i / 4 * 180;
+      for (int j = 0; j < 3; j++) {
+        final String point = batchedDb.points.get(i * 3 + j);
+        final String head = batchedDb.points.get(i * 3);
+        assertEquals(point.substring(0, point.indexOf(']')), head.substring(0, head.indexOf(']')));
+        assertTrue(point.contains("] " + (first + j * 60) + " "), point);
+      }
+    }
+
+    // six intervals of every series, with the same values
+    final Set<String> expected = new HashSet<String>();
+    for (int i = 0; i < 24; i++) {
+      final Map<String, ByteIterator> values = singleDb.values.get(i);
+      expected.add(singleDb.keys.get(i) + " [ AA=" + values.get("AA") + " AB=" + values.get("AB")
+          + " ] " + Utils.bytesToLong(values.get(TimeSeriesWorkload.TIMESTAMP_KEY_PROPERTY_DEFAULT).toArray())
+          + " " + ((NumericByteIterator) values.get(TimeSeriesWorkload.VALUE_KEY_PROPERTY_DEFAULT)).getLong());
+    }
+    assertEquals(new HashSet<String>(batchedDb.points), expected);
+    // ten batches give every series a batch twice, so queries cover six intervals
+    assertEquals(batched.loadedIntervals, 6);
+  }
+
+  @Test (expectedExceptions = WorkloadException.class)
+  public void seriesBatchesNeedDenseData() throws Exception {
+    final Properties p = getUTProperties();
+    p.put(TimeSeriesWorkload.INSERT_BATCH_SIZE_PROPERTY, "3");
+    p.put(TimeSeriesWorkload.INSERT_BATCH_ORDER_PROPERTY, "series");
+    p.put(TimeSeriesWorkload.SPARSITY_PROPERTY, "0.5");
+    getWorkload(p, true);
+  }
+
+  @Test
+  public void typedQueriesMatchLoadedData() throws Exception {
+    final Properties p = getUTProperties();
+    p.put(Client.RECORD_COUNT_PROPERTY, "40");
+    p.put(CoreWorkload.DATA_INTEGRITY_PROPERTY, "true");
+    p.put(TimeSeriesWorkload.VALUE_TYPE_PROPERTY, "integers");
+    p.put(TimeSeriesWorkload.DELAYED_SERIES_PROPERTY, "0.5");
+    p.put(TimeSeriesWorkload.DELAYED_INTERVALS_PROPERTY, "3");
+    p.put(TimeSeriesWorkload.INSERT_BATCH_SIZE_PROPERTY, "2");
+    p.put(CoreWorkload.READ_PROPORTION_PROPERTY, "0");
+    p.put(CoreWorkload.UPDATE_PROPORTION_PROPERTY, "0");
+    p.put(TimeSeriesWorkload.QUERY_PROPORTION_PROPERTY, "1");
+    p.put(TimeSeriesWorkload.QUERY_MAX_INTERVALS_PROPERTY, "6");
+    p.put(TimeSeriesWorkload.QUERY_DOWNSAMPLING_INTERVALS_PROPERTY, "120,300");
+    p.put(TimeSeriesWorkload.QUERY_TOPK_PROPERTY, "3");
+    final TimeSeriesWorkload wl = getWorkload(p, true);
+    final Object threadState = wl.initThread(p, 0, 1);
+
+    final PointStoreDB db = new PointStoreDB();
+    for (int i = 0; i < 40; i++) {
+      assertTrue(wl.doInsert(db, threadState));
+    }
+    assertEquals(db.points.size(), 80);
+    for (int i = 0; i < 200; i++) {
+      assertTrue(wl.doTransaction(db, threadState));
+    }
+    String exported = export();
+    assertTrue(exported.contains("[TS-QUERY-VERIFY], Return=OK, 200"), exported);
+    for (final TimeseriesQuery.Shape shape : TimeseriesQuery.Shape.values()) {
+      assertTrue(exported.contains("[TS-QUERY-" + shape + "], Return=OK"), shape.toString());
+    }
+
+    db.corrupt = true;
+    for (int i = 0; i < 10; i++) {
+      assertTrue(wl.doTransaction(db, threadState));
+    }
+    exported = export();
+    assertTrue(exported.contains("[TS-QUERY-VERIFY], Return=UNEXPECTED_STATE, 10"), exported);
+  }
+
+  @Test (expectedExceptions = WorkloadException.class)
+  public void typedQueryVerificationNeedsDenseData() throws Exception {
+    final Properties p = getUTProperties();
+    p.put(CoreWorkload.DATA_INTEGRITY_PROPERTY, "true");
+    p.put(TimeSeriesWorkload.VALUE_TYPE_PROPERTY, "integers");
+    p.put(TimeSeriesWorkload.QUERY_PROPORTION_PROPERTY, "1");
+    p.put(TimeSeriesWorkload.SPARSITY_PROPERTY, "0.5");
+    getWorkload(p, true);
+  }
+
+  @Test
+  public void latePointsArriveOnceAndOutOfOrder() throws Exception {
+    final Properties p = getUTProperties();
+    p.put(Client.RECORD_COUNT_PROPERTY, "400");
+    p.put(CoreWorkload.DATA_INTEGRITY_PROPERTY, "true");
+    p.put(TimeSeriesWorkload.VALUE_TYPE_PROPERTY, "integers");
+    p.put(TimeSeriesWorkload.LATE_FRACTION_PROPERTY, "0.3");
+    p.put(TimeSeriesWorkload.LATE_MIN_PROPERTY, "60");
+    p.put(TimeSeriesWorkload.LATE_MAX_PROPERTY, "180");
+    p.put(TimeSeriesWorkload.LATE_DISTRIBUTION_PROPERTY, "uniform");
+    final TimeSeriesWorkload wl = getWorkload(p, true);
+    final Object threadState = wl.initThread(p, 0, 1);
+
+    final MockDB db = new MockDB();
+    final Map<String, Long> written = new HashMap<String, Long>();
+    long maxTimestamp = 0;
+    boolean outOfOrder = false;
+    for (int i = 0; i < 400; i++) {
+      assertTrue(wl.doInsert(db, threadState));
+      final Map<String, ByteIterator> values = db.values.get(i);
+      final long timestamp = Utils.bytesToLong(values.get(TimeSeriesWorkload.TIMESTAMP_KEY_PROPERTY_DEFAULT).toArray());
+      final TreeMap<String, String> tags = new TreeMap<String, String>();
+      tags.put("AA", values.get("AA").toString());
+      tags.put("AB", values.get("AB").toString());
+      assertEquals(((NumericByteIterator) values.get(TimeSeriesWorkload.VALUE_KEY_PROPERTY_DEFAULT)).getLong(),
+          wl.validationFunction(db.keys.get(i), timestamp, tags));
+      final String series = db.keys.get(i) + tags + timestamp;
+      assertFalse(written.containsKey(series), series);
+      written.put(series, timestamp);
+      outOfOrder |= timestamp < maxTimestamp;
+      maxTimestamp = Math.max(maxTimestamp, timestamp);
+    }
+    assertTrue(outOfOrder);
+
+    // everything older than the maximum lateness has arrived or is next in line, one per write
+    int complete = 0;
+    for (final long timestamp : written.values()) {
+      if (timestamp < maxTimestamp - 180) {
+        complete++;
+      }
+    }
+    for (final long[] late : ((TimeSeriesWorkload.ThreadState) threadState).latePoints) {
+      if (late[2] < maxTimestamp - 180) {
+        assertTrue(late[0] <= maxTimestamp);
+        complete++;
+      }
+    }
+    assertEquals(complete, (int) ((maxTimestamp - 240 - 1451606400L) / 60 + 1) * 4);
+  }
+
+  @Test
+  public void backfillThreadsWriteHistoryThenStop() throws Exception {
+    final Properties p = getUTProperties();
+    p.put(Client.THREAD_COUNT_PROPERTY, "2");
+    p.put(TimeSeriesWorkload.BACKFILL_THREADS_PROPERTY, "1");
+    p.put(TimeSeriesWorkload.BACKFILL_INTERVALS_PROPERTY, "3");
+    p.put(TimeSeriesWorkload.INSERT_BATCH_SIZE_PROPERTY, "5");
+    final TimeSeriesWorkload wl = getWorkload(p, true);
+    final Object realtime = wl.initThread(p, 0, 2);
+    final Object backfill = wl.initThread(p, 1, 2);
+
+    final MockDB db = new MockDB();
+    assertTrue(wl.doInsert(db, realtime));
+    for (int i = 0; i < 4; i++) {
+      assertTrue(db.points.get(i).contains("] 1451606400 "), db.points.get(i));
+    }
+
+    db.points.clear();
+    for (int i = 0; i < 3; i++) {
+      assertTrue(wl.doTransaction(db, backfill));
+    }
+    assertFalse(wl.doTransaction(db, backfill));
+    // every key and tag combination at the three intervals before the start
+    assertEquals(db.points.size(), 12);
+    for (int i = 0; i < 12; i++) {
+      assertTrue(db.points.get(i).contains("] " + (1451606400L - 180 + i / 4 * 60) + " "), db.points.get(i));
+    }
+    assertTrue(export().contains("[INSERT-BACKFILL], Return=OK, 3"));
+  }
+
+  @Test (expectedExceptions = WorkloadException.class)
+  public void backfillNeedsARealtimeThread() throws Exception {
+    final Properties p = getUTProperties();
+    p.put(TimeSeriesWorkload.BACKFILL_THREADS_PROPERTY, "1");
+    getWorkload(p, true);
+  }
+
   @Test
   public void read() throws Exception {
     final Properties p = getUTProperties();
@@ -518,6 +743,7 @@ public class TestTimeSeriesWorkload {
     final List<String> keys = new ArrayList<String>();
     final List<Map<String, ByteIterator>> values = 
         new ArrayList<Map<String, ByteIterator>>();
+    final List<String> points = new ArrayList<String>();
     
     @Override
     public Status read(String table, String key, Set<String> fields,
@@ -552,6 +778,14 @@ public class TestTimeSeriesWorkload {
       // TODO Auto-generated method stub
       return Status.OK;
     }
+
+    @Override
+    public Status insertPoints(String table, List<DataPoint> batch) {
+      for (final DataPoint point : batch) {
+        points.add(point.toString());
+      }
+      return Status.OK;
+    }
     
     public void dumpStdout() {
       for (int i = 0; i < keys.size(); i++) {
@@ -574,4 +808,125 @@ public class TestTimeSeriesWorkload {
       }
     }
   }
-}
\ No newline at end of file
+  
+  /**
+   * Keeps the data points written and evaluates typed queries over them by brute force.
+   */
+  static class PointStoreDB extends MockDB {
+    final List<long[]> points = new ArrayList<long[]>();
+    final List<Map<String, String>> tags = new ArrayList<Map<String, String>>();
+    final List<String> metrics = new ArrayList<String>();
+    boolean corrupt;
+
+    @Override
+    public Status insertPoints(String table, List<DataPoint> batch) {
+      for (final DataPoint point : batch) {
+        final Map<String, String> pointTags = new HashMap<String, String>();
+        for (int i = 0; i < point.getTagCount(); i++) {
+          pointTags.put(point.getTagKey(i), point.getTagValue(i));
+        }
+        points.add(new long[] {point.getTimestamp(), point.getLongValue()});
+        tags.add(pointTags);
+        metrics.add(point.getMetric());
+      }
+      return Status.OK;
+    }
+
+    @Override
+    public Status queryTimeseries(String table, TimeseriesQuery query, List<TimeseriesQuery.Row> result) {
+      final Map<String, List<Double>> groups = new TreeMap<String, List<Double>>();
+      final Map<String, Long> groupTimestamps = new HashMap<String, Long>();
+      final Map<String, Map<String, String>> groupTags = new HashMap<String, Map<String, String>>();
+      long[] last = null;
+      for (int p = 0; p < points.size(); p++) {
+        final long[] point = points.get(p);
+        final Map<String, String> pointTags = tags.get(p);
+        if (!metrics.get(p).equals(query.getMetric()) || point[0] < query.getStartTs() 
+            || point[0] > query.getEndTs() || !query.matches(pointTags)) {
+          continue;
+        }
+        if (last == null || point[0] > last[0]) {
+          last = point;
+        }
+        final String group;
+        final long timestamp;
+        switch (query.getShape()) {
+        case GROUP_BY:
+          final String groupByKey = query.getTagKey(query.getGroupByTag());
+          group = pointTags.get(groupByKey);
+          groupTags.put(group, Collections.singletonMap(groupByKey, group));
+          timestamp = query.getStartTs();
+          break;
+        case TOP_K:
+          group = new TreeMap<String, String>(pointTags).toString();
+          groupTags.put(group, pointTags);
+          timestamp = query.getStartTs();
+          break;
+        case DOWNSAMPLE:
+          timestamp = point[0] / query.getDownsamplingInterval() * query.getDownsamplingInterval();
+          group = String.format("%020d", timestamp);
+          break;
+        default:
+          group = "";
+          timestamp = query.getStartTs();
+        }
+        groups.computeIfAbsent(group, k -> new ArrayList<Double>()).add((double) point[1]);
+        groupTimestamps.put(group, timestamp);
+      }
+
+      if (query.getShape() == TimeseriesQuery.Shape.LAST_VALUE) {
+        if (last != null) {
+          result.add(new TimeseriesQuery.Row(last[0], last[1] + (corrupt ? 1 : 0), null));
+        }
+        addBogusRow(query, result);
+        return Status.OK;
+      }
+      for (final Entry<String, List<Double>> group : groups.entrySet()) {
+        result.add(new TimeseriesQuery.Row(groupTimestamps.get(group.getKey()), 
+            aggregate(query.getAggregation(), group.getValue()) + (corrupt ? 1 : 0), groupTags.get(group.getKey())));
+      }
+      if (query.getShape() == TimeseriesQuery.Shape.TOP_K) {
+        result.sort(query.topKOrder());
+        while (result.size() > query.getTopK()) {
+          result.remove(result.size() - 1);
+        }
+      }
+      addBogusRow(query, result);
+      return Status.OK;
+    }
+
+    /**
+     * Corrupting only the rows returned would let a corrupted query pass whenever its range holds
+     * no data of the queried series, which the random ranges of the test hit regularly. The
+     * verification must reject those too, so an empty result gets a row that should not be there.
+     */
+    private void addBogusRow(final TimeseriesQuery query, final List<TimeseriesQuery.Row> result) {
+      if (corrupt && result.isEmpty()) {
+        result.add(new TimeseriesQuery.Row(query.getStartTs(), 1, null));
+      }
+    }
+
+    private static double aggregate(final AggregationOperation aggregation, final List<Double> values) {
+      double sum = 0;
+      double min = Double.POSITIVE_INFINITY;
+      double max = Double.NEGATIVE_INFINITY;
+      for (final double value : values) {
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+      }
+      switch (aggregation) {
+      case SUM:
+        return sum;
+      case AVERAGE:
+        return sum / values.size();
+      case COUNT:
+        return values.size();
+      case MIN:
+        return min;
+      default:
+        return max;
+      }
+    }
+  }
+}
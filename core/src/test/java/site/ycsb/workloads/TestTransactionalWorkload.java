@@ -0,0 +1,129 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+package site.ycsb.workloads;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static site.ycsb.workloads.WorkloadTestUtil.count;
+import static site.ycsb.workloads.WorkloadTestUtil.export;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Properties;
+
+import org.testng.annotations.Test;
+
+import site.ycsb.Client;
+import site.ycsb.Status;
+import site.ycsb.measurements.Measurements;
+
+public class TestTransactionalWorkload {
+
+  @Test
+  public void retriesConflictsOnly() throws Exception {
+    final TransactionalWorkload wl = getWorkload();
+    final TransactionDB db = load(wl);
+    final String before = export();
+
+    db.commits.addAll(Arrays.asList(Status.CONFLICT, Status.CONFLICT));
+    assertTrue(wl.doTransaction(db, null));
+    assertEquals(db.begins, 3);
+
+    db.commits.add(Status.ERROR);
+    assertTrue(wl.doTransaction(db, null));
+    assertEquals(db.begins, 4);
+    // a commit ends the transaction, failed or not
+    assertEquals(db.aborts, 0);
+
+    final String after = export();
+    assertEquals(count(after, "[TRANSACTION], Return=OK") - count(before, "[TRANSACTION], Return=OK"), 1);
+    assertEquals(count(after, "[TRANSACTION], Return=ERROR") - count(before, "[TRANSACTION], Return=ERROR"), 1);
+  }
+
+  @Test
+  public void givesUpAfterMaxRetries() throws Exception {
+    final TransactionalWorkload wl = getWorkload();
+    final TransactionDB db = load(wl);
+    final String before = export();
+
+    db.commits.addAll(Arrays.asList(Status.CONFLICT, Status.CONFLICT, Status.CONFLICT, Status.CONFLICT));
+    assertTrue(wl.doTransaction(db, null));
+    assertEquals(db.begins, 4);
+    assertTrue(db.commits.isEmpty());
+
+    final String after = export();
+    assertEquals(count(after, "[TRANSACTION], Return=CONFLICT")
+        - count(before, "[TRANSACTION], Return=CONFLICT"), 1);
+  }
+
+  @Test
+  public void abortsFailedOperationsWithoutRetrying() throws Exception {
+    final TransactionalWorkload wl = getWorkload();
+    // nothing is loaded, so the first read is not found
+    final TransactionDB db = new TransactionDB();
+
+    assertTrue(wl.doTransaction(db, null));
+    assertEquals(db.begins, 1);
+    assertEquals(db.aborts, 1);
+    assertEquals(db.reads, 1);
+  }
+
+  private static TransactionalWorkload getWorkload() throws Exception {
+    final Properties p = new Properties();
+    p.put(Client.RECORD_COUNT_PROPERTY, "10");
+    p.put(CoreWorkload.FIELD_COUNT_PROPERTY, "2");
+    p.put(CoreWorkload.FIELD_LENGTH_PROPERTY, "8");
+    Measurements.setProperties(p);
+    final TransactionalWorkload wl = new TransactionalWorkload();
+    wl.init(p);
+    return wl;
+  }
+
+  private static TransactionDB load(TransactionalWorkload wl) {
+    final TransactionDB db = new TransactionDB();
+    for (int i = 0; i < 10; i++) {
+      assertTrue(wl.doInsert(db, null));
+    }
+    return db;
+  }
+
+  /**
+   * An in-memory store whose commits return the queued statuses, then OK.
+   */
+  static class TransactionDB extends MemoryDB {
+    final ArrayDeque<Status> commits = new ArrayDeque<>();
+    int begins;
+    int aborts;
+
+    @Override
+    public Status beginTransaction() {
+      begins++;
+      return Status.OK;
+    }
+
+    @Override
+    public Status commit() {
+      return commits.isEmpty() ? Status.OK : commits.poll();
+    }
+
+    @Override
+    public Status abort() {
+      aborts++;
+      return Status.OK;
+    }
+  }
+}
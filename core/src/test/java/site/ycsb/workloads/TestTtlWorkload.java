@@ -0,0 +1,130 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+package site.ycsb.workloads;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static site.ycsb.workloads.WorkloadTestUtil.export;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.Vector;
+
+import org.testng.annotations.Test;
+
+import site.ycsb.ByteIterator;
+import site.ycsb.Client;
+import site.ycsb.DB;
+import site.ycsb.Status;
+import site.ycsb.measurements.Measurements;
+
+public class TestTtlWorkload {
+
+  @Test
+  public void classifiesLiveAndExpiredReads() throws Exception {
+    final Properties p = new Properties();
+    p.put(Client.RECORD_COUNT_PROPERTY, "10");
+    p.put(Client.OPERATION_COUNT_PROPERTY, "100");
+    p.put(CoreWorkload.READ_PROPORTION_PROPERTY, "1");
+    p.put(CoreWorkload.UPDATE_PROPORTION_PROPERTY, "0");
+    p.put(TtlWorkload.TTL_DISTRIBUTION_PROPERTY, "constant");
+    p.put(TtlWorkload.TTL_MIN_PROPERTY, "1");
+    p.put(TtlWorkload.TTL_MAX_PROPERTY, "1");
+    p.put(TtlWorkload.GRACE_PROPERTY, "100");
+    Measurements.setProperties(p);
+
+    final TtlWorkload wl = new TtlWorkload();
+    wl.init(p);
+    final ExpiringDB db = new ExpiringDB();
+    for (int i = 0; i < 10; i++) {
+      assertTrue(wl.doInsert(db, null));
+    }
+    assertEquals(db.ttls.size(), 10);
+    assertTrue(db.ttls.values().stream().allMatch(ttl -> ttl == 1));
+
+    for (int i = 0; i < 20; i++) {
+      assertTrue(wl.doTransaction(db, null));
+    }
+    String exported = export();
+    assertTrue(exported.contains("[READ-LIVE], Return=OK, 20"));
+    assertFalse(exported.contains("READ-EXPIRED"));
+
+    Thread.sleep(1300);
+    for (int i = 0; i < 20; i++) {
+      assertTrue(wl.doTransaction(db, null));
+    }
+    exported = export();
+    assertTrue(exported.contains("[READ-EXPIRED], Return=EXPIRED, 20"));
+
+    // A database that expires records lazily keeps returning them.
+    db.honourExpiry = false;
+    for (int i = 0; i < 20; i++) {
+      assertTrue(wl.doTransaction(db, null));
+    }
+    assertTrue(export().contains("[READ-EXPIRED], Return=EXPIRED_HIT, 20"));
+  }
+
+  /**
+   * An in-memory store of expiring records.
+   */
+  static class ExpiringDB extends DB {
+    final Map<String, Integer> ttls = new HashMap<>();
+    final Map<String, Long> expiries = new HashMap<>();
+    boolean honourExpiry = true;
+
+    @Override
+    public Status read(String table, String key, Set<String> fields,
+                       Map<String, ByteIterator> result) {
+      final Long expiry = expiries.get(key);
+      if (expiry == null || (honourExpiry && expiry <= System.currentTimeMillis())) {
+        return Status.NOT_FOUND;
+      }
+      return Status.OK;
+    }
+
+    @Override
+    public Status scan(String table, String startkey, int recordcount,
+                       Set<String> fields, Vector<HashMap<String, ByteIterator>> result) {
+      return Status.OK;
+    }
+
+    @Override
+    public Status update(String table, String key, Map<String, ByteIterator> values) {
+      return Status.OK;
+    }
+
+    @Override
+    public Status insert(String table, String key, Map<String, ByteIterator> values) {
+      return Status.OK;
+    }
+
+    @Override
+    public Status insert(String table, String key, Map<String, ByteIterator> values, int ttlSeconds) {
+      ttls.put(key, ttlSeconds);
+      expiries.put(key, System.currentTimeMillis() + ttlSeconds * 1000L);
+      return Status.OK;
+    }
+
+    @Override
+    public Status delete(String table, String key) {
+      return Status.OK;
+    }
+  }
+}
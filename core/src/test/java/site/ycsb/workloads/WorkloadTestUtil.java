@@ -0,0 +1,54 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+package site.ycsb.workloads;
+
+import java.io.ByteArrayOutputStream;
+
+import site.ycsb.measurements.Measurements;
+import site.ycsb.measurements.exporter.TextMeasurementsExporter;
+
+/**
+ * Helpers shared by the workload tests. The measurements are a singleton shared by every test,
+ * so tests compare the counts exported before and after the operations they check.
+ */
+final class WorkloadTestUtil {
+  private WorkloadTestUtil() {
+  }
+
+  /**
+   * @return The current measurements in the text export format.
+   */
+  static String export() throws Exception {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    final TextMeasurementsExporter exporter = new TextMeasurementsExporter(out);
+    Measurements.getMeasurements().exportMeasurements(exporter);
+    exporter.close();
+    return out.toString("UTF-8");
+  }
+
+  /**
+   * @return The number exported after a measurement and name, or 0 if it was not exported.
+   */
+  static long count(String exported, String prefix) {
+    for (final String line : exported.split("\n")) {
+      if (line.startsWith(prefix + ", ")) {
+        return Long.parseLong(line.substring(prefix.length() + 2).trim());
+      }
+    }
+    return 0;
+  }
+}
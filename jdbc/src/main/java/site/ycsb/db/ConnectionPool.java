@@ -0,0 +1,117 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+package site.ycsb.db;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A fixed number of connections to one shard, shared by all client threads. Every connection keeps
+ * its own cache of prepared statements, so a statement is prepared once per connection instead of
+ * once per thread.
+ */
+final class ConnectionPool {
+
+  /**
+   * A connection of the pool and the statements prepared on it.
+   */
+  static final class PooledConnection {
+    private final Connection connection;
+    private final ConcurrentMap<StatementType, PreparedStatement> statements = new ConcurrentHashMap<>();
+
+    private PooledConnection(Connection connection) {
+      this.connection = connection;
+    }
+
+    Connection getConnection() {
+      return connection;
+    }
+
+    ConcurrentMap<StatementType, PreparedStatement> getStatements() {
+      return statements;
+    }
+  }
+
+  private final List<PooledConnection> connections;
+  private final BlockingQueue<PooledConnection> idle;
+  private final boolean autoCommit;
+
+  /**
+   * Opens all connections of the pool.
+   */
+  ConnectionPool(String url, String user, String passwd, int size, boolean autoCommit) throws SQLException {
+    connections = new ArrayList<>(size);
+    idle = new ArrayBlockingQueue<>(size);
+    this.autoCommit = autoCommit;
+    try {
+      for (int i = 0; i < size; i++) {
+        Connection conn = DriverManager.getConnection(url, user, passwd);
+        conn.setAutoCommit(autoCommit);
+        PooledConnection pooled = new PooledConnection(conn);
+        connections.add(pooled);
+        idle.add(pooled);
+      }
+    } catch (SQLException e) {
+      close();
+      throw e;
+    }
+  }
+
+  /**
+   * Takes an idle connection, waiting until another thread releases one if there is none.
+   */
+  PooledConnection acquire() throws SQLException {
+    try {
+      return idle.take();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SQLException("Interrupted waiting for a pooled connection", e);
+    }
+  }
+
+  void release(PooledConnection connection) {
+    idle.add(connection);
+  }
+
+  /**
+   * Commits, unless the connections auto-commit, and closes all connections of the pool.
+   */
+  void close() throws SQLException {
+    SQLException failure = null;
+    for (PooledConnection pooled : connections) {
+      try {
+        if (!autoCommit) {
+          pooled.getConnection().commit();
+        }
+        pooled.getConnection().close();
+      } catch (SQLException e) {
+        failure = e;
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+  }
+}
@@ -19,8 +19,10 @@ package site.ycsb.db;
 import site.ycsb.DB;
 import site.ycsb.DBException;
 import site.ycsb.ByteIterator;
+import site.ycsb.QueryPredicate;
 import site.ycsb.Status;
 import site.ycsb.StringByteIterator;
+import site.ycsb.measurements.Measurements;
 
 import java.sql.*;
 import java.util.*;
@@ -67,6 +69,27 @@ public class JdbcDBClient extends DB {
 
   public static final String JDBC_BATCH_UPDATES = "jdbc.batchupdateapi";
 
+  /**
+   * The number of connections per shard shared by all client threads. Set to >0 to use a pool
+   * instead of connections of every client thread.
+   */
+  public static final String JDBC_POOL_SIZE = "jdbc.poolsize";
+
+  /**
+   * How inserts are written: insert (default) with one statement per row, multirow with INSERT
+   * statements of jdbc.loadrows rows, or copy with COPY FROM STDIN of jdbc.loadrows rows.
+   */
+  public static final String JDBC_LOAD_MODE = "jdbc.loadmode";
+
+  /** The number of rows written at once by the multirow and copy load modes, 100 by default. */
+  public static final String JDBC_LOAD_ROWS = "jdbc.loadrows";
+
+  /**
+   * Whether inserts and updates are written as upserts, with INSERT ... ON CONFLICT, INSERT ... ON
+   * DUPLICATE KEY UPDATE, UPSERT or MERGE depending on the database.
+   */
+  public static final String JDBC_UPSERT = "jdbc.upsert";
+
   /** The name of the property for the number of fields in a record. */
   public static final String FIELD_COUNT_PROPERTY = "fieldcount";
 
@@ -88,6 +111,12 @@ public class JdbcDBClient extends DB {
   private boolean sqlserverScans = false;
 
   private List<Connection> conns;
+  private int numShards;
+  /** The pool of every shard, or null without connection pooling. */
+  private ConnectionPool[] pools;
+  /** The pooled connection this client holds for every shard, null if it holds none. */
+  private ConnectionPool.PooledConnection[] leased;
+  private Measurements measurements;
   private boolean initialized = false;
   private Properties props;
   private int jdbcFetchSize;
@@ -97,10 +126,25 @@ public class JdbcDBClient extends DB {
   private static final String DEFAULT_PROP = "";
   private ConcurrentMap<StatementType, PreparedStatement> cachedStatements;
   private long numRowsInBatch = 0;
+  /** Whether inserts are collected and written with multi-row INSERT or COPY statements. */
+  private LoadMode loadMode;
+  private int loadRows;
+  private boolean upsert;
+  /** The values of the collected rows of every insert statement, one row after the other. */
+  private Map<StatementType, List<String>> pendingRows;
+  /** True between beginTransaction() and commit() or abort(). */
+  private boolean inTransaction = false;
   /** DB flavor defines DB-specific syntax and behavior for the
    * particular database. Current database flavors are: {default, phoenix} */
   private DBFlavor dbFlavor;
 
+  /**
+   * The ways of writing inserted rows, see {@link #JDBC_LOAD_MODE}.
+   */
+  private enum LoadMode {
+    INSERT, MULTIROW, COPY
+  }
+
   /**
    * Ordered field information for insert and update statements.
    */
@@ -122,6 +166,11 @@ public class JdbcDBClient extends DB {
     }
   }
 
+  /** The pools of all clients by shard URL. */
+  private static final Map<String, ConnectionPool> POOLS = new HashMap<>();
+  /** The number of clients using the pools. */
+  private static int poolReferences = 0;
+
   /**
    * For the given key, returns what shard contains data for this key.
    *
@@ -129,10 +178,18 @@ public class JdbcDBClient extends DB {
    * @return Shard index
    */
   private int getShardIndexByKey(String key) {
-    int ret = Math.abs(key.hashCode()) % conns.size();
+    int ret = Math.abs(key.hashCode()) % numShards;
     return ret;
   }
 
+  /**
+   * Returns the connection to the given shard, the pooled connection this client holds if it uses
+   * connection pooling.
+   */
+  private Connection getShardConnection(int shardIndex) {
+    return pools == null ? conns.get(shardIndex) : leased[shardIndex].getConnection();
+  }
+
   /**
    * For the given key, returns Connection object that holds connection to the
    * shard that contains this key.
@@ -141,10 +198,74 @@ public class JdbcDBClient extends DB {
    * @return Connection object
    */
   private Connection getShardConnectionByKey(String key) {
-    return conns.get(getShardIndexByKey(key));
+    return getShardConnection(getShardIndexByKey(key));
+  }
+
+  /**
+   * Returns the prepared statements of the connection the given statement runs on.
+   */
+  private ConcurrentMap<StatementType, PreparedStatement> getStatements(StatementType type) {
+    return pools == null ? cachedStatements : leased[type.getShardIndex()].getStatements();
+  }
+
+  /**
+   * With connection pooling, takes a connection to the given shard from its pool unless this
+   * client already holds one, and measures the wait as CONNECTION-ACQUIRE.
+   */
+  private void acquire(int shardIndex) throws SQLException {
+    if (pools == null || leased[shardIndex] != null) {
+      return;
+    }
+    long st = System.nanoTime();
+    leased[shardIndex] = pools[shardIndex].acquire();
+    measurements.measure("CONNECTION-ACQUIRE", (int) ((System.nanoTime() - st) / 1000));
+  }
+
+  /**
+   * With connection pooling, returns the connections this client holds to their pools unless
+   * they belong to a transaction.
+   */
+  private void release() {
+    if (pools == null || inTransaction) {
+      return;
+    }
+    for (int shard = 0; shard < numShards; shard++) {
+      if (leased[shard] != null) {
+        pools[shard].release(leased[shard]);
+        leased[shard] = null;
+      }
+    }
+  }
+
+  /**
+   * Returns the connections of a transaction, with connection pooling the ones this client holds.
+   */
+  private List<Connection> getTransactionConnections() {
+    if (pools == null) {
+      return conns;
+    }
+    List<Connection> connections = new ArrayList<>(numShards);
+    for (ConnectionPool.PooledConnection pooled : leased) {
+      if (pooled != null) {
+        connections.add(pooled.getConnection());
+      }
+    }
+    return connections;
   }
 
   private void cleanupAllConnections() throws SQLException {
+    if (pools != null) {
+      release();
+      synchronized (JdbcDBClient.class) {
+        if (--poolReferences == 0) {
+          for (ConnectionPool pool : POOLS.values()) {
+            pool.close();
+          }
+          POOLS.clear();
+        }
+      }
+      return;
+    }
     for (Connection conn : conns) {
       if (!autoCommit) {
         conn.commit();
@@ -193,6 +314,32 @@ public class JdbcDBClient extends DB {
 
     this.autoCommit = getBoolProperty(props, JDBC_AUTO_COMMIT, true);
     this.batchUpdates = getBoolProperty(props, JDBC_BATCH_UPDATES, false);
+    int poolSize = getIntProperty(props, JDBC_POOL_SIZE);
+    // batches live on the statements of one connection, which a pooled connection is not for long
+    if (poolSize > 0 && (batchSize > 1 || (batchUpdates && batchSize < 1))) {
+      throw new DBException(JDBC_POOL_SIZE + " cannot be combined with batched inserts");
+    }
+    this.dbFlavor = DBFlavor.fromJdbcUrl(urls.split(";")[0]);
+    try {
+      loadMode = LoadMode.valueOf(props.getProperty(JDBC_LOAD_MODE, "insert").toUpperCase());
+    } catch (IllegalArgumentException e) {
+      throw new DBException("Invalid " + JDBC_LOAD_MODE + " specified: " + props.getProperty(JDBC_LOAD_MODE));
+    }
+    int rows = getIntProperty(props, JDBC_LOAD_ROWS);
+    loadRows = rows > 0 ? rows : 100;
+    if (loadMode == LoadMode.MULTIROW && !dbFlavor.supportsMultiRowInsert()
+        || loadMode == LoadMode.COPY && !dbFlavor.supportsCopy()) {
+      throw new DBException(JDBC_LOAD_MODE + "=" + loadMode.name().toLowerCase() + " is not supported by "
+          + dbFlavor.getClass().getSimpleName());
+    }
+    if (loadMode != LoadMode.INSERT && batchUpdates) {
+      throw new DBException(JDBC_LOAD_MODE + " cannot be combined with " + JDBC_BATCH_UPDATES);
+    }
+    pendingRows = new HashMap<>();
+    upsert = getBoolProperty(props, JDBC_UPSERT, false);
+    if (upsert && (loadMode != LoadMode.INSERT || batchUpdates)) {
+      throw new DBException(JDBC_UPSERT + " cannot be combined with " + JDBC_LOAD_MODE + " or " + JDBC_BATCH_UPDATES);
+    }
 
     try {
 //  The SQL Syntax for Scan depends on the DB engine
@@ -215,31 +362,32 @@ public class JdbcDBClient extends DB {
         }
         Class.forName(driver);
       }
-      int shardCount = 0;
       conns = new ArrayList<Connection>(3);
       // for a longer explanation see the README.md
       // semicolons aren't present in JDBC urls, so we use them to delimit
       // multiple JDBC connections to shard across.
       final String[] urlArr = urls.split(";");
-      for (String url : urlArr) {
-        System.out.println("Adding shard node URL: " + url);
-        Connection conn = DriverManager.getConnection(url, user, passwd);
+      numShards = urlArr.length;
+      if (poolSize > 0) {
+        initPools(urlArr, user, passwd, poolSize);
+      } else {
+        for (String url : urlArr) {
+          System.out.println("Adding shard node URL: " + url);
+          Connection conn = DriverManager.getConnection(url, user, passwd);
 
-        // Since there is no explicit commit method in the DB interface, all
-        // operations should auto commit, except when explicitly told not to
-        // (this is necessary in cases such as for PostgreSQL when running a
-        // scan workload with fetchSize)
-        conn.setAutoCommit(autoCommit);
+          // Since there is no explicit commit method in the DB interface, all
+          // operations should auto commit, except when explicitly told not to
+          // (this is necessary in cases such as for PostgreSQL when running a
+          // scan workload with fetchSize)
+          conn.setAutoCommit(autoCommit);
 
-        shardCount++;
-        conns.add(conn);
+          conns.add(conn);
+        }
       }
 
-      System.out.println("Using shards: " + shardCount + ", batchSize:" + batchSize + ", fetchSize: " + jdbcFetchSize);
+      System.out.println("Using shards: " + numShards + ", batchSize:" + batchSize + ", fetchSize: " + jdbcFetchSize);
 
       cachedStatements = new ConcurrentHashMap<StatementType, PreparedStatement>();
-
-      this.dbFlavor = DBFlavor.fromJdbcUrl(urlArr[0]);
     } catch (ClassNotFoundException e) {
       System.err.println("Error in initializing the JDBS driver: " + e);
       throw new DBException(e);
@@ -254,6 +402,27 @@ public class JdbcDBClient extends DB {
     initialized = true;
   }
 
+  /**
+   * Shares the pool of every shard with the other clients, opening the pools not open yet.
+   */
+  private void initPools(String[] urlArr, String user, String passwd, int poolSize) throws SQLException {
+    pools = new ConnectionPool[numShards];
+    leased = new ConnectionPool.PooledConnection[numShards];
+    measurements = Measurements.getMeasurements();
+    synchronized (JdbcDBClient.class) {
+      for (int shard = 0; shard < numShards; shard++) {
+        ConnectionPool pool = POOLS.get(urlArr[shard]);
+        if (pool == null) {
+          System.out.println("Adding shard node URL: " + urlArr[shard] + ", poolSize: " + poolSize);
+          pool = new ConnectionPool(urlArr[shard], user, passwd, poolSize, autoCommit);
+          POOLS.put(urlArr[shard], pool);
+        }
+        pools[shard] = pool;
+      }
+      poolReferences++;
+    }
+  }
+
   @Override
   public void cleanup() throws DBException {
     if (batchSize > 0) {
@@ -270,6 +439,23 @@ public class JdbcDBClient extends DB {
       }
     }
 
+    try {
+      // write the rows collected for multi-row inserts
+      for (Map.Entry<StatementType, List<String>> rows : pendingRows.entrySet()) {
+        if (!rows.getValue().isEmpty()) {
+          acquire(rows.getKey().getShardIndex());
+          try {
+            writeRows(rows.getKey(), rows.getValue());
+          } finally {
+            release();
+          }
+        }
+      }
+    } catch (SQLException e) {
+      System.err.println("Error in cleanup execution. " + e);
+      throw new DBException(e);
+    }
+
     try {
       cleanupAllConnections();
     } catch (SQLException e) {
@@ -282,7 +468,18 @@ public class JdbcDBClient extends DB {
       throws SQLException {
     String insert = dbFlavor.createInsertStatement(insertType, key);
     PreparedStatement insertStatement = getShardConnectionByKey(key).prepareStatement(insert);
-    PreparedStatement stmt = cachedStatements.putIfAbsent(insertType, insertStatement);
+    PreparedStatement stmt = getStatements(insertType).putIfAbsent(insertType, insertStatement);
+    if (stmt == null) {
+      return insertStatement;
+    }
+    return stmt;
+  }
+
+  private PreparedStatement createAndCacheMultiRowInsertStatement(StatementType multiRowType)
+      throws SQLException {
+    String insert = dbFlavor.createMultiRowInsertStatement(multiRowType, loadRows);
+    PreparedStatement insertStatement = getShardConnection(multiRowType.getShardIndex()).prepareStatement(insert);
+    PreparedStatement stmt = getStatements(multiRowType).putIfAbsent(multiRowType, insertStatement);
     if (stmt == null) {
       return insertStatement;
     }
@@ -293,18 +490,40 @@ public class JdbcDBClient extends DB {
       throws SQLException {
     String read = dbFlavor.createReadStatement(readType, key);
     PreparedStatement readStatement = getShardConnectionByKey(key).prepareStatement(read);
-    PreparedStatement stmt = cachedStatements.putIfAbsent(readType, readStatement);
+    PreparedStatement stmt = getStatements(readType).putIfAbsent(readType, readStatement);
     if (stmt == null) {
       return readStatement;
     }
     return stmt;
   }
 
+  private PreparedStatement createAndCacheBatchReadStatement(StatementType batchReadType)
+      throws SQLException {
+    String read = dbFlavor.createBatchReadStatement(batchReadType);
+    PreparedStatement readStatement = getShardConnection(batchReadType.getShardIndex()).prepareStatement(read);
+    PreparedStatement stmt = getStatements(batchReadType).putIfAbsent(batchReadType, readStatement);
+    if (stmt == null) {
+      return readStatement;
+    }
+    return stmt;
+  }
+
+  private PreparedStatement createAndCacheUpsertStatement(StatementType upsertType)
+      throws SQLException {
+    String upsertSql = dbFlavor.createUpsertStatement(upsertType);
+    PreparedStatement upsertStatement = getShardConnection(upsertType.getShardIndex()).prepareStatement(upsertSql);
+    PreparedStatement stmt = getStatements(upsertType).putIfAbsent(upsertType, upsertStatement);
+    if (stmt == null) {
+      return upsertStatement;
+    }
+    return stmt;
+  }
+
   private PreparedStatement createAndCacheDeleteStatement(StatementType deleteType, String key)
       throws SQLException {
     String delete = dbFlavor.createDeleteStatement(deleteType, key);
     PreparedStatement deleteStatement = getShardConnectionByKey(key).prepareStatement(delete);
-    PreparedStatement stmt = cachedStatements.putIfAbsent(deleteType, deleteStatement);
+    PreparedStatement stmt = getStatements(deleteType).putIfAbsent(deleteType, deleteStatement);
     if (stmt == null) {
       return deleteStatement;
     }
@@ -315,13 +534,24 @@ public class JdbcDBClient extends DB {
       throws SQLException {
     String update = dbFlavor.createUpdateStatement(updateType, key);
     PreparedStatement insertStatement = getShardConnectionByKey(key).prepareStatement(update);
-    PreparedStatement stmt = cachedStatements.putIfAbsent(updateType, insertStatement);
+    PreparedStatement stmt = getStatements(updateType).putIfAbsent(updateType, insertStatement);
     if (stmt == null) {
       return insertStatement;
     }
     return stmt;
   }
 
+  private PreparedStatement createAndCacheIncrementStatement(StatementType incrementType, String key)
+      throws SQLException {
+    String increment = dbFlavor.createIncrementStatement(incrementType, key);
+    PreparedStatement incrementStatement = getShardConnectionByKey(key).prepareStatement(increment);
+    PreparedStatement stmt = getStatements(incrementType).putIfAbsent(incrementType, incrementStatement);
+    if (stmt == null) {
+      return incrementStatement;
+    }
+    return stmt;
+  }
+
   private PreparedStatement createAndCacheScanStatement(StatementType scanType, String key)
       throws SQLException {
     String select = dbFlavor.createScanStatement(scanType, key, sqlserverScans, sqlansiScans);
@@ -329,18 +559,33 @@ public class JdbcDBClient extends DB {
     if (this.jdbcFetchSize > 0) {
       scanStatement.setFetchSize(this.jdbcFetchSize);
     }
-    PreparedStatement stmt = cachedStatements.putIfAbsent(scanType, scanStatement);
+    PreparedStatement stmt = getStatements(scanType).putIfAbsent(scanType, scanStatement);
     if (stmt == null) {
       return scanStatement;
     }
     return stmt;
   }
 
+  private PreparedStatement createAndCacheQueryStatement(StatementType queryType, boolean range, int shardIndex)
+      throws SQLException {
+    String select = dbFlavor.createQueryStatement(queryType, range, sqlserverScans, sqlansiScans);
+    PreparedStatement queryStatement = getShardConnection(shardIndex).prepareStatement(select);
+    if (this.jdbcFetchSize > 0) {
+      queryStatement.setFetchSize(this.jdbcFetchSize);
+    }
+    PreparedStatement stmt = getStatements(queryType).putIfAbsent(queryType, queryStatement);
+    if (stmt == null) {
+      return queryStatement;
+    }
+    return stmt;
+  }
+
   @Override
   public Status read(String tableName, String key, Set<String> fields, Map<String, ByteIterator> result) {
     try {
       StatementType type = new StatementType(StatementType.Type.READ, tableName, 1, "", getShardIndexByKey(key));
-      PreparedStatement readStatement = cachedStatements.get(type);
+      acquire(getShardIndexByKey(key));
+      PreparedStatement readStatement = getStatements(type).get(type);
       if (readStatement == null) {
         readStatement = createAndCacheReadStatement(type, key);
       }
@@ -359,8 +604,75 @@ public class JdbcDBClient extends DB {
       resultSet.close();
       return Status.OK;
     } catch (SQLException e) {
+      if (isTransactionConflict(e)) {
+        return Status.CONFLICT;
+      }
       System.err.println("Error in processing read of table " + tableName + ": " + e);
       return Status.ERROR;
+    } finally {
+      release();
+    }
+  }
+
+  /**
+   * Reads the keys of every shard with one SELECT ... WHERE YCSB_KEY IN (...), with a statement
+   * cached per number of keys.
+   */
+  @Override
+  public Status batchRead(String tableName, List<String> keys, Set<String> fields,
+                          Map<String, Map<String, ByteIterator>> result) {
+    List<List<String>> shardKeys = new ArrayList<>(numShards);
+    for (int shard = 0; shard < numShards; shard++) {
+      shardKeys.add(new ArrayList<>());
+    }
+    for (String key : keys) {
+      shardKeys.get(getShardIndexByKey(key)).add(key);
+    }
+    try {
+      for (int shard = 0; shard < numShards; shard++) {
+        List<String> batch = shardKeys.get(shard);
+        if (batch.isEmpty()) {
+          continue;
+        }
+        StatementType type = new StatementType(StatementType.Type.BATCH_READ, tableName, batch.size(), "", shard);
+        acquire(shard);
+        PreparedStatement readStatement = getStatements(type).get(type);
+        if (readStatement == null) {
+          readStatement = createAndCacheBatchReadStatement(type);
+        }
+        int index = 1;
+        for (String key : batch) {
+          readStatement.setString(index++, key);
+        }
+        try (ResultSet resultSet = readStatement.executeQuery()) {
+          ResultSetMetaData metaData = resultSet.getMetaData();
+          while (resultSet.next()) {
+            Map<String, ByteIterator> values = new HashMap<>();
+            if (fields != null) {
+              for (String field : fields) {
+                values.put(field, new StringByteIterator(resultSet.getString(field)));
+              }
+            } else {
+              for (int column = 1; column <= metaData.getColumnCount(); column++) {
+                String name = metaData.getColumnName(column);
+                if (!PRIMARY_KEY.equalsIgnoreCase(name)) {
+                  values.put(name, new StringByteIterator(resultSet.getString(column)));
+                }
+              }
+            }
+            result.put(resultSet.getString(PRIMARY_KEY), values);
+          }
+        }
+      }
+      return Status.OK;
+    } catch (SQLException e) {
+      if (isTransactionConflict(e)) {
+        return Status.CONFLICT;
+      }
+      System.err.println("Error in processing batch read of table: " + tableName + e);
+      return Status.ERROR;
+    } finally {
+      release();
     }
   }
 
@@ -369,7 +681,8 @@ public class JdbcDBClient extends DB {
                      Vector<HashMap<String, ByteIterator>> result) {
     try {
       StatementType type = new StatementType(StatementType.Type.SCAN, tableName, 1, "", getShardIndexByKey(startKey));
-      PreparedStatement scanStatement = cachedStatements.get(type);
+      acquire(getShardIndexByKey(startKey));
+      PreparedStatement scanStatement = getStatements(type).get(type);
       if (scanStatement == null) {
         scanStatement = createAndCacheScanStatement(type, startKey);
       }
@@ -396,19 +709,87 @@ public class JdbcDBClient extends DB {
       resultSet.close();
       return Status.OK;
     } catch (SQLException e) {
+      if (isTransactionConflict(e)) {
+        return Status.CONFLICT;
+      }
       System.err.println("Error in processing scan of table: " + tableName + e);
       return Status.ERROR;
+    } finally {
+      release();
     }
   }
 
+  @Override
+  public Status query(String tableName, QueryPredicate predicate, int limit, Set<String> fields,
+                      Vector<HashMap<String, ByteIterator>> result) {
+    boolean range = predicate.getOperator() == QueryPredicate.Operator.RANGE;
+    int found = 0;
+    try {
+      // Records matching a secondary attribute may live on any shard.
+      for (int shard = 0; shard < numShards && found < limit; shard++) {
+        StatementType type = new StatementType(range ? StatementType.Type.RANGE_QUERY : StatementType.Type.QUERY,
+            tableName, 1, predicate.getField(), shard);
+        acquire(shard);
+        PreparedStatement queryStatement = getStatements(type).get(type);
+        if (queryStatement == null) {
+          queryStatement = createAndCacheQueryStatement(type, range, shard);
+        }
+        int index = 1;
+        // SQL Server TOP syntax is at first
+        if (sqlserverScans) {
+          queryStatement.setInt(index++, limit - found);
+        }
+        queryStatement.setString(index++, predicate.getValue());
+        if (range) {
+          queryStatement.setString(index++, predicate.getUpperValue());
+        }
+        // FETCH FIRST and LIMIT are at the end
+        if (!sqlserverScans) {
+          queryStatement.setInt(index, limit - found);
+        }
+        ResultSet resultSet = queryStatement.executeQuery();
+        while (found < limit && resultSet.next()) {
+          if (result != null && fields != null) {
+            HashMap<String, ByteIterator> values = new HashMap<String, ByteIterator>();
+            for (String field : fields) {
+              String value = resultSet.getString(field);
+              values.put(field, new StringByteIterator(value));
+            }
+            result.add(values);
+          }
+          found++;
+        }
+        resultSet.close();
+      }
+      return Status.OK;
+    } catch (SQLException e) {
+      if (isTransactionConflict(e)) {
+        return Status.CONFLICT;
+      }
+      System.err.println("Error in processing query of table: " + tableName + e);
+      return Status.ERROR;
+    } finally {
+      release();
+    }
+  }
+
+  @Override
+  public UpdateMode getUpdateMode() {
+    return UpdateMode.PARTIAL;
+  }
+
   @Override
   public Status update(String tableName, String key, Map<String, ByteIterator> values) {
     try {
       int numFields = values.size();
       OrderedFieldInfo fieldInfo = getFieldInfo(values);
+      acquire(getShardIndexByKey(key));
+      if (upsert) {
+        return writeUpsert(tableName, key, fieldInfo);
+      }
       StatementType type = new StatementType(StatementType.Type.UPDATE, tableName,
           numFields, fieldInfo.getFieldKeys(), getShardIndexByKey(key));
-      PreparedStatement updateStatement = cachedStatements.get(type);
+      PreparedStatement updateStatement = getStatements(type).get(type);
       if (updateStatement == null) {
         updateStatement = createAndCacheUpdateStatement(type, key);
       }
@@ -423,8 +804,41 @@ public class JdbcDBClient extends DB {
       }
       return Status.UNEXPECTED_STATE;
     } catch (SQLException e) {
+      if (isTransactionConflict(e)) {
+        return Status.CONFLICT;
+      }
       System.err.println("Error in processing update to table: " + tableName + e);
       return Status.ERROR;
+    } finally {
+      release();
+    }
+  }
+
+  @Override
+  public Status increment(String tableName, String key, String field, long delta) {
+    try {
+      StatementType type = new StatementType(StatementType.Type.INCREMENT, tableName,
+          1, field, getShardIndexByKey(key));
+      acquire(getShardIndexByKey(key));
+      PreparedStatement incrementStatement = getStatements(type).get(type);
+      if (incrementStatement == null) {
+        incrementStatement = createAndCacheIncrementStatement(type, key);
+      }
+      incrementStatement.setLong(1, delta);
+      incrementStatement.setString(2, key);
+      int result = incrementStatement.executeUpdate();
+      if (result == 1) {
+        return Status.OK;
+      }
+      return result == 0 ? Status.NOT_FOUND : Status.UNEXPECTED_STATE;
+    } catch (SQLException e) {
+      if (isTransactionConflict(e)) {
+        return Status.CONFLICT;
+      }
+      System.err.println("Error in processing increment of table: " + tableName + e);
+      return Status.ERROR;
+    } finally {
+      release();
     }
   }
 
@@ -435,7 +849,14 @@ public class JdbcDBClient extends DB {
       OrderedFieldInfo fieldInfo = getFieldInfo(values);
       StatementType type = new StatementType(StatementType.Type.INSERT, tableName,
           numFields, fieldInfo.getFieldKeys(), getShardIndexByKey(key));
-      PreparedStatement insertStatement = cachedStatements.get(type);
+      acquire(getShardIndexByKey(key));
+      if (loadMode != LoadMode.INSERT) {
+        return collectRow(type, key, fieldInfo);
+      }
+      if (upsert) {
+        return writeUpsert(tableName, key, fieldInfo);
+      }
+      PreparedStatement insertStatement = getStatements(type).get(type);
       if (insertStatement == null) {
         insertStatement = createAndCacheInsertStatement(type, key);
       }
@@ -459,7 +880,7 @@ public class JdbcDBClient extends DB {
               }
             }
             // If autoCommit is off, make sure we commit the batch
-            if (!autoCommit) {
+            if (!autoCommit && !inTransaction) {
               getShardConnectionByKey(key).commit();
             }
             return Status.OK;
@@ -471,7 +892,7 @@ public class JdbcDBClient extends DB {
         // Normal update
         int result = insertStatement.executeUpdate();
         // If we are not autoCommit, we might have to commit now
-        if (!autoCommit) {
+        if (!autoCommit && !inTransaction) {
           // Let updates be batcher locally
           if (batchSize > 0) {
             if (++numRowsInBatch % batchSize == 0) {
@@ -491,16 +912,105 @@ public class JdbcDBClient extends DB {
       }
       return Status.UNEXPECTED_STATE;
     } catch (SQLException e) {
+      if (isTransactionConflict(e)) {
+        return Status.CONFLICT;
+      }
       System.err.println("Error in processing insert to table: " + tableName + e);
       return Status.ERROR;
+    } finally {
+      release();
+    }
+  }
+
+  /**
+   * Inserts a row or updates the given fields of an existing one with the upsert statement of the
+   * database flavor.
+   */
+  private Status writeUpsert(String tableName, String key, OrderedFieldInfo fieldInfo) throws SQLException {
+    StatementType type = new StatementType(StatementType.Type.UPSERT, tableName,
+        fieldInfo.getFieldValues().size(), fieldInfo.getFieldKeys(), getShardIndexByKey(key));
+    PreparedStatement upsertStatement = getStatements(type).get(type);
+    if (upsertStatement == null) {
+      upsertStatement = createAndCacheUpsertStatement(type);
+    }
+    upsertStatement.setString(1, key);
+    int index = 2;
+    for (String value : fieldInfo.getFieldValues()) {
+      upsertStatement.setString(index++, value);
+    }
+    // MySQL counts an updated row twice and an unchanged one not at all
+    upsertStatement.executeUpdate();
+    if (!autoCommit && !inTransaction) {
+      getShardConnectionByKey(key).commit();
+    }
+    return Status.OK;
+  }
+
+  /**
+   * Collects an inserted row and writes the rows collected for its statement once there are
+   * jdbc.loadrows of them.
+   */
+  private Status collectRow(StatementType insertType, String key, OrderedFieldInfo fieldInfo) throws SQLException {
+    List<String> rows = pendingRows.get(insertType);
+    if (rows == null) {
+      rows = new ArrayList<>(loadRows * (insertType.getNumFields() + 1));
+      pendingRows.put(insertType, rows);
+    }
+    rows.add(key);
+    rows.addAll(fieldInfo.getFieldValues());
+    if (rows.size() < loadRows * (insertType.getNumFields() + 1)) {
+      return Status.BATCHED_OK;
     }
+    return writeRows(insertType, rows) == loadRows ? Status.OK : Status.UNEXPECTED_STATE;
+  }
+
+  /**
+   * Writes collected rows with one multi-row INSERT or COPY statement and clears them.
+   *
+   * @return The number of rows written.
+   */
+  private long writeRows(StatementType insertType, List<String> rows) throws SQLException {
+    int numRows = rows.size() / (insertType.getNumFields() + 1);
+    Connection conn = getShardConnection(insertType.getShardIndex());
+    long written;
+    if (loadMode == LoadMode.COPY) {
+      written = dbFlavor.copyRows(conn, insertType, rows);
+    } else if (numRows == loadRows) {
+      StatementType multiRowType = new StatementType(StatementType.Type.MULTI_ROW_INSERT, insertType.getTableName(),
+          insertType.getNumFields(), insertType.getFieldString(), insertType.getShardIndex());
+      PreparedStatement insertStatement = getStatements(multiRowType).get(multiRowType);
+      if (insertStatement == null) {
+        insertStatement = createAndCacheMultiRowInsertStatement(multiRowType);
+      }
+      written = executeMultiRowInsert(insertStatement, rows);
+    } else {
+      // the last rows of a client, too few to prepare a statement worth caching
+      try (PreparedStatement insertStatement =
+               conn.prepareStatement(dbFlavor.createMultiRowInsertStatement(insertType, numRows))) {
+        written = executeMultiRowInsert(insertStatement, rows);
+      }
+    }
+    rows.clear();
+    if (!autoCommit && !inTransaction) {
+      conn.commit();
+    }
+    return written;
+  }
+
+  private static int executeMultiRowInsert(PreparedStatement insertStatement, List<String> rows) throws SQLException {
+    int index = 1;
+    for (String value : rows) {
+      insertStatement.setString(index++, value);
+    }
+    return insertStatement.executeUpdate();
   }
 
   @Override
   public Status delete(String tableName, String key) {
     try {
       StatementType type = new StatementType(StatementType.Type.DELETE, tableName, 1, "", getShardIndexByKey(key));
-      PreparedStatement deleteStatement = cachedStatements.get(type);
+      acquire(getShardIndexByKey(key));
+      PreparedStatement deleteStatement = getStatements(type).get(type);
       if (deleteStatement == null) {
         deleteStatement = createAndCacheDeleteStatement(type, key);
       }
@@ -511,8 +1021,105 @@ public class JdbcDBClient extends DB {
       }
       return Status.UNEXPECTED_STATE;
     } catch (SQLException e) {
+      if (isTransactionConflict(e)) {
+        return Status.CONFLICT;
+      }
       System.err.println("Error in processing delete to table: " + tableName + e);
       return Status.ERROR;
+    } finally {
+      release();
+    }
+  }
+
+  @Override
+  public Status beginTransaction() {
+    if (inTransaction) {
+      return Status.BAD_REQUEST;
+    }
+    try {
+      // a transaction keeps its pooled connections until it ends
+      for (int shard = 0; shard < numShards; shard++) {
+        acquire(shard);
+      }
+      for (Connection conn : getTransactionConnections()) {
+        conn.setAutoCommit(false);
+      }
+      inTransaction = true;
+      return Status.OK;
+    } catch (SQLException e) {
+      System.err.println("Error in beginning transaction: " + e);
+      release();
+      return Status.ERROR;
+    }
+  }
+
+  @Override
+  public Status commit() {
+    if (!inTransaction) {
+      return Status.BAD_REQUEST;
+    }
+    try {
+      for (Connection conn : getTransactionConnections()) {
+        conn.commit();
+      }
+      return Status.OK;
+    } catch (SQLException e) {
+      // Re-enabling auto-commit would commit whatever the failed commit left behind.
+      for (Connection conn : getTransactionConnections()) {
+        try {
+          conn.rollback();
+        } catch (SQLException re) {
+          System.err.println("Error in rolling back failed commit: " + re);
+        }
+      }
+      if (isTransactionConflict(e)) {
+        return Status.CONFLICT;
+      }
+      System.err.println("Error in committing transaction: " + e);
+      return Status.ERROR;
+    } finally {
+      endTransaction();
+    }
+  }
+
+  @Override
+  public Status abort() {
+    if (!inTransaction) {
+      return Status.BAD_REQUEST;
+    }
+    try {
+      for (Connection conn : getTransactionConnections()) {
+        conn.rollback();
+      }
+      return Status.OK;
+    } catch (SQLException e) {
+      System.err.println("Error in aborting transaction: " + e);
+      return Status.ERROR;
+    } finally {
+      endTransaction();
+    }
+  }
+
+  /**
+   * Whether a statement failed inside a transaction because the database rolled it back, SQLSTATE
+   * class 40: serialization failures and deadlocks.
+   */
+  private boolean isTransactionConflict(SQLException e) {
+    return inTransaction && e.getSQLState() != null && e.getSQLState().startsWith("40");
+  }
+
+  private void endTransaction() {
+    inTransaction = false;
+    try {
+      if (autoCommit) {
+        for (Connection conn : getTransactionConnections()) {
+          conn.setAutoCommit(true);
+        }
+      }
+    } catch (SQLException e) {
+      System.err.println("Error in restoring auto-commit: " + e);
+    } finally {
+      release();
     }
   }
 
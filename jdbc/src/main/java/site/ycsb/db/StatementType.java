@@ -22,7 +22,8 @@ package site.ycsb.db;
 public class StatementType {
 
   enum Type {
-    INSERT(1), DELETE(2), READ(3), UPDATE(4), SCAN(5);
+    INSERT(1), DELETE(2), READ(3), UPDATE(4), SCAN(5), QUERY(6), RANGE_QUERY(7), INCREMENT(8),
+    MULTI_ROW_INSERT(9), BATCH_READ(10), UPSERT(11);
 
     private final int internalType;
 
@@ -64,6 +65,10 @@ public class StatementType {
     return numFields;
   }
 
+  public int getShardIndex() {
+    return shardIndex;
+  }
+
   @Override
   public int hashCode() {
     final int prime = 31;
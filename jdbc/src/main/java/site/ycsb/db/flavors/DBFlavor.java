@@ -16,6 +16,11 @@
  */
 package site.ycsb.db.flavors;
 
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.List;
+
 import site.ycsb.db.StatementType;
 
 /**
@@ -26,7 +31,9 @@ public abstract class DBFlavor {
 
   enum DBName {
     DEFAULT,
-    PHOENIX
+    PHOENIX,
+    POSTGRES,
+    MYSQL
   }
 
   private final DBName dbName;
@@ -39,6 +46,12 @@ public abstract class DBFlavor {
     if (url.startsWith("jdbc:phoenix")) {
       return new PhoenixDBFlavor();
     }
+    if (url.startsWith("jdbc:postgresql")) {
+      return new PostgresDBFlavor();
+    }
+    if (url.startsWith("jdbc:mysql") || url.startsWith("jdbc:mariadb")) {
+      return new MySQLDBFlavor();
+    }
     return new DefaultDBFlavor();
   }
 
@@ -47,11 +60,53 @@ public abstract class DBFlavor {
    */
   public abstract String createInsertStatement(StatementType insertType, String key);
 
+  /**
+   * Create and return a SQL statement inserting the given number of rows at once.
+   */
+  public abstract String createMultiRowInsertStatement(StatementType insertType, int rows);
+
+  /**
+   * Whether the database inserts several rows with one INSERT statement.
+   */
+  public boolean supportsMultiRowInsert() {
+    return true;
+  }
+
+  /**
+   * Whether the database loads rows with {@link #copyRows(Connection, StatementType, List)}.
+   */
+  public boolean supportsCopy() {
+    return false;
+  }
+
+  /**
+   * Loads rows bypassing the SQL layer, as PostgreSQL's COPY does.
+   *
+   * @param insertType The table and columns to load.
+   * @param values The key and field values of every row, one row after the other.
+   * @return The number of rows loaded.
+   */
+  public long copyRows(Connection conn, StatementType insertType, List<String> values) throws SQLException {
+    throw new SQLFeatureNotSupportedException("COPY is not supported by " + dbName);
+  }
+
   /**
    * Create and return a SQL statement for reading data.
    */
   public abstract String createReadStatement(StatementType readType, String key);
 
+  /**
+   * Create and return a SQL statement reading the rows of as many keys as the statement type has
+   * fields, with an IN list.
+   */
+  public abstract String createBatchReadStatement(StatementType batchReadType);
+
+  /**
+   * Create and return a SQL statement inserting a row or updating the given fields of an existing
+   * one, taking the key followed by the field values.
+   */
+  public abstract String createUpsertStatement(StatementType upsertType);
+
   /**
    * Create and return a SQL statement for deleting data.
    */
@@ -62,9 +117,21 @@ public abstract class DBFlavor {
    */
   public abstract String createUpdateStatement(StatementType updateType, String key);
 
+  /**
+   * Create and return a SQL statement for adding a delta to a numeric text field in place.
+   */
+  public abstract String createIncrementStatement(StatementType incrementType, String key);
+
   /**
    * Create and return a SQL statement for scanning data.
    */
   public abstract String createScanStatement(StatementType scanType, String key,
                                              boolean sqlserverScans, boolean sqlansiScans);
+
+  /**
+   * Create and return a SQL statement for querying data by a non-key column, either by equality or
+   * by an inclusive range.
+   */
+  public abstract String createQueryStatement(StatementType queryType, boolean range,
+                                              boolean sqlserverScans, boolean sqlansiScans);
 }
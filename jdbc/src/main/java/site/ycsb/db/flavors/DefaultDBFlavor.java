@@ -43,6 +43,22 @@ public class DefaultDBFlavor extends DBFlavor {
     return insert.toString();
   }
 
+  @Override
+  public String createMultiRowInsertStatement(StatementType insertType, int rows) {
+    StringBuilder insert = new StringBuilder("INSERT INTO ");
+    insert.append(insertType.getTableName());
+    insert.append(" (" + JdbcDBClient.PRIMARY_KEY + "," + insertType.getFieldString() + ")");
+    insert.append(" VALUES");
+    for (int row = 0; row < rows; row++) {
+      insert.append(row == 0 ? "(?" : ",(?");
+      for (int i = 0; i < insertType.getNumFields(); i++) {
+        insert.append(",?");
+      }
+      insert.append(")");
+    }
+    return insert.toString();
+  }
+
   @Override
   public String createReadStatement(StatementType readType, String key) {
     StringBuilder read = new StringBuilder("SELECT * FROM ");
@@ -54,6 +70,46 @@ public class DefaultDBFlavor extends DBFlavor {
     return read.toString();
   }
 
+  @Override
+  public String createBatchReadStatement(StatementType batchReadType) {
+    StringBuilder read = new StringBuilder("SELECT * FROM ");
+    read.append(batchReadType.getTableName());
+    read.append(" WHERE ");
+    read.append(JdbcDBClient.PRIMARY_KEY);
+    read.append(" IN (?");
+    for (int i = 1; i < batchReadType.getNumFields(); i++) {
+      read.append(",?");
+    }
+    read.append(")");
+    return read.toString();
+  }
+
+  @Override
+  public String createUpsertStatement(StatementType upsertType) {
+    // SQL:2003 MERGE
+    String[] fieldKeys = upsertType.getFieldString().split(",");
+    String columns = JdbcDBClient.PRIMARY_KEY + "," + upsertType.getFieldString();
+    StringBuilder merge = new StringBuilder("MERGE INTO ");
+    merge.append(upsertType.getTableName());
+    merge.append(" USING (VALUES(?");
+    for (int i = 0; i < fieldKeys.length; i++) {
+      merge.append(",?");
+    }
+    merge.append(")) AS V (").append(columns).append(")");
+    merge.append(" ON ").append(upsertType.getTableName()).append(".").append(JdbcDBClient.PRIMARY_KEY);
+    merge.append(" = V.").append(JdbcDBClient.PRIMARY_KEY);
+    merge.append(" WHEN MATCHED THEN UPDATE SET ");
+    for (int i = 0; i < fieldKeys.length; i++) {
+      if (i > 0) {
+        merge.append(", ");
+      }
+      merge.append(fieldKeys[i]).append(" = V.").append(fieldKeys[i]);
+    }
+    merge.append(" WHEN NOT MATCHED THEN INSERT (").append(columns).append(") VALUES (V.");
+    merge.append(columns.replace(",", ", V.")).append(")");
+    return merge.toString();
+  }
+
   @Override
   public String createDeleteStatement(StatementType deleteType, String key) {
     StringBuilder delete = new StringBuilder("DELETE FROM ");
@@ -83,6 +139,21 @@ public class DefaultDBFlavor extends DBFlavor {
     return update.toString();
   }
 
+  @Override
+  public String createIncrementStatement(StatementType incrementType, String key) {
+    String field = incrementType.getFieldString();
+    StringBuilder update = new StringBuilder("UPDATE ");
+    update.append(incrementType.getTableName());
+    update.append(" SET ");
+    update.append(field);
+    update.append(" = CAST(CAST(");
+    update.append(field);
+    update.append(" AS BIGINT) + ? AS VARCHAR(20)) WHERE ");
+    update.append(JdbcDBClient.PRIMARY_KEY);
+    update.append(" = ?");
+    return update.toString();
+  }
+
   @Override
   public String createScanStatement(StatementType scanType, String key, boolean sqlserverScans, boolean sqlansiScans) {
     StringBuilder select;
@@ -106,4 +177,33 @@ public class DefaultDBFlavor extends DBFlavor {
     }
     return select.toString();
   }
+
+  @Override
+  public String createQueryStatement(StatementType queryType, boolean range,
+                                     boolean sqlserverScans, boolean sqlansiScans) {
+    StringBuilder select;
+    if (sqlserverScans) {
+      select = new StringBuilder("SELECT TOP (?) * FROM ");
+    } else {
+      select = new StringBuilder("SELECT * FROM ");
+    }
+    select.append(queryType.getTableName());
+    select.append(" WHERE ");
+    select.append(queryType.getFieldString());
+    if (range) {
+      select.append(" >= ? AND ");
+      select.append(queryType.getFieldString());
+      select.append(" <= ?");
+    } else {
+      select.append(" = ?");
+    }
+    if (!sqlserverScans) {
+      if (sqlansiScans) {
+        select.append(" FETCH FIRST ? ROWS ONLY");
+      } else {
+        select.append(" LIMIT ?");
+      }
+    }
+    return select.toString();
+  }
 }
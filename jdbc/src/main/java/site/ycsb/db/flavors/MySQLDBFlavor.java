@@ -0,0 +1,42 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+package site.ycsb.db.flavors;
+
+import site.ycsb.db.StatementType;
+
+/**
+ * Database flavor for MySQL and MariaDB, which upsert with INSERT ... ON DUPLICATE KEY UPDATE.
+ */
+public class MySQLDBFlavor extends DefaultDBFlavor {
+  public MySQLDBFlavor() {
+    super(DBName.MYSQL);
+  }
+
+  @Override
+  public String createUpsertStatement(StatementType upsertType) {
+    StringBuilder upsert = new StringBuilder(createInsertStatement(upsertType, null));
+    upsert.append(" ON DUPLICATE KEY UPDATE ");
+    String[] fieldKeys = upsertType.getFieldString().split(",");
+    for (int i = 0; i < fieldKeys.length; i++) {
+      if (i > 0) {
+        upsert.append(", ");
+      }
+      upsert.append(fieldKeys[i]).append(" = VALUES(").append(fieldKeys[i]).append(")");
+    }
+    return upsert.toString();
+  }
+}
@@ -41,6 +41,17 @@ public class PhoenixDBFlavor extends DefaultDBFlavor {
     return insert.toString();
   }
 
+  @Override
+  public boolean supportsMultiRowInsert() {
+    // UPSERT VALUES takes a single row
+    return false;
+  }
+
+  @Override
+  public String createUpsertStatement(StatementType upsertType) {
+    return createInsertStatement(upsertType, null);
+  }
+
   @Override
   public String createUpdateStatement(StatementType updateType, String key) {
     // Phoenix doesn't have UPDATE semantics, just re-use UPSERT VALUES on the specific columns
@@ -62,4 +73,19 @@ public class PhoenixDBFlavor extends DefaultDBFlavor {
     update.append("?)");
     return update.toString();
   }
+
+  @Override
+  public String createIncrementStatement(StatementType incrementType, String key) {
+    // Without UPDATE, upsert the sum selected from the row itself. TO_CHAR formats numbers with
+    // digit grouping unless given a format, and TO_NUMBER cannot parse "1,234" back.
+    String field = incrementType.getFieldString();
+    StringBuilder upsert = new StringBuilder("UPSERT INTO ");
+    upsert.append(incrementType.getTableName());
+    upsert.append(" (").append(JdbcDBClient.PRIMARY_KEY).append(",").append(field).append(")");
+    upsert.append(" SELECT ").append(JdbcDBClient.PRIMARY_KEY);
+    upsert.append(", TO_CHAR(TO_NUMBER(").append(field).append(") + ?, '0') FROM ");
+    upsert.append(incrementType.getTableName());
+    upsert.append(" WHERE ").append(JdbcDBClient.PRIMARY_KEY).append(" = ?");
+    return upsert.toString();
+  }
 }
@@ -0,0 +1,109 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+package site.ycsb.db.flavors;
+
+import java.io.Reader;
+import java.io.StringReader;
+import java.lang.reflect.InvocationTargetException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import site.ycsb.db.JdbcDBClient;
+import site.ycsb.db.StatementType;
+
+/**
+ * Database flavor for PostgreSQL. Upserts with INSERT ... ON CONFLICT and loads rows with COPY FROM
+ * STDIN through the CopyManager of the PostgreSQL JDBC driver, which is looked up when it is used so
+ * the binding does not depend on it.
+ */
+public class PostgresDBFlavor extends DefaultDBFlavor {
+  public PostgresDBFlavor() {
+    super(DBName.POSTGRES);
+  }
+
+  @Override
+  public String createUpsertStatement(StatementType upsertType) {
+    StringBuilder upsert = new StringBuilder(createInsertStatement(upsertType, null));
+    upsert.append(" ON CONFLICT (").append(JdbcDBClient.PRIMARY_KEY).append(") DO UPDATE SET ");
+    String[] fieldKeys = upsertType.getFieldString().split(",");
+    for (int i = 0; i < fieldKeys.length; i++) {
+      if (i > 0) {
+        upsert.append(", ");
+      }
+      upsert.append(fieldKeys[i]).append(" = EXCLUDED.").append(fieldKeys[i]);
+    }
+    return upsert.toString();
+  }
+
+  @Override
+  public boolean supportsCopy() {
+    return true;
+  }
+
+  @Override
+  public long copyRows(Connection conn, StatementType insertType, List<String> values) throws SQLException {
+    String copy = "COPY " + insertType.getTableName() + " (" + JdbcDBClient.PRIMARY_KEY + ","
+        + insertType.getFieldString() + ") FROM STDIN";
+    Reader rows = new StringReader(formatCopyRows(values, insertType.getNumFields() + 1));
+    try {
+      Class<?> pgConnection = Class.forName("org.postgresql.PGConnection");
+      Object copyManager = pgConnection.getMethod("getCopyAPI").invoke(conn.unwrap(pgConnection));
+      return (Long) Class.forName("org.postgresql.copy.CopyManager")
+          .getMethod("copyIn", String.class, Reader.class)
+          .invoke(copyManager, copy, rows);
+    } catch (InvocationTargetException e) {
+      if (e.getCause() instanceof SQLException) {
+        throw (SQLException) e.getCause();
+      }
+      throw new SQLException("COPY failed", e.getCause());
+    } catch (ReflectiveOperationException e) {
+      throw new SQLException("COPY needs the PostgreSQL JDBC driver", e);
+    }
+  }
+
+  /**
+   * Formats rows in the text format of COPY, columns separated by tabs and rows by newlines.
+   */
+  static String formatCopyRows(List<String> values, int numColumns) {
+    StringBuilder rows = new StringBuilder(values.size() * 16);
+    for (int i = 0; i < values.size(); i++) {
+      String value = values.get(i);
+      for (int c = 0; c < value.length(); c++) {
+        char ch = value.charAt(c);
+        switch (ch) {
+        case '\\':
+          rows.append("\\\\");
+          break;
+        case '\t':
+          rows.append("\\t");
+          break;
+        case '\n':
+          rows.append("\\n");
+          break;
+        case '\r':
+          rows.append("\\r");
+          break;
+        default:
+          rows.append(ch);
+        }
+      }
+      rows.append(i % numColumns == numColumns - 1 ? '\n' : '\t');
+    }
+    return rows.toString();
+  }
+}
@@ -21,16 +21,25 @@ import static org.junit.Assert.*;
 
 import site.ycsb.ByteIterator;
 import site.ycsb.DBException;
+import site.ycsb.QueryPredicate;
+import site.ycsb.Status;
 import site.ycsb.StringByteIterator;
+import site.ycsb.measurements.Measurements;
+import site.ycsb.measurements.exporter.TextMeasurementsExporter;
 import org.junit.*;
 
+import java.io.ByteArrayOutputStream;
 import java.sql.*;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.Properties;
 import java.util.Vector;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class JdbcDBClientTest {
     private static final String TEST_DB_DRIVER = "org.hsqldb.jdbc.JDBCDriver";
@@ -329,6 +338,79 @@ public class JdbcDBClientTest {
         }
     }
 
+    @Test
+    public void queryTest() {
+        for (int i = 0; i < 5; i++) {
+            insertRow(KEY_PREFIX + i);
+        }
+        Set<String> fieldSet = new HashSet<String>();
+        fieldSet.add("FIELD0");
+
+        Vector<HashMap<String, ByteIterator>> resultVector = new Vector<HashMap<String, ByteIterator>>();
+        String value = buildDeterministicValue(KEY_PREFIX + 1, "FIELD0");
+        assertEquals(Status.OK, jdbcDBClient.query(TABLE_NAME, QueryPredicate.equalTo("FIELD0", value), 10,
+            fieldSet, resultVector));
+        assertEquals(1, resultVector.size());
+        assertEquals(value, resultVector.get(0).get("FIELD0").toString());
+
+        // Values start with the key, so this range covers user1 and user2 but not user3.
+        resultVector.clear();
+        assertEquals(Status.OK, jdbcDBClient.query(TABLE_NAME,
+            QueryPredicate.between("FIELD0", KEY_PREFIX + 1, KEY_PREFIX + 3), 10, fieldSet, resultVector));
+        assertEquals(2, resultVector.size());
+
+        // The limit caps the number of returned records.
+        resultVector.clear();
+        assertEquals(Status.OK, jdbcDBClient.query(TABLE_NAME,
+            QueryPredicate.between("FIELD0", KEY_PREFIX + 0, KEY_PREFIX + 9), 3, fieldSet, resultVector));
+        assertEquals(3, resultVector.size());
+    }
+
+    @Test
+    public void incrementTest() throws SQLException {
+        HashMap<String, ByteIterator> insertMap = new HashMap<String, ByteIterator>();
+        insertMap.put("FIELD0", new StringByteIterator("5"));
+        assertEquals(Status.OK, jdbcDBClient.insert(TABLE_NAME, "user0", insertMap));
+
+        assertEquals(Status.OK, jdbcDBClient.increment(TABLE_NAME, "user0", "FIELD0", 3));
+        assertEquals(Status.OK, jdbcDBClient.increment(TABLE_NAME, "user0", "FIELD0", -10));
+        assertEquals("-2", readField0("user0"));
+        assertEquals(Status.NOT_FOUND, jdbcDBClient.increment(TABLE_NAME, "user1", "FIELD0", 1));
+    }
+
+    @Test
+    public void transactionTest() throws SQLException {
+        String key = "user0";
+        HashMap<String, ByteIterator> insertMap = insertRow(key);
+
+        HashMap<String, ByteIterator> updateMap = new HashMap<String, ByteIterator>();
+        updateMap.put("FIELD0", new StringByteIterator("aborted"));
+        assertEquals(Status.OK, jdbcDBClient.beginTransaction());
+        assertEquals(Status.OK, jdbcDBClient.update(TABLE_NAME, key, updateMap));
+        assertEquals(Status.OK, jdbcDBClient.abort());
+        assertEquals(insertMap.get("FIELD0").toString(), readField0(key));
+
+        updateMap.put("FIELD0", new StringByteIterator("committed"));
+        assertEquals(Status.OK, jdbcDBClient.beginTransaction());
+        assertEquals(Status.OK, jdbcDBClient.update(TABLE_NAME, key, updateMap));
+        assertEquals(Status.OK, jdbcDBClient.commit());
+        assertEquals("committed", readField0(key));
+
+        // Commit and abort are only valid inside a transaction.
+        assertEquals(Status.BAD_REQUEST, jdbcDBClient.commit());
+        assertEquals(Status.BAD_REQUEST, jdbcDBClient.abort());
+    }
+
+    private String readField0(String key) throws SQLException {
+        ResultSet resultSet = jdbcConnection.prepareStatement(
+            String.format("SELECT FIELD0 FROM %s WHERE %s = '%s'", TABLE_NAME, KEY_FIELD, key)
+        ).executeQuery();
+        assertTrue(resultSet.next());
+        String value = resultSet.getString(1);
+        resultSet.close();
+        return value;
+    }
+
     @Test
     public void insertBatchTest() throws DBException {
       insertBatchTest(20);
@@ -378,6 +460,154 @@ public class JdbcDBClientTest {
       }
     }
 
+    @Test
+    public void connectionPoolTest() throws Exception {
+        Properties p = new Properties();
+        p.setProperty(JdbcDBClient.CONNECTION_URL, TEST_DB_URL);
+        p.setProperty(JdbcDBClient.DRIVER_CLASS, TEST_DB_DRIVER);
+        p.setProperty(JdbcDBClient.CONNECTION_USER, TEST_DB_USER);
+        p.setProperty(JdbcDBClient.JDBC_POOL_SIZE, "2");
+        Measurements.setProperties(p);
+
+        // more client threads than pooled connections
+        final JdbcDBClient[] clients = new JdbcDBClient[4];
+        Thread[] threads = new Thread[clients.length];
+        final AtomicInteger failures = new AtomicInteger();
+        for (int c = 0; c < clients.length; c++) {
+            clients[c] = new JdbcDBClient();
+            clients[c].setProperties(p);
+            clients[c].init();
+            final JdbcDBClient client = clients[c];
+            final int first = c * 100;
+            threads[c] = new Thread(() -> {
+                for (int i = first; i < first + 25; i++) {
+                    HashMap<String, ByteIterator> values = new HashMap<String, ByteIterator>();
+                    values.put("FIELD0", new StringByteIterator("value" + i));
+                    if (client.insert(TABLE_NAME, KEY_PREFIX + i, values) != Status.OK
+                        || client.read(TABLE_NAME, KEY_PREFIX + i, null, null) != Status.OK) {
+                        failures.incrementAndGet();
+                    }
+                }
+            });
+            threads[c].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, failures.get());
+        assertNumRows(100);
+
+        // a transaction keeps its pooled connection
+        HashMap<String, ByteIterator> updateMap = new HashMap<String, ByteIterator>();
+        updateMap.put("FIELD0", new StringByteIterator("aborted"));
+        assertEquals(Status.OK, clients[0].beginTransaction());
+        assertEquals(Status.OK, clients[0].update(TABLE_NAME, KEY_PREFIX + 0, updateMap));
+        assertEquals(Status.OK, clients[0].abort());
+        assertEquals("value0", readField0(KEY_PREFIX + 0));
+
+        for (JdbcDBClient client : clients) {
+            client.cleanup();
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TextMeasurementsExporter exporter = new TextMeasurementsExporter(out);
+        Measurements.getMeasurements().exportMeasurements(exporter);
+        exporter.close();
+        assertTrue(out.toString("UTF-8").contains("[CONNECTION-ACQUIRE], Operations, 201"));
+    }
+
+    @Test
+    public void multiRowInsertTest() throws Exception {
+        Properties p = new Properties();
+        p.setProperty(JdbcDBClient.CONNECTION_URL, TEST_DB_URL);
+        p.setProperty(JdbcDBClient.DRIVER_CLASS, TEST_DB_DRIVER);
+        p.setProperty(JdbcDBClient.CONNECTION_USER, TEST_DB_USER);
+        p.setProperty(JdbcDBClient.JDBC_LOAD_MODE, "multirow");
+        p.setProperty(JdbcDBClient.JDBC_LOAD_ROWS, "10");
+        JdbcDBClient client = new JdbcDBClient();
+        client.setProperties(p);
+        client.init();
+
+        for (int i = 0; i < 25; i++) {
+            HashMap<String, ByteIterator> values = new HashMap<String, ByteIterator>();
+            values.put("FIELD0", new StringByteIterator("value" + i));
+            values.put("FIELD1", new StringByteIterator("tab\tand\nnewline"));
+            // every tenth insert writes the rows collected
+            assertEquals(i % 10 == 9 ? Status.OK : Status.BATCHED_OK, client.insert(TABLE_NAME, KEY_PREFIX + i, values));
+        }
+        assertNumRows(20);
+
+        // cleanup writes the remaining rows
+        client.cleanup();
+        assertNumRows(25);
+        assertEquals("value24", readField0(KEY_PREFIX + 24));
+    }
+
+    @Test(expected = DBException.class)
+    public void copyLoadModeNeedsPostgresTest() throws DBException {
+        Properties p = new Properties();
+        p.setProperty(JdbcDBClient.CONNECTION_URL, TEST_DB_URL);
+        p.setProperty(JdbcDBClient.DRIVER_CLASS, TEST_DB_DRIVER);
+        p.setProperty(JdbcDBClient.JDBC_LOAD_MODE, "copy");
+        JdbcDBClient client = new JdbcDBClient();
+        client.setProperties(p);
+        client.init();
+    }
+
+    @Test
+    public void batchReadTest() {
+        HashMap<String, ByteIterator> insertMap = insertRow(KEY_PREFIX + 0);
+        insertRow(KEY_PREFIX + 1);
+        insertRow(KEY_PREFIX + 2);
+
+        Map<String, Map<String, ByteIterator>> result = new HashMap<String, Map<String, ByteIterator>>();
+        List<String> keys = Arrays.asList(KEY_PREFIX + 0, KEY_PREFIX + 2, KEY_PREFIX + 9);
+        assertEquals(Status.OK, jdbcDBClient.batchRead(TABLE_NAME, keys, null, result));
+        assertEquals(2, result.size());
+        assertEquals(NUM_FIELDS, result.get(KEY_PREFIX + 0).size());
+        assertEquals(insertMap.get("FIELD1").toString(), result.get(KEY_PREFIX + 0).get("FIELD1").toString());
+        assertTrue(result.containsKey(KEY_PREFIX + 2));
+
+        // the statement of this batch size is cached and reused
+        result.clear();
+        Set<String> fields = Collections.singleton("FIELD0");
+        keys = Arrays.asList(KEY_PREFIX + 1, KEY_PREFIX + 7, KEY_PREFIX + 8);
+        assertEquals(Status.OK, jdbcDBClient.batchRead(TABLE_NAME, keys, fields, result));
+        assertEquals(1, result.size());
+        assertEquals(1, result.get(KEY_PREFIX + 1).size());
+    }
+
+    @Test
+    public void upsertTest() throws Exception {
+        Properties p = new Properties();
+        p.setProperty(JdbcDBClient.CONNECTION_URL, TEST_DB_URL);
+        p.setProperty(JdbcDBClient.DRIVER_CLASS, TEST_DB_DRIVER);
+        p.setProperty(JdbcDBClient.CONNECTION_USER, TEST_DB_USER);
+        p.setProperty(JdbcDBClient.JDBC_UPSERT, "true");
+        JdbcDBClient client = new JdbcDBClient();
+        client.setProperties(p);
+        client.init();
+
+        HashMap<String, ByteIterator> values = new HashMap<String, ByteIterator>();
+        values.put("FIELD0", new StringByteIterator("first"));
+        values.put("FIELD1", new StringByteIterator("kept"));
+        assertEquals(Status.OK, client.insert(TABLE_NAME, KEY_PREFIX + 0, values));
+        // inserting an existing key overwrites it
+        values.put("FIELD0", new StringByteIterator("second"));
+        assertEquals(Status.OK, client.insert(TABLE_NAME, KEY_PREFIX + 0, values));
+        assertNumRows(1);
+        assertEquals("second", readField0(KEY_PREFIX + 0));
+
+        // updating a missing key creates it
+        HashMap<String, ByteIterator> updateMap = new HashMap<String, ByteIterator>();
+        updateMap.put("FIELD0", new StringByteIterator("created"));
+        assertEquals(Status.OK, client.update(TABLE_NAME, KEY_PREFIX + 1, updateMap));
+        assertNumRows(2);
+        assertEquals("created", readField0(KEY_PREFIX + 1));
+
+        client.cleanup();
+    }
+
     private void assertNumRows(long numRows) throws SQLException {
       ResultSet resultSet = jdbcConnection.prepareStatement(
         String.format("SELECT * FROM %s", TABLE_NAME)
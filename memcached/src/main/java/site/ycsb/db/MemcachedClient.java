@@ -22,6 +22,7 @@ import site.ycsb.DB;
 import site.ycsb.DBException;
 import site.ycsb.Status;
 import site.ycsb.StringByteIterator;
+import site.ycsb.measurements.Measurements;
 
 import java.io.IOException;
 import java.io.StringWriter;
@@ -35,6 +36,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.Vector;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
 
 import net.spy.memcached.ConnectionFactoryBuilder;
 import net.spy.memcached.FailureMode;
@@ -43,6 +46,7 @@ import net.spy.memcached.FailureMode;
 // class of the same name in this file.
 import net.spy.memcached.internal.GetFuture;
 import net.spy.memcached.internal.OperationFuture;
+import net.spy.memcached.ops.OperationStatus;
 
 import org.codehaus.jackson.JsonFactory;
 import org.codehaus.jackson.JsonGenerator;
@@ -66,6 +70,10 @@ public class MemcachedClient extends DB {
   private boolean checkOperationStatus;
   private long shutdownTimeoutMillis;
   private int objectExpirationTime;
+  private int maxOutstanding;
+  /** The writes of this client thread that may still be outstanding, or null for synchronous writes. */
+  private Semaphore outstanding;
+  private Measurements measurements;
 
   public static final String HOSTS_PROPERTY = "memcached.hosts";
 
@@ -98,6 +106,13 @@ public class MemcachedClient extends DB {
   public static final FailureMode FAILURE_MODE_PROPERTY_DEFAULT =
       FailureMode.Redistribute;
 
+  /**
+   * The number of writes each client thread leaves outstanding before waiting for one to complete,
+   * 0 to wait for every write.
+   */
+  public static final String MAX_OUTSTANDING_PROPERTY = "memcached.maxOutstanding";
+  public static final String DEFAULT_MAX_OUTSTANDING = "0";
+
   public static final String PROTOCOL_PROPERTY = "memcached.protocol";
   public static final ConnectionFactoryBuilder.Protocol DEFAULT_PROTOCOL =
       ConnectionFactoryBuilder.Protocol.TEXT;
@@ -129,6 +144,13 @@ public class MemcachedClient extends DB {
       shutdownTimeoutMillis = Integer.parseInt(
           getProperties().getProperty(SHUTDOWN_TIMEOUT_MILLIS_PROPERTY,
                                       DEFAULT_SHUTDOWN_TIMEOUT_MILLIS));
+      maxOutstanding = Integer.parseInt(
+          getProperties().getProperty(MAX_OUTSTANDING_PROPERTY,
+                                      DEFAULT_MAX_OUTSTANDING));
+      if (maxOutstanding > 0) {
+        outstanding = new Semaphore(maxOutstanding);
+        measurements = Measurements.getMeasurements();
+      }
     } catch (Exception e) {
       throw new DBException(e);
     }
@@ -185,9 +207,10 @@ public class MemcachedClient extends DB {
     try {
       GetFuture<Object> future = memcachedClient().asyncGet(key);
       Object document = future.get();
-      if (document != null) {
-        fromJson((String) document, fields, result);
+      if (document == null) {
+        return Status.NOT_FOUND;
       }
+      fromJson((String) document, fields, result);
       return Status.OK;
     } catch (Exception e) {
       logger.error("Error encountered for key: " + key, e);
@@ -195,6 +218,32 @@ public class MemcachedClient extends DB {
     }
   }
 
+  /**
+   * Reads all records with one asyncGetBulk, which sends the keys of every server in one request.
+   */
+  @Override
+  public Status batchRead(
+      String table, List<String> keys, Set<String> fields,
+      Map<String, Map<String, ByteIterator>> result) {
+    Map<String, String> qualifiedKeys = new HashMap<String, String>();
+    for (String key : keys) {
+      qualifiedKeys.put(createQualifiedKey(table, key), key);
+    }
+    try {
+      Map<String, Object> documents =
+          memcachedClient().asyncGetBulk(qualifiedKeys.keySet()).get();
+      for (Map.Entry<String, Object> document : documents.entrySet()) {
+        Map<String, ByteIterator> values = new HashMap<String, ByteIterator>();
+        fromJson((String) document.getValue(), fields, values);
+        result.put(qualifiedKeys.get(document.getKey()), values);
+      }
+      return Status.OK;
+    } catch (Exception e) {
+      logger.error("Error encountered for keys: " + keys, e);
+      return Status.ERROR;
+    }
+  }
+
   @Override
   public Status scan(
       String table, String startkey, int recordcount, Set<String> fields,
@@ -205,11 +254,18 @@ public class MemcachedClient extends DB {
   @Override
   public Status update(
       String table, String key, Map<String, ByteIterator> values) {
-    key = createQualifiedKey(table, key);
+    return update(table, key, values, objectExpirationTime);
+  }
+
+  @Override
+  public Status update(
+      String table, String key, Map<String, ByteIterator> values,
+      int ttlSeconds) {
+    String qualifiedKey = createQualifiedKey(table, key);
     try {
-      OperationFuture<Boolean> future =
-          memcachedClient().replace(key, objectExpirationTime, toJson(values));
-      return getReturnCode(future);
+      String json = toJson(values);
+      return write("UPDATE",
+          () -> memcachedClient().replace(qualifiedKey, ttlSeconds, json));
     } catch (Exception e) {
       logger.error("Error updating value with key: " + key, e);
       return Status.ERROR;
@@ -219,11 +275,18 @@ public class MemcachedClient extends DB {
   @Override
   public Status insert(
       String table, String key, Map<String, ByteIterator> values) {
-    key = createQualifiedKey(table, key);
+    return insert(table, key, values, objectExpirationTime);
+  }
+
+  @Override
+  public Status insert(
+      String table, String key, Map<String, ByteIterator> values,
+      int ttlSeconds) {
+    String qualifiedKey = createQualifiedKey(table, key);
     try {
-      OperationFuture<Boolean> future =
-          memcachedClient().add(key, objectExpirationTime, toJson(values));
-      return getReturnCode(future);
+      String json = toJson(values);
+      return write("INSERT",
+          () -> memcachedClient().add(qualifiedKey, ttlSeconds, json));
     } catch (Exception e) {
       logger.error("Error inserting value", e);
       return Status.ERROR;
@@ -232,32 +295,74 @@ public class MemcachedClient extends DB {
 
   @Override
   public Status delete(String table, String key) {
-    key = createQualifiedKey(table, key);
+    String qualifiedKey = createQualifiedKey(table, key);
     try {
-      OperationFuture<Boolean> future = memcachedClient().delete(key);
-      return getReturnCode(future);
+      return write("DELETE", () -> memcachedClient().delete(qualifiedKey));
     } catch (Exception e) {
       logger.error("Error deleting value", e);
       return Status.ERROR;
     }
   }
 
+  /**
+   * Issues a write. Without outstanding writes this waits for its result. Otherwise it returns
+   * BATCHED_OK once fewer than memcached.maxOutstanding writes of this thread are outstanding, and
+   * the latency and result of the write are measured as ASYNC-{operation} when it completes.
+   */
+  private Status write(String operation, Supplier<OperationFuture<Boolean>> write)
+      throws InterruptedException {
+    if (outstanding == null) {
+      return getReturnCode(write.get());
+    }
+    outstanding.acquire();
+    long start = System.nanoTime();
+    OperationFuture<Boolean> future;
+    try {
+      future = write.get();
+    } catch (RuntimeException e) {
+      outstanding.release();
+      throw e;
+    }
+    future.addListener(completed -> {
+        measurements.measure("ASYNC-" + operation,
+            (int) ((System.nanoTime() - start) / 1000));
+        measurements.reportStatus("ASYNC-" + operation,
+            toStatus(completed.getStatus()));
+        outstanding.release();
+      });
+    return Status.BATCHED_OK;
+  }
+
   protected Status getReturnCode(OperationFuture<Boolean> future) {
     if (!checkOperationStatus) {
       return Status.OK;
     }
-    if (future.getStatus().isSuccess()) {
+    return toStatus(future.getStatus());
+  }
+
+  private static Status toStatus(OperationStatus status) {
+    if (status.isSuccess()) {
       return Status.OK;
-    } else if (TEMPORARY_FAILURE_MSG.equals(future.getStatus().getMessage())) {
+    } else if (TEMPORARY_FAILURE_MSG.equals(status.getMessage())) {
       return new Status("TEMPORARY_FAILURE", TEMPORARY_FAILURE_MSG);
-    } else if (CANCELLED_MSG.equals(future.getStatus().getMessage())) {
+    } else if (CANCELLED_MSG.equals(status.getMessage())) {
       return new Status("CANCELLED_MSG", CANCELLED_MSG);
     }
-    return new Status("ERROR", future.getStatus().getMessage());
+    return new Status("ERROR", status.getMessage());
   }
 
   @Override
   public void cleanup() throws DBException {
+    if (outstanding != null) {
+      // wait for the outstanding writes to complete
+      try {
+        if (!outstanding.tryAcquire(maxOutstanding, shutdownTimeoutMillis, MILLISECONDS)) {
+          logger.warn("Writes still outstanding after " + shutdownTimeoutMillis + " ms");
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
     if (client != null) {
       memcachedClient().shutdown(shutdownTimeoutMillis, MILLISECONDS);
     }
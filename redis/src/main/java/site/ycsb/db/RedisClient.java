@@ -19,7 +19,8 @@
  * Redis client binding for YCSB.
  *
  * All YCSB records are mapped to a Redis *hash field*.  For scanning
- * operations, all keys are saved (by an arbitrary hash) in a sorted set.
+ * operations, all keys are saved (by an arbitrary hash) in a sorted set,
+ * or in one of several, or scans use the SCAN command instead.
  */
 
 package site.ycsb.db;
@@ -29,15 +30,25 @@ import site.ycsb.DB;
 import site.ycsb.DBException;
 import site.ycsb.Status;
 import site.ycsb.StringByteIterator;
+import site.ycsb.measurements.Measurements;
 import redis.clients.jedis.BasicCommands;
 import redis.clients.jedis.HostAndPort;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisCluster;
 import redis.clients.jedis.JedisCommands;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.Pipeline;
 import redis.clients.jedis.Protocol;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.ScanParams;
+import redis.clients.jedis.ScanResult;
+import redis.clients.jedis.Tuple;
+import redis.clients.jedis.exceptions.JedisDataException;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.HashSet;
@@ -46,6 +57,7 @@ import java.util.List;
 import java.util.Properties;
 import java.util.Set;
 import java.util.Vector;
+import java.util.function.Supplier;
 
 /**
  * YCSB binding for <a href="http://redis.io/">Redis</a>.
@@ -62,8 +74,62 @@ public class RedisClient extends DB {
   public static final String CLUSTER_PROPERTY = "redis.cluster";
   public static final String TIMEOUT_PROPERTY = "redis.timeout";
 
+  /**
+   * The number of operations queued on the pipeline of a client thread before it is synced, 0 to
+   * send every operation on its own.
+   */
+  public static final String PIPELINE_PROPERTY = "redis.pipeline";
+
+  /**
+   * Also syncs the pipeline once its oldest operation is queued for this many microseconds, 0 to
+   * only sync full pipelines.
+   */
+  public static final String PIPELINE_INTERVAL_PROPERTY = "redis.pipelineintervalus";
+
+  /**
+   * How scans find their keys: global (default) with one sorted set of all keys, sharded with
+   * redis.indexshards sorted sets, scan with the SCAN command and no index, or none without scans.
+   */
+  public static final String SCAN_INDEX_PROPERTY = "redis.scanindex";
+
+  /** The number of sorted sets of the sharded index, 16 by default. */
+  public static final String INDEX_SHARDS_PROPERTY = "redis.indexshards";
+
   public static final String INDEX_KEY = "_indices";
 
+  /**
+   * The ways scans find their keys, see {@link #SCAN_INDEX_PROPERTY}.
+   */
+  private enum ScanIndex {
+    GLOBAL, SHARDED, SCAN, NONE
+  }
+
+  private ScanIndex scanIndex;
+  /** The sorted sets of the index, empty without one. */
+  private String[] indexKeys;
+
+  /** The pipeline of this client thread, or null without pipelining. */
+  private Pipeline pipeline;
+  private int pipelineSize;
+  private long pipelineIntervalNanos;
+  private final List<PendingOperation> pending = new ArrayList<>();
+  private Measurements measurements;
+
+  /**
+   * An operation queued on the pipeline, whose result is known once the pipeline is synced.
+   */
+  private static final class PendingOperation {
+    private final String name;
+    private final long startNanos;
+    private final Supplier<Status> result;
+
+    private PendingOperation(String name, long startNanos, Supplier<Status> result) {
+      this.name = name;
+      this.startNanos = startNanos;
+      this.result = result;
+    }
+  }
+
   public void init() throws DBException {
     Properties props = getProperties();
     int port;
@@ -95,10 +161,41 @@ public class RedisClient extends DB {
     if (password != null) {
       ((BasicCommands) jedis).auth(password);
     }
+
+    try {
+      scanIndex = ScanIndex.valueOf(props.getProperty(SCAN_INDEX_PROPERTY, "global").toUpperCase());
+    } catch (IllegalArgumentException e) {
+      throw new DBException("Invalid " + SCAN_INDEX_PROPERTY + ": " + props.getProperty(SCAN_INDEX_PROPERTY));
+    }
+    if (scanIndex == ScanIndex.GLOBAL) {
+      indexKeys = new String[] {INDEX_KEY};
+    } else if (scanIndex == ScanIndex.SHARDED) {
+      // a hash tag per set puts the sets into different cluster slots
+      indexKeys = new String[Integer.parseInt(props.getProperty(INDEX_SHARDS_PROPERTY, "16"))];
+      for (int shard = 0; shard < indexKeys.length; shard++) {
+        indexKeys[shard] = INDEX_KEY + "{" + shard + "}";
+      }
+    } else {
+      indexKeys = new String[0];
+    }
+
+    pipelineSize = Integer.parseInt(props.getProperty(PIPELINE_PROPERTY, "0"));
+    pipelineIntervalNanos = Long.parseLong(props.getProperty(PIPELINE_INTERVAL_PROPERTY, "0")) * 1000;
+    if (pipelineSize > 0) {
+      // the commands of a pipeline go to one node, and the keys of a cluster are spread over many
+      if (clusterEnabled) {
+        throw new DBException(PIPELINE_PROPERTY + " is not supported with " + CLUSTER_PROPERTY);
+      }
+      pipeline = ((Jedis) jedis).pipelined();
+      measurements = Measurements.getMeasurements();
+    }
   }
 
   public void cleanup() throws DBException {
     try {
+      if (!pending.isEmpty()) {
+        sync();
+      }
       ((Closeable) jedis).close();
     } catch (IOException e) {
       throw new DBException("Closing connection failed.");
@@ -115,59 +212,237 @@ public class RedisClient extends DB {
     return key.hashCode();
   }
 
+  /**
+   * Returns the sorted set of the index holding the given key, or null without an index.
+   */
+  private String indexKey(String key) {
+    if (indexKeys.length == 0) {
+      return null;
+    }
+    return indexKeys[(key.hashCode() & Integer.MAX_VALUE) % indexKeys.length];
+  }
+
+  /**
+   * Returns the pipeline to queue the commands of one operation on: the pipeline of the thread, or
+   * one synced when the operation completes, or null if the commands cannot be pipelined.
+   */
+  private Pipeline pipelineOf() {
+    if (pipeline != null) {
+      return pipeline;
+    }
+    // the keys of an operation, such as a record and the index, may belong to different cluster nodes
+    return jedis instanceof Jedis ? ((Jedis) jedis).pipelined() : null;
+  }
+
+  /**
+   * Completes an operation queued on the given pipeline. The pipeline of the thread is synced once
+   * it is full or its oldest operation is too old, and its operations return BATCHED_OK; their
+   * latency until the sync and their result are measured as PIPELINED-{operation}. Other pipelines
+   * are synced right away.
+   */
+  private Status complete(Pipeline p, String operation, Supplier<Status> result) {
+    if (p != pipeline) {
+      p.sync();
+      return result.get();
+    }
+    long now = System.nanoTime();
+    pending.add(new PendingOperation("PIPELINED-" + operation, now, result));
+    if (pending.size() >= pipelineSize
+        || (pipelineIntervalNanos > 0 && now - pending.get(0).startNanos >= pipelineIntervalNanos)) {
+      sync();
+    }
+    return Status.BATCHED_OK;
+  }
+
+  /**
+   * Sends the queued commands of the pipeline of the thread and measures their operations.
+   */
+  private void sync() {
+    pipeline.sync();
+    long end = System.nanoTime();
+    for (PendingOperation operation : pending) {
+      Status status;
+      try {
+        status = operation.result.get();
+      } catch (JedisDataException e) {
+        status = Status.ERROR;
+      }
+      measurements.measure(operation.name, (int) ((end - operation.startNanos) / 1000));
+      measurements.reportStatus(operation.name, status);
+    }
+    pending.clear();
+  }
+
   // XXX jedis.select(int index) to switch to `table`
 
   @Override
   public Status read(String table, String key, Set<String> fields,
       Map<String, ByteIterator> result) {
     if (fields == null) {
-      StringByteIterator.putAllAsByteIterators(result, jedis.hgetAll(key));
+      Map<String, String> values;
+      if (pipeline != null) {
+        // a read needs its result now, so it syncs the operations queued before it
+        Response<Map<String, String>> response = pipeline.hgetAll(key);
+        sync();
+        values = response.get();
+      } else {
+        values = jedis.hgetAll(key);
+      }
+      StringByteIterator.putAllAsByteIterators(result, values);
     } else {
       String[] fieldArray =
           (String[]) fields.toArray(new String[fields.size()]);
-      List<String> values = jedis.hmget(key, fieldArray);
+      List<String> values;
+      if (pipeline != null) {
+        Response<List<String>> response = pipeline.hmget(key, fieldArray);
+        sync();
+        values = response.get();
+      } else {
+        values = jedis.hmget(key, fieldArray);
+      }
 
       Iterator<String> fieldIterator = fields.iterator();
       Iterator<String> valueIterator = values.iterator();
 
       while (fieldIterator.hasNext() && valueIterator.hasNext()) {
-        result.put(fieldIterator.next(),
-            new StringByteIterator(valueIterator.next()));
+        String field = fieldIterator.next();
+        String value = valueIterator.next();
+        if (value != null) {
+          result.put(field, new StringByteIterator(value));
+        }
       }
       assert !fieldIterator.hasNext() && !valueIterator.hasNext();
     }
-    return result.isEmpty() ? Status.ERROR : Status.OK;
+    return result.isEmpty() ? Status.NOT_FOUND : Status.OK;
   }
 
   @Override
   public Status insert(String table, String key,
       Map<String, ByteIterator> values) {
-    if (jedis.hmset(key, StringByteIterator.getStringMap(values))
-        .equals("OK")) {
-      jedis.zadd(INDEX_KEY, hash(key), key);
-      return Status.OK;
+    return insert(key, values, 0);
+  }
+
+  @Override
+  public Status insert(String table, String key,
+      Map<String, ByteIterator> values, int ttlSeconds) {
+    return insert(key, values, ttlSeconds);
+  }
+
+  /**
+   * Writes the hash of a record and adds it to the index, with one round trip unless the client
+   * talks to a cluster.
+   */
+  private Status insert(String key, Map<String, ByteIterator> values,
+      int ttlSeconds) {
+    Map<String, String> hash = StringByteIterator.getStringMap(values);
+    String indexKey = indexKey(key);
+    Pipeline p = pipelineOf();
+    if (p == null) {
+      if (!jedis.hmset(key, hash).equals("OK")) {
+        return Status.ERROR;
+      }
+      if (indexKey != null) {
+        jedis.zadd(indexKey, hash(key), key);
+      }
+      return ttlSeconds > 0 && jedis.expire(key, ttlSeconds) == 0
+          ? Status.ERROR : Status.OK;
     }
-    return Status.ERROR;
+    Response<String> written = p.hmset(key, hash);
+    Response<Long> indexed = indexKey != null ? p.zadd(indexKey, hash(key), key) : null;
+    Response<Long> expired = ttlSeconds > 0 ? p.expire(key, ttlSeconds) : null;
+    return complete(p, "INSERT", () -> {
+        if (indexed != null) {
+          indexed.get();
+        }
+        return written.get().equals("OK") && (expired == null || expired.get() != 0)
+            ? Status.OK : Status.ERROR;
+      });
   }
 
   @Override
   public Status delete(String table, String key) {
-    return jedis.del(key) == 0 && jedis.zrem(INDEX_KEY, key) == 0 ? Status.ERROR
+    String indexKey = indexKey(key);
+    if (pipeline != null) {
+      Response<Long> deleted = pipeline.del(key);
+      Response<Long> unindexed = indexKey != null ? pipeline.zrem(indexKey, key) : null;
+      return complete(pipeline, "DELETE", () ->
+          deleted.get() == 0 && (unindexed == null || unindexed.get() == 0) ? Status.ERROR : Status.OK);
+    }
+    if (indexKey == null) {
+      return jedis.del(key) == 0 ? Status.ERROR : Status.OK;
+    }
+    return jedis.del(key) == 0 && jedis.zrem(indexKey, key) == 0 ? Status.ERROR
         : Status.OK;
   }
 
   @Override
   public Status update(String table, String key,
       Map<String, ByteIterator> values) {
+    if (pipeline != null) {
+      Response<String> written = pipeline.hmset(key, StringByteIterator.getStringMap(values));
+      return complete(pipeline, "UPDATE", () ->
+          written.get().equals("OK") ? Status.OK : Status.ERROR);
+    }
     return jedis.hmset(key, StringByteIterator.getStringMap(values))
         .equals("OK") ? Status.OK : Status.ERROR;
   }
 
+  @Override
+  public UpdateMode getUpdateMode() {
+    // HMSET only touches the given fields of the hash
+    return UpdateMode.PARTIAL;
+  }
+
+  @Override
+  public Status update(String table, String key,
+      Map<String, ByteIterator> values, int ttlSeconds) {
+    if (pipeline != null) {
+      Response<String> written = pipeline.hmset(key, StringByteIterator.getStringMap(values));
+      Response<Long> expired = pipeline.expire(key, ttlSeconds);
+      return complete(pipeline, "UPDATE", () ->
+          written.get().equals("OK") && expired.get() != 0 ? Status.OK : Status.ERROR);
+    }
+    Status status = update(table, key, values);
+    if (status.isOk() && jedis.expire(key, ttlSeconds) == 0) {
+      return Status.ERROR;
+    }
+    return status;
+  }
+
+  @Override
+  public Status increment(String table, String key, String field, long delta) {
+    // One round trip, HINCRBY creates the field of a missing record as 0 first
+    if (pipeline != null) {
+      Response<Long> incremented = pipeline.hincrBy(key, field, delta);
+      return complete(pipeline, "INCREMENT", () -> {
+          try {
+            incremented.get();
+            return Status.OK;
+          } catch (JedisDataException e) {
+            // The field holds a value that is not an integer, or the sum overflows
+            return Status.ERROR;
+          }
+        });
+    }
+    try {
+      jedis.hincrBy(key, field, delta);
+      return Status.OK;
+    } catch (JedisDataException e) {
+      return Status.ERROR;
+    }
+  }
+
   @Override
   public Status scan(String table, String startkey, int recordcount,
       Set<String> fields, Vector<HashMap<String, ByteIterator>> result) {
-    Set<String> keys = jedis.zrangeByScore(INDEX_KEY, hash(startkey),
-        Double.POSITIVE_INFINITY, 0, recordcount);
+    List<String> keys;
+    if (scanIndex == ScanIndex.NONE) {
+      return Status.NOT_IMPLEMENTED;
+    } else if (scanIndex == ScanIndex.SCAN) {
+      keys = scanKeys(startkey, recordcount);
+    } else {
+      keys = indexedKeys(startkey, recordcount);
+    }
 
     HashMap<String, ByteIterator> values;
     for (String key : keys) {
@@ -179,4 +454,78 @@ public class RedisClient extends DB {
     return Status.OK;
   }
 
+  /**
+   * Returns the keys of the index following the start key. With a sharded index the sets are
+   * read in one round trip unless the client talks to a cluster, and their keys merged.
+   */
+  private List<String> indexedKeys(String startkey, int recordcount) {
+    double start = hash(startkey);
+    List<Tuple> entries = new ArrayList<>();
+    Pipeline p = pipelineOf();
+    if (p == null) {
+      for (String indexKey : indexKeys) {
+        entries.addAll(jedis.zrangeByScoreWithScores(indexKey, start,
+            Double.POSITIVE_INFINITY, 0, recordcount));
+      }
+    } else {
+      List<Response<Set<Tuple>>> responses = new ArrayList<>(indexKeys.length);
+      for (String indexKey : indexKeys) {
+        responses.add(p.zrangeByScoreWithScores(indexKey, start,
+            Double.POSITIVE_INFINITY, 0, recordcount));
+      }
+      if (p == pipeline) {
+        sync();
+      } else {
+        p.sync();
+      }
+      for (Response<Set<Tuple>> response : responses) {
+        entries.addAll(response.get());
+      }
+    }
+    if (indexKeys.length > 1) {
+      entries.sort(Comparator.comparingDouble(Tuple::getScore));
+    }
+    List<String> keys = new ArrayList<>(Math.min(entries.size(), recordcount));
+    for (int i = 0; i < entries.size() && i < recordcount; i++) {
+      keys.add(entries.get(i).getElement());
+    }
+    return keys;
+  }
+
+  /**
+   * Returns keys found by SCAN from cursor 0, so every scan starts at the beginning of the keyspace
+   * and the start key does not pick its position. In a cluster the start key picks the node.
+   */
+  private List<String> scanKeys(String startkey, int recordcount) {
+    if (!pending.isEmpty()) {
+      sync();
+    }
+    if (jedis instanceof Jedis) {
+      return scanKeys((Jedis) jedis, recordcount);
+    }
+    List<JedisPool> nodes = new ArrayList<>(((JedisCluster) jedis).getClusterNodes().values());
+    try (Jedis node = nodes.get((startkey.hashCode() & Integer.MAX_VALUE) % nodes.size()).getResource()) {
+      return scanKeys(node, recordcount);
+    }
+  }
+
+  /**
+   * Reads keys with SCAN from the start of the keyspace, the only cursor Redis defines besides those
+   * it returns.
+   */
+  private static List<String> scanKeys(Jedis node, int recordcount) {
+    ScanParams params = new ScanParams().count(recordcount);
+    List<String> keys = new ArrayList<>(recordcount);
+    String cursor = ScanParams.SCAN_POINTER_START;
+    do {
+      ScanResult<String> page = node.scan(cursor, params);
+      for (String key : page.getResult()) {
+        if (keys.size() < recordcount && !key.startsWith(INDEX_KEY)) {
+          keys.add(key);
+        }
+      }
+      cursor = page.getStringCursor();
+    } while (keys.size() < recordcount && !cursor.equals(ScanParams.SCAN_POINTER_START));
+    return keys;
+  }
 }
@@ -19,6 +19,7 @@ package site.ycsb.db.rocksdb;
 
 import site.ycsb.*;
 import site.ycsb.Status;
+import site.ycsb.measurements.Measurements;
 import net.jcip.annotations.GuardedBy;
 import org.rocksdb.*;
 import org.slf4j.Logger;
@@ -30,8 +31,11 @@ import java.nio.file.*;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 
@@ -44,6 +48,32 @@ public class RocksDBClient extends DB {
 
   static final String PROPERTY_ROCKSDB_DIR = "rocksdb.dir";
   static final String PROPERTY_ROCKSDB_OPTIONS_FILE = "rocksdb.optionsfile";
+  static final String PROPERTY_ROCKSDB_LAYOUT = "rocksdb.layout";
+  static final String PROPERTY_ROCKSDB_LAYOUT_DEFAULT = "record";
+  static final String PROPERTY_ROCKSDB_WRITE_BATCH_SIZE = "rocksdb.writebatchsize";
+  static final String PROPERTY_ROCKSDB_WRITE_BATCH_SIZE_DEFAULT = "0";
+  static final String PROPERTY_ROCKSDB_WRITE_BATCH_INTERVAL = "rocksdb.writebatchintervalms";
+  static final String PROPERTY_ROCKSDB_WRITE_BATCH_INTERVAL_DEFAULT = "0";
+  static final String PROPERTY_ROCKSDB_DISABLE_WAL = "rocksdb.disablewal";
+  static final String PROPERTY_ROCKSDB_DISABLE_WAL_DEFAULT = "false";
+  static final String PROPERTY_ROCKSDB_SYNC = "rocksdb.sync";
+  static final String PROPERTY_ROCKSDB_SYNC_DEFAULT = "false";
+  static final String PROPERTY_ROCKSDB_READAHEAD_SIZE = "rocksdb.readaheadsize";
+  static final String PROPERTY_ROCKSDB_READAHEAD_SIZE_DEFAULT = "0";
+  static final String PROPERTY_ROCKSDB_FILL_CACHE = "rocksdb.fillcache";
+  static final String PROPERTY_ROCKSDB_FILL_CACHE_DEFAULT = "true";
+  static final String PROPERTY_ROCKSDB_VERIFY_CHECKSUMS = "rocksdb.verifychecksums";
+  static final String PROPERTY_ROCKSDB_VERIFY_CHECKSUMS_DEFAULT = "true";
+  static final String PROPERTY_ROCKSDB_TAILING = "rocksdb.tailing";
+  static final String PROPERTY_ROCKSDB_TAILING_DEFAULT = "false";
+  static final String PROPERTY_ROCKSDB_BULK_LOAD = "rocksdb.bulkload";
+  static final String PROPERTY_ROCKSDB_BULK_LOAD_DEFAULT = "false";
+  static final String PROPERTY_ROCKSDB_BULK_LOAD_KEYS_PER_FILE = "rocksdb.bulkloadkeysperfile";
+  static final String PROPERTY_ROCKSDB_BULK_LOAD_KEYS_PER_FILE_DEFAULT = "100000";
+  static final String PROPERTY_ROCKSDB_MERGE_UPDATES = "rocksdb.mergeupdates";
+  static final String PROPERTY_ROCKSDB_MERGE_UPDATES_DEFAULT = "false";
+  static final String PROPERTY_ROCKSDB_PROFILE = "rocksdb.profile";
+  static final String PROPERTY_ROCKSDB_PROFILE_DEFAULT = "default";
   private static final String COLUMN_FAMILY_NAMES_FILENAME = "CF_NAMES";
 
   private static final Logger LOGGER = LoggerFactory.getLogger(RocksDBClient.class);
@@ -53,12 +83,98 @@ public class RocksDBClient extends DB {
   @GuardedBy("RocksDBClient.class") private static RocksObject dbOptions = null;
   @GuardedBy("RocksDBClient.class") private static RocksDB rocksDb = null;
   @GuardedBy("RocksDBClient.class") private static int references = 0;
+  @GuardedBy("RocksDBClient.class") private static MergeOperator mergeOperator = null;
 
   private static final ConcurrentMap<String, ColumnFamily> COLUMN_FAMILIES = new ConcurrentHashMap<>();
   private static final ConcurrentMap<String, Lock> COLUMN_FAMILY_LOCKS = new ConcurrentHashMap<>();
+  private static final AtomicLong SST_FILES = new AtomicLong();
+  /** The sorted runs of inserts spilled by every thread by table, merged and ingested by the last cleanup. */
+  private static final ConcurrentMap<String, List<Path>> BULK_LOAD_RUNS = new ConcurrentHashMap<>();
+
+  /**
+   * Separates the record key from the field name in the keys of the field layout. YCSB keys
+   * never contain it, so all fields of a record sort together right after the record key.
+   */
+  private static final byte FIELD_SEPARATOR = 0;
+
+  /** The initial size of the buffer records are serialized into, enough for the default 1 KB records. */
+  private static final int WRITE_BUFFER_SIZE = 1200;
+
+  /**
+   * Separates the serialized fields of the merge operands of a record. The first byte of a field is
+   * the high byte of the length of its name, which is never 0xff.
+   */
+  private static final byte MERGE_DELIMITER = (byte) 0xff;
+
+  /**
+   * Marks a field of a merge operand as a delta to add to the field rather than its value, in the high
+   * byte of the length of its name, which is 0 for the names of values.
+   */
+  private static final int INCREMENT_FLAG = 0x40000000;
+
+  /** The block size of the scan profile, large enough to read a few records per block. */
+  private static final long SCAN_BLOCK_SIZE = 64 * 1024;
+
+  /** Whether every field is stored under its own key instead of the record being serialized. */
+  private boolean fieldLayout;
+  /** Whether updates of the record layout are merge operands instead of rewritten records. */
+  private boolean mergeUpdates;
+  private String profile;
+
+  private Measurements measurements;
+
+  private WriteOptions writeOptions;
+  private ReadOptions readOptions;
+  private ReadOptions scanReadOptions;
+
+  /** The writes of this thread not yet written to the database, or null if writes are not batched. */
+  private AbstractWriteBatch writeBatch;
+  /** The same batch if updates read the records it holds, as those of the record layout do, or null. */
+  private WriteBatchWithIndex indexedWriteBatch;
+  private int writeBatchSize;
+  private long writeBatchIntervalNanos;
+  private int batchedRecords;
+  private long batchStartNanos;
+
+  /** The serialized record being written, reused by every write of this thread. */
+  private ByteBuffer writeBuffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+  /** The UTF-8 encoding of every field name written by this thread. */
+  private final Map<String, byte[]> encodedFieldNames = new HashMap<>();
+  /** The field names last read at each position of a serialized record, and their encoding. */
+  private String[] fieldNames = new String[0];
+  private byte[][] fieldNameBytes = new byte[0][];
+
+  /** The inserts of this thread not yet spilled to a sorted run by table, or null if not bulk loading. */
+  private Map<String, TreeMap<byte[], byte[]>> bulkLoads;
+  private int bulkLoadKeysPerFile;
+  private Path bulkLoadDir;
 
   @Override
   public void init() throws DBException {
+    final Properties props = getProperties();
+    final String layout = props.getProperty(PROPERTY_ROCKSDB_LAYOUT, PROPERTY_ROCKSDB_LAYOUT_DEFAULT);
+    if (!layout.equals("record") && !layout.equals("field")) {
+      throw new DBException("Unknown " + PROPERTY_ROCKSDB_LAYOUT + " \"" + layout + "\"");
+    }
+    fieldLayout = layout.equals("field");
+    mergeUpdates = Boolean.parseBoolean(
+        props.getProperty(PROPERTY_ROCKSDB_MERGE_UPDATES, PROPERTY_ROCKSDB_MERGE_UPDATES_DEFAULT));
+    if (mergeUpdates && fieldLayout) {
+      throw new DBException(PROPERTY_ROCKSDB_MERGE_UPDATES + " only applies to the record layout");
+    }
+    profile = props.getProperty(PROPERTY_ROCKSDB_PROFILE, PROPERTY_ROCKSDB_PROFILE_DEFAULT);
+    if (!Arrays.asList("default", "pointlookup", "scan", "universal").contains(profile)) {
+      throw new DBException("Unknown " + PROPERTY_ROCKSDB_PROFILE + " \"" + profile + "\"");
+    }
+    if (!profile.equals(PROPERTY_ROCKSDB_PROFILE_DEFAULT) && props.getProperty(PROPERTY_ROCKSDB_OPTIONS_FILE) != null) {
+      throw new DBException(PROPERTY_ROCKSDB_PROFILE + " cannot be combined with " + PROPERTY_ROCKSDB_OPTIONS_FILE);
+    }
+    measurements = Measurements.getMeasurements();
+    writeBatchSize = Integer.parseInt(
+        props.getProperty(PROPERTY_ROCKSDB_WRITE_BATCH_SIZE, PROPERTY_ROCKSDB_WRITE_BATCH_SIZE_DEFAULT));
+    writeBatchIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Long.parseLong(
+        props.getProperty(PROPERTY_ROCKSDB_WRITE_BATCH_INTERVAL, PROPERTY_ROCKSDB_WRITE_BATCH_INTERVAL_DEFAULT)));
+
     synchronized(RocksDBClient.class) {
       if(rocksDb == null) {
         rocksDbDir = Paths.get(getProperties().getProperty(PROPERTY_ROCKSDB_DIR));
@@ -83,6 +199,41 @@ public class RocksDBClient extends DB {
 
       references++;
     }
+
+    writeOptions = new WriteOptions()
+        .setDisableWAL(Boolean.parseBoolean(
+            props.getProperty(PROPERTY_ROCKSDB_DISABLE_WAL, PROPERTY_ROCKSDB_DISABLE_WAL_DEFAULT)))
+        .setSync(Boolean.parseBoolean(props.getProperty(PROPERTY_ROCKSDB_SYNC, PROPERTY_ROCKSDB_SYNC_DEFAULT)));
+    readOptions = new ReadOptions()
+        .setFillCache(Boolean.parseBoolean(
+            props.getProperty(PROPERTY_ROCKSDB_FILL_CACHE, PROPERTY_ROCKSDB_FILL_CACHE_DEFAULT)))
+        .setVerifyChecksums(Boolean.parseBoolean(
+            props.getProperty(PROPERTY_ROCKSDB_VERIFY_CHECKSUMS, PROPERTY_ROCKSDB_VERIFY_CHECKSUMS_DEFAULT)));
+    scanReadOptions = new ReadOptions(readOptions)
+        .setReadaheadSize(Long.parseLong(
+            props.getProperty(PROPERTY_ROCKSDB_READAHEAD_SIZE, PROPERTY_ROCKSDB_READAHEAD_SIZE_DEFAULT)))
+        .setTailing(Boolean.parseBoolean(
+            props.getProperty(PROPERTY_ROCKSDB_TAILING, PROPERTY_ROCKSDB_TAILING_DEFAULT)));
+    if (writeBatchSize > 0 || writeBatchIntervalNanos > 0) {
+      if (fieldLayout || mergeUpdates) {
+        writeBatch = new WriteBatch();
+      } else {
+        // an update reads the record, which may still be in the batch of this thread
+        indexedWriteBatch = new WriteBatchWithIndex(true);
+        writeBatch = indexedWriteBatch;
+      }
+    }
+    if (Boolean.parseBoolean(props.getProperty(PROPERTY_ROCKSDB_BULK_LOAD, PROPERTY_ROCKSDB_BULK_LOAD_DEFAULT))) {
+      bulkLoads = new HashMap<>();
+      bulkLoadKeysPerFile = Integer.parseInt(props.getProperty(PROPERTY_ROCKSDB_BULK_LOAD_KEYS_PER_FILE,
+          PROPERTY_ROCKSDB_BULK_LOAD_KEYS_PER_FILE_DEFAULT));
+      bulkLoadDir = Paths.get(props.getProperty(PROPERTY_ROCKSDB_DIR), "bulkload");
+      try {
+        Files.createDirectories(bulkLoadDir);
+      } catch (final IOException e) {
+        throw new DBException(e);
+      }
+    }
   }
 
   /**
@@ -104,6 +255,12 @@ public class RocksDBClient extends DB {
     RocksDB.loadLibrary();
     OptionsUtil.loadOptionsFromFile(optionsFile.toAbsolutePath().toString(), Env.getDefault(), options, cfDescriptors);
     dbOptions = options;
+    if (mergeUpdates) {
+      mergeOperator = new StringAppendOperator((char) (MERGE_DELIMITER & 0xff));
+      for (final ColumnFamilyDescriptor cfDescriptor : cfDescriptors) {
+        cfDescriptor.getOptions().setMergeOperator(mergeOperator);
+      }
+    }
 
     final RocksDB db = RocksDB.open(options, rocksDbDir.toAbsolutePath().toString(), cfDescriptors, cfHandles);
 
@@ -134,9 +291,12 @@ public class RocksDBClient extends DB {
     final List<ColumnFamilyOptions> cfOptionss = new ArrayList<>();
     final List<ColumnFamilyDescriptor> cfDescriptors = new ArrayList<>();
 
+    RocksDB.loadLibrary();
+    if (mergeUpdates) {
+      mergeOperator = new StringAppendOperator((char) (MERGE_DELIMITER & 0xff));
+    }
     for(final String cfName : cfNames) {
-      final ColumnFamilyOptions cfOptions = new ColumnFamilyOptions()
-          .optimizeLevelStyleCompaction();
+      final ColumnFamilyOptions cfOptions = newColumnFamilyOptions();
       final ColumnFamilyDescriptor cfDescriptor = new ColumnFamilyDescriptor(
           cfName.getBytes(UTF_8),
           cfOptions
@@ -179,9 +339,31 @@ public class RocksDBClient extends DB {
   public void cleanup() throws DBException {
     super.cleanup();
 
+    try {
+      if (writeBatch != null) {
+        flushWriteBatch();
+        writeBatch.close();
+      }
+      if (bulkLoads != null) {
+        for (final Map.Entry<String, TreeMap<byte[], byte[]>> bulkLoad : bulkLoads.entrySet()) {
+          spill(bulkLoad.getKey(), bulkLoad.getValue());
+        }
+      }
+    } catch (final IOException | RocksDBException e) {
+      throw new DBException(e);
+    } finally {
+      writeOptions.close();
+      readOptions.close();
+      scanReadOptions.close();
+    }
+
     synchronized (RocksDBClient.class) {
       try {
         if (references == 1) {
+          if (bulkLoads != null) {
+            ingestBulkLoads();
+          }
+
           for (final ColumnFamily cf : COLUMN_FAMILIES.values()) {
             cf.getHandle().close();
           }
@@ -199,9 +381,15 @@ public class RocksDBClient extends DB {
           COLUMN_FAMILIES.clear();
 
           rocksDbDir = null;
+          optionsFile = null;
+
+          if (mergeOperator != null) {
+            mergeOperator.close();
+            mergeOperator = null;
+          }
         }
 
-      } catch (final IOException e) {
+      } catch (final IOException | RocksDBException e) {
         throw new DBException(e);
       } finally {
         references--;
@@ -218,7 +406,10 @@ public class RocksDBClient extends DB {
       }
 
       final ColumnFamilyHandle cf = COLUMN_FAMILIES.get(table).getHandle();
-      final byte[] values = rocksDb.get(cf, key.getBytes(UTF_8));
+      if (fieldLayout) {
+        return readFields(cf, key, fields, result);
+      }
+      final byte[] values = rocksDb.get(cf, readOptions, key.getBytes(UTF_8));
       if(values == null) {
         return Status.NOT_FOUND;
       }
@@ -239,7 +430,10 @@ public class RocksDBClient extends DB {
       }
 
       final ColumnFamilyHandle cf = COLUMN_FAMILIES.get(table).getHandle();
-      try(final RocksIterator iterator = rocksDb.newIterator(cf)) {
+      if (fieldLayout) {
+        return scanFields(cf, startkey, recordcount, fields, result);
+      }
+      try(final RocksIterator iterator = rocksDb.newIterator(cf, scanReadOptions)) {
         int iterations = 0;
         for (iterator.seek(startkey.getBytes(UTF_8)); iterator.isValid() && iterations < recordcount;
              iterator.next()) {
@@ -258,17 +452,191 @@ public class RocksDBClient extends DB {
   }
 
   @Override
-  public Status update(final String table, final String key, final Map<String, ByteIterator> values) {
-    //TODO(AR) consider if this would be faster with merge operator
+  public Status scan(final String table, final ScanRange range, final Set<String> fields,
+      final BiConsumer<String, Map<String, ByteIterator>> consumer) {
+    try {
+      if (!COLUMN_FAMILIES.containsKey(table)) {
+        createColumnFamily(table);
+      }
+
+      final ColumnFamilyHandle cf = COLUMN_FAMILIES.get(table).getHandle();
+      final byte[] endKey = range.getEndKey() == null ? null : range.getEndKey().getBytes(UTF_8);
+      // tailing iterators only move forward
+      final ReadOptions options = range.isReverse() ? readOptions : scanReadOptions;
+      try(final RocksIterator iterator = rocksDb.newIterator(cf, options)) {
+        if (!range.isReverse()) {
+          iterator.seek(range.getStartKey().getBytes(UTF_8));
+        } else if (fieldLayout) {
+          // past the last field of the start record
+          iterator.seekForPrev(fieldKey(range.getStartKey(), FIELD_SEPARATOR + 1, ""));
+        } else {
+          iterator.seekForPrev(range.getStartKey().getBytes(UTF_8));
+        }
+
+        int records = 0;
+        byte[] recordKey = null;
+        Map<String, ByteIterator> values = null;
+        for (; iterator.isValid(); step(iterator, range.isReverse())) {
+          final byte[] k = iterator.key();
+          final int recordKeyLength = fieldLayout ? recordKeyLength(k) : k.length;
+          if (values == null || !fieldLayout || !regionMatches(k, recordKeyLength, recordKey)) {
+            if (values != null) {
+              consumer.accept(new String(recordKey, UTF_8), values);
+              values = null;
+              records++;
+            }
+            if (records == range.getLimit() || (endKey != null && pastEnd(k, recordKeyLength, endKey, range))) {
+              break;
+            }
+            recordKey = Arrays.copyOf(k, recordKeyLength);
+            values = new HashMap<>();
+          }
+          if (range.isKeysOnly()) {
+            continue;
+          }
+          if (fieldLayout) {
+            if (recordKeyLength == k.length) {
+              continue;
+            }
+            final String field = new String(k, recordKeyLength + 1, k.length - recordKeyLength - 1, UTF_8);
+            if (fields == null || fields.contains(field)) {
+              values.put(field, new ByteArrayByteIterator(iterator.value()));
+            }
+          } else {
+            deserializeValues(iterator.value(), fields, values);
+          }
+        }
+        if (values != null) {
+          consumer.accept(new String(recordKey, UTF_8), values);
+        }
+      }
+
+      return Status.OK;
+    } catch(final RocksDBException e) {
+      LOGGER.error(e.getMessage(), e);
+      return Status.ERROR;
+    }
+  }
+
+  private static void step(final RocksIterator iterator, final boolean reverse) {
+    if (reverse) {
+      iterator.prev();
+    } else {
+      iterator.next();
+    }
+  }
+
+  /**
+   * @return true if the record key, the first {@code length} bytes of {@code key}, lies beyond the
+   * end key of the range.
+   */
+  private static boolean pastEnd(final byte[] key, final int length, final byte[] endKey, final ScanRange range) {
+    final int c = compare(key, length, endKey);
+    return range.isReverse() ? c <= 0 : c >= 0;
+  }
 
+  /**
+   * Compares the first {@code length} bytes of {@code a} to {@code b}, unsigned and lexicographically
+   * like the default RocksDB comparator.
+   */
+  private static int compare(final byte[] a, final int length, final byte[] b) {
+    final int common = Math.min(length, b.length);
+    for (int i = 0; i < common; i++) {
+      final int c = (a[i] & 0xff) - (b[i] & 0xff);
+      if (c != 0) {
+        return c;
+      }
+    }
+    return length - b.length;
+  }
+
+  private static boolean regionMatches(final byte[] key, final int length, final byte[] recordKey) {
+    return length == recordKey.length && compare(key, length, recordKey) == 0;
+  }
+
+  /**
+   * @return The length of the record key at the start of a key of the field layout.
+   */
+  private static int recordKeyLength(final byte[] key) {
+    int length = 0;
+    while (length < key.length && key[length] != FIELD_SEPARATOR) {
+      length++;
+    }
+    return length;
+  }
+
+  @Override
+  public Status batchRead(final String table, final List<String> keys, final Set<String> fields,
+      final Map<String, Map<String, ByteIterator>> result) {
+    try {
+      if (!COLUMN_FAMILIES.containsKey(table)) {
+        createColumnFamily(table);
+      }
+
+      final ColumnFamilyHandle cf = COLUMN_FAMILIES.get(table).getHandle();
+      if (fieldLayout) {
+        for (final String key : keys) {
+          final Map<String, ByteIterator> values = new HashMap<>();
+          if (readFields(cf, key, fields, values).isOk()) {
+            result.put(key, values);
+          }
+        }
+        return Status.OK;
+      }
+
+      final List<byte[]> keyBytes = new ArrayList<>(keys.size());
+      for (final String key : keys) {
+        keyBytes.add(key.getBytes(UTF_8));
+      }
+      // the values are in the order of the keys, null for missing records
+      final List<byte[]> values = rocksDb.multiGetAsList(readOptions, Collections.nCopies(keys.size(), cf), keyBytes);
+      for (int i = 0; i < keys.size(); i++) {
+        final byte[] value = values.get(i);
+        if (value != null) {
+          final Map<String, ByteIterator> record = new HashMap<>();
+          deserializeValues(value, fields, record);
+          result.put(keys.get(i), record);
+        }
+      }
+      return Status.OK;
+    } catch(final RocksDBException e) {
+      LOGGER.error(e.getMessage(), e);
+      return Status.ERROR;
+    }
+  }
+
+  @Override
+  public UpdateMode getUpdateMode() {
+    return fieldLayout || mergeUpdates ? UpdateMode.PARTIAL : UpdateMode.READ_MODIFY_WRITE;
+  }
+
+  @Override
+  public Status update(final String table, final String key, final Map<String, ByteIterator> values) {
     try {
       if (!COLUMN_FAMILIES.containsKey(table)) {
         createColumnFamily(table);
       }
 
       final ColumnFamilyHandle cf = COLUMN_FAMILIES.get(table).getHandle();
+      if (fieldLayout) {
+        // no read, a missing record gets just the updated fields
+        measurements.measure("UPDATE-BYTES-READ", 0);
+        measurements.measure("UPDATE-BYTES-WRITTEN", putFields(cf, key, values));
+        return Status.OK;
+      }
+      if (mergeUpdates) {
+        // no read, the updated fields are appended to the record and replace the older ones when it is read
+        final int length = serializeValues(values);
+        merge(cf, key.getBytes(UTF_8), length);
+        measurements.measure("UPDATE-BYTES-READ", 0);
+        measurements.measure("UPDATE-BYTES-WRITTEN", length);
+        return Status.OK;
+      }
+
       final Map<String, ByteIterator> result = new HashMap<>();
-      final byte[] currentValues = rocksDb.get(cf, key.getBytes(UTF_8));
+      final byte[] currentValues = indexedWriteBatch != null
+          ? indexedWriteBatch.getFromBatchAndDB(rocksDb, cf, readOptions, key.getBytes(UTF_8))
+          : rocksDb.get(cf, readOptions, key.getBytes(UTF_8));
       if(currentValues == null) {
         return Status.NOT_FOUND;
       }
@@ -278,11 +646,40 @@ public class RocksDBClient extends DB {
       result.putAll(values);
 
       //store
-      rocksDb.put(cf, key.getBytes(UTF_8), serializeValues(result));
+      final int length = serializeValues(result);
+      put(cf, key.getBytes(UTF_8), length);
 
+      measurements.measure("UPDATE-BYTES-READ", currentValues.length);
+      measurements.measure("UPDATE-BYTES-WRITTEN", length);
       return Status.OK;
 
-    } catch(final RocksDBException | IOException e) {
+    } catch(final RocksDBException e) {
+      LOGGER.error(e.getMessage(), e);
+      return Status.ERROR;
+    }
+  }
+
+  /**
+   * Adds to a counter with a merge operand holding the delta, without reading the record. Only the
+   * {@code record} layout with {@code rocksdb.mergeupdates} has merge operands.
+   */
+  @Override
+  public Status increment(final String table, final String key, final String field, final long delta) {
+    if (!mergeUpdates) {
+      return Status.NOT_IMPLEMENTED;
+    }
+    try {
+      if (!COLUMN_FAMILIES.containsKey(table)) {
+        createColumnFamily(table);
+      }
+
+      final byte[] name = encodedFieldNames.computeIfAbsent(field, k -> k.getBytes(UTF_8));
+      writeBuffer.clear();
+      reserve(16 + name.length);
+      writeBuffer.putInt(name.length | INCREMENT_FLAG).put(name).putInt(Long.BYTES).putLong(delta);
+      merge(COLUMN_FAMILIES.get(table).getHandle(), key.getBytes(UTF_8), writeBuffer.position());
+      return Status.OK;
+    } catch(final RocksDBException e) {
       LOGGER.error(e.getMessage(), e);
       return Status.ERROR;
     }
@@ -295,11 +692,20 @@ public class RocksDBClient extends DB {
         createColumnFamily(table);
       }
 
+      if (bulkLoads != null) {
+        bulkLoad(table, key, values);
+        return Status.OK;
+      }
+
       final ColumnFamilyHandle cf = COLUMN_FAMILIES.get(table).getHandle();
-      rocksDb.put(cf, key.getBytes(UTF_8), serializeValues(values));
+      if (fieldLayout) {
+        putFields(cf, key, values);
+        return Status.OK;
+      }
+      put(cf, key.getBytes(UTF_8), serializeValues(values));
 
       return Status.OK;
-    } catch(final RocksDBException | IOException e) {
+    } catch(final IOException | RocksDBException e) {
       LOGGER.error(e.getMessage(), e);
       return Status.ERROR;
     }
@@ -313,7 +719,26 @@ public class RocksDBClient extends DB {
       }
 
       final ColumnFamilyHandle cf = COLUMN_FAMILIES.get(table).getHandle();
-      rocksDb.delete(cf, key.getBytes(UTF_8));
+      if (fieldLayout) {
+        // all the fields of the record, and nothing else, sort between these two
+        final byte[] begin = fieldKey(key, FIELD_SEPARATOR, "");
+        final byte[] end = fieldKey(key, FIELD_SEPARATOR + 1, "");
+        if (writeBatch != null) {
+          startBatchedWrite();
+          writeBatch.deleteRange(cf, begin, end);
+          finishBatchedWrite();
+        } else {
+          rocksDb.deleteRange(cf, writeOptions, begin, end);
+        }
+        return Status.OK;
+      }
+      if (writeBatch != null) {
+        startBatchedWrite();
+        writeBatch.delete(cf, key.getBytes(UTF_8));
+        finishBatchedWrite();
+      } else {
+        rocksDb.delete(cf, writeOptions, key.getBytes(UTF_8));
+      }
 
       return Status.OK;
     } catch(final RocksDBException e) {
@@ -322,6 +747,283 @@ public class RocksDBClient extends DB {
     }
   }
 
+  /**
+   * Reads a record of the field layout by iterating over the keys of its fields.
+   */
+  private Status readFields(final ColumnFamilyHandle cf, final String key, final Set<String> fields,
+      final Map<String, ByteIterator> result) {
+    final byte[] prefix = fieldKey(key, FIELD_SEPARATOR, "");
+    boolean found = false;
+    try(final RocksIterator iterator = rocksDb.newIterator(cf, readOptions)) {
+      for (iterator.seek(prefix); iterator.isValid(); iterator.next()) {
+        final byte[] k = iterator.key();
+        if (!startsWith(k, prefix)) {
+          break;
+        }
+        found = true;
+        final String field = new String(k, prefix.length, k.length - prefix.length, UTF_8);
+        if (fields == null || fields.contains(field)) {
+          result.put(field, new ByteArrayByteIterator(iterator.value()));
+        }
+      }
+    }
+    return found ? Status.OK : Status.NOT_FOUND;
+  }
+
+  /**
+   * Scans records of the field layout, collecting consecutive keys of the same record into one row.
+   */
+  private Status scanFields(final ColumnFamilyHandle cf, final String startkey, final int recordcount,
+      final Set<String> fields, final Vector<HashMap<String, ByteIterator>> result) {
+    try(final RocksIterator iterator = rocksDb.newIterator(cf, scanReadOptions)) {
+      byte[] prefix = null;
+      HashMap<String, ByteIterator> values = null;
+      for (iterator.seek(startkey.getBytes(UTF_8)); iterator.isValid(); iterator.next()) {
+        final byte[] k = iterator.key();
+        if (prefix == null || !startsWith(k, prefix)) {
+          if (result.size() == recordcount) {
+            break;
+          }
+          prefix = Arrays.copyOf(k, Math.min(recordKeyLength(k) + 1, k.length));
+          values = new HashMap<>();
+          result.add(values);
+        }
+        final String field = new String(k, prefix.length, k.length - prefix.length, UTF_8);
+        if (fields == null || fields.contains(field)) {
+          values.put(field, new ByteArrayByteIterator(iterator.value()));
+        }
+      }
+    }
+    return Status.OK;
+  }
+
+  /**
+   * Writes the given fields of a record of the field layout in one atomic batch, the batch of this
+   * thread if writes are batched.
+   *
+   * @return The number of bytes written.
+   */
+  private int putFields(final ColumnFamilyHandle cf, final String key, final Map<String, ByteIterator> values)
+      throws RocksDBException {
+    if (writeBatch != null) {
+      startBatchedWrite();
+      final int written = putFields(writeBatch, cf, key, values);
+      finishBatchedWrite();
+      return written;
+    }
+    try(final WriteBatch batch = new WriteBatch()) {
+      final int written = putFields(batch, cf, key, values);
+      rocksDb.write(writeOptions, batch);
+      return written;
+    }
+  }
+
+  private static int putFields(final AbstractWriteBatch batch, final ColumnFamilyHandle cf, final String key,
+      final Map<String, ByteIterator> values) throws RocksDBException {
+    int written = 0;
+    for (final Map.Entry<String, ByteIterator> value : values.entrySet()) {
+      final byte[] k = fieldKey(key, FIELD_SEPARATOR, value.getKey());
+      final byte[] v = value.getValue().toArray();
+      batch.put(cf, k, v);
+      written += k.length + v.length;
+    }
+    return written;
+  }
+
+  /**
+   * Writes the record serialized into the write buffer, to the batch of this thread if writes are batched.
+   */
+  private void put(final ColumnFamilyHandle cf, final byte[] key, final int length) throws RocksDBException {
+    if (writeBatch != null) {
+      startBatchedWrite();
+      // a write batch only takes whole arrays
+      writeBatch.put(cf, key, Arrays.copyOf(writeBuffer.array(), length));
+      finishBatchedWrite();
+    } else {
+      rocksDb.put(cf, writeOptions, key, 0, key.length, writeBuffer.array(), 0, length);
+    }
+  }
+
+  /**
+   * Writes the fields serialized into the write buffer as a merge operand, to the batch of this thread
+   * if writes are batched.
+   */
+  private void merge(final ColumnFamilyHandle cf, final byte[] key, final int length) throws RocksDBException {
+    if (writeBatch != null) {
+      startBatchedWrite();
+      writeBatch.merge(cf, key, Arrays.copyOf(writeBuffer.array(), length));
+      finishBatchedWrite();
+    } else {
+      rocksDb.merge(cf, writeOptions, key, 0, key.length, writeBuffer.array(), 0, length);
+    }
+  }
+
+  /**
+   * Adds an inserted record to the sorted inserts of this thread, which are spilled to a sorted run once
+   * they hold {@code rocksdb.bulkloadkeysperfile} keys.
+   */
+  private void bulkLoad(final String table, final String key, final Map<String, ByteIterator> values)
+      throws IOException {
+    final TreeMap<byte[], byte[]> records =
+        bulkLoads.computeIfAbsent(table, t -> new TreeMap<>((a, b) -> compare(a, a.length, b)));
+    if (fieldLayout) {
+      for (final Map.Entry<String, ByteIterator> value : values.entrySet()) {
+        records.put(fieldKey(key, FIELD_SEPARATOR, value.getKey()), value.getValue().toArray());
+      }
+    } else {
+      records.put(key.getBytes(UTF_8), Arrays.copyOf(writeBuffer.array(), serializeValues(values)));
+    }
+    if (records.size() >= bulkLoadKeysPerFile) {
+      spill(table, records);
+    }
+  }
+
+  /**
+   * Writes the sorted inserts of this thread to a run file of length prefixed keys and values, then
+   * forgets them.
+   */
+  private void spill(final String table, final TreeMap<byte[], byte[]> records) throws IOException {
+    if (records.isEmpty()) {
+      return;
+    }
+
+    final Path run = bulkLoadDir.resolve(table + "-" + SST_FILES.incrementAndGet() + ".run");
+    try(final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run)))) {
+      for (final Map.Entry<byte[], byte[]> record : records.entrySet()) {
+        out.writeInt(record.getKey().length);
+        out.write(record.getKey());
+        out.writeInt(record.getValue().length);
+        out.write(record.getValue());
+      }
+    }
+    BULK_LOAD_RUNS.computeIfAbsent(table, t -> Collections.synchronizedList(new ArrayList<>())).add(run);
+    records.clear();
+  }
+
+  /**
+   * Merges the runs spilled by all threads into SST files of {@code rocksdb.bulkloadkeysperfile} keys and
+   * ingests them into each table at once. The threads take interleaved keys, so their runs overlap, but the
+   * merged files cover disjoint key ranges and RocksDB places them in the bottommost level.
+   *
+   * Should only be called with a {@code synchronized(RocksDBClient.class)} block by the last client.
+   */
+  private void ingestBulkLoads() throws IOException, RocksDBException {
+    for (final Map.Entry<String, List<Path>> runs : BULK_LOAD_RUNS.entrySet()) {
+      final ColumnFamily cf = COLUMN_FAMILIES.get(runs.getKey());
+      final List<String> files = new ArrayList<>();
+      // the smallest key first, of equal keys the one spilled last
+      final PriorityQueue<BulkLoadRun> heads = new PriorityQueue<>((a, b) -> {
+          final int c = compare(a.key, a.key.length, b.key);
+          return c != 0 ? c : Integer.compare(b.sequence, a.sequence);
+        });
+      final List<BulkLoadRun> opened = new ArrayList<>();
+      try(final EnvOptions envOptions = new EnvOptions();
+          final DBOptions writerDbOptions = new DBOptions();
+          final Options options = new Options(writerDbOptions, cf.getOptions())) {
+        for (int i = 0; i < runs.getValue().size(); i++) {
+          final BulkLoadRun run = new BulkLoadRun(runs.getValue().get(i), i);
+          opened.add(run);
+          advance(heads, run);
+        }
+        while (!heads.isEmpty()) {
+          final String file = bulkLoadDir.resolve(runs.getKey() + "-" + SST_FILES.incrementAndGet() + ".sst")
+              .toString();
+          try(final SstFileWriter writer = new SstFileWriter(envOptions, options)) {
+            writer.open(file);
+            for (int keys = 0; keys < bulkLoadKeysPerFile && !heads.isEmpty(); keys++) {
+              final BulkLoadRun run = heads.poll();
+              final byte[] key = run.key;
+              writer.put(key, run.value);
+              advance(heads, run);
+              while (!heads.isEmpty() && compare(heads.peek().key, heads.peek().key.length, key) == 0) {
+                advance(heads, heads.poll());
+              }
+            }
+            writer.finish();
+          }
+          files.add(file);
+        }
+      } finally {
+        for (final BulkLoadRun run : opened) {
+          run.close();
+        }
+      }
+      if (!files.isEmpty()) {
+        try(final IngestExternalFileOptions ingestOptions = new IngestExternalFileOptions().setMoveFiles(true)) {
+          rocksDb.ingestExternalFile(cf.getHandle(), files, ingestOptions);
+        }
+      }
+      for (final Path run : runs.getValue()) {
+        Files.delete(run);
+      }
+    }
+    BULK_LOAD_RUNS.clear();
+  }
+
+  /**
+   * Reads the next record of a run and queues the run again, unless it is exhausted.
+   */
+  private static void advance(final PriorityQueue<BulkLoadRun> heads, final BulkLoadRun run) throws IOException {
+    if (run.next()) {
+      heads.add(run);
+    }
+  }
+
+  private void startBatchedWrite() {
+    if (batchedRecords == 0) {
+      batchStartNanos = System.nanoTime();
+    }
+  }
+
+  /**
+   * Counts a record written to the batch of this thread and writes the batch to the database once
+   * it holds {@code rocksdb.writebatchsize} records or is older than {@code rocksdb.writebatchintervalms}.
+   */
+  private void finishBatchedWrite() throws RocksDBException {
+    batchedRecords++;
+    if ((writeBatchSize > 0 && batchedRecords >= writeBatchSize)
+        || (writeBatchIntervalNanos > 0 && System.nanoTime() - batchStartNanos >= writeBatchIntervalNanos)) {
+      flushWriteBatch();
+    }
+  }
+
+  private void flushWriteBatch() throws RocksDBException {
+    if (batchedRecords > 0) {
+      if (indexedWriteBatch != null) {
+        rocksDb.write(writeOptions, indexedWriteBatch);
+      } else {
+        rocksDb.write(writeOptions, (WriteBatch) writeBatch);
+      }
+      writeBatch.clear();
+      batchedRecords = 0;
+    }
+  }
+
+  /**
+   * @return The key of a field in the field layout, the record key, a separator and the field name.
+   */
+  private static byte[] fieldKey(final String key, final int separator, final String field) {
+    final byte[] keyBytes = key.getBytes(UTF_8);
+    final byte[] fieldBytes = field.getBytes(UTF_8);
+    final byte[] fieldKey = new byte[keyBytes.length + 1 + fieldBytes.length];
+    System.arraycopy(keyBytes, 0, fieldKey, 0, keyBytes.length);
+    fieldKey[keyBytes.length] = (byte) separator;
+    System.arraycopy(fieldBytes, 0, fieldKey, keyBytes.length + 1, fieldBytes.length);
+    return fieldKey;
+  }
+
+  private static boolean startsWith(final byte[] bytes, final byte[] prefix) {
+    if (bytes.length < prefix.length) {
+      return false;
+    }
+    for (int i = 0; i < prefix.length; i++) {
+      if (bytes[i] != prefix[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   private void saveColumnFamilyNames() throws IOException {
     final Path file = rocksDbDir.resolve(COLUMN_FAMILY_NAMES_FILENAME);
     try(final PrintWriter writer = new PrintWriter(Files.newBufferedWriter(file, UTF_8))) {
@@ -347,58 +1049,117 @@ public class RocksDBClient extends DB {
     return cfNames;
   }
 
+  /**
+   * Decodes the fields of a serialized record into byte iterators over the record. Field names are
+   * looked up in the table of names seen before at the same position and only decoded if they differ,
+   * and decoding stops once all requested fields are found. The merge operands of a record follow
+   * it, each after a {@link #MERGE_DELIMITER}, so of fields serialized more than once the last wins.
+   * Increments add their delta to the field decoded so far, a field that is missing or holds no
+   * number counting as 0.
+   */
   private Map<String, ByteIterator> deserializeValues(final byte[] values, final Set<String> fields,
       final Map<String, ByteIterator> result) {
-    final ByteBuffer buf = ByteBuffer.allocate(4);
-
-    int offset = 0;
-    while(offset < values.length) {
-      buf.put(values, offset, 4);
-      buf.flip();
-      final int keyLen = buf.getInt();
-      buf.clear();
-      offset += 4;
-
-      final String key = new String(values, offset, keyLen);
-      offset += keyLen;
-
-      buf.put(values, offset, 4);
-      buf.flip();
-      final int valueLen = buf.getInt();
-      buf.clear();
-      offset += 4;
-
-      if(fields == null || fields.contains(key)) {
-        result.put(key, new ByteArrayByteIterator(values, offset, valueLen));
+    final ByteBuffer buf = ByteBuffer.wrap(values);
+    // a later merge operand may replace a field already found
+    int missing = fields == null || mergeUpdates ? Integer.MAX_VALUE : fields.size();
+    for (int position = 0; buf.hasRemaining() && missing > 0; position++) {
+      if (values[buf.position()] == MERGE_DELIMITER) {
+        buf.get();
+        continue;
       }
-
-      offset += valueLen;
+      final int flaggedNameLength = buf.getInt();
+      final int nameLength = flaggedNameLength & ~INCREMENT_FLAG;
+      final String name = fieldName(values, buf.position(), nameLength, position);
+      buf.position(buf.position() + nameLength);
+
+      final int valueLength = buf.getInt();
+      if (fields == null || fields.contains(name)) {
+        if (nameLength != flaggedNameLength) {
+          final long delta = buf.getLong(buf.position());
+          result.put(name, new StringByteIterator(Long.toString(counterValue(result.get(name)) + delta)));
+        } else {
+          result.put(name, new ByteArrayByteIterator(values, buf.position(), valueLength));
+        }
+        missing--;
+      }
+      buf.position(buf.position() + valueLength);
     }
-
     return result;
   }
 
-  private byte[] serializeValues(final Map<String, ByteIterator> values) throws IOException {
-    try(final ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-      final ByteBuffer buf = ByteBuffer.allocate(4);
-
-      for(final Map.Entry<String, ByteIterator> value : values.entrySet()) {
-        final byte[] keyBytes = value.getKey().getBytes(UTF_8);
-        final byte[] valueBytes = value.getValue().toArray();
-
-        buf.putInt(keyBytes.length);
-        baos.write(buf.array());
-        baos.write(keyBytes);
+  private static long counterValue(final ByteIterator value) {
+    if (value == null) {
+      return 0;
+    }
+    try {
+      return Long.parseLong(value.toString());
+    } catch (final NumberFormatException e) {
+      return 0;
+    }
+  }
 
-        buf.clear();
+  /**
+   * @return The field name at the given offset, from the field name table if the name at this
+   *     position is the one seen last.
+   */
+  private String fieldName(final byte[] values, final int offset, final int length, final int position) {
+    if (position >= fieldNames.length) {
+      fieldNames = Arrays.copyOf(fieldNames, position + 1);
+      fieldNameBytes = Arrays.copyOf(fieldNameBytes, position + 1);
+    }
+    final byte[] known = fieldNameBytes[position];
+    if (known == null || !equalsAt(values, offset, length, known)) {
+      fieldNameBytes[position] = Arrays.copyOfRange(values, offset, offset + length);
+      fieldNames[position] = new String(values, offset, length, UTF_8);
+    }
+    return fieldNames[position];
+  }
 
-        buf.putInt(valueBytes.length);
-        baos.write(buf.array());
-        baos.write(valueBytes);
+  private static boolean equalsAt(final byte[] a, final int offset, final int length, final byte[] b) {
+    if (length != b.length) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      if (a[offset + i] != b[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
 
-        buf.clear();
+  /**
+   * Serializes a record into the write buffer of this thread as a length prefixed name and value
+   * per field, streaming the values from their byte iterators without copying them first.
+   *
+   * @return The length of the serialized record at the start of the write buffer.
+   */
+  private int serializeValues(final Map<String, ByteIterator> values) {
+    writeBuffer.clear();
+    for (final Map.Entry<String, ByteIterator> value : values.entrySet()) {
+      final byte[] name = encodedFieldNames.computeIfAbsent(value.getKey(), k -> k.getBytes(UTF_8));
+      final int valueLength = (int) value.getValue().bytesLeft();
+      reserve(8 + name.length + valueLength);
+
+      writeBuffer.putInt(name.length).put(name).putInt(valueLength);
+      final int end = writeBuffer.position() + valueLength;
+      int offset = writeBuffer.position();
+      while (offset < end) {
+        offset = value.getValue().nextBuf(writeBuffer.array(), offset);
       }
-      return baos.toByteArray();
+      writeBuffer.position(end);
+    }
+    return writeBuffer.position();
+  }
+
+  /**
+   * Grows the write buffer of this thread, keeping its contents, until it has room for the given number of bytes.
+   */
+  private void reserve(final int bytes) {
+    if (writeBuffer.remaining() < bytes) {
+      final int position = writeBuffer.position();
+      final ByteBuffer grown = ByteBuffer.allocate(Math.max(writeBuffer.capacity() * 2, position + bytes));
+      grown.put(writeBuffer.array(), 0, position);
+      writeBuffer = grown;
     }
   }
 
@@ -420,6 +1181,36 @@ public class RocksDBClient extends DB {
     return cfOptions;
   }
 
+  /**
+   * @return The options of a column family for the {@code rocksdb.profile} and, with
+   *     {@code rocksdb.mergeupdates}, the merge operator.
+   */
+  private ColumnFamilyOptions newColumnFamilyOptions() {
+    final ColumnFamilyOptions cfOptions = new ColumnFamilyOptions();
+    switch (profile) {
+    case "pointlookup":
+      // a bloom filter spares reading blocks of other files, a hash index of every block the binary search in it
+      cfOptions.optimizeLevelStyleCompaction().setTableFormatConfig(new BlockBasedTableConfig()
+          .setFilterPolicy(new BloomFilter(10, false))
+          .setDataBlockIndexType(DataBlockIndexType.kDataBlockBinaryAndHash));
+      break;
+    case "scan":
+      // filters do not help scans, larger blocks mean fewer reads per scan
+      cfOptions.optimizeLevelStyleCompaction().setTableFormatConfig(new BlockBasedTableConfig()
+          .setBlockSize(SCAN_BLOCK_SIZE));
+      break;
+    case "universal":
+      cfOptions.optimizeUniversalStyleCompaction();
+      break;
+    default:
+      cfOptions.optimizeLevelStyleCompaction();
+    }
+    if (mergeOperator != null) {
+      cfOptions.setMergeOperator(mergeOperator);
+    }
+    return cfOptions;
+  }
+
   private void createColumnFamily(final String name) throws RocksDBException {
     COLUMN_FAMILY_LOCKS.putIfAbsent(name, new ReentrantLock());
 
@@ -434,7 +1225,7 @@ public class RocksDBClient extends DB {
           // apply those options to this column family
           cfOptions = getDefaultColumnFamilyOptions(name);
         } else {
-          cfOptions = new ColumnFamilyOptions().optimizeLevelStyleCompaction();
+          cfOptions = newColumnFamilyOptions();
         }
 
         final ColumnFamilyHandle cfHandle = rocksDb.createColumnFamily(
@@ -447,6 +1238,40 @@ public class RocksDBClient extends DB {
     }
   }
 
+  /**
+   * Reads back a run spilled by {@link #spill(String, TreeMap)}, one record at a time.
+   */
+  private static final class BulkLoadRun implements Closeable {
+    private final DataInputStream in;
+    private final int sequence;
+    private byte[] key;
+    private byte[] value;
+
+    private BulkLoadRun(final Path run, final int sequence) throws IOException {
+      this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(run)));
+      this.sequence = sequence;
+    }
+
+    private boolean next() throws IOException {
+      final int keyLength;
+      try {
+        keyLength = in.readInt();
+      } catch (final EOFException e) {
+        return false;
+      }
+      key = new byte[keyLength];
+      in.readFully(key);
+      value = new byte[in.readInt()];
+      in.readFully(value);
+      return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+      in.close();
+    }
+  }
+
   private static final class ColumnFamily {
     private final ColumnFamilyHandle handle;
     private final ColumnFamilyOptions options;
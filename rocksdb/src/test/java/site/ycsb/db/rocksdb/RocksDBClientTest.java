@@ -18,15 +18,23 @@
 package site.ycsb.db.rocksdb;
 
 import site.ycsb.ByteIterator;
+import site.ycsb.DB.UpdateMode;
+import site.ycsb.RandomByteIterator;
+import site.ycsb.ScanRange;
 import site.ycsb.Status;
 import site.ycsb.StringByteIterator;
+import site.ycsb.measurements.Measurements;
 import site.ycsb.workloads.CoreWorkload;
 import org.junit.*;
 import org.junit.rules.TemporaryFolder;
 
+import java.io.File;
 import java.util.*;
+import java.util.function.BiConsumer;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class RocksDBClientTest {
 
@@ -53,13 +61,24 @@ public class RocksDBClientTest {
 
   @Before
   public void setup() throws Exception {
-    instance = new RocksDBClient();
+    instance = newInstance("record");
+  }
 
+  private RocksDBClient newInstance(final String layout) throws Exception {
     final Properties properties = new Properties();
+    properties.setProperty(RocksDBClient.PROPERTY_ROCKSDB_LAYOUT, layout);
+    return newInstance(properties);
+  }
+
+  private RocksDBClient newInstance(final Properties properties) throws Exception {
+    final RocksDBClient client = new RocksDBClient();
+
     properties.setProperty(RocksDBClient.PROPERTY_ROCKSDB_DIR, tmpFolder.getRoot().getAbsolutePath());
-    instance.setProperties(properties);
+    client.setProperties(properties);
+    Measurements.setProperties(properties);
 
-    instance.init();
+    client.init();
+    return client;
   }
 
   @After
@@ -120,4 +139,345 @@ public class RocksDBClientTest {
     final Status result = instance.scan(MOCK_TABLE, MOCK_KEY3, NUM_RECORDS, fields, resultParam);
     assertEquals(Status.OK, result);
   }
+
+  @Test
+  public void fieldLayoutUpdatesSingleFields() throws Exception {
+    instance.cleanup();
+    instance = newInstance("field");
+    assertEquals(UpdateMode.PARTIAL, instance.getUpdateMode());
+
+    // byte iterators are consumed by the first insert
+    for (final String key : Arrays.asList(MOCK_KEY1, MOCK_KEY2)) {
+      final Map<String, ByteIterator> values = new HashMap<>();
+      for (int i = 0; i < NUM_RECORDS; i++) {
+        values.put(FIELD_PREFIX + i, new StringByteIterator("value" + i));
+      }
+      assertEquals(Status.OK, instance.insert(MOCK_TABLE, key, values));
+    }
+
+    final Map<String, ByteIterator> newValues = new HashMap<>();
+    newValues.put(FIELD_PREFIX + 3, new StringByteIterator("newvalue3"));
+    assertEquals(Status.OK, instance.update(MOCK_TABLE, MOCK_KEY1, newValues));
+
+    final Map<String, ByteIterator> resultParam = new HashMap<>();
+    assertEquals(Status.OK, instance.read(MOCK_TABLE, MOCK_KEY1, null, resultParam));
+    assertEquals(NUM_RECORDS, resultParam.size());
+    for (int i = 0; i < NUM_RECORDS; i++) {
+      assertEquals((i == 3 ? "newvalue" : "value") + i, resultParam.get(FIELD_PREFIX + i).toString());
+    }
+
+    final Map<String, ByteIterator> oneField = new HashMap<>();
+    assertEquals(Status.OK, instance.read(MOCK_TABLE, MOCK_KEY2, Collections.singleton(FIELD_PREFIX + 3), oneField));
+    assertEquals(1, oneField.size());
+    assertEquals("value3", oneField.get(FIELD_PREFIX + 3).toString());
+
+    final Vector<HashMap<String, ByteIterator>> rows = new Vector<>();
+    assertEquals(Status.OK, instance.scan(MOCK_TABLE, MOCK_KEY0, 5, null, rows));
+    assertEquals(2, rows.size());
+    assertEquals("newvalue3", rows.get(0).get(FIELD_PREFIX + 3).toString());
+    assertEquals("value3", rows.get(1).get(FIELD_PREFIX + 3).toString());
+    assertEquals(NUM_RECORDS, rows.get(1).size());
+
+    assertEquals(Status.OK, instance.delete(MOCK_TABLE, MOCK_KEY1));
+    assertEquals(Status.NOT_FOUND, instance.read(MOCK_TABLE, MOCK_KEY1, null, new HashMap<>()));
+    assertEquals(Status.OK, instance.read(MOCK_TABLE, MOCK_KEY2, null, new HashMap<>()));
+  }
+
+  @Test
+  public void recordLayoutReadsBeforeUpdating() throws Exception {
+    assertEquals(UpdateMode.READ_MODIFY_WRITE, instance.getUpdateMode());
+
+    final Map<String, ByteIterator> newValues = new HashMap<>();
+    newValues.put(FIELD_PREFIX + 3, new StringByteIterator("newvalue3"));
+    assertEquals(Status.NOT_FOUND, instance.update(MOCK_TABLE, MOCK_KEY0, newValues));
+  }
+
+  @Test
+  public void mergesUpdatesWithoutReading() throws Exception {
+    instance.cleanup();
+    final Properties properties = new Properties();
+    properties.setProperty(RocksDBClient.PROPERTY_ROCKSDB_MERGE_UPDATES, "true");
+    instance = newInstance(properties);
+    assertEquals(UpdateMode.PARTIAL, instance.getUpdateMode());
+
+    final Map<String, ByteIterator> values = new HashMap<>();
+    for (int i = 0; i < 3; i++) {
+      values.put(FIELD_PREFIX + i, new StringByteIterator("value" + i));
+    }
+    assertEquals(Status.OK, instance.insert(MOCK_TABLE, MOCK_KEY0, values));
+    for (final String value : Arrays.asList("first", "second")) {
+      assertEquals(Status.OK, instance.update(MOCK_TABLE, MOCK_KEY0,
+          Collections.singletonMap(FIELD_PREFIX + 1, new StringByteIterator(value))));
+    }
+    assertEquals(Status.OK, instance.update(MOCK_TABLE, MOCK_KEY1,
+        Collections.singletonMap(FIELD_PREFIX + 2, new StringByteIterator("created"))));
+
+    // the merge operands must still be readable after reopening the database
+    instance.cleanup();
+    instance = newInstance(properties);
+
+    final Map<String, ByteIterator> result = new HashMap<>();
+    assertEquals(Status.OK, instance.read(MOCK_TABLE, MOCK_KEY0, null, result));
+    assertEquals(3, result.size());
+    assertEquals("value0", result.get(FIELD_PREFIX + 0).toString());
+    assertEquals("second", result.get(FIELD_PREFIX + 1).toString());
+
+    result.clear();
+    assertEquals(Status.OK, instance.read(MOCK_TABLE, MOCK_KEY0, Collections.singleton(FIELD_PREFIX + 1), result));
+    assertEquals("second", result.get(FIELD_PREFIX + 1).toString());
+
+    result.clear();
+    assertEquals(Status.OK, instance.read(MOCK_TABLE, MOCK_KEY1, null, result));
+    assertEquals(Collections.singleton(FIELD_PREFIX + 2), result.keySet());
+  }
+
+  @Test
+  public void incrementsWithMergeOperands() throws Exception {
+    assertEquals(Status.NOT_IMPLEMENTED, instance.increment(MOCK_TABLE, MOCK_KEY0, FIELD_PREFIX + 0, 1));
+    instance.cleanup();
+    final Properties properties = new Properties();
+    properties.setProperty(RocksDBClient.PROPERTY_ROCKSDB_MERGE_UPDATES, "true");
+    instance = newInstance(properties);
+
+    final Map<String, ByteIterator> values = new HashMap<>();
+    values.put(FIELD_PREFIX + 0, new StringByteIterator("5"));
+    values.put(FIELD_PREFIX + 1, new StringByteIterator("value1"));
+    assertEquals(Status.OK, instance.insert(MOCK_TABLE, MOCK_KEY0, values));
+    assertEquals(Status.OK, instance.increment(MOCK_TABLE, MOCK_KEY0, FIELD_PREFIX + 0, 3));
+    assertEquals(Status.OK, instance.increment(MOCK_TABLE, MOCK_KEY0, FIELD_PREFIX + 0, -1));
+    assertEquals(Status.OK, instance.increment(MOCK_TABLE, MOCK_KEY0, FIELD_PREFIX + 2, 2));
+
+    final Map<String, ByteIterator> result = new HashMap<>();
+    assertEquals(Status.OK, instance.read(MOCK_TABLE, MOCK_KEY0, null, result));
+    assertEquals("7", result.get(FIELD_PREFIX + 0).toString());
+    assertEquals("value1", result.get(FIELD_PREFIX + 1).toString());
+    assertEquals("2", result.get(FIELD_PREFIX + 2).toString());
+
+    // an update sets the counter, later increments add to the new value
+    assertEquals(Status.OK, instance.update(MOCK_TABLE, MOCK_KEY0,
+        Collections.singletonMap(FIELD_PREFIX + 0, new StringByteIterator("10"))));
+    assertEquals(Status.OK, instance.increment(MOCK_TABLE, MOCK_KEY0, FIELD_PREFIX + 0, 1));
+    result.clear();
+    assertEquals(Status.OK, instance.read(MOCK_TABLE, MOCK_KEY0, Collections.singleton(FIELD_PREFIX + 0), result));
+    assertEquals("11", result.get(FIELD_PREFIX + 0).toString());
+  }
+
+  @Test
+  public void opensEveryProfile() throws Exception {
+    for (final String profile : Arrays.asList("pointlookup", "scan", "universal")) {
+      instance.cleanup();
+      final Properties properties = new Properties();
+      properties.setProperty(RocksDBClient.PROPERTY_ROCKSDB_PROFILE, profile);
+      instance = newInstance(properties);
+
+      final Map<String, ByteIterator> values = new HashMap<>();
+      values.put(FIELD_PREFIX + 0, new StringByteIterator(profile));
+      assertEquals(Status.OK, instance.insert(MOCK_TABLE, profile, values));
+      final Map<String, ByteIterator> result = new HashMap<>();
+      assertEquals(Status.OK, instance.read(MOCK_TABLE, profile, null, result));
+      assertEquals(profile, result.get(FIELD_PREFIX + 0).toString());
+    }
+  }
+
+  @Test
+  public void scansRangesInEitherOrder() throws Exception {
+    assertRangeScans();
+  }
+
+  @Test
+  public void scansRangesInEitherOrderWithFieldLayout() throws Exception {
+    instance.cleanup();
+    instance = newInstance("field");
+    assertRangeScans();
+  }
+
+  @Test
+  public void serializesRecordsOfAnyShape() throws Exception {
+    final Map<String, ByteIterator> large = new HashMap<>();
+    large.put("big", new StringByteIterator(String.join("", Collections.nCopies(500, "0123456789"))));
+    large.put(FIELD_PREFIX + 0, new RandomByteIterator(100));
+    assertEquals(Status.OK, instance.insert(MOCK_TABLE, MOCK_KEY0, large));
+
+    final Map<String, ByteIterator> renamed = new HashMap<>();
+    renamed.put("other", new StringByteIterator("x"));
+    renamed.put(FIELD_PREFIX + 0, new StringByteIterator("y"));
+    assertEquals(Status.OK, instance.insert(MOCK_TABLE, MOCK_KEY1, renamed));
+
+    final Map<String, ByteIterator> result = new HashMap<>();
+    assertEquals(Status.OK, instance.read(MOCK_TABLE, MOCK_KEY0, null, result));
+    assertEquals(5000, result.get("big").toString().length());
+    assertEquals(100, result.get(FIELD_PREFIX + 0).toArray().length);
+
+    result.clear();
+    assertEquals(Status.OK, instance.read(MOCK_TABLE, MOCK_KEY1, null, result));
+    assertEquals(new HashSet<>(Arrays.asList("other", FIELD_PREFIX + 0)), result.keySet());
+    assertEquals("x", result.get("other").toString());
+
+    result.clear();
+    assertEquals(Status.OK, instance.read(MOCK_TABLE, MOCK_KEY0, Collections.singleton("big"), result));
+    assertEquals(Collections.singleton("big"), result.keySet());
+  }
+
+  @Test
+  public void batchesWritesUntilTheBatchIsFull() throws Exception {
+    instance.cleanup();
+    final Properties properties = new Properties();
+    properties.setProperty(RocksDBClient.PROPERTY_ROCKSDB_WRITE_BATCH_SIZE, "3");
+    properties.setProperty(RocksDBClient.PROPERTY_ROCKSDB_DISABLE_WAL, "true");
+    properties.setProperty(RocksDBClient.PROPERTY_ROCKSDB_FILL_CACHE, "false");
+    properties.setProperty(RocksDBClient.PROPERTY_ROCKSDB_READAHEAD_SIZE, "65536");
+    properties.setProperty(RocksDBClient.PROPERTY_ROCKSDB_TAILING, "true");
+    instance = newInstance(properties);
+
+    for (int i = 0; i < 4; i++) {
+      final Map<String, ByteIterator> values = new HashMap<>();
+      values.put(FIELD_PREFIX + 0, new StringByteIterator("a" + i));
+      assertEquals(Status.OK, instance.insert(MOCK_TABLE, "key" + i, values));
+    }
+    assertEquals(Status.OK, instance.read(MOCK_TABLE, "key2", null, new HashMap<>()));
+    assertEquals(Status.NOT_FOUND, instance.read(MOCK_TABLE, "key3", null, new HashMap<>()));
+
+    // cleanup writes the rest of the batch
+    instance.cleanup();
+    instance = newInstance("record");
+    final Map<String, ByteIterator> result = new HashMap<>();
+    assertEquals(Status.OK, instance.read(MOCK_TABLE, "key3", null, result));
+    assertEquals("a3", result.get(FIELD_PREFIX + 0).toString());
+  }
+
+  @Test
+  public void updatesReadTheBatchOfTheThread() throws Exception {
+    instance.cleanup();
+    final Properties properties = new Properties();
+    properties.setProperty(RocksDBClient.PROPERTY_ROCKSDB_WRITE_BATCH_SIZE, "10");
+    instance = newInstance(properties);
+
+    final Map<String, ByteIterator> values = new HashMap<>();
+    values.put(FIELD_PREFIX + 0, new StringByteIterator("a"));
+    values.put(FIELD_PREFIX + 1, new StringByteIterator("b"));
+    assertEquals(Status.OK, instance.insert(MOCK_TABLE, MOCK_KEY0, values));
+    assertEquals(Status.OK, instance.update(MOCK_TABLE, MOCK_KEY0,
+        Collections.singletonMap(FIELD_PREFIX + 1, new StringByteIterator("c"))));
+
+    instance.cleanup();
+    instance = newInstance("record");
+    final Map<String, ByteIterator> result = new HashMap<>();
+    assertEquals(Status.OK, instance.read(MOCK_TABLE, MOCK_KEY0, null, result));
+    assertEquals("a", result.get(FIELD_PREFIX + 0).toString());
+    assertEquals("c", result.get(FIELD_PREFIX + 1).toString());
+  }
+
+  @Test
+  public void bulkLoadsSstFiles() throws Exception {
+    assertBulkLoads("record");
+  }
+
+  @Test
+  public void bulkLoadsSstFilesWithFieldLayout() throws Exception {
+    assertBulkLoads("field");
+  }
+
+  private void assertBulkLoads(final String layout) throws Exception {
+    instance.cleanup();
+    final Properties properties = new Properties();
+    properties.setProperty(RocksDBClient.PROPERTY_ROCKSDB_LAYOUT, layout);
+    properties.setProperty(RocksDBClient.PROPERTY_ROCKSDB_BULK_LOAD, "true");
+    properties.setProperty(RocksDBClient.PROPERTY_ROCKSDB_BULK_LOAD_KEYS_PER_FILE, "4");
+    instance = newInstance(properties);
+    final RocksDBClient other = newInstance(properties);
+
+    // two threads load interleaved keys, the first spills a run and then inserts key2 again
+    bulkInsert(instance, "", 4, 0, 6);
+    bulkInsert(instance, "old", 2);
+    bulkInsert(other, "", 1, 5, 3);
+    bulkInsert(instance, "", 2);
+
+    // the last cleanup merges the runs of both threads and ingests them
+    other.cleanup();
+    instance.cleanup();
+    assertEquals(0, new File(tmpFolder.getRoot(), "bulkload").list().length);
+    instance = newInstance(layout);
+    final Vector<HashMap<String, ByteIterator>> rows = new Vector<>();
+    assertEquals(Status.OK, instance.scan(MOCK_TABLE, "key0", 10, null, rows));
+    assertEquals(7, rows.size());
+    for (int i = 0; i < 7; i++) {
+      assertEquals("a" + i, rows.get(i).get(FIELD_PREFIX + 0).toString());
+      assertEquals("b" + i, rows.get(i).get(FIELD_PREFIX + 1).toString());
+    }
+  }
+
+  private static void bulkInsert(final RocksDBClient client, final String prefix, final int... keys) {
+    for (final int i : keys) {
+      final Map<String, ByteIterator> values = new HashMap<>();
+      values.put(FIELD_PREFIX + 0, new StringByteIterator(prefix + "a" + i));
+      values.put(FIELD_PREFIX + 1, new StringByteIterator(prefix + "b" + i));
+      assertEquals(Status.OK, client.insert(MOCK_TABLE, "key" + i, values));
+    }
+  }
+
+  @Test
+  public void batchReadsRecords() throws Exception {
+    assertBatchReads();
+  }
+
+  @Test
+  public void batchReadsRecordsWithFieldLayout() throws Exception {
+    instance.cleanup();
+    instance = newInstance("field");
+    assertBatchReads();
+  }
+
+  private void assertBatchReads() {
+    for (int i = 0; i < 3; i++) {
+      final Map<String, ByteIterator> values = new HashMap<>();
+      values.put(FIELD_PREFIX + 0, new StringByteIterator("a" + i));
+      values.put(FIELD_PREFIX + 1, new StringByteIterator("b" + i));
+      assertEquals(Status.OK, instance.insert(MOCK_TABLE, "key" + i, values));
+    }
+
+    final Map<String, Map<String, ByteIterator>> result = new HashMap<>();
+    assertEquals(Status.OK, instance.batchRead(MOCK_TABLE, Arrays.asList("key2", "missing", "key0"),
+        Collections.singleton(FIELD_PREFIX + 1), result));
+    assertEquals(new HashSet<>(Arrays.asList("key0", "key2")), result.keySet());
+    assertEquals(1, result.get("key2").size());
+    assertEquals("b2", result.get("key2").get(FIELD_PREFIX + 1).toString());
+    assertEquals("b0", result.get("key0").get(FIELD_PREFIX + 1).toString());
+  }
+
+  private void assertRangeScans() {
+    for (int i = 0; i < 6; i++) {
+      final Map<String, ByteIterator> values = new HashMap<>();
+      values.put(FIELD_PREFIX + 0, new StringByteIterator("a" + i));
+      values.put(FIELD_PREFIX + 1, new StringByteIterator("b" + i));
+      assertEquals(Status.OK, instance.insert(MOCK_TABLE, "key" + i, values));
+    }
+
+    final List<String> keys = new ArrayList<>();
+    final List<Map<String, String>> rows = new ArrayList<>();
+    final BiConsumer<String, Map<String, ByteIterator>> consumer = (key, values) -> {
+      keys.add(key);
+      final Map<String, String> row = new HashMap<>();
+      StringByteIterator.putAllAsStrings(row, values);
+      rows.add(row);
+    };
+
+    assertEquals(Status.OK, instance.scan(MOCK_TABLE, ScanRange.from("key1", 10).until("key4"), null, consumer));
+    assertEquals(Arrays.asList("key1", "key2", "key3"), keys);
+    assertEquals("b2", rows.get(1).get(FIELD_PREFIX + 1));
+    assertEquals(2, rows.get(1).size());
+
+    keys.clear();
+    rows.clear();
+    assertEquals(Status.OK, instance.scan(MOCK_TABLE, ScanRange.from("key4", 10).until("key1").reversed(),
+        Collections.singleton(FIELD_PREFIX + 0), consumer));
+    assertEquals(Arrays.asList("key4", "key3", "key2"), keys);
+    assertEquals("a4", rows.get(0).get(FIELD_PREFIX + 0));
+    assertEquals(1, rows.get(0).size());
+
+    keys.clear();
+    rows.clear();
+    assertEquals(Status.OK, instance.scan(MOCK_TABLE, ScanRange.from("key9", 2).reversed().keysOnly(), null, consumer));
+    assertEquals(Arrays.asList("key5", "key4"), keys);
+    assertTrue(rows.get(0).isEmpty());
+  }
 }
@@ -17,6 +17,7 @@
 
 package site.ycsb.db.rocksdb;
 
+import site.ycsb.measurements.Measurements;
 import org.junit.*;
 import org.junit.rules.TemporaryFolder;
 import org.rocksdb.*;
@@ -48,6 +49,7 @@ public class RocksDBOptionsFileTest {
     properties.setProperty(RocksDBClient.PROPERTY_ROCKSDB_DIR, dbPath);
     properties.setProperty(RocksDBClient.PROPERTY_ROCKSDB_OPTIONS_FILE, optionsPath);
     instance.setProperties(properties);
+    Measurements.setProperties(properties);
 
     instance.init();
     instance.cleanup();
@@ -27,6 +27,8 @@ import java.io.InputStream;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.net.*;
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
 
 import com.amazonaws.util.IOUtils;
 import site.ycsb.ByteArrayByteIterator;
@@ -79,6 +81,9 @@ public class S3Client extends DB {
   private static SSECustomerKey ssecKey;
   private static final AtomicInteger INIT_COUNT = new AtomicInteger(0);
 
+  /** The size of the chunks handed to stream readers. */
+  private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+
   /**
   * Cleanup any state for this storage.
   * Called once per S3 instance;
@@ -322,6 +327,71 @@ public class S3Client extends DB {
     return scanFromStorage(bucket, startkey, recordcount, result, ssecKey);
   }
   /**
+  * Upload an object to S3 straight from a stream. The SDK sends the
+  * stream as it is read, so the object never has to fit in memory.
+  * Single requests are limited to 5 GB by S3.
+  *
+  * @param bucket
+  *            The name of the bucket
+  * @param key
+  *            The file key of the object to upload/update.
+  * @param value
+  *            The content of the object
+  * @param length
+  *            The size of the object in bytes
+  * @return OK on success, ERROR otherwise.
+  */
+  @Override
+  public Status writeStream(String bucket, String key, InputStream value,
+                            long length) {
+    ObjectMetadata metadata = new ObjectMetadata();
+    metadata.setContentLength(length);
+    PutObjectRequest putObjectRequest = new PutObjectRequest(bucket, key,
+        value, metadata);
+    if (sse.equals("true")) {
+      metadata.setSSEAlgorithm(ObjectMetadata.AES_256_SERVER_SIDE_ENCRYPTION);
+    } else if (ssecKey != null) {
+      putObjectRequest = putObjectRequest.withSSECustomerKey(ssecKey);
+    }
+    try {
+      PutObjectResult res = s3Client.putObject(putObjectRequest);
+      return res.getETag() == null ? Status.ERROR : Status.OK;
+    } catch (Exception e) {
+      System.err.println("Not possible to write object :"+key);
+      e.printStackTrace();
+      return Status.ERROR;
+    }
+  }
+  /**
+  * Download an object from S3, handing it to the consumer in chunks as
+  * it arrives instead of buffering the whole object.
+  *
+  * @param bucket
+  *            The name of the bucket
+  * @param key
+  *            The file key of the object to download.
+  * @param consumer
+  *            Receives the chunks of the object in order
+  * @return OK on success, ERROR otherwise.
+  */
+  @Override
+  public Status readStream(String bucket, String key,
+                           Consumer<ByteBuffer> consumer) {
+    byte[] buffer = new byte[STREAM_BUFFER_SIZE];
+    try (S3Object object = getS3ObjectAndMetadata(bucket, key, ssecKey);
+         InputStream objectData = object.getObjectContent()) {
+      int read;
+      while ((read = objectData.read(buffer)) >= 0) {
+        consumer.accept(ByteBuffer.wrap(buffer, 0, read));
+      }
+    } catch (Exception e){
+      System.err.println("Not possible to get the object "+key);
+      e.printStackTrace();
+      return Status.ERROR;
+    }
+    return Status.OK;
+  }
+  /**
   * Upload a new object to S3 or update an object on S3.
   *
   * @param bucket
@@ -168,6 +168,12 @@ public class SeaweedClient extends DB {
     return writeToStorage(tableName, key, existingValues);
   }
 
+  @Override
+  public UpdateMode getUpdateMode() {
+    // Files are rewritten whole, so updates read the file first
+    return UpdateMode.READ_MODIFY_WRITE;
+  }
+
   /**
    * Perform a range scan for a set of files in the table. Each
    * field/value pair from the result will be stored in a HashMap.
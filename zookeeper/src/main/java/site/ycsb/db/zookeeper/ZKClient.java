@@ -175,6 +175,11 @@ public class ZKClient extends DB {
     }
   }
 
+  @Override
+  public UpdateMode getUpdateMode() {
+    return UpdateMode.READ_MODIFY_WRITE;
+  }
+
   @Override
   public Status scan(String table, String startkey, int recordcount,
                      Set<String> fields, Vector<HashMap<String, ByteIterator>> result) {